@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.token.VaultTokenManager;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the AppRole login path against a {@link VaultStubServer}, both for a single caller and for many callers
+ * renewing the same rejected token at once.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AppRoleLoginBenchmark {
+
+    /**
+     * Stub vault and the token manager logging in to it, shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class LoginState {
+
+        @Param({"0", "1000"})
+        public long latencyMicros;
+
+        VaultStubServer stub;
+        VaultTokenManager tokenManager;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException, HashiCorpVaultException {
+
+            stub = new VaultStubServer(BenchmarkEnvironment.ENGINE_PATH);
+            stub.setLatency(latencyMicros, TimeUnit.MICROSECONDS);
+            VaultClientHolder clientHolder = new VaultClientHolder(null, null, false, null);
+            tokenManager = new VaultTokenManager(clientHolder, new VaultEndpointSelector(
+                    Collections.singletonList(stub.getAddress()), 1, 0), false, 0.75, new VaultMetrics());
+            tokenManager.loginWithAppRole(BenchmarkEnvironment.ROLE_ID, BenchmarkEnvironment.SECRET_ID);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+
+            tokenManager.shutdown();
+            stub.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(1)
+    public String loginLatency(LoginState state) throws HashiCorpVaultException {
+
+        return state.tokenManager.loginWithAppRole(BenchmarkEnvironment.ROLE_ID, BenchmarkEnvironment.SECRET_ID);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(16)
+    public String concurrentRenewalThroughput(LoginState state) throws HashiCorpVaultException {
+
+        return state.tokenManager.renewToken(state.tokenManager.getToken());
+    }
+}
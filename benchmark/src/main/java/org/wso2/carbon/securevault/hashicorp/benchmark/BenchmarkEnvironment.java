@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import org.wso2.carbon.securevault.hashicorp.repository.HashiCorpSecretRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Sets up a temporary carbon home with a <code>secret-conf.properties</code> pointing at a {@link VaultStubServer},
+ * so that a {@link HashiCorpSecretRepository} can be initialized the same way it is in a running server.
+ * <p>
+ * The configuration is loaded once per JVM, so each benchmark fork should set up a single environment.
+ */
+public final class BenchmarkEnvironment {
+
+    public static final String ENGINE_PATH = "wso2is";
+    public static final String ROOT_TOKEN = "root-token";
+    public static final String ROLE_ID = "benchmark-role";
+    public static final String SECRET_ID = "benchmark-secret-id";
+
+    private static final String PROPERTY_PREFIX = "secretRepositories.vault.properties.";
+
+    private BenchmarkEnvironment() {
+
+    }
+
+    /**
+     * Initialize a secret repository against the given stub.
+     *
+     * @param stub     Stub vault server
+     * @param authType Authentication type, either <code>ROOT_TOKEN</code> or <code>APP_ROLE</code>
+     * @param settings Additional repository properties, keyed without the
+     *                 <code>secretRepositories.vault.properties.</code> prefix
+     * @return Initialized secret repository
+     * @throws IOException when the carbon home cannot be set up
+     */
+    public static HashiCorpSecretRepository createRepository(VaultStubServer stub, String authType,
+                                                             Map<String, String> settings) throws IOException {
+
+        Path carbonHome = Files.createTempDirectory("hashicorp-vault-benchmark");
+        Path securityDir = Files.createDirectories(carbonHome.resolve("repository").resolve("conf")
+                .resolve("security"));
+
+        Properties properties = new Properties();
+        properties.setProperty("secVault.enabled", "true");
+        properties.setProperty("secretRepositories", "vault");
+        properties.setProperty(PROPERTY_PREFIX + "address", stub.getAddress());
+        properties.setProperty(PROPERTY_PREFIX + "enginePath", ENGINE_PATH);
+        properties.setProperty(PROPERTY_PREFIX + "engineVersion", "2");
+        properties.setProperty(PROPERTY_PREFIX + "authType", authType);
+        properties.setProperty(PROPERTY_PREFIX + "roleId", ROLE_ID);
+        for (Map.Entry<String, String> setting : settings.entrySet()) {
+            properties.setProperty(PROPERTY_PREFIX + setting.getKey(), setting.getValue());
+        }
+        try (OutputStream outputStream = Files.newOutputStream(securityDir.resolve("secret-conf.properties"))) {
+            properties.store(outputStream, "HashiCorp vault benchmark configuration");
+        }
+
+        if ("APP_ROLE".equals(authType)) {
+            Files.write(carbonHome.resolve("hashicorpSecretId-persist"), SECRET_ID.getBytes(StandardCharsets.UTF_8));
+        } else {
+            Files.write(carbonHome.resolve("hashicorpRootToken-persist"), ROOT_TOKEN.getBytes(StandardCharsets.UTF_8));
+        }
+        System.setProperty("carbon.home", carbonHome.toString());
+
+        HashiCorpSecretRepository repository = new HashiCorpSecretRepository(null, null);
+        repository.init(new Properties(), "vault");
+        return repository;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Faults injected by a {@link VaultStubServer} into its responses. Each request is failed at random with the given
+ * rates, either with a 503 response as from a sealed or overloaded vault, with a 429 response as from a rate limit
+ * quota, or by dropping the connection without a response. Latency is added to every response on top of the base
+ * latency of the stub.
+ * <p>
+ * A profile can be written as a list of <code>key=value</code> entries separated by <code>;</code>, for example
+ * <code>unavailable=0.2;latency=50</code>. The keys are <code>unavailable</code>, <code>throttled</code> and
+ * <code>reset</code> for the fraction of requests failed in each way, <code>retryAfter</code> for the Retry-After
+ * seconds sent with 429 responses, and <code>latency</code> and <code>jitter</code> for the fixed and the random
+ * latency added in milliseconds.
+ */
+public final class FaultProfile {
+
+    public static final FaultProfile NONE = new FaultProfile(0, 0, 0, 0, 0, 0);
+
+    private final double unavailableRate;
+    private final double throttledRate;
+    private final long retryAfterSeconds;
+    private final double resetRate;
+    private final long latencyMicros;
+    private final long jitterMicros;
+
+    /**
+     * Create a fault profile.
+     *
+     * @param unavailableRate   Fraction of requests answered with a 503 response
+     * @param throttledRate     Fraction of requests answered with a 429 response
+     * @param retryAfterSeconds Retry-After seconds sent with 429 responses, or 0 to send none
+     * @param resetRate         Fraction of requests whose connection is dropped without a response
+     * @param latency           Latency added to every response, in milliseconds
+     * @param jitter            Upper bound of a random latency added to every response, in milliseconds
+     */
+    public FaultProfile(double unavailableRate, double throttledRate, long retryAfterSeconds, double resetRate,
+                        long latency, long jitter) {
+
+        if (unavailableRate < 0 || throttledRate < 0 || resetRate < 0
+                || unavailableRate + throttledRate + resetRate > 1) {
+            throw new IllegalArgumentException("Fault rates should be non-negative and add up to at most 1");
+        }
+        this.unavailableRate = unavailableRate;
+        this.throttledRate = throttledRate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.resetRate = resetRate;
+        this.latencyMicros = TimeUnit.MILLISECONDS.toMicros(latency);
+        this.jitterMicros = TimeUnit.MILLISECONDS.toMicros(jitter);
+    }
+
+    /**
+     * Parse a fault profile written as <code>key=value</code> entries separated by <code>;</code>.
+     *
+     * @param spec Profile to parse, or an empty string for no faults
+     * @return Fault profile
+     */
+    public static FaultProfile parse(String spec) {
+
+        double unavailable = 0;
+        double throttled = 0;
+        long retryAfter = 0;
+        double reset = 0;
+        long latency = 0;
+        long jitter = 0;
+        for (String entry : spec.split(";")) {
+            if (entry.trim().isEmpty()) {
+                continue;
+            }
+            String[] keyValue = entry.split("=", 2);
+            if (keyValue.length != 2) {
+                throw new IllegalArgumentException("Invalid fault profile entry: " + entry);
+            }
+            String value = keyValue[1].trim();
+            switch (keyValue[0].trim()) {
+                case "unavailable":
+                    unavailable = Double.parseDouble(value);
+                    break;
+                case "throttled":
+                    throttled = Double.parseDouble(value);
+                    break;
+                case "retryAfter":
+                    retryAfter = Long.parseLong(value);
+                    break;
+                case "reset":
+                    reset = Double.parseDouble(value);
+                    break;
+                case "latency":
+                    latency = Long.parseLong(value);
+                    break;
+                case "jitter":
+                    jitter = Long.parseLong(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown fault profile entry: " + entry);
+            }
+        }
+        return new FaultProfile(unavailable, throttled, retryAfter, reset, latency, jitter);
+    }
+
+    /**
+     * Pick the fault injected into a request.
+     *
+     * @return Fault to inject, or null to respond normally
+     */
+    Fault nextFault() {
+
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < unavailableRate) {
+            return Fault.UNAVAILABLE;
+        } else if (roll < unavailableRate + throttledRate) {
+            return Fault.THROTTLED;
+        } else if (roll < unavailableRate + throttledRate + resetRate) {
+            return Fault.RESET;
+        }
+        return null;
+    }
+
+    /**
+     * Get the latency added to a response.
+     *
+     * @return Added latency in microseconds
+     */
+    long nextLatencyMicros() {
+
+        return jitterMicros > 0 ? latencyMicros + ThreadLocalRandom.current().nextLong(jitterMicros + 1)
+                : latencyMicros;
+    }
+
+    long getRetryAfterSeconds() {
+
+        return retryAfterSeconds;
+    }
+
+    @Override
+    public String toString() {
+
+        return "unavailable=" + unavailableRate + ";throttled=" + throttledRate + ";retryAfter=" + retryAfterSeconds
+                + ";reset=" + resetRate + ";latency=" + TimeUnit.MICROSECONDS.toMillis(latencyMicros) + ";jitter="
+                + TimeUnit.MICROSECONDS.toMillis(jitterMicros);
+    }
+
+    /**
+     * Ways in which a request can be failed.
+     */
+    enum Fault {
+        UNAVAILABLE, THROTTLED, RESET
+    }
+}
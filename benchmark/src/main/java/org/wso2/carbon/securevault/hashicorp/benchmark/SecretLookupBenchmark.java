@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.repository.HashiCorpSecretRepository;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the secret resolution path of {@link HashiCorpSecretRepository} against a {@link VaultStubServer}.
+ * Each lookup cycles through a fixed set of aliases, and the stub adds the configured latency to every response.
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SecretLookupBenchmark {
+
+    private static final int SECRET_COUNT = 64;
+    private static final String[] ALIASES = new String[SECRET_COUNT];
+
+    static {
+        for (int i = 0; i < SECRET_COUNT; i++) {
+            ALIASES[i] = "secret_" + i;
+        }
+    }
+
+    /**
+     * Stub vault and the repository reading from it, shared by all benchmark threads.
+     */
+    @State(Scope.Benchmark)
+    public static class RepositoryState {
+
+        @Param({"0", "1000"})
+        public long latencyMicros;
+
+        @Param({"false", "true"})
+        public boolean cacheEnabled;
+
+        @Param({"driver", "pooled"})
+        public String transport;
+
+        VaultStubServer stub;
+        HashiCorpSecretRepository repository;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+
+            stub = new VaultStubServer(BenchmarkEnvironment.ENGINE_PATH);
+            for (String alias : ALIASES) {
+                stub.putSecret(alias, "value-of-" + alias);
+            }
+
+            Map<String, String> settings = new HashMap<>();
+            settings.put("cache.enabled", String.valueOf(cacheEnabled));
+            settings.put("cache.maxSize", String.valueOf(SECRET_COUNT));
+            settings.put("token.renewal.enabled", "false");
+            settings.put("transport.type", transport);
+            repository = BenchmarkEnvironment.createRepository(stub, "ROOT_TOKEN", settings);
+            stub.setLatency(latencyMicros, TimeUnit.MICROSECONDS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+
+            stub.close();
+        }
+    }
+
+    /**
+     * Position of a benchmark thread in the alias list.
+     */
+    @State(Scope.Thread)
+    public static class AliasCursor {
+
+        private int next;
+
+        String nextAlias() {
+
+            String alias = ALIASES[next];
+            next = (next + 1) % SECRET_COUNT;
+            return alias;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(1)
+    public String getSecretLatency(RepositoryState state, AliasCursor cursor) {
+
+        return state.repository.getSecret(cursor.nextAlias());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(16)
+    public String getSecretThroughput(RepositoryState state, AliasCursor cursor) {
+
+        return state.repository.getSecret(cursor.nextAlias());
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @Threads(1)
+    public String getSecretFromVaultLatency(RepositoryState state, AliasCursor cursor)
+            throws HashiCorpVaultException {
+
+        return readFromVault(state, cursor);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @Threads(16)
+    public String getSecretFromVaultThroughput(RepositoryState state, AliasCursor cursor)
+            throws HashiCorpVaultException {
+
+        return readFromVault(state, cursor);
+    }
+
+    private static String readFromVault(RepositoryState state, AliasCursor cursor) throws HashiCorpVaultException {
+
+        return state.repository.getSecretFromVault(state.stub.getAddress(), BenchmarkEnvironment.ROOT_TOKEN, 2, null,
+                BenchmarkEnvironment.ENGINE_PATH + "/" + cursor.nextAlias());
+    }
+}
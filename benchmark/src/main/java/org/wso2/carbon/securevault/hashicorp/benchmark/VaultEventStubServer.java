@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process stand-in for the HashiCorp Vault event stream. Accepts WebSocket connections on any path and sends every
+ * subscriber the KV v2 events published to it, in the JSON form that vault sends when subscribed with
+ * <code>json=true</code>.
+ */
+public class VaultEventStubServer implements AutoCloseable {
+
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final String enginePath;
+    private final ServerSocket serverSocket;
+    private final ExecutorService executor;
+    private final Set<Socket> subscribers = new CopyOnWriteArraySet<>();
+
+    /**
+     * Start a stub event stream for the given KV v2 engine on a free local port.
+     *
+     * @param enginePath Mount path of the KV v2 engine
+     * @throws IOException when the server cannot be started
+     */
+    public VaultEventStubServer(String enginePath) throws IOException {
+
+        this.enginePath = enginePath;
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "vault-event-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.execute(this::accept);
+    }
+
+    /**
+     * Get the URL of the stub, in the form expected by the event stream URL configuration.
+     *
+     * @return URL of the stub
+     */
+    public String getUrl() {
+
+        return "ws://" + serverSocket.getInetAddress().getHostAddress() + ":" + serverSocket.getLocalPort()
+                + "/v1/sys/events/subscribe/kv-v2/data-*?json=true";
+    }
+
+    public int getSubscriberCount() {
+
+        return subscribers.size();
+    }
+
+    /**
+     * Send a KV v2 event to every subscriber.
+     *
+     * @param eventType Type of the event, such as <code>kv-v2/data-write</code>
+     * @param alias     Alias of the secret the event is about
+     */
+    public void publish(String eventType, String alias) {
+
+        String dataPath = enginePath + "/data/" + alias;
+        String operation = eventType.substring(eventType.indexOf('/') + 1);
+        String event = "{\"id\":\"" + UUID.randomUUID() + "\",\"source\":\"vault://stub\",\"specversion\":\"1.0\","
+                + "\"type\":\"*\",\"data\":{\"event\":{\"id\":\"" + UUID.randomUUID() + "\",\"metadata\":{"
+                + "\"current_version\":\"1\",\"data_path\":\"" + dataPath + "\",\"modified\":\"true\","
+                + "\"operation\":\"" + operation + "\",\"path\":\"" + dataPath + "\"}},\"event_type\":\""
+                + eventType + "\",\"plugin_info\":{\"mount_path\":\"" + enginePath + "/\",\"plugin\":\"kv\"}},"
+                + "\"datacontentype\":\"application/cloudevents\"}";
+        byte[] frame = textFrame(event.getBytes(StandardCharsets.UTF_8));
+        for (Socket subscriber : subscribers) {
+            try {
+                OutputStream output = subscriber.getOutputStream();
+                synchronized (subscriber) {
+                    output.write(frame);
+                    output.flush();
+                }
+            } catch (IOException e) {
+                disconnect(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Drop every subscriber without a close handshake, to mimic a network failure.
+     */
+    public void disconnectAll() {
+
+        for (Socket subscriber : subscribers) {
+            disconnect(subscriber);
+        }
+    }
+
+    @Override
+    public void close() {
+
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+        disconnectAll();
+        executor.shutdownNow();
+    }
+
+    private void accept() {
+
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Complete the opening handshake and keep the subscriber until it disconnects. Frames sent by the subscriber,
+     * such as pongs and the closing frame, are read and discarded.
+     */
+    private void serve(Socket socket) {
+
+        try {
+            InputStream input = socket.getInputStream();
+            String key = null;
+            String line;
+            while ((line = readLine(input)) != null && !line.isEmpty()) {
+                int separator = line.indexOf(':');
+                if (separator > 0 && "sec-websocket-key".equals(line.substring(0, separator).trim()
+                        .toLowerCase(Locale.ROOT))) {
+                    key = line.substring(separator + 1).trim();
+                }
+            }
+            OutputStream output = socket.getOutputStream();
+            if (key == null) {
+                output.write("HTTP/1.1 400 Bad Request\r\nContent-Length: 0\r\n\r\n"
+                        .getBytes(StandardCharsets.US_ASCII));
+                return;
+            }
+            output.write(("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n"
+                    + "Sec-WebSocket-Accept: " + accept(key) + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            output.flush();
+            subscribers.add(socket);
+            byte[] buffer = new byte[256];
+            while (input.read(buffer) >= 0) {
+                // Discard frames until the subscriber disconnects.
+            }
+        } catch (IOException e) {
+            // The subscriber disconnected.
+        } finally {
+            disconnect(socket);
+        }
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = input.read()) != '\n') {
+            if (c < 0) {
+                return null;
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private void disconnect(Socket socket) {
+
+        subscribers.remove(socket);
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+    }
+
+    private static byte[] textFrame(byte[] payload) {
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + 4);
+        frame.write(0x81);
+        if (payload.length < 126) {
+            frame.write(payload.length);
+        } else {
+            frame.write(126);
+            frame.write(payload.length >>> 8);
+            frame.write(payload.length);
+        }
+        frame.write(payload, 0, payload.length);
+        return frame.toByteArray();
+    }
+
+    private static String accept(String key) {
+
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1")
+                    .digest((key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
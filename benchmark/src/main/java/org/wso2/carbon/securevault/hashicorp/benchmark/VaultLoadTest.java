@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import org.wso2.carbon.securevault.hashicorp.metrics.LatencyHistogram;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.repository.HashiCorpSecretRepository;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drives a {@link HashiCorpSecretRepository} with concurrent lookups against a {@link VaultStubServer}, through a
+ * sequence of phases that each inject a {@link FaultProfile}, and reports the throughput, latency percentiles and
+ * failed lookups of each phase. Unlike the JMH benchmarks, which measure a steady state, the load test shows how the
+ * extension behaves while the vault misbehaves and how it recovers afterwards.
+ * <p>
+ * Options are given as <code>name=value</code> arguments:
+ * <ul>
+ * <li><code>threads</code>: number of threads looking up secrets, 16 by default</li>
+ * <li><code>secrets</code>: number of secrets stored in the stub and looked up at random, 100 by default</li>
+ * <li><code>authType</code>: <code>APP_ROLE</code> or <code>ROOT_TOKEN</code>, <code>APP_ROLE</code> by default</li>
+ * <li><code>latencyMicros</code>: base latency of the stub, 1000 by default</li>
+ * <li><code>phases</code>: comma separated phases of the form <code>seconds[@profile]</code>, where the profile is
+ * parsed with {@link FaultProfile#parse(String)}, for example <code>10,5@unavailable=0.5,10</code></li>
+ * <li><code>revokeTokensAt</code>: seconds into the run after which the stub revokes the issued tokens, or -1 to
+ * never revoke them, which is the default</li>
+ * <li><code>maxErrorRate</code> and <code>maxP99Millis</code>: thresholds over the whole run that fail the run with
+ * exit code 1 when exceeded, not checked by default</li>
+ * <li><code>vault.&lt;property&gt;</code>: any repository property, such as <code>vault.cache.enabled=true</code>,
+ * keyed without the <code>secretRepositories.vault.properties.</code> prefix</li>
+ * </ul>
+ */
+public final class VaultLoadTest {
+
+    private static final String DEFAULT_PHASES = "10,10@unavailable=0.3,10@latency=200;jitter=200,10@reset=0.2,"
+            + "10@throttled=0.5;retryAfter=1,10";
+    private static final String SETTING_PREFIX = "vault.";
+    private static final PrintStream OUT = System.out;
+
+    private final VaultStubServer stub;
+    private final HashiCorpSecretRepository repository;
+    private final String[] aliases;
+    private final int threads;
+
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private volatile PhaseResult current;
+
+    private VaultLoadTest(VaultStubServer stub, HashiCorpSecretRepository repository, String[] aliases, int threads) {
+
+        this.stub = stub;
+        this.repository = repository;
+        this.aliases = aliases;
+        this.threads = threads;
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        Map<String, String> options = new HashMap<>();
+        Map<String, String> settings = new HashMap<>();
+        for (String arg : args) {
+            String[] option = arg.split("=", 2);
+            if (option.length != 2) {
+                throw new IllegalArgumentException("Options should be given as name=value: " + arg);
+            }
+            if (option[0].startsWith(SETTING_PREFIX)) {
+                settings.put(option[0].substring(SETTING_PREFIX.length()), option[1]);
+            } else {
+                options.put(option[0], option[1]);
+            }
+        }
+        int threads = Integer.parseInt(options.getOrDefault("threads", "16"));
+        int secretCount = Integer.parseInt(options.getOrDefault("secrets", "100"));
+        long revokeTokensAt = Long.parseLong(options.getOrDefault("revokeTokensAt", "-1"));
+        double maxErrorRate = Double.parseDouble(options.getOrDefault("maxErrorRate", "1"));
+        double maxP99Millis = Double.parseDouble(options.getOrDefault("maxP99Millis", "0"));
+        List<Phase> phases = Phase.parseAll(options.getOrDefault("phases", DEFAULT_PHASES));
+
+        String[] aliases = new String[secretCount];
+        boolean passed;
+        try (VaultStubServer stub = new VaultStubServer(BenchmarkEnvironment.ENGINE_PATH)) {
+            for (int i = 0; i < secretCount; i++) {
+                aliases[i] = "secret_" + i;
+                stub.putSecret(aliases[i], valueOf(aliases[i]));
+            }
+            HashiCorpSecretRepository repository = BenchmarkEnvironment.createRepository(stub,
+                    options.getOrDefault("authType", "APP_ROLE"), settings);
+            stub.setLatency(Long.parseLong(options.getOrDefault("latencyMicros", "1000")), TimeUnit.MICROSECONDS);
+
+            VaultLoadTest loadTest = new VaultLoadTest(stub, repository, aliases, threads);
+            PhaseResult total = loadTest.run(phases, revokeTokensAt);
+            loadTest.printSummary(total);
+
+            passed = total.getErrorRate() <= maxErrorRate
+                    && (maxP99Millis <= 0 || total.latency.getPercentileMillis(99) <= maxP99Millis);
+        }
+        if (!passed) {
+            OUT.println("FAILED: error rate or p99 latency is above the configured threshold");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Run the phases one after the other while the worker threads look up secrets, and print the result of each
+     * phase as it ends.
+     *
+     * @return Result of the whole run
+     */
+    private PhaseResult run(List<Phase> phases, long revokeTokensAt) throws InterruptedException {
+
+        PhaseResult total = new PhaseResult("total", null);
+        ExecutorService workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "load-test");
+            thread.setDaemon(true);
+            return thread;
+        });
+        OUT.println(String.format(Locale.ROOT, "%-10s %10s %10s %10s %10s %10s %10s %10s", "phase", "ops", "ops/s",
+                "errors", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+
+        long revokeAtNanos = revokeTokensAt < 0 ? Long.MAX_VALUE : TimeUnit.SECONDS.toNanos(revokeTokensAt);
+        long startTime = System.nanoTime();
+        current = new PhaseResult("warmup", null);
+        for (int i = 0; i < threads; i++) {
+            workers.execute(() -> lookUp(total));
+        }
+        for (int i = 0; i < phases.size(); i++) {
+            Phase phase = phases.get(i);
+            PhaseResult result = new PhaseResult(String.valueOf(i + 1), phase.profile);
+            stub.setFaultProfile(phase.profile);
+            current = result;
+            long phaseEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(phase.seconds);
+            for (long now = System.nanoTime(); now < phaseEnd; now = System.nanoTime()) {
+                if (now - startTime >= revokeAtNanos) {
+                    OUT.println("Revoking the vault tokens");
+                    stub.revokeTokens();
+                    revokeAtNanos = Long.MAX_VALUE;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(phaseEnd - now, TimeUnit.MILLISECONDS.toNanos(100)));
+            }
+            result.print(TimeUnit.SECONDS.toNanos(phase.seconds));
+        }
+        running.set(false);
+        stub.setFaultProfile(FaultProfile.NONE);
+        workers.shutdown();
+        workers.awaitTermination(1, TimeUnit.MINUTES);
+        total.print(System.nanoTime() - startTime);
+        return total;
+    }
+
+    private void lookUp(PhaseResult total) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (running.get()) {
+            String alias = aliases[random.nextInt(aliases.length)];
+            PhaseResult result = current;
+            long startTime = System.nanoTime();
+            String value;
+            try {
+                value = repository.getSecret(alias);
+            } catch (RuntimeException e) {
+                value = null;
+            }
+            long latency = System.nanoTime() - startTime;
+            boolean success = valueOf(alias).equals(value);
+            result.record(latency, success);
+            total.record(latency, success);
+        }
+    }
+
+    private void printSummary(PhaseResult total) {
+
+        VaultMetrics metrics = repository.getMetrics();
+        OUT.println();
+        OUT.println("Lookups: " + total.operations.sum() + ", failed: " + total.errors.sum());
+        OUT.println("Vault secret reads: " + stub.getSecretReads() + ", logins: " + stub.getLogins()
+                + ", injected faults: " + stub.getInjectedFaults() + ", rejected tokens: " + stub.getRejectedTokens());
+        OUT.println("Extension secret reads: " + metrics.getSecretReadCount() + ", failed: "
+                + metrics.getSecretReadFailureCount() + ", logins: " + metrics.getLoginCount()
+                + ", hedged reads: " + metrics.getHedgedReadCount() + " (" + metrics.getHedgedReadWinCount()
+                + " responded first), cache hit ratio: " + String.format(Locale.ROOT, "%.3f",
+                metrics.getCacheHitRatio()));
+        OUT.println("Failures by cause: " + metrics.getFailureCounts());
+    }
+
+    private static String valueOf(String alias) {
+
+        return "value-of-" + alias;
+    }
+
+    /**
+     * Phase of a run, injecting a fault profile for a number of seconds.
+     */
+    private static final class Phase {
+
+        private final long seconds;
+        private final FaultProfile profile;
+
+        private Phase(long seconds, FaultProfile profile) {
+
+            this.seconds = seconds;
+            this.profile = profile;
+        }
+
+        private static List<Phase> parseAll(String spec) {
+
+            List<Phase> phases = new ArrayList<>();
+            for (String phase : spec.split(",")) {
+                String[] parts = phase.trim().split("@", 2);
+                phases.add(new Phase(Long.parseLong(parts[0]),
+                        parts.length > 1 ? FaultProfile.parse(parts[1]) : FaultProfile.NONE));
+            }
+            return phases;
+        }
+    }
+
+    /**
+     * Lookups made during a phase.
+     */
+    private static final class PhaseResult {
+
+        private final String name;
+        private final FaultProfile profile;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder operations = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private PhaseResult(String name, FaultProfile profile) {
+
+            this.name = name;
+            this.profile = profile;
+        }
+
+        private void record(long latencyNanos, boolean success) {
+
+            latency.record(latencyNanos);
+            operations.increment();
+            if (!success) {
+                errors.increment();
+            }
+        }
+
+        private double getErrorRate() {
+
+            long count = operations.sum();
+            return count == 0 ? 0 : (double) errors.sum() / count;
+        }
+
+        private void print(long elapsedNanos) {
+
+            long count = operations.sum();
+            OUT.println(String.format(Locale.ROOT, "%-10s %10d %10.0f %10d %10.3f %10.3f %10.3f %10.3f%s", name,
+                    count, count / (elapsedNanos / 1e9), errors.sum(), latency.getPercentileMillis(50),
+                    latency.getPercentileMillis(99), latency.getPercentileMillis(99.9), latency.getMaxMillis(),
+                    profile == null || profile == FaultProfile.NONE ? "" : "  " + profile));
+        }
+    }
+}
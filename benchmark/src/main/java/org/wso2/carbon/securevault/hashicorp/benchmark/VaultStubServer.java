@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process stand-in for a HashiCorp Vault server. Serves the KV v2 data and metadata endpoints of a single engine,
+ * the AppRole login endpoint and the token lookup and renewal endpoints, with a configurable delay added to every
+ * response to mimic the network round trip to a real vault. Writes and deletes of secrets can be published to a
+ * {@link VaultEventStubServer}.
+ * <p>
+ * Faults can be injected into the responses with a {@link FaultProfile}, and the tokens issued by AppRole logins can
+ * be revoked at any point, after which requests made with them are rejected with a 403 response.
+ */
+public class VaultStubServer implements AutoCloseable {
+
+    private static final String API_PREFIX = "/v1/";
+    private static final String APPROLE_LOGIN_PATH = "/v1/auth/approle/login";
+    private static final String TOKEN_PATH_PREFIX = "/v1/auth/token/";
+    private static final String DATA_SEGMENT = "/data/";
+    private static final String METADATA_SEGMENT = "/metadata/";
+    private static final String JSON = "application/json";
+    private static final String TOKEN_PREFIX = "s.";
+    private static final String PERMISSION_DENIED = "{\"errors\":[\"permission denied\"]}";
+
+    private final String enginePath;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Secret> secrets = new ConcurrentHashMap<>();
+    private final AtomicLong secretReads = new AtomicLong();
+    private final AtomicLong logins = new AtomicLong();
+    private final AtomicLong injectedFaults = new AtomicLong();
+    private final AtomicLong rejectedTokens = new AtomicLong();
+    private final AtomicLong tokenGeneration = new AtomicLong();
+
+    private volatile long latencyMicros;
+    private volatile long tokenTtlSeconds = 3600;
+    private volatile VaultEventStubServer eventServer;
+    private volatile FaultProfile faultProfile = FaultProfile.NONE;
+
+    static {
+        // Vault sends responses with TCP_NODELAY set. Without it, a response written in two parts on a keep-alive
+        // connection is held back by the delayed acknowledgement of the client, adding about 40 ms to every read.
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+    }
+
+    /**
+     * Start a stub vault serving the given KV v2 engine on a free local port.
+     *
+     * @param enginePath Mount path of the KV v2 engine
+     * @throws IOException when the server cannot be started
+     */
+    public VaultStubServer(String enginePath) throws IOException {
+
+        this.enginePath = enginePath;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "vault-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /**
+     * Get the address of the stub, in the form expected by the vault address configuration.
+     *
+     * @return Address of the stub
+     */
+    public String getAddress() {
+
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /**
+     * Set the delay added to every response.
+     *
+     * @param latency  Delay
+     * @param timeUnit Unit of the delay
+     */
+    public void setLatency(long latency, TimeUnit timeUnit) {
+
+        this.latencyMicros = timeUnit.toMicros(latency);
+    }
+
+    /**
+     * Set the TTL of the tokens issued by AppRole logins.
+     *
+     * @param tokenTtlSeconds TTL in seconds
+     */
+    public void setTokenTtl(long tokenTtlSeconds) {
+
+        this.tokenTtlSeconds = tokenTtlSeconds;
+    }
+
+    /**
+     * Set the faults injected into the responses.
+     *
+     * @param faultProfile Faults to inject, or {@link FaultProfile#NONE} to respond normally
+     */
+    public void setFaultProfile(FaultProfile faultProfile) {
+
+        this.faultProfile = faultProfile;
+    }
+
+    /**
+     * Revoke all the tokens issued by AppRole logins so far, as if they had expired. Requests made with them are
+     * rejected until the client logs in again.
+     */
+    public void revokeTokens() {
+
+        tokenGeneration.incrementAndGet();
+    }
+
+    /**
+     * Add or update a secret stored under the engine, incrementing its version.
+     *
+     * @param alias Alias of the secret
+     * @param value Value stored in the <code>value</code> field of the secret
+     */
+    public void putSecret(String alias, String value) {
+
+        secrets.compute(alias, (key, previous) -> new Secret(value, previous == null ? 1 : previous.version + 1));
+        publish("kv-v2/data-write", alias);
+    }
+
+    /**
+     * Delete a secret stored under the engine.
+     *
+     * @param alias Alias of the secret
+     */
+    public void deleteSecret(String alias) {
+
+        if (secrets.remove(alias) != null) {
+            publish("kv-v2/data-delete", alias);
+        }
+    }
+
+    /**
+     * Publish the writes and deletes of secrets to a stub event stream.
+     *
+     * @param eventServer Stub event stream, or null to stop publishing events
+     */
+    public void setEventServer(VaultEventStubServer eventServer) {
+
+        this.eventServer = eventServer;
+    }
+
+    public long getSecretReads() {
+
+        return secretReads.get();
+    }
+
+    public long getLogins() {
+
+        return logins.get();
+    }
+
+    public long getInjectedFaults() {
+
+        return injectedFaults.get();
+    }
+
+    public long getRejectedTokens() {
+
+        return rejectedTokens.get();
+    }
+
+    @Override
+    public void close() {
+
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+
+        try (InputStream ignored = exchange.getRequestBody()) {
+            FaultProfile profile = faultProfile;
+            delay(profile.nextLatencyMicros());
+            if (injectFault(exchange, profile)) {
+                return;
+            }
+            String path = exchange.getRequestURI().getPath();
+            String query = exchange.getRequestURI().getQuery();
+            String enginePrefix = API_PREFIX + enginePath;
+
+            if (APPROLE_LOGIN_PATH.equals(path)) {
+                logins.incrementAndGet();
+                respond(exchange, 200, "{\"auth\":{\"client_token\":\"" + TOKEN_PREFIX + tokenGeneration.get()
+                        + "." + UUID.randomUUID() + "\",\"lease_duration\":" + tokenTtlSeconds
+                        + ",\"renewable\":true}}");
+            } else if (isRevoked(exchange.getRequestHeaders().getFirst("X-Vault-Token"))) {
+                rejectedTokens.incrementAndGet();
+                respond(exchange, 403, PERMISSION_DENIED);
+            } else if (path.startsWith(TOKEN_PATH_PREFIX)) {
+                respond(exchange, 200, "{\"data\":{\"ttl\":" + tokenTtlSeconds + ",\"renewable\":true},"
+                        + "\"auth\":{\"client_token\":\"" + exchange.getRequestHeaders().getFirst("X-Vault-Token")
+                        + "\",\"lease_duration\":" + tokenTtlSeconds + ",\"renewable\":true}}");
+            } else if (path.startsWith(enginePrefix + DATA_SEGMENT)) {
+                secretReads.incrementAndGet();
+                Secret secret = secrets.get(path.substring(enginePrefix.length() + DATA_SEGMENT.length()));
+                if (secret == null) {
+                    respond(exchange, 404, "{\"errors\":[]}");
+                } else {
+                    respond(exchange, 200, "{\"data\":{\"data\":{\"value\":\"" + secret.value + "\"},"
+                            + "\"metadata\":{\"version\":" + secret.version + "}}}");
+                }
+            } else if (path.startsWith(enginePrefix + METADATA_SEGMENT)
+                    || path.equals(enginePrefix + "/metadata")) {
+                String alias = path.length() > enginePrefix.length() + METADATA_SEGMENT.length() ?
+                        path.substring(enginePrefix.length() + METADATA_SEGMENT.length()) : "";
+                if (query != null && query.contains("list=true")) {
+                    respond(exchange, 200, listResponse(alias));
+                } else {
+                    Secret secret = secrets.get(alias);
+                    if (secret == null) {
+                        respond(exchange, 404, "{\"errors\":[]}");
+                    } else {
+                        respond(exchange, 200, "{\"data\":{\"current_version\":" + secret.version + "}}");
+                    }
+                }
+            } else {
+                respond(exchange, 404, "{\"errors\":[]}");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Inject the fault picked by the profile, if any. A dropped connection is closed without sending a response.
+     *
+     * @return Whether a fault was injected in place of the response
+     */
+    private boolean injectFault(HttpExchange exchange, FaultProfile profile) throws IOException {
+
+        FaultProfile.Fault fault = profile.nextFault();
+        if (fault == null) {
+            return false;
+        }
+        injectedFaults.incrementAndGet();
+        switch (fault) {
+            case UNAVAILABLE:
+                respond(exchange, 503, "{\"errors\":[\"Vault is sealed\"]}");
+                break;
+            case THROTTLED:
+                if (profile.getRetryAfterSeconds() > 0) {
+                    exchange.getResponseHeaders().set("Retry-After", String.valueOf(profile.getRetryAfterSeconds()));
+                }
+                respond(exchange, 429, "{\"errors\":[\"request path \\\"" + exchange.getRequestURI().getPath()
+                        + "\\\": rate limit quota exceeded\"]}");
+                break;
+            default:
+                // Closing the exchange before the response headers are sent closes the connection.
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Check whether a token was issued by an AppRole login before the tokens were last revoked. Tokens that were not
+     * issued by the stub, such as a root token, are never revoked.
+     */
+    private boolean isRevoked(String token) {
+
+        if (token == null || !token.startsWith(TOKEN_PREFIX)) {
+            return false;
+        }
+        int separator = token.indexOf('.', TOKEN_PREFIX.length());
+        return separator < 0 || !token.substring(TOKEN_PREFIX.length(), separator)
+                .equals(String.valueOf(tokenGeneration.get()));
+    }
+
+    private void publish(String eventType, String alias) {
+
+        VaultEventStubServer events = eventServer;
+        if (events != null) {
+            events.publish(eventType, alias);
+        }
+    }
+
+    private String listResponse(String folder) {
+
+        Set<String> keys = new TreeSet<>();
+        for (String alias : secrets.keySet()) {
+            if (alias.startsWith(folder)) {
+                String key = alias.substring(folder.length());
+                int separator = key.indexOf('/');
+                keys.add(separator < 0 ? key : key.substring(0, separator + 1));
+            }
+        }
+        StringBuilder body = new StringBuilder("{\"data\":{\"keys\":[");
+        for (String key : keys) {
+            if (body.charAt(body.length() - 1) != '[') {
+                body.append(',');
+            }
+            body.append('"').append(key).append('"');
+        }
+        return body.append("]}}").toString();
+    }
+
+    private void delay(long addedMicros) {
+
+        long micros = latencyMicros + addedMicros;
+        if (micros > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(micros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    /**
+     * Value and version of a stored secret.
+     */
+    private static final class Secret {
+
+        private final String value;
+        private final long version;
+
+        private Secret(String value, long version) {
+
+            this.value = value;
+            this.version = version;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Audit handler that appends one line per secret lookup to a file, rolling the file over once it reaches a maximum
+ * size. Rolled files are renamed with a numeric suffix, <code>.1</code> being the most recent, and the oldest file is
+ * deleted once the maximum number of files is kept.
+ * <p>
+ * Each line holds the time of the lookup, the alias, the outcome and the cause of a failure, the vault server the
+ * secret was read from, the thread that looked it up and the time the lookup took, such as:
+ * <pre>
+ * 2026-01-01T10:15:30.123Z alias=db_password outcome=VAULT_READ cause=- endpoint=https://vault:8200
+ * thread=main#1 latencyMicros=1830
+ * </pre>
+ * on a single line.
+ */
+public class RollingFileAuditHandler implements SecretAccessAuditHandler {
+
+    private static final String NONE = "-";
+
+    private final Path file;
+    private final long maxFileSize;
+    private final int maxFiles;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private Writer writer;
+    private long fileSize;
+
+    /**
+     * Create a rolling file handler.
+     *
+     * @param file        File the events are appended to
+     * @param maxFileSize Size in bytes after which the file is rolled over
+     * @param maxFiles    Number of rolled over files kept besides the current file
+     */
+    public RollingFileAuditHandler(Path file, long maxFileSize, int maxFiles) {
+
+        if (maxFileSize <= 0) {
+            throw new IllegalArgumentException("Maximum audit file size should be a positive value: " + maxFileSize);
+        }
+        if (maxFiles < 0) {
+            throw new IllegalArgumentException("Maximum audit files should not be negative: " + maxFiles);
+        }
+        this.file = file;
+        this.maxFileSize = maxFileSize;
+        this.maxFiles = maxFiles;
+    }
+
+    @Override
+    public void handle(List<SecretAccessEvent> events) throws IOException {
+
+        for (SecretAccessEvent event : events) {
+            format(event);
+            if (writer == null) {
+                open();
+            }
+            if (fileSize > 0 && fileSize + line.length() > maxFileSize) {
+                roll();
+            }
+            writer.append(line);
+            // Lines are close to ASCII, so their length in characters is taken as their size in bytes.
+            fileSize += line.length();
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    private void format(SecretAccessEvent event) {
+
+        line.setLength(0);
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(event.getTimestampMillis()), line);
+        line.append(" alias=").append(event.getAlias())
+                .append(" outcome=").append(event.getOutcome())
+                .append(" cause=").append(event.getFailureCause() != null ? event.getFailureCause() : NONE)
+                .append(" endpoint=").append(event.getEndpoint() != null ? event.getEndpoint() : NONE)
+                .append(" thread=").append(event.getThreadName()).append('#').append(event.getThreadId())
+                .append(" latencyMicros=").append(TimeUnit.NANOSECONDS.toMicros(event.getLatencyNanos()))
+                .append(System.lineSeparator());
+    }
+
+    private void open() throws IOException {
+
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND), StandardCharsets.UTF_8));
+        fileSize = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+
+        close();
+        if (maxFiles == 0) {
+            Files.deleteIfExists(file);
+        } else {
+            Files.deleteIfExists(rolledFile(maxFiles));
+            for (int index = maxFiles - 1; index >= 1; index--) {
+                Path rolled = rolledFile(index);
+                if (Files.exists(rolled)) {
+                    Files.move(rolled, rolledFile(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+            Files.move(file, rolledFile(1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        open();
+    }
+
+    private Path rolledFile(int index) {
+
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Handler of the secret lookups recorded in the audit trail, such as a file or an external audit system. Handlers are
+ * called on the single writer thread of {@link SecretAccessAuditor}, never on the thread that looked up the secret,
+ * with batches of the events recorded since the previous batch.
+ * <p>
+ * Handlers can be configured by class name with the <code>audit.handler</code> property, in which case the class
+ * should have a public no-argument constructor.
+ */
+public interface SecretAccessAuditHandler {
+
+    /**
+     * Handle a batch of events. The events are reused once this method returns, so their details should be copied
+     * if they are kept.
+     *
+     * @param events Events recorded, in the order the lookups were recorded
+     * @throws IOException when the events cannot be handled
+     */
+    void handle(List<SecretAccessEvent> events) throws IOException;
+
+    /**
+     * Called when no more events are pending, to flush the events handled so far.
+     *
+     * @throws IOException when the events cannot be flushed
+     */
+    default void flush() throws IOException {
+
+    }
+
+    /**
+     * Called once the auditor is closed and every pending event is handled.
+     *
+     * @throws IOException when the handler cannot be closed
+     */
+    default void close() throws IOException {
+
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Audit trail of secret lookups that keeps the lookups free of I/O. A lookup records its event into a ring buffer of
+ * events allocated up front, by claiming a slot with a single compare-and-set and copying the details of the lookup
+ * into it, without taking locks or allocating. A background writer thread drains the buffer in batches and passes
+ * them to a {@link SecretAccessAuditHandler}, such as a {@link RollingFileAuditHandler}.
+ * <p>
+ * When the writer falls behind and the buffer is full, events are dropped, or the lookups wait for the writer to free
+ * a slot for up to a maximum time before their events are dropped, depending on the overflow policy. Dropped events
+ * are counted and reported in the log.
+ */
+public class SecretAccessAuditor {
+
+    private static final Log LOG = LogFactory.getLog(SecretAccessAuditor.class);
+    private static final long IDLE_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long OVERFLOW_WAIT_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000L;
+
+    /**
+     * What a lookup does when the buffer is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * Drop the event right away, so lookups are never slowed down by the audit trail.
+         */
+        DROP,
+
+        /**
+         * Wait for the writer to free a slot, up to the maximum wait, and drop the event only then.
+         */
+        BLOCK
+    }
+
+    private final SecretAccessEvent[] events;
+    private final int mask;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long maxWaitNanos;
+    private final SecretAccessAuditHandler handler;
+    private final Thread writer;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // Sequence of the next event to write, only updated by the writer thread once a batch is handled.
+    private volatile long written;
+    private volatile boolean closed;
+
+    /**
+     * Create an auditor and start its writer thread.
+     *
+     * @param handler        Handler the recorded events are written to
+     * @param bufferSize     Number of events the buffer holds, rounded up to a power of two
+     * @param batchSize      Maximum number of events passed to the handler at once
+     * @param overflowPolicy What a lookup does when the buffer is full
+     * @param maxWaitMillis  Maximum time in milliseconds a lookup waits for a free slot with the
+     *                       {@link OverflowPolicy#BLOCK} policy
+     */
+    public SecretAccessAuditor(SecretAccessAuditHandler handler, int bufferSize, int batchSize,
+                               OverflowPolicy overflowPolicy, long maxWaitMillis) {
+
+        if (bufferSize <= 0 || bufferSize > 1 << 30) {
+            throw new IllegalArgumentException("Audit buffer size should be a positive value: " + bufferSize);
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Audit batch size should be a positive value: " + batchSize);
+        }
+        if (maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Audit overflow wait should not be negative: " + maxWaitMillis);
+        }
+        int capacity = Integer.highestOneBit(bufferSize);
+        if (capacity < bufferSize) {
+            capacity <<= 1;
+        }
+        this.events = new SecretAccessEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new SecretAccessEvent();
+        }
+        this.mask = capacity - 1;
+        this.batchSize = Math.min(batchSize, capacity);
+        this.overflowPolicy = overflowPolicy;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.handler = handler;
+        this.writer = new HashiCorpVaultThreadFactory("audit").newThread(this::write);
+        this.writer.start();
+    }
+
+    /**
+     * Record a secret lookup.
+     *
+     * @param alias        Alias looked up
+     * @param thread       Thread that looked up the secret
+     * @param endpoint     Address of the vault server the secret was read from, or null if it was not read
+     * @param outcome      Outcome of the lookup
+     * @param failureCause Cause of a failed lookup or of a lookup served from the snapshot, or null
+     * @param latencyNanos Time taken by the lookup in nanoseconds
+     * @return true if the event was recorded, false if it was dropped
+     */
+    public boolean record(String alias, Thread thread, String endpoint, SecretAccessOutcome outcome,
+                          FailureCause failureCause, long latencyNanos) {
+
+        long sequence = claim();
+        if (sequence < 0) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        SecretAccessEvent event = events[(int) sequence & mask];
+        event.set(System.currentTimeMillis(), alias, thread, endpoint, outcome, failureCause, latencyNanos);
+        event.publish(sequence);
+        return true;
+    }
+
+    /**
+     * Get the number of events dropped because the buffer was full or the handler failed.
+     *
+     * @return Number of events dropped
+     */
+    public long getDroppedCount() {
+
+        return dropped.get();
+    }
+
+    /**
+     * Stop recording events, and wait for the writer to hand the pending events to the handler and close it.
+     */
+    public void close() {
+
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Claim the sequence of the next free slot. A slot is free once the writer has written the event recorded in it
+     * a full buffer earlier.
+     *
+     * @return Sequence claimed, or -1 if the event should be dropped
+     */
+    private long claim() {
+
+        long waitDeadline = 0;
+        boolean waiting = false;
+        while (!closed) {
+            long sequence = claimed.get();
+            if (sequence - written < events.length) {
+                if (claimed.compareAndSet(sequence, sequence + 1)) {
+                    return sequence;
+                }
+                continue;
+            }
+            if (overflowPolicy == OverflowPolicy.DROP) {
+                return -1;
+            }
+            long now = System.nanoTime();
+            if (!waiting) {
+                waiting = true;
+                waitDeadline = now + maxWaitNanos;
+            } else if (now - waitDeadline >= 0) {
+                return -1;
+            }
+            LockSupport.parkNanos(this, OVERFLOW_WAIT_NANOS);
+        }
+        return -1;
+    }
+
+    private void write() {
+
+        List<SecretAccessEvent> batch = new ArrayList<>(batchSize);
+        long next = 0;
+        boolean pending = false;
+        boolean failing = false;
+        long reportedDrops = 0;
+        long lastReport = System.nanoTime();
+        while (true) {
+            SecretAccessEvent event = events[(int) next & mask];
+            while (batch.size() < batchSize && event.getSequence() == next + batch.size()) {
+                batch.add(event);
+                event = events[(int) (next + batch.size()) & mask];
+            }
+
+            if (!batch.isEmpty()) {
+                try {
+                    handler.handle(batch);
+                    pending = true;
+                    if (failing) {
+                        failing = false;
+                        LOG.info("Secret access audit events are being written again");
+                    }
+                } catch (IOException | RuntimeException e) {
+                    dropped.addAndGet(batch.size());
+                    if (!failing) {
+                        failing = true;
+                        LOG.error("Error while writing secret access audit events, events are dropped until the "
+                                + "audit handler recovers", e);
+                    }
+                }
+                for (SecretAccessEvent handled : batch) {
+                    handled.clear();
+                }
+                next += batch.size();
+                written = next;
+                batch.clear();
+                continue;
+            }
+
+            if (pending) {
+                pending = false;
+                try {
+                    handler.flush();
+                } catch (IOException | RuntimeException e) {
+                    LOG.error("Error while flushing secret access audit events", e);
+                }
+            }
+            long now = System.nanoTime();
+            if (now - lastReport >= DROP_REPORT_INTERVAL_NANOS) {
+                long drops = dropped.get();
+                if (drops > reportedDrops) {
+                    LOG.warn("Dropped " + (drops - reportedDrops) + " secret access audit events in the last "
+                            + TimeUnit.NANOSECONDS.toSeconds(now - lastReport) + "s");
+                    reportedDrops = drops;
+                }
+                lastReport = now;
+            }
+            // Events claimed before the auditor was closed are still written before the writer stops.
+            if (closed && claimed.get() == next) {
+                break;
+            }
+            LockSupport.parkNanos(this, IDLE_WAIT_NANOS);
+        }
+
+        try {
+            handler.close();
+        } catch (IOException | RuntimeException e) {
+            LOG.error("Error while closing the secret access audit handler", e);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+
+/**
+ * Record of a secret lookup in the audit trail. Events are slots of the ring buffer of {@link SecretAccessAuditor},
+ * allocated once and reused for later lookups, so the lookup that records an event only copies references and
+ * numbers into it. Secret values are never recorded.
+ * <p>
+ * An event is only valid while it is passed to a {@link SecretAccessAuditHandler}, handlers that keep its details
+ * should copy them.
+ */
+public final class SecretAccessEvent {
+
+    // Sequence of the lookup recorded in this slot, written last by the recording thread so that the writer thread
+    // sees every other field once it sees the sequence.
+    private volatile long sequence = -1;
+
+    private long timestampMillis;
+    private String alias;
+    private Thread thread;
+    private long threadId;
+    private String endpoint;
+    private SecretAccessOutcome outcome;
+    private FailureCause failureCause;
+    private long latencyNanos;
+
+    SecretAccessEvent() {
+
+    }
+
+    void set(long timestampMillis, String alias, Thread thread, String endpoint, SecretAccessOutcome outcome,
+             FailureCause failureCause, long latencyNanos) {
+
+        this.timestampMillis = timestampMillis;
+        this.alias = alias;
+        this.thread = thread;
+        this.threadId = thread.getId();
+        this.endpoint = endpoint;
+        this.outcome = outcome;
+        this.failureCause = failureCause;
+        this.latencyNanos = latencyNanos;
+    }
+
+    void publish(long sequence) {
+
+        this.sequence = sequence;
+    }
+
+    long getSequence() {
+
+        return sequence;
+    }
+
+    /**
+     * Drop the references held by the event once it is written, so that the buffer does not keep threads alive.
+     */
+    void clear() {
+
+        alias = null;
+        thread = null;
+        endpoint = null;
+    }
+
+    /**
+     * Get the time the lookup completed.
+     *
+     * @return Time in milliseconds since the epoch
+     */
+    public long getTimestampMillis() {
+
+        return timestampMillis;
+    }
+
+    public String getAlias() {
+
+        return alias;
+    }
+
+    /**
+     * Get the name of the thread that looked up the secret. The name is read when the event is written, rather than
+     * when it is recorded, so that recording an event does not create a string.
+     *
+     * @return Name of the thread
+     */
+    public String getThreadName() {
+
+        Thread current = thread;
+        return current != null ? current.getName() : null;
+    }
+
+    public long getThreadId() {
+
+        return threadId;
+    }
+
+    /**
+     * Get the address of the vault server the secret was read from.
+     *
+     * @return Address of the vault server, or null if the secret was not read from the vault
+     */
+    public String getEndpoint() {
+
+        return endpoint;
+    }
+
+    public SecretAccessOutcome getOutcome() {
+
+        return outcome;
+    }
+
+    /**
+     * Get the cause of a failed lookup, or of a lookup served from the secret snapshot.
+     *
+     * @return Cause of the failure, or null if the lookup did not fail
+     */
+    public FailureCause getFailureCause() {
+
+        return failureCause;
+    }
+
+    /**
+     * Get the time taken by the lookup.
+     *
+     * @return Time in nanoseconds
+     */
+    public long getLatencyNanos() {
+
+        return latencyNanos;
+    }
+}
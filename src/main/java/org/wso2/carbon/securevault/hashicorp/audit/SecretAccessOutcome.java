@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+/**
+ * Outcome of a secret lookup recorded in the audit trail.
+ */
+public enum SecretAccessOutcome {
+
+    /**
+     * The secret was found in the secret cache.
+     */
+    CACHE_HIT,
+
+    /**
+     * The secret was read from the vault.
+     */
+    VAULT_READ,
+
+    /**
+     * The secret was served from the secret snapshot because it could not be read from the vault.
+     */
+    SNAPSHOT,
+
+    /**
+     * The secret could not be looked up.
+     */
+    FAILED
+}
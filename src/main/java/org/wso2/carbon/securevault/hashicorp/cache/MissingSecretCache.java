@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.cache;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache of secrets that the vault reported as not found, so that repeated lookups of a missing
+ * alias are answered without a round trip to the vault. Entries expire after a short time to live, after which the
+ * secret is read from the vault again.
+ * <p>
+ * As every entry lives for the same time, entries are also queued in the order they were added, which is the order
+ * they expire in. Expired entries, and the oldest ones once the cache is full, are dropped from the head of the queue
+ * as new entries are added under a short lock, so that each entry is looked at once on its way out. Lookups do not
+ * take the lock.
+ */
+public class MissingSecretCache {
+
+    private final Map<String, Long> entries = new ConcurrentHashMap<>();
+    private final Deque<Entry> insertionOrder = new ArrayDeque<>();
+    private final int maxSize;
+    private final long ttlNanos;
+
+    /**
+     * Create a missing secret cache.
+     *
+     * @param maxSize    Maximum number of missing secrets kept in the cache
+     * @param ttlSeconds Time for which a secret is considered missing, in seconds
+     */
+    public MissingSecretCache(int maxSize, long ttlSeconds) {
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be a positive value: " + maxSize);
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Cache TTL should be a positive value: " + ttlSeconds);
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+    }
+
+    /**
+     * Check whether a secret was recently reported as not found.
+     *
+     * @param secretPath Path of the secret
+     * @return true if the secret is known to be missing
+     */
+    public boolean contains(String secretPath) {
+
+        Long expiresAt = entries.get(secretPath);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (System.nanoTime() - expiresAt >= 0) {
+            entries.remove(secretPath, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Record a secret that the vault reported as not found. Expired entries are dropped, followed by the oldest
+     * entries if the cache is full.
+     *
+     * @param secretPath Path of the secret
+     */
+    public void put(String secretPath) {
+
+        synchronized (insertionOrder) {
+            long now = System.nanoTime();
+            Entry added = new Entry(secretPath, now + ttlNanos);
+            entries.put(secretPath, added.expiresAt);
+            insertionOrder.addLast(added);
+
+            Entry oldest;
+            while ((oldest = insertionOrder.peekFirst()) != added) {
+                Long expiresAt = entries.get(oldest.secretPath);
+                boolean current = expiresAt != null && expiresAt == oldest.expiresAt;
+                if (current && now - oldest.expiresAt < 0 && entries.size() <= maxSize) {
+                    break;
+                }
+                insertionOrder.pollFirst();
+                if (current) {
+                    entries.remove(oldest.secretPath, oldest.expiresAt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Remove a secret from the cache, so that its next lookup reads it from the vault.
+     *
+     * @param secretPath Path of the secret
+     */
+    public void invalidate(String secretPath) {
+
+        entries.remove(secretPath);
+    }
+
+    /**
+     * Remove all secrets from the cache.
+     */
+    public void invalidateAll() {
+
+        synchronized (insertionOrder) {
+            entries.clear();
+            insertionOrder.clear();
+        }
+    }
+
+    /**
+     * Missing secret queued in the order it was added. Entries of secrets that were invalidated or added again are
+     * left in the queue, and skipped once they reach its head.
+     */
+    private static final class Entry {
+
+        private final String secretPath;
+        private final long expiresAt;
+
+        private Entry(String secretPath, long expiresAt) {
+
+            this.secretPath = secretPath;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
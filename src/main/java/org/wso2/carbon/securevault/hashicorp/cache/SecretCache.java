@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.cache;
+
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded in-memory cache for secrets resolved from HashiCorp Vault.
+ * Entries expire after a fixed time to live, and the least recently used entries are evicted once the cache grows
+ * beyond its maximum size. Lookups take no lock and only stamp the entry with the time it was accessed. A put that
+ * grows the cache beyond its maximum size sweeps it under a lock, removing the expired entries and then the least
+ * recently accessed ones until an eighth of the cache is free, so that the cost of a sweep is spread over the puts
+ * that fill the cache again.
+ * <p>
+ * When refresh ahead is enabled, a lookup of an entry that is close to expiry hands the entry to a
+ * {@link RefreshHandler} once, so that it can be reloaded in the background while readers keep getting the cached
+ * value. A refresh that fails is retried by a later lookup after a randomised delay.
+ * <p>
+ * Secrets are cached under a key of the caller's choosing, such as the path of a secret along with every field read
+ * from it, or a Transit ciphertext along with its plaintext.
+ *
+ * @param <V> Type of the cached secrets
+ */
+public class SecretCache<V> {
+
+    private static final long MIN_REFRESH_RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private final Map<String, CacheEntry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maxSize;
+    private final int evictToSize;
+    private final long ttlNanos;
+    private final long refreshAfterNanos;
+    private final double refreshJitter;
+    private final RefreshHandler refreshHandler;
+    private final VaultMetrics metrics;
+
+    /**
+     * Create a secret cache. Entries can be refreshed ahead of their expiry at a randomised point, so that entries
+     * cached together, such as by the nodes of a cluster starting at once, are not refreshed together.
+     *
+     * @param maxSize            Maximum number of secrets kept in the cache
+     * @param ttlSeconds         Time to live of a cached secret in seconds
+     * @param refreshAheadFactor Fraction of the time to live after which a looked up entry is refreshed, or 0 to
+     *                           disable refresh ahead
+     * @param refreshJitter      Fraction by which the refresh point of each entry is brought forward at random
+     * @param refreshHandler     Handler that refreshes entries, may be null if refresh ahead is disabled
+     * @param metrics            Metrics to record cache hits, misses and evictions on, or null to not record them
+     */
+    public SecretCache(int maxSize, long ttlSeconds, double refreshAheadFactor, double refreshJitter,
+                       RefreshHandler refreshHandler, VaultMetrics metrics) {
+
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Cache size should be a positive value: " + maxSize);
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Cache TTL should be a positive value: " + ttlSeconds);
+        }
+        if (refreshAheadFactor < 0 || refreshAheadFactor >= 1) {
+            throw new IllegalArgumentException("Refresh ahead factor should be between 0 and 1: "
+                    + refreshAheadFactor);
+        }
+        if (refreshJitter < 0 || refreshJitter >= 1) {
+            throw new IllegalArgumentException("Refresh jitter should be between 0 and 1: " + refreshJitter);
+        }
+        this.maxSize = maxSize;
+        this.evictToSize = maxSize - maxSize / 8;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.refreshHandler = refreshAheadFactor > 0 ? refreshHandler : null;
+        this.refreshAfterNanos = (long) (ttlNanos * refreshAheadFactor);
+        this.refreshJitter = refreshJitter;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Get a cached secret.
+     *
+     * @param key Key of the secret
+     * @return Cached secret, or null if the key is not cached or the cached value has expired
+     */
+    public V get(String key) {
+
+        long now = System.nanoTime();
+        CacheEntry<V> entry = entries.get(key);
+        if (entry != null && entry.isExpired(now)) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            if (metrics != null) {
+                metrics.recordCacheMiss();
+            }
+            return null;
+        }
+        entry.accessedAt = now;
+        if (metrics != null) {
+            metrics.recordCacheHit();
+        }
+        if (refreshHandler != null && entry.startRefresh(now)) {
+            refreshHandler.refresh(key, entry.version);
+        }
+        return entry.value;
+    }
+
+    /**
+     * Add a secret to the cache, evicting the least recently used secret if the cache is full.
+     *
+     * @param key    Key of the secret
+     * @param secret Secret value
+     */
+    public void put(String key, V secret) {
+
+        put(key, secret, -1);
+    }
+
+    /**
+     * Add a secret along with its version in the vault to the cache, evicting the least recently used secret if the
+     * cache is full.
+     *
+     * @param key     Key of the secret
+     * @param secret  Secret value
+     * @param version Version of the secret in the vault, or -1 if unknown
+     */
+    public void put(String key, V secret, long version) {
+
+        entries.put(key, newEntry(secret, version, System.nanoTime()));
+        if (entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    /**
+     * Restart the time to live of a cached secret, if the cached secret is still of the given version. Used when a
+     * refresh finds that the secret has not changed in the vault.
+     *
+     * @param key     Key of the secret
+     * @param version Version of the secret in the vault
+     * @return true if the entry was extended
+     */
+    public boolean extend(String key, long version) {
+
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null || entry.version != version) {
+            return false;
+        }
+        return entries.replace(key, entry, newEntry(entry.value, version, System.nanoTime()));
+    }
+
+    /**
+     * Let a cached secret be refreshed again after its refresh failed. The refresh is retried by a lookup after a
+     * random delay of up to a quarter of the remaining time to live of the secret, so that failing refreshes of many
+     * secrets do not retry together, and the vault is asked less often the more it fails.
+     *
+     * @param key Key of the secret
+     */
+    public void refreshFailed(String key) {
+
+        CacheEntry<V> entry = entries.get(key);
+        if (entry == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        long delay = (long) ((entry.expiresAt - now) / 4 * (0.5 + ThreadLocalRandom.current().nextDouble() / 2));
+        entry.retryRefresh(now + Math.max(delay, MIN_REFRESH_RETRY_DELAY_NANOS));
+    }
+
+    /**
+     * Remove a secret from the cache.
+     *
+     * @param key Key of the secret
+     * @return true if the secret was cached
+     */
+    public boolean invalidate(String key) {
+
+        return entries.remove(key) != null;
+    }
+
+    /**
+     * Remove all secrets from the cache.
+     */
+    public void invalidateAll() {
+
+        entries.clear();
+    }
+
+    /**
+     * Get the number of secrets currently held in the cache, including expired ones not yet cleaned up.
+     *
+     * @return Number of cached secrets
+     */
+    public int size() {
+
+        return entries.size();
+    }
+
+    /**
+     * Remove the expired entries, and then the least recently accessed entries until the cache is back below its
+     * maximum size by an eighth. Puts that find the cache full while another put is sweeping it wait for the sweep
+     * to finish, so the cache does not grow further beyond its maximum size.
+     */
+    private void evict() {
+
+        evictionLock.lock();
+        try {
+            if (entries.size() <= maxSize) {
+                return;
+            }
+            long now = System.nanoTime();
+            List<Map.Entry<String, CacheEntry<V>>> live = new ArrayList<>(entries.size());
+            for (Map.Entry<String, CacheEntry<V>> entry : entries.entrySet()) {
+                if (entry.getValue().isExpired(now)) {
+                    entries.remove(entry.getKey(), entry.getValue());
+                } else {
+                    live.add(entry);
+                }
+            }
+            int excess = entries.size() - evictToSize;
+            if (excess <= 0) {
+                return;
+            }
+            live.sort((a, b) -> Long.compare(a.getValue().accessedAt - now, b.getValue().accessedAt - now));
+            int evicted = 0;
+            for (int i = 0; i < live.size() && evicted < excess; i++) {
+                if (entries.remove(live.get(i).getKey(), live.get(i).getValue())) {
+                    evicted++;
+                }
+            }
+            if (metrics != null) {
+                for (int i = 0; i < evicted; i++) {
+                    metrics.recordCacheEviction();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private CacheEntry<V> newEntry(V secret, long version, long now) {
+
+        long refreshAfter = refreshJitter > 0 ?
+                (long) (refreshAfterNanos * (1 - refreshJitter * ThreadLocalRandom.current().nextDouble())) :
+                refreshAfterNanos;
+        return new CacheEntry<>(secret, version, now + refreshAfter, now + ttlNanos, now);
+    }
+
+    /**
+     * Handles refreshing of cache entries that are close to expiry. Implementations are expected to reload the
+     * secret without blocking the caller, and update the cache with {@link #put(String, Object, long)} or
+     * {@link #extend(String, long)}, or report with {@link #refreshFailed(String)} that the secret could not be
+     * refreshed.
+     */
+    public interface RefreshHandler {
+
+        /**
+         * Refresh a cached secret.
+         *
+         * @param key     Key of the secret
+         * @param version Version of the cached secret, or -1 if unknown
+         */
+        void refresh(String key, long version);
+    }
+
+    /**
+     * Cached secret along with its version, expiry and the time it was last accessed.
+     */
+    private static final class CacheEntry<V> {
+
+        @SuppressWarnings("rawtypes")
+        private static final AtomicIntegerFieldUpdater<CacheEntry> REFRESH_STATE =
+                AtomicIntegerFieldUpdater.newUpdater(CacheEntry.class, "refreshState");
+
+        private final V value;
+        private final long version;
+        private volatile long refreshAt;
+        private final long expiresAt;
+        private volatile int refreshState;
+        private volatile long accessedAt;
+
+        private CacheEntry(V value, long version, long refreshAt, long expiresAt, long accessedAt) {
+
+            this.value = value;
+            this.version = version;
+            this.refreshAt = refreshAt;
+            this.expiresAt = expiresAt;
+            this.accessedAt = accessedAt;
+        }
+
+        private boolean startRefresh(long now) {
+
+            // The refresh state is read before the refresh point, which a failed refresh moves before resetting it.
+            return refreshState == 0 && now - refreshAt >= 0 && REFRESH_STATE.compareAndSet(this, 0, 1);
+        }
+
+        private void retryRefresh(long retryAt) {
+
+            if (refreshState == 1) {
+                refreshAt = retryAt;
+                refreshState = 0;
+            }
+        }
+
+        private boolean isExpired(long now) {
+
+            return now - expiresAt >= 0;
+        }
+    }
+}
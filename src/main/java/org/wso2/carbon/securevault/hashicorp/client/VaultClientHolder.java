@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import com.bettercloud.vault.SslConfig;
+import com.bettercloud.vault.VaultException;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.transport.DriverVaultTransport;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponse;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponseException;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultTransport;
+
+import java.io.File;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Holds the transport used to send requests to HashiCorp Vault, so that connections, SSL contexts and clients are
+ * built once and reused across reads. Requests are sent through the transport asynchronously, and this holder waits
+ * for their responses on behalf of callers that need them right away.
+ * <p>
+ * Requests can be limited in rate and concurrency before they are sent, and requests that the vault rejects because
+ * of rate limiting can be retried with a jittered backoff.
+ */
+public class VaultClientHolder {
+
+    private static final Log LOG = LogFactory.getLog(VaultClientHolder.class);
+    // Requests are bounded by the timeouts of the transport, this only guards against a request that never completes.
+    private static final long RESPONSE_MAX_WAIT_MILLIS = 120000L;
+
+    private final VaultTransport transport;
+    private final VaultRequestLimiter limiter;
+    private final VaultRetryPolicy retryPolicy;
+
+    /**
+     * Create a client holder that sends requests through the vault driver.
+     *
+     * @param openTimeout Connection open timeout in seconds, or null to use the driver default
+     * @param readTimeout Response read timeout in seconds, or null to use the driver default
+     * @param sslVerify   Whether the vault server certificate should be verified
+     * @param sslPemFile  PEM encoded CA certificate used to verify the vault server, or null to use the JVM
+     *                    trust store
+     * @throws HashiCorpVaultException when the SSL configuration cannot be built
+     */
+    public VaultClientHolder(Integer openTimeout, Integer readTimeout, boolean sslVerify, String sslPemFile)
+            throws HashiCorpVaultException {
+
+        this(new DriverVaultTransport(openTimeout, readTimeout, buildSslConfig(sslVerify, sslPemFile)));
+    }
+
+    /**
+     * Create a client holder that sends requests through the given transport.
+     *
+     * @param transport Transport used to send requests to the vault
+     */
+    public VaultClientHolder(VaultTransport transport) {
+
+        this(transport, null, null);
+    }
+
+    /**
+     * Create a client holder that sends requests through the given transport, limiting the requests sent and
+     * retrying rate limited requests.
+     *
+     * @param transport   Transport used to send requests to the vault
+     * @param limiter     Limiter of the requests sent to the vault, or null to send requests right away
+     * @param retryPolicy Policy for retrying rate limited requests, or null to never retry
+     */
+    public VaultClientHolder(VaultTransport transport, VaultRequestLimiter limiter, VaultRetryPolicy retryPolicy) {
+
+        this.transport = transport;
+        this.limiter = limiter;
+        this.retryPolicy = retryPolicy;
+    }
+
+    /**
+     * Build the SSL configuration used to connect to the vault.
+     *
+     * @param sslVerify  Whether the vault server certificate should be verified
+     * @param sslPemFile PEM encoded CA certificate used to verify the vault server, or null to use the JVM
+     *                   trust store
+     * @return SSL configuration
+     * @throws HashiCorpVaultException when the SSL configuration cannot be built
+     */
+    public static SslConfig buildSslConfig(boolean sslVerify, String sslPemFile) throws HashiCorpVaultException {
+
+        try {
+            SslConfig ssl = new SslConfig().verify(sslVerify);
+            if (StringUtils.isNotEmpty(sslPemFile)) {
+                ssl = ssl.pemFile(new File(sslPemFile));
+            }
+            return ssl.build();
+        } catch (VaultException e) {
+            throw new HashiCorpVaultException("Error while building the SSL configuration for the vault client", e);
+        }
+    }
+
+    /**
+     * Read a secret.
+     *
+     * @param address       Address of the vault server
+     * @param namespace     Vault namespace, or null for the root namespace
+     * @param accessToken   Token used to authenticate with the vault
+     * @param engineVersion Version of the KV secrets engine
+     * @param path          Path of the secret, starting with the engine path
+     * @return Response from the vault, which may be a client error such as a missing secret
+     * @throws VaultException          when the vault responds with a server error
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse read(String address, String namespace, String accessToken, int engineVersion, String path)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.read(address, namespace, accessToken, engineVersion, path));
+    }
+
+    /**
+     * List the secrets in a folder.
+     *
+     * @param address       Address of the vault server
+     * @param namespace     Vault namespace, or null for the root namespace
+     * @param accessToken   Token used to authenticate with the vault
+     * @param engineVersion Version of the KV secrets engine
+     * @param path          Path of the folder, starting with the engine path
+     * @return Response from the vault
+     * @throws VaultException          when the vault responds with a server error
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse list(String address, String namespace, String accessToken, int engineVersion, String path)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.list(address, namespace, accessToken, engineVersion, path));
+    }
+
+    /**
+     * Send a GET request to a vault API path that is not covered by the other requests.
+     *
+     * @param address     Address of the vault server
+     * @param namespace   Vault namespace, or null for the root namespace
+     * @param accessToken Token used to authenticate with the vault
+     * @param path        API path relative to /v1/
+     * @return Response from the vault
+     * @throws VaultException          when the request fails
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse get(String address, String namespace, String accessToken, String path)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.get(address, namespace, accessToken, path));
+    }
+
+    /**
+     * Send a POST request with a JSON body to a vault API path that is not covered by the other requests.
+     *
+     * @param address     Address of the vault server
+     * @param namespace   Vault namespace, or null for the root namespace
+     * @param accessToken Token used to authenticate with the vault
+     * @param path        API path relative to /v1/
+     * @param body        JSON body of the request
+     * @return Response from the vault
+     * @throws VaultException          when the request fails
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse post(String address, String namespace, String accessToken, String path, String body)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.post(address, namespace, accessToken, path, body));
+    }
+
+    /**
+     * Log in with AppRole.
+     *
+     * @param address  Address of the vault server
+     * @param roleId   Role id of the AppRole
+     * @param secretId Secret id of the AppRole
+     * @return Response from the vault
+     * @throws VaultException          when the vault rejects the login
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse loginWithAppRole(String address, String roleId, String secretId)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.loginWithAppRole(address, roleId, secretId));
+    }
+
+    /**
+     * Look up the TTL of a token.
+     *
+     * @param address     Address of the vault server
+     * @param accessToken Token to look up
+     * @return Response from the vault
+     * @throws VaultException          when the vault rejects the lookup
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse lookupSelf(String address, String accessToken)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.lookupSelf(address, accessToken));
+    }
+
+    /**
+     * Renew a token.
+     *
+     * @param address     Address of the vault server
+     * @param accessToken Token to renew
+     * @return Response from the vault
+     * @throws VaultException          when the vault rejects the renewal
+     * @throws HashiCorpVaultException when the vault cannot be reached
+     */
+    public VaultResponse renewSelf(String address, String accessToken)
+            throws VaultException, HashiCorpVaultException {
+
+        return execute(() -> transport.renewSelf(address, accessToken));
+    }
+
+    /**
+     * Release the threads and connections held by the transport.
+     */
+    public void close() {
+
+        transport.close();
+    }
+
+    /**
+     * Send a request once the limiter lets it through, retrying it while the vault rejects it because of rate
+     * limiting and the retry policy allows.
+     */
+    private VaultResponse execute(Supplier<CompletableFuture<VaultResponse>> request)
+            throws VaultException, HashiCorpVaultException {
+
+        for (int retry = 1; ; retry++) {
+            VaultResponse response;
+            long delay;
+            try {
+                response = send(request);
+                delay = getRetryDelay(retry, response.getStatus(), response);
+            } catch (VaultException e) {
+                delay = getRetryDelay(retry, e.getHttpStatusCode(),
+                        e instanceof VaultResponseException ? ((VaultResponseException) e).getResponse() : null);
+                if (delay < 0) {
+                    throw e;
+                }
+                response = null;
+            }
+            if (delay < 0) {
+                return response;
+            }
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Vault request was rate limited, retrying in " + delay + " ms");
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HashiCorpVaultException("Interrupted while waiting to retry a request to the vault", e);
+            }
+        }
+    }
+
+    private VaultResponse send(Supplier<CompletableFuture<VaultResponse>> request)
+            throws VaultException, HashiCorpVaultException {
+
+        if (limiter == null) {
+            return await(request.get());
+        }
+        limiter.acquire();
+        try {
+            return await(request.get());
+        } finally {
+            limiter.release();
+        }
+    }
+
+    private long getRetryDelay(int retry, int status, VaultResponse response) {
+
+        if (retryPolicy == null || !retryPolicy.isRetryable(status)) {
+            return -1;
+        }
+        return retryPolicy.getDelayMillis(retry, response != null ? response.getRetryAfterSeconds() : -1);
+    }
+
+    private static VaultResponse await(CompletableFuture<VaultResponse> response)
+            throws VaultException, HashiCorpVaultException {
+
+        try {
+            return response.get(RESPONSE_MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            response.cancel(true);
+            throw new HashiCorpVaultException("Vault did not respond within " + RESPONSE_MAX_WAIT_MILLIS + " ms", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof VaultException) {
+                throw (VaultException) cause;
+            } else if (cause instanceof HashiCorpVaultException) {
+                throw (HashiCorpVaultException) cause;
+            }
+            throw new HashiCorpVaultException("Error while sending request to the vault", cause);
+        } catch (InterruptedException e) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new HashiCorpVaultException("Interrupted while waiting for the vault to respond", e);
+        }
+    }
+}
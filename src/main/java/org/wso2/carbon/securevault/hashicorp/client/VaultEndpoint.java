@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A vault server address along with its rolling latency, error rate and circuit breaker state.
+ * <p>
+ * The rolling averages are updated without synchronization, so concurrent updates may occasionally be lost. They are
+ * only used to rank endpoints, for which an approximate value is sufficient.
+ */
+final class VaultEndpoint {
+
+    private static final int CLOSED = 0;
+    private static final int OPEN = 1;
+    private static final int HALF_OPEN = 2;
+    private static final double SMOOTHING_FACTOR = 0.2;
+    private static final double ERROR_PENALTY = 4;
+
+    private final String address;
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final AtomicInteger state = new AtomicInteger(CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile long openedAt;
+    private volatile double latencyNanos;
+    private volatile double errorRate;
+
+    VaultEndpoint(String address, int failureThreshold, long openDurationNanos) {
+
+        this.address = address;
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDurationNanos;
+    }
+
+    String getAddress() {
+
+        return address;
+    }
+
+    /**
+     * Get the score used to rank the endpoint, lower is better. Endpoints that have not been used yet score 0.
+     *
+     * @return Rolling latency penalized by the rolling error rate
+     */
+    double getScore() {
+
+        return latencyNanos * (1 + ERROR_PENALTY * errorRate);
+    }
+
+    /**
+     * Check whether the circuit of the endpoint is open and its open duration has elapsed, so that a trial request
+     * can be sent.
+     *
+     * @param now Current time in nanoseconds
+     * @return true if a trial request can be sent
+     */
+    boolean isReadyForTrial(long now) {
+
+        return state.get() == OPEN && now - openedAt >= openDurationNanos;
+    }
+
+    /**
+     * Check whether a request can be sent to the endpoint. Requests are allowed while the circuit is closed. Once the
+     * open duration of an open circuit elapses, a single trial request is allowed to decide whether to close it.
+     *
+     * @param now Current time in nanoseconds
+     * @return true if a request can be sent
+     */
+    boolean tryAcquire(long now) {
+
+        int current = state.get();
+        if (current == CLOSED) {
+            return true;
+        }
+        return current == OPEN && now - openedAt >= openDurationNanos && state.compareAndSet(OPEN, HALF_OPEN);
+    }
+
+    /**
+     * Record a request answered by the endpoint, closing its circuit if it was open.
+     *
+     * @param elapsedNanos Time taken by the request
+     * @return true if the circuit was closed by this request
+     */
+    boolean recordSuccess(long elapsedNanos) {
+
+        latencyNanos = smooth(latencyNanos, elapsedNanos);
+        consecutiveFailures.set(0);
+        if (state.get() != CLOSED) {
+            errorRate = 0;
+            state.set(CLOSED);
+            return true;
+        }
+        errorRate = smooth(errorRate, 0);
+        return false;
+    }
+
+    /**
+     * Record a request that the endpoint failed to answer, opening its circuit once the failure threshold is reached
+     * or if the request was a trial.
+     *
+     * @param elapsedNanos Time taken by the request
+     * @param now          Current time in nanoseconds
+     * @return true if the circuit was opened by this request
+     */
+    boolean recordFailure(long elapsedNanos, long now) {
+
+        latencyNanos = smooth(latencyNanos, elapsedNanos);
+        errorRate = smooth(errorRate, 1);
+        if (state.get() == HALF_OPEN) {
+            openedAt = now;
+            return state.compareAndSet(HALF_OPEN, OPEN);
+        }
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.get() == CLOSED) {
+            openedAt = now;
+            return state.compareAndSet(CLOSED, OPEN);
+        }
+        return false;
+    }
+
+    private static double smooth(double average, double sample) {
+
+        return average == 0 ? sample : average + SMOOTHING_FACTOR * (sample - average);
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import com.bettercloud.vault.VaultException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends vault requests to the healthiest of a set of vault server addresses. Each endpoint tracks its rolling latency
+ * and error rate, and requests go to the endpoint with the best score, failing over to the next one when an endpoint
+ * is unreachable or responds with a server error.
+ * <p>
+ * An endpoint that fails a number of consecutive requests has its circuit opened and is skipped without being
+ * waited on. Once the open duration elapses, a single trial request is sent to it, which closes the circuit if it
+ * succeeds. With a single endpoint, requests are always sent to it.
+ */
+public class VaultEndpointSelector {
+
+    private static final Log LOG = LogFactory.getLog(VaultEndpointSelector.class);
+    private static final int SERVICE_UNAVAILABLE = 503;
+
+    private final VaultEndpoint[] endpoints;
+
+    /**
+     * Create an endpoint selector.
+     *
+     * @param addresses          Addresses of the vault servers, in order of preference
+     * @param failureThreshold   Number of consecutive failures after which the circuit of an endpoint is opened
+     * @param openDurationMillis Time in milliseconds an open circuit stays open before a trial request is allowed
+     */
+    public VaultEndpointSelector(List<String> addresses, int failureThreshold, long openDurationMillis) {
+
+        if (addresses.isEmpty()) {
+            throw new IllegalArgumentException("At least one vault address should be configured");
+        }
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("Failure threshold should be a positive value: " + failureThreshold);
+        }
+        this.endpoints = new VaultEndpoint[addresses.size()];
+        for (int i = 0; i < endpoints.length; i++) {
+            endpoints[i] = new VaultEndpoint(addresses.get(i), failureThreshold,
+                    TimeUnit.MILLISECONDS.toNanos(openDurationMillis));
+        }
+    }
+
+    /**
+     * Get the address of the first configured vault server.
+     *
+     * @return Address of the vault server
+     */
+    public String getPrimaryAddress() {
+
+        return endpoints[0].getAddress();
+    }
+
+    /**
+     * Send a request to the healthiest available endpoint, failing over to the other endpoints if it is unavailable.
+     * Failures other than the vault being unavailable, such as a rejected token, are returned to the caller without
+     * failing over.
+     *
+     * @param request Request to send
+     * @param <T>     Type of the result of the request
+     * @return Result of the request
+     * @throws VaultException          when the request fails on every available endpoint, or no endpoint is available
+     * @throws HashiCorpVaultException when the request fails on every available endpoint
+     */
+    public <T> T execute(EndpointRequest<T> request) throws VaultException, HashiCorpVaultException {
+
+        if (endpoints.length == 1) {
+            return request.send(endpoints[0].getAddress());
+        }
+
+        long now = System.nanoTime();
+        Exception lastFailure = null;
+        for (VaultEndpoint endpoint : rank(now)) {
+            if (!endpoint.tryAcquire(now)) {
+                continue;
+            }
+            long startTime = System.nanoTime();
+            try {
+                T result = request.send(endpoint.getAddress());
+                recordSuccess(endpoint, System.nanoTime() - startTime);
+                return result;
+            } catch (VaultException | HashiCorpVaultException e) {
+                long endTime = System.nanoTime();
+                if (FailureCause.of(e) != FailureCause.VAULT_UNAVAILABLE) {
+                    recordSuccess(endpoint, endTime - startTime);
+                    throw e;
+                }
+                if (endpoint.recordFailure(endTime - startTime, endTime)) {
+                    LOG.warn("HashiCorp vault endpoint " + endpoint.getAddress() + " is unavailable, skipping it "
+                            + "until it recovers");
+                }
+                LOG.debug("Request to HashiCorp vault endpoint " + endpoint.getAddress() + " failed", e);
+                lastFailure = e;
+            }
+        }
+
+        if (lastFailure instanceof HashiCorpVaultException) {
+            throw (HashiCorpVaultException) lastFailure;
+        } else if (lastFailure != null) {
+            throw (VaultException) lastFailure;
+        }
+        throw new VaultException("None of the configured HashiCorp vault endpoints is available",
+                SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Order the endpoints by score. Endpoints due for a trial go first, so that a recovered endpoint is detected
+     * without waiting for the other endpoints to fail. Scores are read once, as they may change while sorting.
+     */
+    private VaultEndpoint[] rank(long now) {
+
+        VaultEndpoint[] ranked = new VaultEndpoint[endpoints.length];
+        double[] scores = new double[endpoints.length];
+        for (int i = 0; i < endpoints.length; i++) {
+            VaultEndpoint endpoint = endpoints[i];
+            double score = endpoint.isReadyForTrial(now) ? -1 : endpoint.getScore();
+            int position = i;
+            while (position > 0 && scores[position - 1] > score) {
+                ranked[position] = ranked[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            ranked[position] = endpoint;
+            scores[position] = score;
+        }
+        return ranked;
+    }
+
+    private static void recordSuccess(VaultEndpoint endpoint, long elapsedNanos) {
+
+        if (endpoint.recordSuccess(elapsedNanos)) {
+            LOG.info("HashiCorp vault endpoint " + endpoint.getAddress() + " has recovered");
+        }
+    }
+
+    /**
+     * Request to a vault server that can be sent to any of the configured endpoints.
+     *
+     * @param <T> Type of the result of the request
+     */
+    public interface EndpointRequest<T> {
+
+        T send(String address) throws VaultException, HashiCorpVaultException;
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import com.bettercloud.vault.VaultException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Sends hedged reads to cut the tail latency of reading secrets. A read is sent on the calling thread, and if it has
+ * not responded within a delay taken from a high percentile of the recent read latencies, it is sent a second time
+ * on a hedging thread. The first of the two to succeed is used and the other is cancelled by interrupting its thread.
+ * Only the slowest few reads are hedged, so the extra load on the vault stays small, and hedged reads are sent on a
+ * pool of at most <code>maxHedges</code> threads so that a vault that is slow for every read is not sent twice the
+ * requests.
+ * <p>
+ * The latency of every read sent is recorded, including reads that failed or were cancelled, so that a vault that
+ * is failing or slow raises the hedging delay instead of hiding from it. Reads are not hedged until enough latencies
+ * have been recorded to estimate the delay.
+ */
+public class VaultReadHedger {
+
+    private static final Log LOG = LogFactory.getLog(VaultReadHedger.class);
+    private static final int SAMPLE_COUNT = 256;
+    private static final int MIN_SAMPLES = 32;
+    private static final int UPDATE_INTERVAL = 32;
+    private static final int FIRST = 0;
+    private static final int HEDGE = 1;
+
+    private final double percentile;
+    private final long minDelayNanos;
+    private final VaultMetrics metrics;
+    private final ScheduledThreadPoolExecutor executor;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SAMPLE_COUNT);
+    private final AtomicLong sampleCount = new AtomicLong();
+    private volatile long delayNanos = -1;
+
+    /**
+     * Create a read hedger.
+     *
+     * @param percentile     Percentile of the recent read latencies after which a read is hedged, between 0 and 100
+     * @param minDelayMillis Minimum delay in milliseconds before a read is hedged
+     * @param maxHedges      Maximum number of hedged reads in flight, which is the number of hedging threads
+     * @param metrics        Metrics to record hedged reads on
+     */
+    public VaultReadHedger(double percentile, long minDelayMillis, int maxHedges, VaultMetrics metrics) {
+
+        if (percentile <= 0 || percentile >= 100) {
+            throw new IllegalArgumentException("Hedging percentile should be between 0 and 100: " + percentile);
+        }
+        if (minDelayMillis < 0) {
+            throw new IllegalArgumentException("Hedging delay should not be negative: " + minDelayMillis);
+        }
+        if (maxHedges <= 0) {
+            throw new IllegalArgumentException("Maximum hedged reads should be a positive value: " + maxHedges);
+        }
+        this.percentile = percentile;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMillis);
+        this.metrics = metrics;
+        this.executor = new ScheduledThreadPoolExecutor(maxHedges, new HashiCorpVaultThreadFactory("hedged-read"));
+        this.executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Get the current delay after which a read is hedged.
+     *
+     * @return Delay in milliseconds, or -1 if not enough reads have been recorded to hedge reads yet
+     */
+    public long getDelayMillis() {
+
+        long delay = delayNanos;
+        return delay < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(delay);
+    }
+
+    /**
+     * Send a read on the calling thread, hedging it if it does not respond within the hedging delay. A hedged read
+     * that is still waiting for a hedging thread when the first read responds is not sent.
+     *
+     * @param read Read to send
+     * @param <T>  Type of the result of the read
+     * @return Result of the first read to succeed
+     * @throws VaultException          when every read sent fails with a vault error
+     * @throws HashiCorpVaultException when every read sent fails
+     */
+    public <T> T execute(Read<T> read) throws VaultException, HashiCorpVaultException {
+
+        long delay = delayNanos;
+        if (delay < 0) {
+            long startTime = System.nanoTime();
+            try {
+                return read.send();
+            } finally {
+                recordLatency(System.nanoTime() - startTime);
+            }
+        }
+
+        HedgedRead<T> hedgedRead = new HedgedRead<>();
+        hedgedRead.start(FIRST);
+        ScheduledFuture<?> hedge = null;
+        try {
+            hedge = executor.schedule(() -> sendHedge(read, hedgedRead, delay), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Vault read hedger has been closed, sending the read without hedging it", e);
+        }
+        try {
+            send(read, hedgedRead, FIRST);
+        } finally {
+            if (hedge != null) {
+                hedge.cancel(false);
+            }
+        }
+        return await(hedgedRead);
+    }
+
+    /**
+     * Release the threads used to send hedged reads, cancelling the hedged reads in flight.
+     */
+    public void close() {
+
+        executor.shutdownNow();
+    }
+
+    private <T> void sendHedge(Read<T> read, HedgedRead<T> hedgedRead, long delay) {
+
+        if (!hedgedRead.start(HEDGE)) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Vault read did not respond within " + TimeUnit.NANOSECONDS.toMillis(delay)
+                    + " ms, sending a hedged read");
+        }
+        send(read, hedgedRead, HEDGE);
+    }
+
+    /**
+     * Send one of the reads of a hedged read on the current thread, which must have been started.
+     */
+    private <T> void send(Read<T> read, HedgedRead<T> hedgedRead, int attempt) {
+
+        long startTime = System.nanoTime();
+        T result = null;
+        Exception error = null;
+        try {
+            result = read.send();
+        } catch (VaultException | HashiCorpVaultException | RuntimeException e) {
+            error = e;
+        } finally {
+            recordLatency(System.nanoTime() - startTime);
+        }
+        hedgedRead.complete(attempt, result, error);
+    }
+
+    /**
+     * Record the latency of a read, whatever its outcome, and recompute the hedging delay from the recent latencies
+     * once every few reads.
+     */
+    private void recordLatency(long latencyNanos) {
+
+        long count = sampleCount.incrementAndGet();
+        samples.set((int) ((count - 1) % SAMPLE_COUNT), latencyNanos);
+        if (count >= MIN_SAMPLES && count % UPDATE_INTERVAL == 0) {
+            int size = (int) Math.min(count, SAMPLE_COUNT);
+            long[] latencies = new long[size];
+            for (int i = 0; i < size; i++) {
+                latencies[i] = samples.get(i);
+            }
+            Arrays.sort(latencies);
+            int rank = (int) Math.min(size - 1, Math.ceil(size * percentile / 100) - 1);
+            delayNanos = Math.max(latencies[Math.max(rank, 0)], minDelayNanos);
+        }
+    }
+
+    private static <T> T await(HedgedRead<T> hedgedRead) throws VaultException, HashiCorpVaultException {
+
+        try {
+            return hedgedRead.winner.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof VaultException) {
+                throw (VaultException) cause;
+            } else if (cause instanceof HashiCorpVaultException) {
+                throw (HashiCorpVaultException) cause;
+            }
+            throw new HashiCorpVaultException("Error while reading from the vault", cause);
+        } catch (InterruptedException e) {
+            hedgedRead.cancel(HEDGE);
+            Thread.currentThread().interrupt();
+            throw new HashiCorpVaultException("Interrupted while waiting for the vault to respond", e);
+        }
+    }
+
+    /**
+     * Read that can be sent more than once.
+     *
+     * @param <T> Type of the result of the read
+     */
+    public interface Read<T> {
+
+        T send() throws VaultException, HashiCorpVaultException;
+    }
+
+    /**
+     * State of a read and of its hedged read. The winner is completed with the first read to succeed, or with the
+     * failure of the last read to fail once no other read is in flight or will be sent. A read that loses is
+     * cancelled by interrupting its thread, and the interrupt is cleared again once the read returns, so that it
+     * does not leak to the calling thread or to the next task of the hedging thread.
+     */
+    private final class HedgedRead<T> {
+
+        private final CompletableFuture<T> winner = new CompletableFuture<>();
+        private final Thread[] threads = new Thread[2];
+        private final boolean[] cancelled = new boolean[2];
+        private int inFlight;
+        private boolean hedged;
+        private boolean settled;
+
+        /**
+         * Start a read on the current thread.
+         *
+         * @return Whether the read should be sent, which is not the case once any read has responded
+         */
+        private synchronized boolean start(int attempt) {
+
+            if (settled) {
+                return false;
+            }
+            threads[attempt] = Thread.currentThread();
+            inFlight++;
+            hedged |= attempt == HEDGE;
+            return true;
+        }
+
+        private synchronized void complete(int attempt, T result, Exception error) {
+
+            threads[attempt] = null;
+            inFlight--;
+            settled = true;
+            if (cancelled[attempt]) {
+                Thread.interrupted();
+                return;
+            }
+            if (error == null) {
+                winner.complete(result);
+                cancel(attempt == FIRST ? HEDGE : FIRST);
+                if (hedged) {
+                    metrics.recordHedgedRead(attempt == HEDGE);
+                }
+            } else if (inFlight == 0) {
+                winner.completeExceptionally(error);
+                if (hedged) {
+                    metrics.recordHedgedRead(false);
+                }
+            }
+        }
+
+        private synchronized void cancel(int attempt) {
+
+            settled = true;
+            Thread thread = threads[attempt];
+            if (thread != null) {
+                cancelled[attempt] = true;
+                thread.interrupt();
+            }
+        }
+    }
+}
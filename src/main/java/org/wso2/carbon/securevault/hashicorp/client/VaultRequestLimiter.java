@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the requests sent to the vault, both in rate, with a token bucket, and in the number of requests in flight
+ * at once. Callers wait for their turn up to a maximum time, after which the request fails without being sent, so
+ * that a burst of lookups, such as every node of a cluster starting at once, reaches the vault at a steady rate.
+ */
+public class VaultRequestLimiter {
+
+    private final double permitsPerNano;
+    private final double burst;
+    private final Semaphore concurrency;
+    private final long maxWaitNanos;
+
+    private double availablePermits;
+    private long refilledAt;
+
+    /**
+     * Create a request limiter.
+     *
+     * @param requestsPerSecond Sustained number of requests sent per second, or 0 for no rate limit
+     * @param burst             Number of requests that can be sent at once after a quiet period, or 0 to allow one
+     *                          second worth of requests
+     * @param maxConcurrent     Maximum number of requests in flight at once, or 0 for no limit
+     * @param maxWaitMillis     Maximum time in milliseconds a request waits for its turn
+     */
+    public VaultRequestLimiter(double requestsPerSecond, int burst, int maxConcurrent, long maxWaitMillis) {
+
+        if (requestsPerSecond < 0) {
+            throw new IllegalArgumentException("Request rate should not be negative: " + requestsPerSecond);
+        }
+        if (burst < 0 || maxConcurrent < 0 || maxWaitMillis < 0) {
+            throw new IllegalArgumentException("Request limits should not be negative");
+        }
+        this.permitsPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst > 0 ? burst : Math.max(requestsPerSecond, 1);
+        this.concurrency = maxConcurrent > 0 ? new Semaphore(maxConcurrent, true) : null;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+        this.availablePermits = this.burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Wait until a request can be sent. Every successful call should be followed by a call to {@link #release()}
+     * once the request completes.
+     *
+     * @throws HashiCorpVaultException when the request cannot be sent within the maximum wait time
+     */
+    public void acquire() throws HashiCorpVaultException {
+
+        long deadline = System.nanoTime() + maxWaitNanos;
+        if (concurrency != null) {
+            boolean acquired;
+            try {
+                acquired = concurrency.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HashiCorpVaultException("Interrupted while waiting to send a request to the vault", e);
+            }
+            if (!acquired) {
+                throw new HashiCorpVaultException("Too many concurrent requests to the vault, the request was not "
+                        + "sent");
+            }
+        }
+        if (permitsPerNano <= 0) {
+            return;
+        }
+
+        long waitNanos = reserve(Math.max(deadline - System.nanoTime(), 0));
+        if (waitNanos < 0) {
+            release();
+            throw new HashiCorpVaultException("Vault request rate limit exceeded, the request was not sent");
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                release();
+                Thread.currentThread().interrupt();
+                throw new HashiCorpVaultException("Interrupted while waiting to send a request to the vault", e);
+            }
+        }
+    }
+
+    /**
+     * Release the slot taken by a request that has completed.
+     */
+    public void release() {
+
+        if (concurrency != null) {
+            concurrency.release();
+        }
+    }
+
+    /**
+     * Take a permit from the bucket, going into debt if none is available so that waiting callers are served in
+     * order.
+     *
+     * @return Time in nanoseconds to wait until the permit is available, or -1 if that is longer than the given time
+     */
+    private synchronized long reserve(long maxWaitNanos) {
+
+        long now = System.nanoTime();
+        availablePermits = Math.min(burst, availablePermits + (now - refilledAt) * permitsPerNano);
+        refilledAt = now;
+        long waitNanos = availablePermits >= 1 ? 0 : (long) Math.ceil((1 - availablePermits) / permitsPerNano);
+        if (waitNanos > maxWaitNanos) {
+            return -1;
+        }
+        availablePermits -= 1;
+        return waitNanos;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides whether and when to retry a request that the vault rejected because it is rate limiting the client. Retries
+ * back off exponentially with full jitter, so that clients rejected together do not retry together, and never come
+ * sooner than the vault asked for with the <code>Retry-After</code> header.
+ */
+public class VaultRetryPolicy {
+
+    /**
+     * HTTP status code of a rate limited request.
+     */
+    public static final int TOO_MANY_REQUESTS = 429;
+
+    private final int maxRetries;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+
+    /**
+     * Create a retry policy.
+     *
+     * @param maxRetries         Maximum number of times a request is retried, or 0 to never retry
+     * @param initialDelayMillis Upper bound of the delay before the first retry in milliseconds
+     * @param maxDelayMillis     Maximum delay before a retry in milliseconds
+     */
+    public VaultRetryPolicy(int maxRetries, long initialDelayMillis, long maxDelayMillis) {
+
+        if (maxRetries < 0 || initialDelayMillis < 0 || maxDelayMillis < 0) {
+            throw new IllegalArgumentException("Retry configurations should not be negative");
+        }
+        this.maxRetries = maxRetries;
+        this.initialDelayMillis = initialDelayMillis;
+        this.maxDelayMillis = Math.max(maxDelayMillis, initialDelayMillis);
+    }
+
+    /**
+     * Check whether a response status means that the request can be retried.
+     *
+     * @param status HTTP status code of the response
+     * @return true if the vault rejected the request because of rate limiting
+     */
+    public boolean isRetryable(int status) {
+
+        return status == TOO_MANY_REQUESTS;
+    }
+
+    /**
+     * Get the delay before retrying a request.
+     *
+     * @param retry             Number of the retry, starting from 1
+     * @param retryAfterSeconds Time the vault asked to wait in seconds, or -1 if it did not say
+     * @return Delay in milliseconds, or -1 if the request should not be retried
+     */
+    public long getDelayMillis(int retry, long retryAfterSeconds) {
+
+        if (retry > maxRetries) {
+            return -1;
+        }
+        long retryAfterMillis = retryAfterSeconds > 0 ? TimeUnit.SECONDS.toMillis(retryAfterSeconds) : 0;
+        if (retryAfterMillis > maxDelayMillis) {
+            return -1;
+        }
+        long backoff = initialDelayMillis << Math.min(retry - 1, 30);
+        if (backoff <= 0 || backoff > maxDelayMillis) {
+            backoff = maxDelayMillis;
+        }
+        long jittered = backoff > 0 ? ThreadLocalRandom.current().nextLong(backoff + 1) : 0;
+        return Math.max(jittered, retryAfterMillis);
+    }
+}
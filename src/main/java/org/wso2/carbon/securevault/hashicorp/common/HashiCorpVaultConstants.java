@@ -39,8 +39,150 @@ public class HashiCorpVaultConstants {
     public static final String AUTH_TYPE = "secretRepositories.vault.properties.authType";
     public static final String ROLE_ID_PARAMETER = "secretRepositories.vault.properties.roleId";
 
+    public static final String CACHE_ENABLED_PARAMETER = "secretRepositories.vault.properties.cache.enabled";
+    public static final String CACHE_MAX_SIZE_PARAMETER = "secretRepositories.vault.properties.cache.maxSize";
+    public static final String CACHE_TTL_PARAMETER = "secretRepositories.vault.properties.cache.ttl";
+    public static final String CACHE_REFRESH_AHEAD_ENABLED_PARAMETER =
+            "secretRepositories.vault.properties.cache.refreshAhead.enabled";
+    public static final String CACHE_REFRESH_AHEAD_FACTOR_PARAMETER =
+            "secretRepositories.vault.properties.cache.refreshAhead.factor";
+    public static final String CACHE_REFRESH_AHEAD_JITTER_PARAMETER =
+            "secretRepositories.vault.properties.cache.refreshAhead.jitter";
+    public static final String CACHE_NEGATIVE_TTL_PARAMETER = "secretRepositories.vault.properties.cache.negative.ttl";
+    public static final String CACHE_NEGATIVE_MAX_SIZE_PARAMETER =
+            "secretRepositories.vault.properties.cache.negative.maxSize";
+
+    public static final String OPEN_TIMEOUT_PARAMETER = "secretRepositories.vault.properties.openTimeout";
+    public static final String READ_TIMEOUT_PARAMETER = "secretRepositories.vault.properties.readTimeout";
+    public static final String SSL_VERIFY_PARAMETER = "secretRepositories.vault.properties.ssl.verify";
+    public static final String SSL_PEM_FILE_PARAMETER = "secretRepositories.vault.properties.ssl.pemFile";
+    public static final String TRANSPORT_TYPE_PARAMETER = "secretRepositories.vault.properties.transport.type";
+    public static final String TRANSPORT_MAX_CONNECTIONS_PARAMETER =
+            "secretRepositories.vault.properties.transport.maxConnections";
+
+    public static final String PREFETCH_ENABLED_PARAMETER = "secretRepositories.vault.properties.prefetch.enabled";
+    public static final String PREFETCH_ALIASES_PARAMETER = "secretRepositories.vault.properties.prefetch.aliases";
+    public static final String PREFETCH_THREADS_PARAMETER = "secretRepositories.vault.properties.prefetch.threads";
+    public static final String PREFETCH_TIMEOUT_PARAMETER = "secretRepositories.vault.properties.prefetch.timeout";
+    public static final String PREFETCH_JITTER_PARAMETER = "secretRepositories.vault.properties.prefetch.jitter";
+
+    public static final String LOOKUP_THREADS_PARAMETER = "secretRepositories.vault.properties.lookup.threads";
+    public static final String LOOKUP_TIMEOUT_PARAMETER = "secretRepositories.vault.properties.lookup.timeout";
+    public static final String LOOKUP_DEADLINE_PARAMETER = "secretRepositories.vault.properties.lookup.deadlineMillis";
+
+    public static final String HEDGE_ENABLED_PARAMETER = "secretRepositories.vault.properties.hedge.enabled";
+    public static final String HEDGE_PERCENTILE_PARAMETER = "secretRepositories.vault.properties.hedge.percentile";
+    public static final String HEDGE_MIN_DELAY_PARAMETER = "secretRepositories.vault.properties.hedge.minDelay";
+    public static final String HEDGE_MAX_IN_FLIGHT_PARAMETER = "secretRepositories.vault.properties.hedge.maxInFlight";
+
+    public static final String TOKEN_RENEWAL_ENABLED_PARAMETER =
+            "secretRepositories.vault.properties.token.renewal.enabled";
+    public static final String TOKEN_RENEWAL_THRESHOLD_PARAMETER =
+            "secretRepositories.vault.properties.token.renewal.threshold";
+
+    public static final String SNAPSHOT_ENABLED_PARAMETER = "secretRepositories.vault.properties.snapshot.enabled";
+    public static final String SNAPSHOT_FILE_PARAMETER = "secretRepositories.vault.properties.snapshot.file";
+
+    public static final String THROTTLE_RATE_PARAMETER = "secretRepositories.vault.properties.throttle.rate";
+    public static final String THROTTLE_BURST_PARAMETER = "secretRepositories.vault.properties.throttle.burst";
+    public static final String THROTTLE_MAX_CONCURRENT_PARAMETER =
+            "secretRepositories.vault.properties.throttle.maxConcurrent";
+    public static final String THROTTLE_MAX_WAIT_PARAMETER = "secretRepositories.vault.properties.throttle.maxWait";
+    public static final String RETRY_MAX_RETRIES_PARAMETER = "secretRepositories.vault.properties.retry.maxRetries";
+    public static final String RETRY_INITIAL_DELAY_PARAMETER =
+            "secretRepositories.vault.properties.retry.initialDelay";
+    public static final String RETRY_MAX_DELAY_PARAMETER = "secretRepositories.vault.properties.retry.maxDelay";
+
+    public static final String FAILOVER_FAILURE_THRESHOLD_PARAMETER =
+            "secretRepositories.vault.properties.failover.failureThreshold";
+    public static final String FAILOVER_OPEN_DURATION_PARAMETER =
+            "secretRepositories.vault.properties.failover.openDuration";
+
+    public static final String CONFIG_WATCH_ENABLED_PARAMETER =
+            "secretRepositories.vault.properties.config.watch.enabled";
+
+    public static final String EVENTS_ENABLED_PARAMETER = "secretRepositories.vault.properties.events.enabled";
+    public static final String EVENTS_URL_PARAMETER = "secretRepositories.vault.properties.events.url";
+    public static final String EVENTS_TYPE_PARAMETER = "secretRepositories.vault.properties.events.type";
+    public static final String EVENTS_MAX_RECONNECT_DELAY_PARAMETER =
+            "secretRepositories.vault.properties.events.maxReconnectDelay";
+
+    public static final String TRANSIT_KEY_NAME_PARAMETER = "secretRepositories.vault.properties.transit.keyName";
+    public static final String TRANSIT_PATH_PARAMETER = "secretRepositories.vault.properties.transit.path";
+    public static final String TRANSIT_BATCH_SIZE_PARAMETER = "secretRepositories.vault.properties.transit.batchSize";
+    public static final String TRANSIT_CACHE_MAX_SIZE_PARAMETER =
+            "secretRepositories.vault.properties.transit.cache.maxSize";
+    public static final String TRANSIT_CACHE_TTL_PARAMETER = "secretRepositories.vault.properties.transit.cache.ttl";
+
+    public static final String METRICS_JMX_ENABLED_PARAMETER =
+            "secretRepositories.vault.properties.metrics.jmx.enabled";
+    public static final String METRICS_LISTENERS_PARAMETER = "secretRepositories.vault.properties.metrics.listeners";
+    public static final String AUDIT_ENABLED_PARAMETER = "secretRepositories.vault.properties.audit.enabled";
+    public static final String AUDIT_FILE_PARAMETER = "secretRepositories.vault.properties.audit.file";
+    public static final String AUDIT_FILE_MAX_SIZE_PARAMETER =
+            "secretRepositories.vault.properties.audit.file.maxSize";
+    public static final String AUDIT_FILE_MAX_FILES_PARAMETER =
+            "secretRepositories.vault.properties.audit.file.maxFiles";
+    public static final String AUDIT_HANDLER_PARAMETER = "secretRepositories.vault.properties.audit.handler";
+    public static final String AUDIT_BUFFER_SIZE_PARAMETER = "secretRepositories.vault.properties.audit.bufferSize";
+    public static final String AUDIT_BATCH_SIZE_PARAMETER = "secretRepositories.vault.properties.audit.batchSize";
+    public static final String AUDIT_OVERFLOW_PARAMETER = "secretRepositories.vault.properties.audit.overflow";
+    public static final String AUDIT_OVERFLOW_MAX_WAIT_PARAMETER =
+            "secretRepositories.vault.properties.audit.overflow.maxWait";
+
+    public static final String PROPERTIES_PREFIX = "secretRepositories.vault.properties.";
+    public static final String ROUTES_PARAMETER = "secretRepositories.vault.properties.routes";
+    public static final String ROUTE_PREFIX_PROPERTY = "prefix";
+    public static final String ROUTE_CREDENTIAL_FILE_PROPERTY = "credentialFile";
+    public static final String ROUTE_PERSIST_CREDENTIAL_PROPERTY = "persistCredential";
+    public static final String ROUTE_INHERIT_CREDENTIAL_PROPERTY = "inheritCredential";
+    public static final String ROUTE_EVENTS_URL_PROPERTY = "events.url";
+
     public static final int DEFAULT_ENGINE_VERSION = 2;
 
+    public static final int DEFAULT_CACHE_MAX_SIZE = 100;
+    public static final long DEFAULT_CACHE_TTL = 900;
+    public static final double DEFAULT_CACHE_REFRESH_AHEAD_FACTOR = 0.8;
+    public static final double DEFAULT_CACHE_REFRESH_AHEAD_JITTER = 0.1;
+    public static final long DEFAULT_CACHE_NEGATIVE_TTL = 30;
+    public static final int DEFAULT_CACHE_NEGATIVE_MAX_SIZE = 1000;
+    public static final int DEFAULT_PREFETCH_THREADS = 4;
+    public static final long DEFAULT_PREFETCH_TIMEOUT = 30;
+    public static final long DEFAULT_PREFETCH_JITTER = 0;
+    public static final int DEFAULT_LOOKUP_THREADS = 8;
+    public static final long DEFAULT_LOOKUP_TIMEOUT = 30;
+    public static final long DEFAULT_LOOKUP_DEADLINE = 0;
+    public static final double DEFAULT_HEDGE_PERCENTILE = 95;
+    public static final long DEFAULT_HEDGE_MIN_DELAY = 10;
+    public static final int DEFAULT_HEDGE_MAX_IN_FLIGHT = 4;
+    public static final int DEFAULT_OPEN_TIMEOUT = 5;
+    public static final int DEFAULT_READ_TIMEOUT = 30;
+    public static final double DEFAULT_TOKEN_RENEWAL_THRESHOLD = 0.75;
+    public static final String DEFAULT_SNAPSHOT_FILE = "hashicorpSecretSnapshot";
+    public static final long DEFAULT_THROTTLE_MAX_WAIT = 30;
+    public static final int DEFAULT_RETRY_MAX_RETRIES = 3;
+    public static final long DEFAULT_RETRY_INITIAL_DELAY = 200;
+    public static final long DEFAULT_RETRY_MAX_DELAY = 10000;
+    public static final int DEFAULT_FAILOVER_FAILURE_THRESHOLD = 3;
+    public static final long DEFAULT_FAILOVER_OPEN_DURATION = 30;
+    public static final String DRIVER_TRANSPORT = "driver";
+    public static final String POOLED_TRANSPORT = "pooled";
+    public static final int DEFAULT_TRANSPORT_MAX_CONNECTIONS = 16;
+    public static final String DEFAULT_EVENTS_TYPE = "kv-v2/data-*";
+    public static final long DEFAULT_EVENTS_MAX_RECONNECT_DELAY = 60;
+    public static final String DEFAULT_TRANSIT_PATH = "transit";
+    public static final int DEFAULT_TRANSIT_BATCH_SIZE = 100;
+    public static final int DEFAULT_TRANSIT_CACHE_MAX_SIZE = 1000;
+    public static final long DEFAULT_TRANSIT_CACHE_TTL = 900;
+    public static final String DEFAULT_AUDIT_FILE = "repository" + File.separator + "logs" + File.separator +
+            "hashicorp-vault-audit.log";
+    public static final long DEFAULT_AUDIT_FILE_MAX_SIZE = 10;
+    public static final int DEFAULT_AUDIT_FILE_MAX_FILES = 5;
+    public static final int DEFAULT_AUDIT_BUFFER_SIZE = 8192;
+    public static final int DEFAULT_AUDIT_BATCH_SIZE = 256;
+    public static final String DEFAULT_AUDIT_OVERFLOW = "drop";
+    public static final long DEFAULT_AUDIT_OVERFLOW_MAX_WAIT = 100;
+
     public static final String VALUE_PARAMETER = "value";
 
     public static final String CARBON_HOME = "carbon.home";
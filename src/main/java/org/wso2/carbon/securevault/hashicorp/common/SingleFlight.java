@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.common;
+
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Coalesces concurrent calls for the same key so that only one of them reaches the vault. The first caller for a
+ * key runs the call, and every caller that arrives while it is in flight waits for and shares its result. Waiting
+ * callers give up once their own time budget runs out, so a call that never completes does not hold them up.
+ *
+ * @param <K> Type of the key identifying a call
+ * @param <V> Type of the result of a call
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Run a call, or wait for the result of the call already in flight for the same key.
+     *
+     * @param key           Key identifying the call
+     * @param call          Call to run if no call is in flight for the key
+     * @param maxWaitMillis Time in milliseconds to wait for a call already in flight
+     * @return Result of the call
+     * @throws HashiCorpVaultException when the call fails, or the call in flight does not complete in time
+     */
+    public V execute(K key, Call<V> call, long maxWaitMillis) throws HashiCorpVaultException {
+
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing, maxWaitMillis);
+        }
+
+        try {
+            V result = call.call();
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private V await(CompletableFuture<V> future, long maxWaitMillis) throws HashiCorpVaultException {
+
+        try {
+            return future.get(Math.max(maxWaitMillis, 0), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw new HashiCorpVaultException(cause.getMessage(), cause);
+        } catch (TimeoutException e) {
+            throw new HashiCorpVaultException("Vault request in flight did not complete within " + maxWaitMillis
+                    + " ms", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashiCorpVaultException("Interrupted while waiting for an in flight vault request", e);
+        }
+    }
+
+    /**
+     * Call to the vault that can be shared between concurrent callers.
+     *
+     * @param <V> Type of the result of the call
+     */
+    public interface Call<V> {
+
+        V call() throws HashiCorpVaultException;
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.config;
+
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.PROPERTIES_PREFIX;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTES_PARAMETER;
+
+/**
+ * Immutable snapshot of the vault configurations read from <code>secret-conf.properties</code>, with typed accessors
+ * for the configured values. A new snapshot is created every time the configuration file is loaded, so a snapshot can
+ * be read from any thread without locking.
+ */
+public final class HashiCorpVaultConfig {
+
+    private final Map<String, String> properties;
+
+    HashiCorpVaultConfig(Properties properties) {
+
+        Map<String, String> values = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            values.put(key, properties.getProperty(key));
+        }
+        this.properties = Collections.unmodifiableMap(values);
+    }
+
+    private HashiCorpVaultConfig(Map<String, String> values) {
+
+        this.properties = Collections.unmodifiableMap(values);
+    }
+
+    /**
+     * Get the config value for a given key.
+     *
+     * @param key Key of the property
+     * @return Configured value, or null if the property is not configured
+     */
+    public String getProperty(String key) {
+
+        return properties.get(key);
+    }
+
+    /**
+     * Get the config value for a given key, falling back to a default when the key is not set.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     */
+    public String getProperty(String key, String defaultValue) {
+
+        String value = properties.get(key);
+        return StringUtils.isBlank(value) ? defaultValue : value.trim();
+    }
+
+    /**
+     * Get the config value for a given key as an integer.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     * @throws HashiCorpVaultException when the configured value is not a valid integer
+     */
+    public int getIntProperty(String key, int defaultValue) throws HashiCorpVaultException {
+
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new HashiCorpVaultException("Invalid integer value '" + value + "' configured for " + key, e);
+        }
+    }
+
+    /**
+     * Get the config value for a given key as a long.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     * @throws HashiCorpVaultException when the configured value is not a valid long
+     */
+    public long getLongProperty(String key, long defaultValue) throws HashiCorpVaultException {
+
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new HashiCorpVaultException("Invalid numeric value '" + value + "' configured for " + key, e);
+        }
+    }
+
+    /**
+     * Get the config value for a given key as a double.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     * @throws HashiCorpVaultException when the configured value is not a valid number
+     */
+    public double getDoubleProperty(String key, double defaultValue) throws HashiCorpVaultException {
+
+        String value = getProperty(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new HashiCorpVaultException("Invalid numeric value '" + value + "' configured for " + key, e);
+        }
+    }
+
+    /**
+     * Get the config value for a given key as a boolean.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+
+        String value = getProperty(key, null);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * Get the configurations of a secret route. Each property set under <code>routes.&lt;route&gt;.</code> replaces
+     * the property of the same name, and the route inherits every property it does not set.
+     *
+     * @param route Name of the route
+     * @return Configurations of the route
+     */
+    public HashiCorpVaultConfig getRouteConfig(String route) {
+
+        String routePrefix = ROUTES_PARAMETER + "." + route + ".";
+        Map<String, String> values = new HashMap<>(properties);
+        for (Map.Entry<String, String> property : properties.entrySet()) {
+            if (property.getKey().startsWith(routePrefix)) {
+                values.put(PROPERTIES_PREFIX + property.getKey().substring(routePrefix.length()),
+                        property.getValue());
+            }
+        }
+        return new HashiCorpVaultConfig(values);
+    }
+
+    /**
+     * Check whether any of the given properties has a different value in another snapshot.
+     *
+     * @param other Snapshot to compare with
+     * @param keys  Keys of the properties to compare
+     * @return true if any of the properties differ
+     */
+    public boolean isChanged(HashiCorpVaultConfig other, String... keys) {
+
+        for (String key : keys) {
+            if (!Objects.equals(getProperty(key), other.getProperty(key))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) {
+            return true;
+        }
+        return o instanceof HashiCorpVaultConfig && properties.equals(((HashiCorpVaultConfig) o).properties);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return properties.hashCode();
+    }
+}
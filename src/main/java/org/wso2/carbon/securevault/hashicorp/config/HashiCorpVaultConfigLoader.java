@@ -19,25 +19,44 @@ package org.wso2.carbon.securevault.hashicorp.config;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
 import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CONFIG_FILE_PATH;
 
 /**
  * Configuration Loader for Vault Configurations.
+ * <p>
+ * The configurations are published as an immutable {@link HashiCorpVaultConfig} snapshot through an atomic
+ * reference. The configuration file can optionally be watched for changes, in which case a new snapshot is swapped in
+ * and the registered {@link ConfigChangeListener}s are notified whenever the file changes.
  */
 public class HashiCorpVaultConfigLoader {
 
     private static final Log LOG = LogFactory.getLog(HashiCorpVaultConfigLoader.class);
+    private static final long SETTLE_DELAY_MILLIS = 500L;
 
-    private static HashiCorpVaultConfigLoader instance = null;
-
-    private Properties properties;
+    private final AtomicReference<HashiCorpVaultConfig> config =
+            new AtomicReference<>(new HashiCorpVaultConfig(new Properties()));
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private WatchService watchService;
 
     private HashiCorpVaultConfigLoader() {
 
@@ -50,23 +69,25 @@ public class HashiCorpVaultConfigLoader {
 
     public static HashiCorpVaultConfigLoader getInstance() {
 
-        if (instance == null) {
-            instance = new HashiCorpVaultConfigLoader();
-        }
-        return instance;
+        return InstanceHolder.INSTANCE;
     }
 
     /**
-     * Load configurations.
+     * Load configurations, replacing the current configuration snapshot.
      */
     public void loadConfigurations() throws HashiCorpVaultException {
 
-        properties = new Properties();
-        try (InputStream inputStream = new FileInputStream(CONFIG_FILE_PATH)) {
-            properties.load(inputStream);
-        } catch (IOException e) {
-            throw new HashiCorpVaultException("Error while loading configurations from " + CONFIG_FILE_PATH, e);
-        }
+        config.set(readConfigurations());
+    }
+
+    /**
+     * Get the current configuration snapshot.
+     *
+     * @return Configuration snapshot
+     */
+    public HashiCorpVaultConfig getConfig() {
+
+        return config.get();
     }
 
     /**
@@ -78,6 +99,217 @@ public class HashiCorpVaultConfigLoader {
      */
     public String getProperty(String key) throws HashiCorpVaultException {
 
-        return properties.getProperty(key);
+        return config.get().getProperty(key);
+    }
+
+    /**
+     * Get the config value for a given key, falling back to a default when the key is not set.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     */
+    public String getProperty(String key, String defaultValue) {
+
+        return config.get().getProperty(key, defaultValue);
+    }
+
+    /**
+     * Get the config value for a given key as an integer.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     * @throws HashiCorpVaultException when the configured value is not a valid integer
+     */
+    public int getIntProperty(String key, int defaultValue) throws HashiCorpVaultException {
+
+        return config.get().getIntProperty(key, defaultValue);
+    }
+
+    /**
+     * Get the config value for a given key as a long.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     * @throws HashiCorpVaultException when the configured value is not a valid long
+     */
+    public long getLongProperty(String key, long defaultValue) throws HashiCorpVaultException {
+
+        return config.get().getLongProperty(key, defaultValue);
+    }
+
+    /**
+     * Get the config value for a given key as a double.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     * @throws HashiCorpVaultException when the configured value is not a valid number
+     */
+    public double getDoubleProperty(String key, double defaultValue) throws HashiCorpVaultException {
+
+        return config.get().getDoubleProperty(key, defaultValue);
+    }
+
+    /**
+     * Get the config value for a given key as a boolean.
+     *
+     * @param key          Key of the property
+     * @param defaultValue Value returned when the property is not configured
+     * @return Configured value or the default value
+     */
+    public boolean getBooleanProperty(String key, boolean defaultValue) {
+
+        return config.get().getBooleanProperty(key, defaultValue);
+    }
+
+    /**
+     * Register a listener to be notified when the configuration file changes.
+     *
+     * @param listener Listener to register
+     */
+    public void addChangeListener(ConfigChangeListener listener) {
+
+        listeners.add(listener);
+    }
+
+    /**
+     * Remove a registered listener.
+     *
+     * @param listener Listener to remove
+     */
+    public void removeChangeListener(ConfigChangeListener listener) {
+
+        listeners.remove(listener);
+    }
+
+    /**
+     * Start watching the configuration file for changes on a background thread. Has no effect if the file is already
+     * being watched.
+     *
+     * @throws HashiCorpVaultException when the configuration directory cannot be watched
+     */
+    public synchronized void startWatching() throws HashiCorpVaultException {
+
+        if (watchService != null) {
+            return;
+        }
+        Path configFile = Paths.get(CONFIG_FILE_PATH).toAbsolutePath();
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            configFile.getParent().register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchService = service;
+            new HashiCorpVaultThreadFactory("config-watcher").newThread(() -> watch(service,
+                    configFile.getFileName())).start();
+            LOG.info("Watching " + configFile + " for HashiCorp vault configuration changes");
+        } catch (IOException e) {
+            throw new HashiCorpVaultException("Error while watching the configuration file " + configFile, e);
+        }
+    }
+
+    /**
+     * Stop watching the configuration file for changes.
+     */
+    public synchronized void stopWatching() {
+
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            LOG.debug("Error while closing the configuration watch service", e);
+        }
+        watchService = null;
+    }
+
+    /**
+     * Reload the configurations whenever the configuration file changes. Events are collected until the file has
+     * not changed for a short while, so that a file that is still being written is not loaded half way.
+     */
+    private void watch(WatchService service, Path fileName) {
+
+        try {
+            while (true) {
+                boolean changed = false;
+                WatchKey key = service.take();
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (fileName.equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    key.reset();
+                    key = service.poll(SETTLE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                if (changed) {
+                    reload();
+                }
+            }
+        } catch (ClosedWatchServiceException e) {
+            LOG.debug("Stopped watching the HashiCorp vault configuration file");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void reload() {
+
+        HashiCorpVaultConfig current;
+        try {
+            current = readConfigurations();
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while reloading HashiCorp vault configurations, keeping the current configurations", e);
+            return;
+        }
+
+        HashiCorpVaultConfig previous = config.getAndSet(current);
+        if (previous.equals(current)) {
+            return;
+        }
+        LOG.info("HashiCorp vault configurations reloaded from " + CONFIG_FILE_PATH);
+        for (ConfigChangeListener listener : listeners) {
+            try {
+                listener.configChanged(previous, current);
+            } catch (RuntimeException e) {
+                LOG.error("Error while applying the reloaded HashiCorp vault configurations", e);
+            }
+        }
+    }
+
+    private static HashiCorpVaultConfig readConfigurations() throws HashiCorpVaultException {
+
+        Properties properties = new Properties();
+        try (InputStream inputStream = new FileInputStream(CONFIG_FILE_PATH)) {
+            properties.load(inputStream);
+        } catch (IOException e) {
+            throw new HashiCorpVaultException("Error while loading configurations from " + CONFIG_FILE_PATH, e);
+        }
+        return new HashiCorpVaultConfig(properties);
+    }
+
+    /**
+     * Listener notified when the configurations are reloaded after the configuration file changes.
+     */
+    public interface ConfigChangeListener {
+
+        /**
+         * Called after a new configuration snapshot is published.
+         *
+         * @param previous Configurations before the change
+         * @param current  Configurations after the change
+         */
+        void configChanged(HashiCorpVaultConfig previous, HashiCorpVaultConfig current);
+    }
+
+    /**
+     * Holds the loader instance, which is created when the holder class is first accessed.
+     */
+    private static final class InstanceHolder {
+
+        private static final HashiCorpVaultConfigLoader INSTANCE = new HashiCorpVaultConfigLoader();
     }
 }
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.events;
+
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+import com.bettercloud.vault.json.ParseException;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subscribes to the vault event stream and reports the KV v2 secrets that are written or deleted, so that cached
+ * copies can be evicted as soon as they change instead of when their time to live expires. The stream is read on a
+ * background thread and reconnected with an exponential backoff whenever it drops. Events published while the stream
+ * is disconnected are not replayed, so cached secrets fall back to expiring after their time to live.
+ */
+public class VaultEventSubscriber {
+
+    private static final Log LOG = LogFactory.getLog(VaultEventSubscriber.class);
+    private static final long INITIAL_RECONNECT_DELAY_MILLIS = 1000L;
+    private static final String DATA_SEGMENT = "data/";
+    private static final String METADATA_SEGMENT = "metadata/";
+
+    private final SubscriptionSource subscriptions;
+    private final SecretChangeListener listener;
+    private final long maxReconnectDelayMillis;
+    private final ExecutorService executor;
+
+    private volatile boolean running;
+    private volatile boolean connected;
+    private volatile WebSocketConnection current;
+
+    /**
+     * Create an event subscriber.
+     *
+     * @param subscriptions           Source of the subscription details, asked again on every reconnect
+     * @param listener                Listener notified of the secrets that changed
+     * @param maxReconnectDelayMillis Maximum delay between reconnect attempts in milliseconds
+     */
+    public VaultEventSubscriber(SubscriptionSource subscriptions, SecretChangeListener listener,
+                                long maxReconnectDelayMillis) {
+
+        this.subscriptions = subscriptions;
+        this.listener = listener;
+        this.maxReconnectDelayMillis = Math.max(maxReconnectDelayMillis, INITIAL_RECONNECT_DELAY_MILLIS);
+        this.executor = Executors.newSingleThreadExecutor(new HashiCorpVaultThreadFactory("events"));
+    }
+
+    /**
+     * Start reading the event stream in the background.
+     */
+    public synchronized void start() {
+
+        if (running) {
+            return;
+        }
+        running = true;
+        executor.execute(this::run);
+    }
+
+    /**
+     * Drop the current stream so that it is opened again with fresh subscription details, such as after the
+     * connection to the vault has been replaced.
+     */
+    public void reconnect() {
+
+        WebSocketConnection connection = current;
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Stop reading the event stream and release the background thread.
+     */
+    public synchronized void stop() {
+
+        running = false;
+        reconnect();
+        executor.shutdownNow();
+    }
+
+    /**
+     * Check whether the event stream is currently open.
+     *
+     * @return true if secret changes are currently being received
+     */
+    public boolean isConnected() {
+
+        return connected;
+    }
+
+    private void run() {
+
+        long reconnectDelay = INITIAL_RECONNECT_DELAY_MILLIS;
+        while (running) {
+            VaultEventSubscription subscription = null;
+            try {
+                subscription = subscriptions.get();
+                try (WebSocketConnection connection = open(subscription)) {
+                    current = connection;
+                    if (!running) {
+                        return;
+                    }
+                    connected = true;
+                    reconnectDelay = INITIAL_RECONNECT_DELAY_MILLIS;
+                    LOG.info("Subscribed to HashiCorp vault events at " + subscription.getUri());
+                    String message;
+                    while ((message = connection.readText()) != null) {
+                        handle(message, subscription.getEnginePath());
+                    }
+                }
+                if (running) {
+                    LOG.warn("HashiCorp vault event stream closed, reconnecting in " + reconnectDelay + " ms");
+                }
+            } catch (IOException | HashiCorpVaultException | RuntimeException e) {
+                if (running) {
+                    LOG.warn("HashiCorp vault event stream " + (subscription != null ? subscription.getUri() : "")
+                            + " is unavailable, reconnecting in " + reconnectDelay + " ms. Cached secrets expire "
+                            + "after their TTL until the stream is back", e);
+                }
+            } finally {
+                connected = false;
+                current = null;
+            }
+
+            if (!running) {
+                return;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(reconnectDelay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            reconnectDelay = Math.min(reconnectDelay * 2, maxReconnectDelayMillis);
+        }
+    }
+
+    private static WebSocketConnection open(VaultEventSubscription subscription) throws IOException {
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put("X-Vault-Token", subscription.getToken());
+        if (StringUtils.isNotEmpty(subscription.getNamespace())) {
+            headers.put("X-Vault-Namespace", subscription.getNamespace());
+        }
+        return WebSocketConnection.open(subscription.getUri(), headers, subscription.getSslSocketFactory(),
+                subscription.isVerifyHostname(), subscription.getOpenTimeoutMillis());
+    }
+
+    private void handle(String message, String enginePath) {
+
+        JsonObject event;
+        try {
+            JsonValue value = Json.parse(message);
+            if (!value.isObject()) {
+                return;
+            }
+            event = value.asObject();
+        } catch (ParseException e) {
+            LOG.debug("Ignoring malformed HashiCorp vault event: " + message, e);
+            return;
+        }
+
+        String path = getString(event, "data", "event", "metadata", "path");
+        if (path == null) {
+            path = getString(event, "data", "event", "metadata", "data_path");
+        }
+        String eventType = getString(event, "data", "event_type");
+        if (path == null) {
+            return;
+        }
+        String engine = StringUtils.strip(enginePath, "/") + "/";
+        path = StringUtils.removeStart(path, "/");
+        if (!path.startsWith(engine)) {
+            return;
+        }
+        String relativePath = path.substring(engine.length());
+        boolean metadata = relativePath.startsWith(METADATA_SEGMENT);
+        if (metadata) {
+            relativePath = relativePath.substring(METADATA_SEGMENT.length());
+        } else if (relativePath.startsWith(DATA_SEGMENT)) {
+            relativePath = relativePath.substring(DATA_SEGMENT.length());
+        } else {
+            return;
+        }
+        if (relativePath.isEmpty()) {
+            return;
+        }
+
+        String operation = eventType != null ? eventType :
+                getString(event, "data", "event", "metadata", "operation");
+        boolean deleted = metadata || operation != null && (operation.contains("delete") ||
+                operation.contains("destroy"));
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("HashiCorp vault secret " + relativePath + " changed with event: " + operation);
+        }
+        try {
+            listener.secretChanged(relativePath, deleted);
+        } catch (RuntimeException e) {
+            LOG.warn("Error while handling the change of HashiCorp vault secret: " + relativePath, e);
+        }
+    }
+
+    private static String getString(JsonObject object, String... names) {
+
+        JsonValue value = object;
+        for (String name : names) {
+            if (value == null || !value.isObject()) {
+                return null;
+            }
+            value = value.asObject().get(name);
+        }
+        return value != null && value.isString() ? value.asString() : null;
+    }
+
+    /**
+     * Source of the details used to open the event stream.
+     */
+    public interface SubscriptionSource {
+
+        /**
+         * Get the details of the subscription to open.
+         *
+         * @return Subscription details
+         * @throws HashiCorpVaultException when the subscription cannot be described, such as before authentication
+         */
+        VaultEventSubscription get() throws HashiCorpVaultException;
+    }
+
+    /**
+     * Listener notified of the KV v2 secrets that changed in the vault.
+     */
+    public interface SecretChangeListener {
+
+        /**
+         * Handle the change of a secret.
+         *
+         * @param secretPath Path of the secret relative to the engine path
+         * @param deleted    Whether the secret was deleted rather than written
+         */
+        void secretChanged(String secretPath, boolean deleted);
+    }
+}
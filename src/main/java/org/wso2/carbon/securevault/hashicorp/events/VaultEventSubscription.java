@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.events;
+
+import java.net.URI;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Details of a subscription to the vault event stream: where to connect, how to authenticate and which KV v2 engine
+ * the events are scoped to. A new subscription is obtained every time the stream is reconnected, so that a replaced
+ * token or connection is picked up.
+ */
+public final class VaultEventSubscription {
+
+    private final URI uri;
+    private final String token;
+    private final String namespace;
+    private final String enginePath;
+    private final SSLSocketFactory sslSocketFactory;
+    private final boolean verifyHostname;
+    private final int openTimeoutMillis;
+
+    /**
+     * Create a subscription.
+     *
+     * @param uri               WebSocket URI of the event stream
+     * @param token             Token used to authenticate with the vault
+     * @param namespace         Vault namespace, or null for the root namespace
+     * @param enginePath        Path of the KV v2 engine whose events are handled
+     * @param sslSocketFactory  Factory of the sockets used for <code>wss</code> URIs
+     * @param verifyHostname    Whether the host name should match the server certificate
+     * @param openTimeoutMillis Connection open timeout in milliseconds, or 0 to wait indefinitely
+     */
+    public VaultEventSubscription(URI uri, String token, String namespace, String enginePath,
+                                  SSLSocketFactory sslSocketFactory, boolean verifyHostname, int openTimeoutMillis) {
+
+        this.uri = uri;
+        this.token = token;
+        this.namespace = namespace;
+        this.enginePath = enginePath;
+        this.sslSocketFactory = sslSocketFactory;
+        this.verifyHostname = verifyHostname;
+        this.openTimeoutMillis = openTimeoutMillis;
+    }
+
+    public URI getUri() {
+
+        return uri;
+    }
+
+    public String getToken() {
+
+        return token;
+    }
+
+    public String getNamespace() {
+
+        return namespace;
+    }
+
+    public String getEnginePath() {
+
+        return enginePath;
+    }
+
+    public SSLSocketFactory getSslSocketFactory() {
+
+        return sslSocketFactory;
+    }
+
+    public boolean isVerifyHostname() {
+
+        return verifyHostname;
+    }
+
+    public int getOpenTimeoutMillis() {
+
+        return openTimeoutMillis;
+    }
+}
@@ -0,0 +1,350 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.events;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.AbstractMap;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Minimal client side of a WebSocket connection (RFC 6455), enough to receive the text messages of the vault event
+ * stream. Control frames are answered as they are read, and fragmented messages are reassembled.
+ */
+final class WebSocketConnection implements Closeable {
+
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+    private static final int OPCODE_CONTINUATION = 0x0;
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_BINARY = 0x2;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xA;
+    private static final int MAX_HEADER_LINE_LENGTH = 8192;
+    private static final int MAX_MESSAGE_LENGTH = 1024 * 1024;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final Socket socket;
+    private final DataInputStream input;
+    private final OutputStream output;
+    private volatile boolean closeSent;
+
+    private WebSocketConnection(Socket socket, InputStream input, OutputStream output) {
+
+        this.socket = socket;
+        this.input = new DataInputStream(input);
+        this.output = output;
+    }
+
+    /**
+     * Open a WebSocket connection.
+     *
+     * @param uri               WebSocket URI, with the <code>ws</code> or <code>wss</code> scheme
+     * @param headers           Headers sent with the opening handshake
+     * @param sslSocketFactory  Factory of the sockets used for <code>wss</code> URIs
+     * @param verifyHostname    Whether the host name of a <code>wss</code> URI should match the server certificate
+     * @param openTimeoutMillis Connection open timeout in milliseconds, or 0 to wait indefinitely
+     * @return Open connection
+     * @throws IOException when the connection cannot be opened or the server rejects the handshake
+     */
+    static WebSocketConnection open(URI uri, Map<String, String> headers, SSLSocketFactory sslSocketFactory,
+                                    boolean verifyHostname, int openTimeoutMillis) throws IOException {
+
+        String scheme = uri.getScheme() == null ? "" : uri.getScheme().toLowerCase(Locale.ROOT);
+        boolean secure;
+        if ("wss".equals(scheme) || "https".equals(scheme)) {
+            secure = true;
+        } else if ("ws".equals(scheme) || "http".equals(scheme)) {
+            secure = false;
+        } else {
+            throw new IOException("Unsupported WebSocket URI: " + uri);
+        }
+        String host = uri.getHost();
+        int port = uri.getPort() > 0 ? uri.getPort() : secure ? 443 : 80;
+
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(host, port), openTimeoutMillis);
+            socket.setTcpNoDelay(true);
+            socket.setKeepAlive(true);
+            if (secure) {
+                SSLSocket sslSocket = (SSLSocket) sslSocketFactory.createSocket(socket, host, port, true);
+                if (verifyHostname) {
+                    SSLParameters parameters = sslSocket.getSSLParameters();
+                    parameters.setEndpointIdentificationAlgorithm("HTTPS");
+                    sslSocket.setSSLParameters(parameters);
+                }
+                sslSocket.startHandshake();
+                socket = sslSocket;
+            }
+
+            InputStream input = new BufferedInputStream(socket.getInputStream());
+            OutputStream output = socket.getOutputStream();
+            String key = handshake(uri, host, port, headers, input, output);
+            String expectedAccept = accept(key);
+            Map.Entry<Integer, Map<String, String>> response = readResponseHead(input);
+            if (response.getKey() != 101) {
+                throw new IOException("WebSocket handshake with " + host + ":" + port
+                        + " was rejected with HTTP status code: " + response.getKey());
+            }
+            if (!expectedAccept.equals(response.getValue().get("sec-websocket-accept"))) {
+                throw new IOException("WebSocket handshake with " + host + ":" + port
+                        + " returned an invalid accept key");
+            }
+            return new WebSocketConnection(socket, input, output);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(socket);
+            throw e;
+        }
+    }
+
+    /**
+     * Read the next text message, answering pings and skipping binary messages on the way.
+     *
+     * @return Text message, or null if the server closed the connection
+     * @throws IOException when the connection fails or the server sends a malformed frame
+     */
+    String readText() throws IOException {
+
+        ByteArrayOutputStream message = null;
+        int messageOpcode = -1;
+        while (true) {
+            int first = input.read();
+            if (first < 0) {
+                return null;
+            }
+            int second = input.readUnsignedByte();
+            boolean fin = (first & 0x80) != 0;
+            int opcode = first & 0x0F;
+            long length = second & 0x7F;
+            if (length == 126) {
+                length = input.readUnsignedShort();
+            } else if (length == 127) {
+                length = input.readLong();
+            }
+            if (length < 0 || length > MAX_MESSAGE_LENGTH) {
+                throw new IOException("WebSocket frame exceeds the maximum message length: " + length);
+            }
+            byte[] mask = null;
+            if ((second & 0x80) != 0) {
+                mask = new byte[4];
+                input.readFully(mask);
+            }
+            byte[] payload = new byte[(int) length];
+            input.readFully(payload);
+            if (mask != null) {
+                for (int i = 0; i < payload.length; i++) {
+                    payload[i] ^= mask[i & 3];
+                }
+            }
+
+            switch (opcode) {
+                case OPCODE_PING:
+                    writeFrame(OPCODE_PONG, payload);
+                    break;
+                case OPCODE_PONG:
+                    break;
+                case OPCODE_CLOSE:
+                    if (!closeSent) {
+                        writeFrame(OPCODE_CLOSE, payload.length >= 2 ? new byte[]{payload[0], payload[1]} :
+                                new byte[0]);
+                        closeSent = true;
+                    }
+                    return null;
+                case OPCODE_TEXT:
+                case OPCODE_BINARY:
+                case OPCODE_CONTINUATION:
+                    if (opcode != OPCODE_CONTINUATION) {
+                        message = new ByteArrayOutputStream(payload.length);
+                        messageOpcode = opcode;
+                    } else if (message == null) {
+                        throw new IOException("WebSocket continuation frame received without a message");
+                    }
+                    if (message.size() + payload.length > MAX_MESSAGE_LENGTH) {
+                        throw new IOException("WebSocket message exceeds the maximum message length");
+                    }
+                    message.write(payload, 0, payload.length);
+                    if (fin) {
+                        if (messageOpcode == OPCODE_TEXT) {
+                            return new String(message.toByteArray(), StandardCharsets.UTF_8);
+                        }
+                        message = null;
+                    }
+                    break;
+                default:
+                    throw new IOException("Unsupported WebSocket frame opcode: " + opcode);
+            }
+        }
+    }
+
+    /**
+     * Send a close frame, if one has not been sent already, and close the socket.
+     */
+    @Override
+    public void close() {
+
+        if (!closeSent) {
+            closeSent = true;
+            try {
+                writeFrame(OPCODE_CLOSE, new byte[]{0x03, (byte) 0xE8});
+            } catch (IOException e) {
+                // The socket is closed regardless.
+            }
+        }
+        closeQuietly(socket);
+    }
+
+    /**
+     * Write a frame. Frames sent by a client are always masked.
+     */
+    private synchronized void writeFrame(int opcode, byte[] payload) throws IOException {
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(payload.length + 14);
+        frame.write(0x80 | opcode);
+        if (payload.length < 126) {
+            frame.write(0x80 | payload.length);
+        } else if (payload.length <= 0xFFFF) {
+            frame.write(0x80 | 126);
+            frame.write(payload.length >>> 8);
+            frame.write(payload.length);
+        } else {
+            frame.write(0x80 | 127);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                frame.write((int) ((long) payload.length >>> shift));
+            }
+        }
+        byte[] mask = new byte[4];
+        RANDOM.nextBytes(mask);
+        frame.write(mask, 0, mask.length);
+        for (int i = 0; i < payload.length; i++) {
+            frame.write(payload[i] ^ mask[i & 3]);
+        }
+        output.write(frame.toByteArray());
+        output.flush();
+    }
+
+    private static String handshake(URI uri, String host, int port, Map<String, String> headers, InputStream input,
+                                    OutputStream output) throws IOException {
+
+        byte[] nonce = new byte[16];
+        RANDOM.nextBytes(nonce);
+        String key = Base64.getEncoder().encodeToString(nonce);
+
+        String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+        if (uri.getRawQuery() != null) {
+            path += "?" + uri.getRawQuery();
+        }
+        StringBuilder request = new StringBuilder(256)
+                .append("GET ").append(path).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(host).append(':').append(port).append("\r\n")
+                .append("Upgrade: websocket\r\n")
+                .append("Connection: Upgrade\r\n")
+                .append("Sec-WebSocket-Key: ").append(key).append("\r\n")
+                .append("Sec-WebSocket-Version: 13\r\n");
+        for (Map.Entry<String, String> header : headers.entrySet()) {
+            if (header.getValue() != null) {
+                request.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+            }
+        }
+        request.append("\r\n");
+        output.write(request.toString().getBytes(StandardCharsets.UTF_8));
+        output.flush();
+        return key;
+    }
+
+    private static Map.Entry<Integer, Map<String, String>> readResponseHead(InputStream input) throws IOException {
+
+        String statusLine = readLine(input);
+        String[] parts = statusLine.split(" ", 3);
+        if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+            throw new IOException("Invalid WebSocket handshake response: " + statusLine);
+        }
+        int status;
+        try {
+            status = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid WebSocket handshake response: " + statusLine, e);
+        }
+        Map<String, String> headers = new HashMap<>();
+        String line;
+        while (!(line = readLine(input)).isEmpty()) {
+            int separator = line.indexOf(':');
+            if (separator > 0) {
+                headers.put(line.substring(0, separator).trim().toLowerCase(Locale.ROOT),
+                        line.substring(separator + 1).trim());
+            }
+        }
+        return new AbstractMap.SimpleImmutableEntry<>(status, headers);
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = input.read()) != '\n') {
+            if (c < 0) {
+                throw new IOException("Connection closed during the WebSocket handshake");
+            }
+            if (line.length() >= MAX_HEADER_LINE_LENGTH) {
+                throw new IOException("WebSocket handshake response header is too long");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    private static String accept(String key) throws IOException {
+
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return Base64.getEncoder().encodeToString(digest.digest(
+                    (key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IOException("SHA-1 is not available to verify the WebSocket handshake", e);
+        }
+    }
+
+    private static void closeQuietly(Socket socket) {
+
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // Nothing left to release.
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.exception;
+
+/**
+ * HashiCorp Vault Exception raised when the vault denies access to a secret to a valid token, because the policies of
+ * the token do not grant access to the secret.
+ */
+public class SecretAccessDeniedException extends HashiCorpVaultException {
+
+    public SecretAccessDeniedException(String message, Throwable cause) {
+
+        super(message, cause);
+    }
+}
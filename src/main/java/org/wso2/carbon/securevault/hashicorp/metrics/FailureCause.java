@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.metrics;
+
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.rest.RestException;
+
+import java.io.IOException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Cause of a failed secret lookup, derived from the error raised while reading the secret.
+ */
+public enum FailureCause {
+
+    /**
+     * The vault could not be reached, or responded with a server error.
+     */
+    VAULT_UNAVAILABLE,
+
+    /**
+     * The vault rejected the token used to read the secret.
+     */
+    PERMISSION_DENIED,
+
+    /**
+     * The secret does not exist.
+     */
+    NOT_FOUND,
+
+    /**
+     * The vault rejected the request because the client exceeded its rate limit.
+     */
+    RATE_LIMITED,
+
+    /**
+     * The lookup did not complete within the lookup timeout.
+     */
+    TIMEOUT,
+
+    /**
+     * Any other failure.
+     */
+    OTHER;
+
+    /**
+     * Classify the error raised by a failed lookup.
+     *
+     * @param error Error raised by the lookup
+     * @return Cause of the failure
+     */
+    public static FailureCause of(Throwable error) {
+
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof VaultException) {
+                int status = ((VaultException) cause).getHttpStatusCode();
+                if (status == 0 || status >= 500) {
+                    return VAULT_UNAVAILABLE;
+                } else if (status == 401 || status == 403) {
+                    return PERMISSION_DENIED;
+                } else if (status == 404) {
+                    return NOT_FOUND;
+                } else if (status == 429) {
+                    return RATE_LIMITED;
+                }
+            } else if (cause instanceof RestException || cause instanceof IOException) {
+                return VAULT_UNAVAILABLE;
+            } else if (cause instanceof TimeoutException) {
+                return TIMEOUT;
+            }
+        }
+        return OTHER;
+    }
+}
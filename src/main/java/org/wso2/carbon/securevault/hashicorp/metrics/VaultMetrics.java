@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.metrics;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Metrics of the interactions of the extension with the vault: secret read and login latencies, token renewals,
+ * secret cache behaviour and lookup failures. Events are recorded on lock-free counters without allocating, and are
+ * forwarded to the registered {@link VaultMetricsListener}s. The metrics can be exposed as a JMX MBean.
+ */
+public class VaultMetrics implements VaultMetricsMXBean {
+
+    private static final Log LOG = LogFactory.getLog(VaultMetrics.class);
+    private static final String OBJECT_NAME_PREFIX = "org.wso2.carbon.securevault.hashicorp:type=VaultMetrics,name=";
+    private static final VaultMetricsListener[] NO_LISTENERS = new VaultMetricsListener[0];
+
+    private final LatencyHistogram secretReads = new LatencyHistogram();
+    private final LongAdder secretReadFailures = new LongAdder();
+    private final LatencyHistogram logins = new LatencyHistogram();
+    private final LongAdder loginFailures = new LongAdder();
+    private final LongAdder tokenRenewals = new LongAdder();
+    private final LongAdder tokenRenewalFailures = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder cacheMisses = new LongAdder();
+    private final LongAdder cacheEvictions = new LongAdder();
+    private final LongAdder hedgedReads = new LongAdder();
+    private final LongAdder hedgedReadWins = new LongAdder();
+    private final LongAdder[] failures = new LongAdder[FailureCause.values().length];
+
+    private volatile VaultMetricsListener[] listeners = NO_LISTENERS;
+    private ObjectName objectName;
+
+    public VaultMetrics() {
+
+        for (int i = 0; i < failures.length; i++) {
+            failures[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Register a listener to be notified of recorded events.
+     *
+     * @param listener Listener to register
+     */
+    public synchronized void addListener(VaultMetricsListener listener) {
+
+        VaultMetricsListener[] updated = Arrays.copyOf(listeners, listeners.length + 1);
+        updated[listeners.length] = listener;
+        listeners = updated;
+    }
+
+    /**
+     * Remove a registered listener.
+     *
+     * @param listener Listener to remove
+     */
+    public synchronized void removeListener(VaultMetricsListener listener) {
+
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                VaultMetricsListener[] updated = new VaultMetricsListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, updated, 0, i);
+                System.arraycopy(listeners, i + 1, updated, i, listeners.length - i - 1);
+                listeners = updated;
+                return;
+            }
+        }
+    }
+
+    /**
+     * Register the metrics with the platform MBean server, replacing any MBean registered earlier under the same name.
+     *
+     * @param name Name identifying the secret repository the metrics belong to
+     */
+    public synchronized void registerMBean(String name) {
+
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName registeredName = new ObjectName(OBJECT_NAME_PREFIX + ObjectName.quote(name));
+            try {
+                mBeanServer.registerMBean(this, registeredName);
+            } catch (InstanceAlreadyExistsException e) {
+                mBeanServer.unregisterMBean(registeredName);
+                mBeanServer.registerMBean(this, registeredName);
+            }
+            objectName = registeredName;
+        } catch (JMException e) {
+            LOG.warn("Unable to register the HashiCorp vault metrics MBean", e);
+        }
+    }
+
+    /**
+     * Remove the metrics from the platform MBean server, if registered.
+     */
+    public synchronized void unregisterMBean() {
+
+        if (objectName == null) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            LOG.debug("Unable to unregister the HashiCorp vault metrics MBean", e);
+        }
+        objectName = null;
+    }
+
+    /**
+     * Record a secret read from the vault.
+     *
+     * @param latencyNanos Time taken to read the secret in nanoseconds
+     * @param success      Whether the read succeeded
+     */
+    public void recordSecretRead(long latencyNanos, boolean success) {
+
+        secretReads.record(latencyNanos);
+        if (!success) {
+            secretReadFailures.increment();
+        }
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onSecretRead(latencyNanos, success);
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a login to the vault with AppRole.
+     *
+     * @param latencyNanos Time taken to log in in nanoseconds
+     * @param success      Whether the login succeeded
+     */
+    public void recordLogin(long latencyNanos, boolean success) {
+
+        logins.record(latencyNanos);
+        if (!success) {
+            loginFailures.increment();
+        }
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onLogin(latencyNanos, success);
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a background renewal of the vault token.
+     *
+     * @param success Whether the token was renewed
+     */
+    public void recordTokenRenewal(boolean success) {
+
+        tokenRenewals.increment();
+        if (!success) {
+            tokenRenewalFailures.increment();
+        }
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onTokenRenewal(success);
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a secret found in the secret cache.
+     */
+    public void recordCacheHit() {
+
+        cacheHits.increment();
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onCacheHit();
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a secret not found in the secret cache.
+     */
+    public void recordCacheMiss() {
+
+        cacheMisses.increment();
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onCacheMiss();
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a secret evicted from the secret cache.
+     */
+    public void recordCacheEviction() {
+
+        cacheEvictions.increment();
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onCacheEviction();
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a hedged read, sent because the first read of a secret did not respond within the hedging delay.
+     *
+     * @param won Whether the hedged read responded before the first read
+     */
+    public void recordHedgedRead(boolean won) {
+
+        hedgedReads.increment();
+        if (won) {
+            hedgedReadWins.increment();
+        }
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onHedgedRead(won);
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    /**
+     * Record a failed secret lookup.
+     *
+     * @param cause Cause of the failure
+     */
+    public void recordFailure(FailureCause cause) {
+
+        failures[cause.ordinal()].increment();
+        for (VaultMetricsListener listener : listeners) {
+            try {
+                listener.onFailure(cause);
+            } catch (RuntimeException e) {
+                logListenerError(e);
+            }
+        }
+    }
+
+    @Override
+    public long getSecretReadCount() {
+
+        return secretReads.getCount();
+    }
+
+    @Override
+    public long getSecretReadFailureCount() {
+
+        return secretReadFailures.sum();
+    }
+
+    @Override
+    public double getSecretReadMeanLatency() {
+
+        return secretReads.getMeanMillis();
+    }
+
+    @Override
+    public double getSecretReadP50Latency() {
+
+        return secretReads.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getSecretReadP99Latency() {
+
+        return secretReads.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getSecretReadMaxLatency() {
+
+        return secretReads.getMaxMillis();
+    }
+
+    @Override
+    public long getLoginCount() {
+
+        return logins.getCount();
+    }
+
+    @Override
+    public long getLoginFailureCount() {
+
+        return loginFailures.sum();
+    }
+
+    @Override
+    public double getLoginMeanLatency() {
+
+        return logins.getMeanMillis();
+    }
+
+    @Override
+    public double getLoginMaxLatency() {
+
+        return logins.getMaxMillis();
+    }
+
+    @Override
+    public long getTokenRenewalCount() {
+
+        return tokenRenewals.sum();
+    }
+
+    @Override
+    public long getTokenRenewalFailureCount() {
+
+        return tokenRenewalFailures.sum();
+    }
+
+    @Override
+    public long getCacheHitCount() {
+
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getCacheMissCount() {
+
+        return cacheMisses.sum();
+    }
+
+    @Override
+    public long getCacheEvictionCount() {
+
+        return cacheEvictions.sum();
+    }
+
+    @Override
+    public double getCacheHitRatio() {
+
+        long hits = cacheHits.sum();
+        long lookups = hits + cacheMisses.sum();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public long getHedgedReadCount() {
+
+        return hedgedReads.sum();
+    }
+
+    @Override
+    public long getHedgedReadWinCount() {
+
+        return hedgedReadWins.sum();
+    }
+
+    @Override
+    public Map<String, Long> getFailureCounts() {
+
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (FailureCause cause : FailureCause.values()) {
+            counts.put(cause.name(), failures[cause.ordinal()].sum());
+        }
+        return counts;
+    }
+
+    @Override
+    public void reset() {
+
+        secretReads.reset();
+        secretReadFailures.reset();
+        logins.reset();
+        loginFailures.reset();
+        tokenRenewals.reset();
+        tokenRenewalFailures.reset();
+        cacheHits.reset();
+        cacheMisses.reset();
+        cacheEvictions.reset();
+        hedgedReads.reset();
+        hedgedReadWins.reset();
+        for (LongAdder failure : failures) {
+            failure.reset();
+        }
+    }
+
+    private static void logListenerError(RuntimeException e) {
+
+        LOG.debug("Error in HashiCorp vault metrics listener", e);
+    }
+}
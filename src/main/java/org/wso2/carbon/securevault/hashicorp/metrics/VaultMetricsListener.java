@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.metrics;
+
+/**
+ * Listener notified of the events recorded by {@link VaultMetrics}, for forwarding them to an external metrics
+ * system. Listeners are called synchronously on the thread that recorded the event, so implementations should return
+ * quickly and should not block.
+ * <p>
+ * Listeners can be registered through {@link VaultMetrics#addListener(VaultMetricsListener)}, or configured by class
+ * name with the <code>metrics.listeners</code> property, in which case the class should have a public no-argument
+ * constructor.
+ */
+public interface VaultMetricsListener {
+
+    /**
+     * Called when a secret is read from the vault.
+     *
+     * @param latencyNanos Time taken to read the secret in nanoseconds
+     * @param success      Whether the read succeeded
+     */
+    default void onSecretRead(long latencyNanos, boolean success) {
+
+    }
+
+    /**
+     * Called when the extension logs in to the vault with AppRole.
+     *
+     * @param latencyNanos Time taken to log in in nanoseconds
+     * @param success      Whether the login succeeded
+     */
+    default void onLogin(long latencyNanos, boolean success) {
+
+    }
+
+    /**
+     * Called when the vault token is renewed in the background.
+     *
+     * @param success Whether the token was renewed
+     */
+    default void onTokenRenewal(boolean success) {
+
+    }
+
+    /**
+     * Called when a secret is found in the secret cache.
+     */
+    default void onCacheHit() {
+
+    }
+
+    /**
+     * Called when a secret is not found in the secret cache.
+     */
+    default void onCacheMiss() {
+
+    }
+
+    /**
+     * Called when a secret is evicted from the secret cache to keep it within its maximum size.
+     */
+    default void onCacheEviction() {
+
+    }
+
+    /**
+     * Called when a hedged read of a secret is sent.
+     *
+     * @param won Whether the hedged read responded before the first read
+     */
+    default void onHedgedRead(boolean won) {
+
+    }
+
+    /**
+     * Called when a secret lookup fails.
+     *
+     * @param cause Cause of the failure
+     */
+    default void onFailure(FailureCause cause) {
+
+    }
+}
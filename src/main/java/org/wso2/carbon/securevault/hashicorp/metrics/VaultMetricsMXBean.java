@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.metrics;
+
+import java.util.Map;
+
+/**
+ * Management interface of {@link VaultMetrics}. Latencies are reported in milliseconds.
+ */
+public interface VaultMetricsMXBean {
+
+    long getSecretReadCount();
+
+    long getSecretReadFailureCount();
+
+    double getSecretReadMeanLatency();
+
+    double getSecretReadP50Latency();
+
+    double getSecretReadP99Latency();
+
+    double getSecretReadMaxLatency();
+
+    long getLoginCount();
+
+    long getLoginFailureCount();
+
+    double getLoginMeanLatency();
+
+    double getLoginMaxLatency();
+
+    long getTokenRenewalCount();
+
+    long getTokenRenewalFailureCount();
+
+    long getCacheHitCount();
+
+    long getCacheMissCount();
+
+    long getCacheEvictionCount();
+
+    double getCacheHitRatio();
+
+    long getHedgedReadCount();
+
+    long getHedgedReadWinCount();
+
+    Map<String, Long> getFailureCounts();
+
+    /**
+     * Clear all the recorded metrics.
+     */
+    void reset();
+}
@@ -17,16 +17,42 @@
  */
 package org.wso2.carbon.securevault.hashicorp.repository;
 
-import com.bettercloud.vault.Vault;
-import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.SslConfig;
 import com.bettercloud.vault.VaultException;
-import com.bettercloud.vault.api.Logical;
-import com.bettercloud.vault.response.AuthResponse;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.rest.RestException;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.audit.RollingFileAuditHandler;
+import org.wso2.carbon.securevault.hashicorp.audit.SecretAccessAuditHandler;
+import org.wso2.carbon.securevault.hashicorp.audit.SecretAccessAuditor;
+import org.wso2.carbon.securevault.hashicorp.audit.SecretAccessOutcome;
+import org.wso2.carbon.securevault.hashicorp.cache.MissingSecretCache;
+import org.wso2.carbon.securevault.hashicorp.cache.SecretCache;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.client.VaultReadHedger;
+import org.wso2.carbon.securevault.hashicorp.client.VaultRequestLimiter;
+import org.wso2.carbon.securevault.hashicorp.client.VaultRetryPolicy;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+import org.wso2.carbon.securevault.hashicorp.common.SingleFlight;
+import org.wso2.carbon.securevault.hashicorp.config.HashiCorpVaultConfig;
 import org.wso2.carbon.securevault.hashicorp.config.HashiCorpVaultConfigLoader;
+import org.wso2.carbon.securevault.hashicorp.events.VaultEventSubscriber;
+import org.wso2.carbon.securevault.hashicorp.events.VaultEventSubscription;
 import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.exception.SecretAccessDeniedException;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetricsListener;
+import org.wso2.carbon.securevault.hashicorp.token.VaultTokenManager;
+import org.wso2.carbon.securevault.hashicorp.transport.DriverVaultTransport;
+import org.wso2.carbon.securevault.hashicorp.transport.KvSecret;
+import org.wso2.carbon.securevault.hashicorp.transport.PooledVaultTransport;
+import org.wso2.carbon.securevault.hashicorp.transport.SslContexts;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponse;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultTransport;
 import org.wso2.securevault.keystore.IdentityKeyStoreWrapper;
 import org.wso2.securevault.keystore.TrustKeyStoreWrapper;
 import org.wso2.securevault.secret.SecretRepository;
@@ -40,18 +66,157 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.net.ssl.SSLSocketFactory;
 
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ADDRESS_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_BATCH_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_BUFFER_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_FILE_MAX_FILES_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_FILE_MAX_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_FILE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_HANDLER_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_OVERFLOW_MAX_WAIT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUDIT_OVERFLOW_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_MAX_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_NEGATIVE_MAX_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_NEGATIVE_TTL_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_REFRESH_AHEAD_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_REFRESH_AHEAD_FACTOR_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_REFRESH_AHEAD_JITTER_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CACHE_TTL_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CONFIG_WATCH_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_BATCH_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_BUFFER_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_FILE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_FILE_MAX_FILES;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_FILE_MAX_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_OVERFLOW;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_AUDIT_OVERFLOW_MAX_WAIT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_CACHE_MAX_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_CACHE_NEGATIVE_MAX_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_CACHE_NEGATIVE_TTL;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_CACHE_REFRESH_AHEAD_FACTOR;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_CACHE_REFRESH_AHEAD_JITTER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_CACHE_TTL;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_ENGINE_VERSION;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_EVENTS_MAX_RECONNECT_DELAY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_EVENTS_TYPE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_FAILOVER_FAILURE_THRESHOLD;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_FAILOVER_OPEN_DURATION;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_HEDGE_MAX_IN_FLIGHT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_HEDGE_MIN_DELAY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_HEDGE_PERCENTILE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_LOOKUP_DEADLINE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_LOOKUP_THREADS;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_LOOKUP_TIMEOUT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_OPEN_TIMEOUT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_PREFETCH_JITTER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_PREFETCH_THREADS;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_PREFETCH_TIMEOUT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_READ_TIMEOUT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_RETRY_INITIAL_DELAY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_RETRY_MAX_DELAY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_RETRY_MAX_RETRIES;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_SNAPSHOT_FILE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_THROTTLE_MAX_WAIT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_TOKEN_RENEWAL_THRESHOLD;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_TRANSIT_BATCH_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_TRANSIT_CACHE_MAX_SIZE;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_TRANSIT_CACHE_TTL;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_TRANSIT_PATH;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DEFAULT_TRANSPORT_MAX_CONNECTIONS;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.DRIVER_TRANSPORT;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ENGINE_PATH_PARAMETER;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ENGINE_VERSION_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.EVENTS_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.EVENTS_MAX_RECONNECT_DELAY_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.EVENTS_TYPE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.EVENTS_URL_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.FAILOVER_FAILURE_THRESHOLD_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.FAILOVER_OPEN_DURATION_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.HEDGE_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.HEDGE_MAX_IN_FLIGHT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.HEDGE_MIN_DELAY_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.HEDGE_PERCENTILE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.LOOKUP_DEADLINE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.LOOKUP_THREADS_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.LOOKUP_TIMEOUT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.METRICS_JMX_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.METRICS_LISTENERS_PARAMETER;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.NAMESPACE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.OPEN_TIMEOUT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.POOLED_TRANSPORT;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.PREFETCH_ALIASES_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.PREFETCH_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.PREFETCH_JITTER_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.PREFETCH_THREADS_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.PREFETCH_TIMEOUT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.READ_TIMEOUT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.RETRY_INITIAL_DELAY_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.RETRY_MAX_DELAY_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.RETRY_MAX_RETRIES_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTES_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTE_CREDENTIAL_FILE_PROPERTY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTE_EVENTS_URL_PROPERTY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTE_INHERIT_CREDENTIAL_PROPERTY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTE_PERSIST_CREDENTIAL_PROPERTY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROUTE_PREFIX_PROPERTY;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.SNAPSHOT_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.SNAPSHOT_FILE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.SSL_PEM_FILE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.SSL_VERIFY_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.THROTTLE_BURST_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.THROTTLE_MAX_CONCURRENT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.THROTTLE_MAX_WAIT_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.THROTTLE_RATE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TOKEN_RENEWAL_ENABLED_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TOKEN_RENEWAL_THRESHOLD_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSIT_BATCH_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSIT_CACHE_MAX_SIZE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSIT_CACHE_TTL_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSIT_KEY_NAME_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSIT_PATH_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSPORT_MAX_CONNECTIONS_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TRANSPORT_TYPE_PARAMETER;
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TXT;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.VALUE_PARAMETER;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.CARBON_HOME;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.AUTH_TYPE;
 import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.ROLE_ID_PARAMETER;
-import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.TXT;
 
 /**
  * HashiCorp Secret Repository.
@@ -60,158 +225,2096 @@ public class HashiCorpSecretRepository implements SecretRepository {
 
     private static final Log LOG = LogFactory.getLog(HashiCorpSecretRepository.class);
     private static final String SLASH = "/";
+    private static final String FIELD_SEPARATOR = "#";
+    private static final String METADATA_PATH = "/metadata/";
+    private static final String CURRENT_VERSION_FIELD = "current_version";
+    private static final long SNAPSHOT_WRITE_DELAY_MILLIS = 2000L;
+    private static final String EVENTS_SUBSCRIBE_PATH = "/v1/sys/events/subscribe/";
+    private static final long BYTES_PER_MEGABYTE = 1024L * 1024L;
+    private static final String ROUTE_KEY_SEPARATOR = ":";
+    private static final String[] CONNECTION_PARAMETERS = {ADDRESS_PARAMETER, NAMESPACE_PARAMETER,
+            ENGINE_PATH_PARAMETER, ENGINE_VERSION_PARAMETER, OPEN_TIMEOUT_PARAMETER, READ_TIMEOUT_PARAMETER,
+            SSL_VERIFY_PARAMETER, SSL_PEM_FILE_PARAMETER, FAILOVER_FAILURE_THRESHOLD_PARAMETER,
+            FAILOVER_OPEN_DURATION_PARAMETER, TOKEN_RENEWAL_ENABLED_PARAMETER, TOKEN_RENEWAL_THRESHOLD_PARAMETER,
+            TRANSPORT_TYPE_PARAMETER, TRANSPORT_MAX_CONNECTIONS_PARAMETER, THROTTLE_RATE_PARAMETER,
+            THROTTLE_BURST_PARAMETER, THROTTLE_MAX_CONCURRENT_PARAMETER, THROTTLE_MAX_WAIT_PARAMETER,
+            RETRY_MAX_RETRIES_PARAMETER, RETRY_INITIAL_DELAY_PARAMETER, RETRY_MAX_DELAY_PARAMETER};
+
+    private SecretRepository parentRepository;
+    private IdentityKeyStoreWrapper identityKeyStoreWrapper;
+    private TrustKeyStoreWrapper trustKeyStoreWrapper;
+    private final AtomicReference<VaultConnection> connection = new AtomicReference<>();
+    private volatile VaultRouter router;
+
+    private String textFileName;
+    private String textFileName_tmp;
+    private String textFilePersist;
+    private boolean persistToken = false;
+    private String roleId;
+    private String secretId;
+    private File tokenFile;
+    private final Map<String, String> routeCredentials = new ConcurrentHashMap<>();
+    private volatile SecretCache<Map<String, String>> secretCache;
+    private volatile MissingSecretCache missingSecrets;
+    private ExecutorService lookupExecutor;
+    private ScheduledExecutorService lookupTimer;
+    private final SingleFlight<String, VaultSecret> secretReads = new SingleFlight<>();
+    private volatile long lookupTimeout = DEFAULT_LOOKUP_TIMEOUT;
+    private volatile long lookupDeadline = DEFAULT_LOOKUP_DEADLINE;
+    private volatile VaultReadHedger readHedger;
+    private SecretSnapshotStore snapshotStore;
+    private ScheduledExecutorService snapshotScheduler;
+    private final Map<String, VaultSecret> snapshotSecrets = new ConcurrentHashMap<>();
+    private final AtomicBoolean snapshotWriteScheduled = new AtomicBoolean();
+    private final VaultMetrics metrics = new VaultMetrics();
+    private volatile VaultEventSubscriber eventSubscriber;
+    private volatile TransitDecryptor transitDecryptor;
+    private volatile SecretCache<String> decryptedDataCache;
+    private volatile SecretAccessAuditor auditor;
+    private HashiCorpVaultConfigLoader.ConfigChangeListener configChangeListener;
+
+    private enum AuthType {
+        APP_ROLE,
+        ROOT_TOKEN
+    }
+
+    private AuthType authType;
+
+    public HashiCorpSecretRepository(IdentityKeyStoreWrapper identityKeyStoreWrapper,
+                                     TrustKeyStoreWrapper trustKeyStoreWrapper) {
+
+        this.identityKeyStoreWrapper = identityKeyStoreWrapper;
+        this.trustKeyStoreWrapper = trustKeyStoreWrapper;
+    }
+
+    /**
+     * Initializes the repository based on provided properties.
+     *
+     * @param properties Configuration properties
+     * @param id         Identifier to identify properties related to the corresponding repository
+     */
+    @Override
+    public void init(Properties properties, String id) {
+
+        LOG.info("Initializing HashiCorp Secure Vault");
+
+        // Load Configurations
+        HashiCorpVaultConfigLoader hashiCorpVaultConfigLoader = HashiCorpVaultConfigLoader.getInstance();
+        HashiCorpVaultConfig hashiCorpVaultConfig = hashiCorpVaultConfigLoader.getConfig();
+        try {
+            String authTypeConfig = hashiCorpVaultConfig.getProperty(AUTH_TYPE);
+            authType = AuthType.valueOf(authTypeConfig);
+
+            initMetrics(hashiCorpVaultConfig, id);
+
+            VaultConnection vaultConnection = createConnection(hashiCorpVaultConfig);
+            connection.set(vaultConnection);
+
+            secretCache = createSecretCache(hashiCorpVaultConfig);
+            missingSecrets = createMissingSecretCache(hashiCorpVaultConfig);
+            transitDecryptor = createTransitDecryptor(hashiCorpVaultConfig);
+            decryptedDataCache = createDecryptedDataCache(hashiCorpVaultConfig);
+            auditor = createAuditor(hashiCorpVaultConfig);
+
+            int lookupThreads = Math.max(hashiCorpVaultConfig.getIntProperty(LOOKUP_THREADS_PARAMETER,
+                    DEFAULT_LOOKUP_THREADS), 1);
+            lookupTimeout = hashiCorpVaultConfig.getLongProperty(LOOKUP_TIMEOUT_PARAMETER,
+                    DEFAULT_LOOKUP_TIMEOUT);
+            lookupDeadline = hashiCorpVaultConfig.getLongProperty(LOOKUP_DEADLINE_PARAMETER,
+                    DEFAULT_LOOKUP_DEADLINE);
+            readHedger = createReadHedger(hashiCorpVaultConfig);
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(lookupThreads, lookupThreads, 60L,
+                    TimeUnit.SECONDS, new LinkedBlockingQueue<>(), new HashiCorpVaultThreadFactory("lookup"));
+            executor.allowCoreThreadTimeOut(true);
+            lookupExecutor = executor;
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1,
+                    new HashiCorpVaultThreadFactory("lookup-timer"));
+            timer.setRemoveOnCancelPolicy(true);
+            lookupTimer = timer;
+
+            if (hashiCorpVaultConfig.getBooleanProperty(SNAPSHOT_ENABLED_PARAMETER, false)) {
+                initSnapshot(hashiCorpVaultConfig.getProperty(SNAPSHOT_FILE_PARAMETER,
+                        System.getProperty(CARBON_HOME) + File.separator + DEFAULT_SNAPSHOT_FILE));
+            }
+
+            if (configChangeListener != null) {
+                hashiCorpVaultConfigLoader.removeChangeListener(configChangeListener);
+                hashiCorpVaultConfigLoader.stopWatching();
+                configChangeListener = null;
+            }
+            if (hashiCorpVaultConfig.getBooleanProperty(CONFIG_WATCH_ENABLED_PARAMETER, false)) {
+                configChangeListener = this::applyConfig;
+                hashiCorpVaultConfigLoader.addChangeListener(configChangeListener);
+            }
+
+            if (authType.equals(AuthType.APP_ROLE)) {
+                roleId = hashiCorpVaultConfig.getProperty(ROLE_ID_PARAMETER);
+                secretId = retrieveAuthDetails();
+                vaultConnection.getTokenManager().loginWithAppRole(roleId, secretId);
+            } else {
+                vaultConnection.getTokenManager().useToken(retrieveAuthDetails());
+            }
+
+            try {
+                router = createRouter(hashiCorpVaultConfig);
+            } catch (HashiCorpVaultException e) {
+                LOG.error("Error while creating the HashiCorp vault secret routes, secrets are read through the "
+                        + "main connection only", e);
+            }
+
+            eventSubscriber = createEventSubscriber(hashiCorpVaultConfig);
+            if (eventSubscriber != null) {
+                eventSubscriber.start();
+            }
+            subscribeRoutes(hashiCorpVaultConfig, router);
+
+            if (hashiCorpVaultConfig.getBooleanProperty(CONFIG_WATCH_ENABLED_PARAMETER, false)) {
+                hashiCorpVaultConfigLoader.startWatching();
+            }
+
+        } catch (HashiCorpVaultException e) {
+            LOG.error(e.getMessage(), e);
+        }
+
+        VaultConnection vaultConnection = connection.get();
+        if (vaultConnection == null || StringUtils.isEmpty(vaultConnection.getTokenManager().getToken())) {
+            LOG.warn("VAULT_TOKEN has not been set");
+        }
+
+        if (vaultConnection == null || vaultConnection.getEngineVersion() != 2) {
+            LOG.error("Supported engine version: 2");
+        }
+
+        try {
+            if (!snapshotSecrets.isEmpty()) {
+                validateSnapshot(hashiCorpVaultConfig);
+            } else if (hashiCorpVaultConfig.getBooleanProperty(PREFETCH_ENABLED_PARAMETER, false)) {
+                prefetchSecrets(hashiCorpVaultConfig);
+            }
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while prefetching secrets from HashiCorp vault", e);
+        }
+    }
+
+    /**
+     * Shut down the repository. The repository stops listening to configuration changes and vault events, and the
+     * connections to the vault and the background threads of the repository are released.
+     */
+    public void shutdown() {
+
+        if (configChangeListener != null) {
+            HashiCorpVaultConfigLoader hashiCorpVaultConfigLoader = HashiCorpVaultConfigLoader.getInstance();
+            hashiCorpVaultConfigLoader.removeChangeListener(configChangeListener);
+            hashiCorpVaultConfigLoader.stopWatching();
+            configChangeListener = null;
+        }
+        VaultEventSubscriber subscriber = eventSubscriber;
+        eventSubscriber = null;
+        if (subscriber != null) {
+            subscriber.stop();
+        }
+        VaultRouter currentRouter = router;
+        router = null;
+        if (currentRouter != null) {
+            currentRouter.retire();
+        }
+        VaultConnection vaultConnection = connection.getAndSet(null);
+        if (vaultConnection != null) {
+            vaultConnection.retire();
+        }
+        VaultReadHedger hedger = readHedger;
+        readHedger = null;
+        if (hedger != null) {
+            hedger.close();
+        }
+        if (lookupExecutor != null) {
+            lookupExecutor.shutdown();
+        }
+        if (lookupTimer != null) {
+            lookupTimer.shutdown();
+        }
+        if (snapshotScheduler != null) {
+            snapshotScheduler.shutdown();
+        }
+        SecretAccessAuditor currentAuditor = auditor;
+        auditor = null;
+        if (currentAuditor != null) {
+            currentAuditor.close();
+        }
+        LOG.info("HashiCorp Secure Vault shut down");
+    }
+
+    /**
+     * Create the secret cache if it is enabled.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Secret cache, or null if the cache is disabled
+     * @throws HashiCorpVaultException when the cache configuration is invalid
+     */
+    private SecretCache<Map<String, String>> createSecretCache(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        if (!hashiCorpVaultConfig.getBooleanProperty(CACHE_ENABLED_PARAMETER, false)) {
+            return null;
+        }
+
+        int cacheMaxSize = hashiCorpVaultConfig.getIntProperty(CACHE_MAX_SIZE_PARAMETER, DEFAULT_CACHE_MAX_SIZE);
+        long cacheTtl = hashiCorpVaultConfig.getLongProperty(CACHE_TTL_PARAMETER, DEFAULT_CACHE_TTL);
+        double refreshAheadFactor = 0;
+        double refreshJitter = 0;
+        if (hashiCorpVaultConfig.getBooleanProperty(CACHE_REFRESH_AHEAD_ENABLED_PARAMETER, false)) {
+            refreshAheadFactor = hashiCorpVaultConfig.getDoubleProperty(CACHE_REFRESH_AHEAD_FACTOR_PARAMETER,
+                    DEFAULT_CACHE_REFRESH_AHEAD_FACTOR);
+            refreshJitter = hashiCorpVaultConfig.getDoubleProperty(CACHE_REFRESH_AHEAD_JITTER_PARAMETER,
+                    DEFAULT_CACHE_REFRESH_AHEAD_JITTER);
+        }
+        SecretCache<Map<String, String>> cache;
+        try {
+            cache = new SecretCache<>(cacheMaxSize, cacheTtl, refreshAheadFactor, refreshJitter, this::refreshAhead,
+                    metrics);
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid secret cache configuration: " + e.getMessage(), e);
+        }
+        LOG.info("HashiCorp secret cache enabled with max size: " + cacheMaxSize + " and TTL: " + cacheTtl + "s");
+        return cache;
+    }
+
+    /**
+     * Create the cache of secrets that the vault reported as not found, unless its time to live is set to 0.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Missing secret cache, or null if it is disabled
+     * @throws HashiCorpVaultException when the cache configuration is invalid
+     */
+    private MissingSecretCache createMissingSecretCache(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        long ttl = hashiCorpVaultConfig.getLongProperty(CACHE_NEGATIVE_TTL_PARAMETER, DEFAULT_CACHE_NEGATIVE_TTL);
+        if (ttl <= 0) {
+            return null;
+        }
+        try {
+            return new MissingSecretCache(hashiCorpVaultConfig.getIntProperty(CACHE_NEGATIVE_MAX_SIZE_PARAMETER,
+                    DEFAULT_CACHE_NEGATIVE_MAX_SIZE), ttl);
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid missing secret cache configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the decryptor of Transit ciphertexts if a Transit key is configured.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Transit decryptor, or null if no Transit key is configured
+     * @throws HashiCorpVaultException when the Transit configuration is invalid
+     */
+    private TransitDecryptor createTransitDecryptor(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        String keyName = hashiCorpVaultConfig.getProperty(TRANSIT_KEY_NAME_PARAMETER);
+        if (StringUtils.isEmpty(keyName)) {
+            return null;
+        }
+        try {
+            return new TransitDecryptor(hashiCorpVaultConfig.getProperty(TRANSIT_PATH_PARAMETER, DEFAULT_TRANSIT_PATH),
+                    keyName, hashiCorpVaultConfig.getIntProperty(TRANSIT_BATCH_SIZE_PARAMETER,
+                    DEFAULT_TRANSIT_BATCH_SIZE));
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid transit configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the cache of data decrypted with the Transit key, unless its maximum size is set to 0.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Decrypted data cache, or null if it is disabled
+     * @throws HashiCorpVaultException when the cache configuration is invalid
+     */
+    private SecretCache<String> createDecryptedDataCache(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        int maxSize = hashiCorpVaultConfig.getIntProperty(TRANSIT_CACHE_MAX_SIZE_PARAMETER,
+                DEFAULT_TRANSIT_CACHE_MAX_SIZE);
+        if (maxSize <= 0) {
+            return null;
+        }
+        try {
+            return new SecretCache<>(maxSize, hashiCorpVaultConfig.getLongProperty(TRANSIT_CACHE_TTL_PARAMETER,
+                    DEFAULT_TRANSIT_CACHE_TTL), 0, 0, null, null);
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid transit cache configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the audit trail of secret lookups if it is enabled. Lookups are written to the configured audit handler,
+     * or to a rolling audit file if no handler is configured.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Auditor of secret lookups, or null if the audit trail is disabled
+     * @throws HashiCorpVaultException when the audit configuration is invalid
+     */
+    private SecretAccessAuditor createAuditor(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        if (!hashiCorpVaultConfig.getBooleanProperty(AUDIT_ENABLED_PARAMETER, false)) {
+            return null;
+        }
+
+        String handlerClass = hashiCorpVaultConfig.getProperty(AUDIT_HANDLER_PARAMETER, null);
+        String auditTarget = handlerClass;
+        SecretAccessAuditor secretAccessAuditor;
+        try {
+            SecretAccessAuditHandler handler;
+            if (handlerClass != null) {
+                handler = (SecretAccessAuditHandler) Class.forName(handlerClass, true,
+                        HashiCorpSecretRepository.class.getClassLoader()).getDeclaredConstructor().newInstance();
+            } else {
+                Path auditFile = Paths.get(hashiCorpVaultConfig.getProperty(AUDIT_FILE_PARAMETER,
+                        System.getProperty(CARBON_HOME) + File.separator + DEFAULT_AUDIT_FILE)).toAbsolutePath();
+                auditTarget = auditFile.toString();
+                handler = new RollingFileAuditHandler(auditFile,
+                        hashiCorpVaultConfig.getLongProperty(AUDIT_FILE_MAX_SIZE_PARAMETER,
+                                DEFAULT_AUDIT_FILE_MAX_SIZE) * BYTES_PER_MEGABYTE,
+                        hashiCorpVaultConfig.getIntProperty(AUDIT_FILE_MAX_FILES_PARAMETER,
+                                DEFAULT_AUDIT_FILE_MAX_FILES));
+            }
+            SecretAccessAuditor.OverflowPolicy overflowPolicy = SecretAccessAuditor.OverflowPolicy.valueOf(
+                    hashiCorpVaultConfig.getProperty(AUDIT_OVERFLOW_PARAMETER, DEFAULT_AUDIT_OVERFLOW)
+                            .toUpperCase(Locale.ENGLISH));
+            secretAccessAuditor = new SecretAccessAuditor(handler,
+                    hashiCorpVaultConfig.getIntProperty(AUDIT_BUFFER_SIZE_PARAMETER, DEFAULT_AUDIT_BUFFER_SIZE),
+                    hashiCorpVaultConfig.getIntProperty(AUDIT_BATCH_SIZE_PARAMETER, DEFAULT_AUDIT_BATCH_SIZE),
+                    overflowPolicy, hashiCorpVaultConfig.getLongProperty(AUDIT_OVERFLOW_MAX_WAIT_PARAMETER,
+                            DEFAULT_AUDIT_OVERFLOW_MAX_WAIT));
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new HashiCorpVaultException("Unable to create HashiCorp vault audit handler: " + handlerClass, e);
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid audit configuration: " + e.getMessage(), e);
+        }
+        LOG.info("HashiCorp secret access audit enabled, writing to: " + auditTarget);
+        return secretAccessAuditor;
+    }
+
+    /**
+     * Create the connection to the vault described by the given configurations. The connection is not authenticated.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Vault connection
+     * @throws HashiCorpVaultException when the connection configurations are invalid
+     */
+    private VaultConnection createConnection(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        int engineVersion = hashiCorpVaultConfig.getIntProperty(ENGINE_VERSION_PARAMETER, DEFAULT_ENGINE_VERSION);
+        VaultClientHolder clientHolder = new VaultClientHolder(createTransport(hashiCorpVaultConfig),
+                createRequestLimiter(hashiCorpVaultConfig), createRetryPolicy(hashiCorpVaultConfig));
+
+        VaultEndpointSelector endpoints = createEndpointSelector(hashiCorpVaultConfig);
+        VaultTokenManager tokenManager = new VaultTokenManager(clientHolder, endpoints,
+                hashiCorpVaultConfig.getBooleanProperty(TOKEN_RENEWAL_ENABLED_PARAMETER, true),
+                hashiCorpVaultConfig.getDoubleProperty(TOKEN_RENEWAL_THRESHOLD_PARAMETER,
+                        DEFAULT_TOKEN_RENEWAL_THRESHOLD), metrics);
+
+        return new VaultConnection(hashiCorpVaultConfig.getProperty(NAMESPACE_PARAMETER),
+                hashiCorpVaultConfig.getProperty(ENGINE_PATH_PARAMETER), engineVersion,
+                AuthType.APP_ROLE.name().equals(hashiCorpVaultConfig.getProperty(AUTH_TYPE, null)), clientHolder,
+                endpoints, tokenManager);
+    }
+
+    /**
+     * Create the router of secret lookups if secret routes are configured. Each route gets a connection of its own,
+     * built from the configurations of the route and authenticated before the router is returned.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Secret router, or null if no routes are configured
+     * @throws HashiCorpVaultException when a route is invalid or cannot be authenticated
+     */
+    private VaultRouter createRouter(HashiCorpVaultConfig hashiCorpVaultConfig) throws HashiCorpVaultException {
+
+        Collection<String> routeNames = getRouteNames(hashiCorpVaultConfig);
+        if (routeNames.isEmpty()) {
+            return null;
+        }
+        List<VaultRouter.Route> routes = new ArrayList<>();
+        try {
+            for (String routeName : routeNames) {
+                String prefix = hashiCorpVaultConfig.getProperty(getRouteParameter(routeName, ROUTE_PREFIX_PROPERTY),
+                        null);
+                if (prefix == null) {
+                    throw new HashiCorpVaultException("Prefix of secret route " + routeName + " is not configured");
+                }
+                HashiCorpVaultConfig routeConfig = hashiCorpVaultConfig.getRouteConfig(routeName);
+                VaultConnection routeConnection = createConnection(routeConfig);
+                routes.add(new VaultRouter.Route(routeName, prefix, routeConnection));
+                String credential = getRouteCredential(routeName, routeConnection, hashiCorpVaultConfig);
+                if (routeConnection.isAppRole()) {
+                    routeConnection.getTokenManager().loginWithAppRole(routeConfig.getProperty(ROLE_ID_PARAMETER),
+                            credential);
+                } else {
+                    routeConnection.getTokenManager().useToken(credential);
+                }
+            }
+            VaultRouter vaultRouter = new VaultRouter(routes);
+            LOG.info("HashiCorp vault secret routes enabled: " + routeNames);
+            return vaultRouter;
+        } catch (HashiCorpVaultException e) {
+            closeRoutes(routes);
+            throw e;
+        } catch (IllegalArgumentException e) {
+            closeRoutes(routes);
+            throw new HashiCorpVaultException("Invalid secret route configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Get the credential a route authenticates with: the secret id or token read from the credential file of the
+     * route, or, only if the route inherits the credential of the main connection, the secret id of the main
+     * connection for AppRole and the token of the main connection otherwise.
+     * <p>
+     * Unless the route persists its credential, the credential file is deleted once it is read, like the credential
+     * file of the main connection, and the credential read is kept in memory for the routes rebuilt after a
+     * configuration reload.
+     */
+    private String getRouteCredential(String routeName, VaultConnection routeConnection,
+                                      HashiCorpVaultConfig hashiCorpVaultConfig) throws HashiCorpVaultException {
+
+        String credentialFile = hashiCorpVaultConfig.getProperty(getRouteParameter(routeName,
+                ROUTE_CREDENTIAL_FILE_PROPERTY), null);
+        String credential;
+        if (credentialFile != null) {
+            File file = new File(credentialFile);
+            if (file.exists()) {
+                credential = readToken(file);
+                if (!hashiCorpVaultConfig.getBooleanProperty(getRouteParameter(routeName,
+                        ROUTE_PERSIST_CREDENTIAL_PROPERTY), false) && deleteConfigFile(file)) {
+                    throw new HashiCorpVaultException("Error in deleting the credential file of secret route "
+                            + routeName);
+                }
+                if (StringUtils.isNotEmpty(credential)) {
+                    routeCredentials.put(file.getAbsolutePath(), credential);
+                }
+            } else {
+                credential = routeCredentials.get(file.getAbsolutePath());
+            }
+        } else if (!hashiCorpVaultConfig.getBooleanProperty(getRouteParameter(routeName,
+                ROUTE_INHERIT_CREDENTIAL_PROPERTY), false)) {
+            throw new HashiCorpVaultException("No credential file is configured for secret route " + routeName
+                    + ", set " + getRouteParameter(routeName, ROUTE_INHERIT_CREDENTIAL_PROPERTY)
+                    + " to authenticate with the credential of the main connection");
+        } else if (routeConnection.isAppRole()) {
+            credential = secretId;
+        } else {
+            credential = getConnection().getTokenManager().getToken();
+        }
+        if (StringUtils.isEmpty(credential)) {
+            throw new HashiCorpVaultException("No credential is available to authenticate secret route " + routeName);
+        }
+        return credential;
+    }
+
+    private static void closeRoutes(List<VaultRouter.Route> routes) {
+
+        for (VaultRouter.Route route : routes) {
+            route.getConnection().close();
+        }
+    }
+
+    /**
+     * Get the names of the configured secret routes.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Names of the routes, in the order they are configured
+     */
+    private static Collection<String> getRouteNames(HashiCorpVaultConfig hashiCorpVaultConfig) {
+
+        Collection<String> routeNames = new LinkedHashSet<>();
+        String configuredRoutes = hashiCorpVaultConfig.getProperty(ROUTES_PARAMETER, null);
+        if (configuredRoutes != null) {
+            for (String routeName : configuredRoutes.split(",")) {
+                if (StringUtils.isNotBlank(routeName)) {
+                    routeNames.add(routeName.trim());
+                }
+            }
+        }
+        return routeNames;
+    }
+
+    private static String getRouteParameter(String routeName, String property) {
+
+        return ROUTES_PARAMETER + "." + routeName + "." + property;
+    }
+
+    /**
+     * Create the limiter of the requests sent to the vault, if a request rate or a concurrency limit is configured.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Request limiter, or null if requests are not limited
+     * @throws HashiCorpVaultException when the limits are invalid
+     */
+    private VaultRequestLimiter createRequestLimiter(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        double rate = hashiCorpVaultConfig.getDoubleProperty(THROTTLE_RATE_PARAMETER, 0);
+        int maxConcurrent = hashiCorpVaultConfig.getIntProperty(THROTTLE_MAX_CONCURRENT_PARAMETER, 0);
+        if (rate <= 0 && maxConcurrent <= 0) {
+            return null;
+        }
+        try {
+            VaultRequestLimiter limiter = new VaultRequestLimiter(Math.max(rate, 0),
+                    hashiCorpVaultConfig.getIntProperty(THROTTLE_BURST_PARAMETER, 0), Math.max(maxConcurrent, 0),
+                    TimeUnit.SECONDS.toMillis(hashiCorpVaultConfig.getLongProperty(THROTTLE_MAX_WAIT_PARAMETER,
+                            DEFAULT_THROTTLE_MAX_WAIT)));
+            LOG.info("HashiCorp vault requests limited to " + (rate > 0 ? rate + " per second" : "any rate")
+                    + " and " + (maxConcurrent > 0 ? maxConcurrent + " at once" : "any concurrency"));
+            return limiter;
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid vault request limit configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the policy for retrying requests that the vault rejects because of rate limiting.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Retry policy
+     * @throws HashiCorpVaultException when the retry configuration is invalid
+     */
+    private VaultRetryPolicy createRetryPolicy(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        try {
+            return new VaultRetryPolicy(
+                    hashiCorpVaultConfig.getIntProperty(RETRY_MAX_RETRIES_PARAMETER, DEFAULT_RETRY_MAX_RETRIES),
+                    hashiCorpVaultConfig.getLongProperty(RETRY_INITIAL_DELAY_PARAMETER, DEFAULT_RETRY_INITIAL_DELAY),
+                    hashiCorpVaultConfig.getLongProperty(RETRY_MAX_DELAY_PARAMETER, DEFAULT_RETRY_MAX_DELAY));
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid vault retry configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the hedger of secret reads if hedged reads are enabled.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Read hedger, or null if reads are not hedged
+     * @throws HashiCorpVaultException when the hedging configuration is invalid
+     */
+    private VaultReadHedger createReadHedger(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        if (!hashiCorpVaultConfig.getBooleanProperty(HEDGE_ENABLED_PARAMETER, false)) {
+            return null;
+        }
+        try {
+            VaultReadHedger hedger = new VaultReadHedger(
+                    hashiCorpVaultConfig.getDoubleProperty(HEDGE_PERCENTILE_PARAMETER, DEFAULT_HEDGE_PERCENTILE),
+                    hashiCorpVaultConfig.getLongProperty(HEDGE_MIN_DELAY_PARAMETER, DEFAULT_HEDGE_MIN_DELAY),
+                    hashiCorpVaultConfig.getIntProperty(HEDGE_MAX_IN_FLIGHT_PARAMETER, DEFAULT_HEDGE_MAX_IN_FLIGHT),
+                    metrics);
+            LOG.info("HashiCorp vault hedged reads enabled");
+            return hedger;
+        } catch (IllegalArgumentException e) {
+            throw new HashiCorpVaultException("Invalid hedged read configuration: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Create the transport used to send requests to the vault. The transport type is either <code>driver</code>,
+     * <code>pooled</code> or the class name of a {@link VaultTransport} implementation with a no-argument
+     * constructor.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Vault transport
+     * @throws HashiCorpVaultException when the transport cannot be created
+     */
+    private VaultTransport createTransport(HashiCorpVaultConfig hashiCorpVaultConfig) throws HashiCorpVaultException {
+
+        int openTimeout = hashiCorpVaultConfig.getIntProperty(OPEN_TIMEOUT_PARAMETER, DEFAULT_OPEN_TIMEOUT);
+        int readTimeout = hashiCorpVaultConfig.getIntProperty(READ_TIMEOUT_PARAMETER, DEFAULT_READ_TIMEOUT);
+        String transportType = hashiCorpVaultConfig.getProperty(TRANSPORT_TYPE_PARAMETER, DRIVER_TRANSPORT).trim();
+
+        if (DRIVER_TRANSPORT.equals(transportType) || POOLED_TRANSPORT.equals(transportType)) {
+            SslConfig sslConfig = VaultClientHolder.buildSslConfig(
+                    hashiCorpVaultConfig.getBooleanProperty(SSL_VERIFY_PARAMETER, true),
+                    hashiCorpVaultConfig.getProperty(SSL_PEM_FILE_PARAMETER, null));
+            if (DRIVER_TRANSPORT.equals(transportType)) {
+                return new DriverVaultTransport(openTimeout > 0 ? openTimeout : null,
+                        readTimeout > 0 ? readTimeout : null, sslConfig);
+            }
+            int maxConnections = hashiCorpVaultConfig.getIntProperty(TRANSPORT_MAX_CONNECTIONS_PARAMETER,
+                    DEFAULT_TRANSPORT_MAX_CONNECTIONS);
+            try {
+                return new PooledVaultTransport(openTimeout > 0 ? openTimeout : null,
+                        readTimeout > 0 ? readTimeout : null, sslConfig, maxConnections);
+            } catch (IllegalArgumentException e) {
+                throw new HashiCorpVaultException("Invalid vault transport configuration: " + e.getMessage(), e);
+            }
+        }
+
+        try {
+            return (VaultTransport) Class.forName(transportType, true,
+                    HashiCorpSecretRepository.class.getClassLoader()).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new HashiCorpVaultException("Unable to create HashiCorp vault transport: " + transportType, e);
+        }
+    }
+
+    /**
+     * Get the current main connection to the vault.
+     *
+     * @return Vault connection
+     * @throws HashiCorpVaultException when the repository has not been initialized
+     */
+    private VaultConnection getConnection() throws HashiCorpVaultException {
+
+        VaultConnection current = connection.get();
+        if (current == null) {
+            throw new HashiCorpVaultException("HashiCorp secret repository has not been initialized");
+        }
+        return current;
+    }
+
+    /**
+     * Acquire the current main connection to the vault for a lookup. The connection must be released once the lookup
+     * completes.
+     *
+     * @return Vault connection
+     * @throws HashiCorpVaultException when the repository has not been initialized
+     */
+    private VaultConnection acquireConnection() throws HashiCorpVaultException {
+
+        VaultConnection current = getConnection();
+        while (!current.acquire()) {
+            current = getConnection();
+        }
+        return current;
+    }
+
+    /**
+     * Get the route of a secret.
+     *
+     * @param secretPath Path of the secret relative to the engine path
+     * @return Route of the secret, or null if the secret is read through the main connection
+     */
+    private VaultRouter.Route findRoute(String secretPath) {
+
+        VaultRouter current = router;
+        return current == null ? null : current.route(secretPath);
+    }
+
+    /**
+     * Apply the configurations reloaded after the configuration file changed. The secret cache, the lookup timeout
+     * and deadline, hedged reads, the connection to the vault and the secret routes are updated in place, while the
+     * authentication configurations of the main connection take effect after a restart.
+     *
+     * @param previous Configurations before the change
+     * @param current  Configurations after the change
+     */
+    private void applyConfig(HashiCorpVaultConfig previous, HashiCorpVaultConfig current) {
+
+        try {
+            if (current.isChanged(previous, LOOKUP_TIMEOUT_PARAMETER)) {
+                lookupTimeout = current.getLongProperty(LOOKUP_TIMEOUT_PARAMETER, DEFAULT_LOOKUP_TIMEOUT);
+                LOG.info("HashiCorp vault lookup timeout updated to " + lookupTimeout + "s");
+            }
+            if (current.isChanged(previous, LOOKUP_DEADLINE_PARAMETER)) {
+                lookupDeadline = current.getLongProperty(LOOKUP_DEADLINE_PARAMETER, DEFAULT_LOOKUP_DEADLINE);
+                LOG.info("HashiCorp vault lookup deadline updated to " + lookupDeadline + " ms");
+            }
+            if (current.isChanged(previous, HEDGE_ENABLED_PARAMETER, HEDGE_PERCENTILE_PARAMETER,
+                    HEDGE_MIN_DELAY_PARAMETER, HEDGE_MAX_IN_FLIGHT_PARAMETER)) {
+                VaultReadHedger hedger = readHedger;
+                readHedger = createReadHedger(current);
+                if (hedger != null) {
+                    hedger.close();
+                }
+            }
+            if (current.isChanged(previous, CACHE_ENABLED_PARAMETER, CACHE_MAX_SIZE_PARAMETER, CACHE_TTL_PARAMETER,
+                    CACHE_REFRESH_AHEAD_ENABLED_PARAMETER, CACHE_REFRESH_AHEAD_FACTOR_PARAMETER,
+                    CACHE_REFRESH_AHEAD_JITTER_PARAMETER)) {
+                SecretCache<Map<String, String>> cache = createSecretCache(current);
+                secretCache = cache;
+                if (cache == null) {
+                    LOG.info("HashiCorp secret cache disabled");
+                }
+            }
+            if (current.isChanged(previous, CACHE_NEGATIVE_TTL_PARAMETER, CACHE_NEGATIVE_MAX_SIZE_PARAMETER)) {
+                missingSecrets = createMissingSecretCache(current);
+            }
+            if (current.isChanged(previous, TRANSIT_KEY_NAME_PARAMETER, TRANSIT_PATH_PARAMETER,
+                    TRANSIT_BATCH_SIZE_PARAMETER, TRANSIT_CACHE_MAX_SIZE_PARAMETER, TRANSIT_CACHE_TTL_PARAMETER)) {
+                transitDecryptor = createTransitDecryptor(current);
+                decryptedDataCache = createDecryptedDataCache(current);
+            }
+            if (current.isChanged(previous, AUDIT_ENABLED_PARAMETER, AUDIT_FILE_PARAMETER,
+                    AUDIT_FILE_MAX_SIZE_PARAMETER, AUDIT_FILE_MAX_FILES_PARAMETER, AUDIT_HANDLER_PARAMETER,
+                    AUDIT_BUFFER_SIZE_PARAMETER, AUDIT_BATCH_SIZE_PARAMETER, AUDIT_OVERFLOW_PARAMETER,
+                    AUDIT_OVERFLOW_MAX_WAIT_PARAMETER)) {
+                // The previous auditor is closed first, so that it is done with the audit file before it is reopened.
+                SecretAccessAuditor previousAuditor = auditor;
+                auditor = null;
+                if (previousAuditor != null) {
+                    previousAuditor.close();
+                }
+                auditor = createAuditor(current);
+            }
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while applying the reloaded HashiCorp vault configurations", e);
+        }
+
+        if (current.isChanged(previous, CONNECTION_PARAMETERS)) {
+            reconnect(current);
+        }
+        if (isRoutesChanged(previous, current)) {
+            reroute(current);
+        }
+        if (current.isChanged(previous, EVENTS_ENABLED_PARAMETER, EVENTS_URL_PARAMETER, EVENTS_TYPE_PARAMETER,
+                EVENTS_MAX_RECONNECT_DELAY_PARAMETER, OPEN_TIMEOUT_PARAMETER, SSL_VERIFY_PARAMETER,
+                SSL_PEM_FILE_PARAMETER)) {
+            restartEventSubscriber(current);
+        }
+        if (current.isChanged(previous, AUTH_TYPE, ROLE_ID_PARAMETER)) {
+            LOG.warn("HashiCorp vault authentication configurations have changed, restart the server to apply them");
+        }
+    }
+
+    /**
+     * Replace the connection to the vault with one built from the reloaded configurations. The new connection is
+     * authenticated before it is published, so reads in flight keep using the previous connection until the swap and
+     * the previous connection is kept if the new one cannot be authenticated.
+     *
+     * @param hashiCorpVaultConfig Reloaded vault configurations
+     */
+    private void reconnect(HashiCorpVaultConfig hashiCorpVaultConfig) {
+
+        VaultConnection previous = connection.get();
+        if (previous == null) {
+            return;
+        }
+        VaultConnection replacement = null;
+        try {
+            replacement = createConnection(hashiCorpVaultConfig);
+            if (replacement.isAppRole()) {
+                replacement.getTokenManager().loginWithAppRole(roleId, secretId);
+            } else {
+                replacement.getTokenManager().useToken(previous.getTokenManager().getToken());
+            }
+        } catch (HashiCorpVaultException | IllegalArgumentException e) {
+            LOG.error("Error while connecting to HashiCorp vault with the reloaded configurations, the current "
+                    + "connection is kept", e);
+            if (replacement != null) {
+                replacement.close();
+            }
+            return;
+        }
+
+        if (!connection.compareAndSet(previous, replacement)) {
+            replacement.close();
+            return;
+        }
+        // Lookups may still be reading through the previous connection, which is closed once they complete.
+        previous.retire();
+
+        if (previous.getEngineVersion() != replacement.getEngineVersion()
+                || !Objects.equals(previous.getNamespace(), replacement.getNamespace())
+                || !Objects.equals(previous.getEnginePath(), replacement.getEnginePath())) {
+            invalidateAll();
+        }
+        VaultEventSubscriber subscriber = eventSubscriber;
+        if (subscriber != null) {
+            subscriber.reconnect();
+        }
+        LOG.info("HashiCorp vault connection updated with the reloaded configurations");
+    }
+
+    /**
+     * Check whether the reloaded configurations change the secret routes or any configuration that the connections
+     * of the routes are built from, including the configurations they inherit.
+     */
+    private static boolean isRoutesChanged(HashiCorpVaultConfig previous, HashiCorpVaultConfig current) {
+
+        if (current.isChanged(previous, ROUTES_PARAMETER)) {
+            return true;
+        }
+        for (String routeName : getRouteNames(current)) {
+            HashiCorpVaultConfig routeConfig = current.getRouteConfig(routeName);
+            HashiCorpVaultConfig previousRouteConfig = previous.getRouteConfig(routeName);
+            if (current.isChanged(previous, getRouteParameter(routeName, ROUTE_PREFIX_PROPERTY),
+                    getRouteParameter(routeName, ROUTE_CREDENTIAL_FILE_PROPERTY),
+                    getRouteParameter(routeName, ROUTE_PERSIST_CREDENTIAL_PROPERTY),
+                    getRouteParameter(routeName, ROUTE_INHERIT_CREDENTIAL_PROPERTY),
+                    getRouteParameter(routeName, ROUTE_EVENTS_URL_PROPERTY))
+                    || routeConfig.isChanged(previousRouteConfig, CONNECTION_PARAMETERS)
+                    || routeConfig.isChanged(previousRouteConfig, AUTH_TYPE, ROLE_ID_PARAMETER)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Replace the secret routes with routes built from the reloaded configurations. The new routes are authenticated
+     * before they are published, and the current routes are kept if any of the new routes cannot be created.
+     *
+     * @param hashiCorpVaultConfig Reloaded vault configurations
+     */
+    private void reroute(HashiCorpVaultConfig hashiCorpVaultConfig) {
+
+        if (connection.get() == null) {
+            return;
+        }
+        VaultRouter replacement;
+        try {
+            replacement = createRouter(hashiCorpVaultConfig);
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while creating the HashiCorp vault secret routes with the reloaded configurations, the "
+                    + "current routes are kept", e);
+            return;
+        }
+        VaultRouter previous = router;
+        router = replacement;
+        if (previous != null) {
+            // Lookups may still be reading through the previous routes, which are closed once they complete.
+            previous.retire();
+        }
+        subscribeRoutes(hashiCorpVaultConfig, replacement);
+        invalidateAll();
+        LOG.info("HashiCorp vault secret routes updated with the reloaded configurations");
+    }
+
+    /**
+     * Create the subscriber to the vault event stream if it is enabled, so that secrets written or deleted in the
+     * vault are evicted from the caches as soon as they change. Unless a URL is configured, the stream is opened on
+     * the primary vault server of the current connection, with the token and namespace of the connection.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Event subscriber, or null if the event subscription is disabled
+     * @throws HashiCorpVaultException when the SSL configuration is invalid
+     */
+    private VaultEventSubscriber createEventSubscriber(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        if (!hashiCorpVaultConfig.getBooleanProperty(EVENTS_ENABLED_PARAMETER, false)) {
+            return null;
+        }
+        LOG.info("HashiCorp vault event subscription enabled for events: "
+                + hashiCorpVaultConfig.getProperty(EVENTS_TYPE_PARAMETER, DEFAULT_EVENTS_TYPE).trim());
+        return createEventSubscriber(hashiCorpVaultConfig, hashiCorpVaultConfig.getProperty(EVENTS_URL_PARAMETER,
+                null), this::getConnection, this::secretChanged);
+    }
+
+    /**
+     * Subscribe the secret routes to the vault events of their engines if the event subscription is enabled, or stop
+     * their subscriptions otherwise. Unless an <code>events.url</code> is configured for a route, its stream is opened
+     * on the primary vault server of the route, with the token and namespace of the route.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @param vaultRouter          Router of the secret routes, or null if no routes are configured
+     */
+    private void subscribeRoutes(HashiCorpVaultConfig hashiCorpVaultConfig, VaultRouter vaultRouter) {
+
+        if (vaultRouter == null) {
+            return;
+        }
+        if (!hashiCorpVaultConfig.getBooleanProperty(EVENTS_ENABLED_PARAMETER, false)) {
+            vaultRouter.unsubscribe();
+            return;
+        }
+        try {
+            vaultRouter.subscribe(route -> createEventSubscriber(hashiCorpVaultConfig.getRouteConfig(route.getName()),
+                    hashiCorpVaultConfig.getProperty(getRouteParameter(route.getName(), ROUTE_EVENTS_URL_PROPERTY),
+                            null), route::getConnection,
+                    (secretPath, deleted) -> secretChanged(route.getSecretPath(secretPath), deleted)));
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while subscribing the HashiCorp vault secret routes to vault events", e);
+        }
+    }
+
+    /**
+     * Create a subscriber to the vault event stream of a connection.
+     *
+     * @param hashiCorpVaultConfig Vault configurations of the connection
+     * @param url                  WebSocket URL of the event stream, or null to derive it from the connection
+     * @param connectionSource     Source of the connection whose token, namespace and engine path are subscribed with
+     * @param listener             Listener notified of the secrets that changed
+     * @return Event subscriber
+     * @throws HashiCorpVaultException when the SSL configuration is invalid
+     */
+    private VaultEventSubscriber createEventSubscriber(HashiCorpVaultConfig hashiCorpVaultConfig, String url,
+                                                       ConnectionSource connectionSource,
+                                                       VaultEventSubscriber.SecretChangeListener listener)
+            throws HashiCorpVaultException {
+
+        boolean sslVerify = hashiCorpVaultConfig.getBooleanProperty(SSL_VERIFY_PARAMETER, true);
+        SSLSocketFactory sslSocketFactory = SslContexts.create(VaultClientHolder.buildSslConfig(sslVerify,
+                hashiCorpVaultConfig.getProperty(SSL_PEM_FILE_PARAMETER, null))).getSocketFactory();
+        int openTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(
+                Math.max(hashiCorpVaultConfig.getIntProperty(OPEN_TIMEOUT_PARAMETER, DEFAULT_OPEN_TIMEOUT), 0));
+        String eventType = hashiCorpVaultConfig.getProperty(EVENTS_TYPE_PARAMETER, DEFAULT_EVENTS_TYPE).trim();
+        long maxReconnectDelay = hashiCorpVaultConfig.getLongProperty(EVENTS_MAX_RECONNECT_DELAY_PARAMETER,
+                DEFAULT_EVENTS_MAX_RECONNECT_DELAY);
+
+        return new VaultEventSubscriber(() -> {
+            VaultConnection current = connectionSource.get();
+            String token = current.getTokenManager().getToken();
+            if (StringUtils.isEmpty(token)) {
+                throw new HashiCorpVaultException("Vault token is not available to subscribe to vault events");
+            }
+            String streamUrl = StringUtils.isNotBlank(url) ? url.trim() :
+                    toWebSocketAddress(current.getEndpoints().getPrimaryAddress()) + EVENTS_SUBSCRIBE_PATH
+                            + eventType + "?json=true";
+            try {
+                return new VaultEventSubscription(new URI(streamUrl), token, current.getNamespace(),
+                        current.getEnginePath(), sslSocketFactory, sslVerify, openTimeoutMillis);
+            } catch (URISyntaxException e) {
+                throw new HashiCorpVaultException("Invalid vault event stream URL: " + streamUrl, e);
+            }
+        }, listener, TimeUnit.SECONDS.toMillis(maxReconnectDelay));
+    }
+
+    /**
+     * Replace the event subscriber with one built from the reloaded configurations.
+     *
+     * @param hashiCorpVaultConfig Reloaded vault configurations
+     */
+    private void restartEventSubscriber(HashiCorpVaultConfig hashiCorpVaultConfig) {
+
+        VaultEventSubscriber previous = eventSubscriber;
+        if (previous != null) {
+            previous.stop();
+        }
+        try {
+            VaultEventSubscriber subscriber = createEventSubscriber(hashiCorpVaultConfig);
+            eventSubscriber = subscriber;
+            if (subscriber != null) {
+                subscriber.start();
+            } else if (previous != null) {
+                LOG.info("HashiCorp vault event subscription disabled");
+            }
+        } catch (HashiCorpVaultException e) {
+            eventSubscriber = null;
+            LOG.error("Error while subscribing to HashiCorp vault events with the reloaded configurations", e);
+        }
+        subscribeRoutes(hashiCorpVaultConfig, router);
+    }
+
+    private static String toWebSocketAddress(String address) {
+
+        String webSocketAddress = StringUtils.removeEnd(address.trim(), SLASH);
+        if (webSocketAddress.startsWith("https://")) {
+            return "wss://" + webSocketAddress.substring("https://".length());
+        } else if (webSocketAddress.startsWith("http://")) {
+            return "ws://" + webSocketAddress.substring("http://".length());
+        }
+        return webSocketAddress;
+    }
+
+    /**
+     * Evict a secret that was written or deleted in the vault from the caches. A written secret that was cached is
+     * read again in the background, so that lookups keep being served from the cache.
+     *
+     * @param secretPath Path of the secret relative to the engine path
+     * @param deleted    Whether the secret was deleted
+     */
+    private void secretChanged(String secretPath, boolean deleted) {
+
+        MissingSecretCache missing = missingSecrets;
+        if (missing != null) {
+            missing.invalidate(secretPath);
+        }
+        SecretCache<Map<String, String>> cache = secretCache;
+        if (cache == null) {
+            return;
+        }
+        boolean cached = cache.invalidate(secretPath);
+        if (!cached || deleted || lookupExecutor == null) {
+            return;
+        }
+        try {
+            lookupExecutor.execute(() -> {
+                try {
+                    cacheSecret(secretPath, readSecret(secretPath));
+                } catch (HashiCorpVaultException e) {
+                    LOG.debug("Unable to reload the changed vault secret " + secretPath, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Reload of the changed vault secret " + secretPath + " was rejected", e);
+        }
+    }
+
+    /**
+     * Create the selector of the vault server to send requests to. The address may be a comma separated list of
+     * vault servers, in which case requests are sent to the healthiest of them.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @return Vault endpoint selector
+     * @throws HashiCorpVaultException when the failover configuration is invalid
+     */
+    private VaultEndpointSelector createEndpointSelector(HashiCorpVaultConfig hashiCorpVaultConfig)
+            throws HashiCorpVaultException {
+
+        String address = hashiCorpVaultConfig.getProperty(ADDRESS_PARAMETER);
+        List<String> addresses = new ArrayList<>();
+        if (address != null) {
+            for (String endpoint : address.split(",")) {
+                if (StringUtils.isNotBlank(endpoint)) {
+                    addresses.add(endpoint.trim());
+                }
+            }
+        }
+        if (addresses.isEmpty()) {
+            addresses.add(address);
+        }
+        if (addresses.size() > 1) {
+            LOG.info("HashiCorp vault failover enabled across " + addresses.size() + " endpoints");
+        }
+
+        int failureThreshold = hashiCorpVaultConfig.getIntProperty(FAILOVER_FAILURE_THRESHOLD_PARAMETER,
+                DEFAULT_FAILOVER_FAILURE_THRESHOLD);
+        long openDuration = hashiCorpVaultConfig.getLongProperty(FAILOVER_OPEN_DURATION_PARAMETER,
+                DEFAULT_FAILOVER_OPEN_DURATION);
+        return new VaultEndpointSelector(addresses, Math.max(failureThreshold, 1),
+                TimeUnit.SECONDS.toMillis(openDuration));
+    }
+
+    /**
+     * Register the configured metrics listeners, and expose the metrics as a JMX MBean unless disabled.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @param id                   Identifier of the repository, used to name the MBean
+     * @throws HashiCorpVaultException when the metrics configuration is invalid
+     */
+    private void initMetrics(HashiCorpVaultConfig hashiCorpVaultConfig, String id) throws HashiCorpVaultException {
+
+        String listenerClasses = hashiCorpVaultConfig.getProperty(METRICS_LISTENERS_PARAMETER, null);
+        if (listenerClasses != null) {
+            for (String listenerClass : listenerClasses.split(",")) {
+                if (StringUtils.isBlank(listenerClass)) {
+                    continue;
+                }
+                try {
+                    metrics.addListener((VaultMetricsListener) Class.forName(listenerClass.trim(), true,
+                            HashiCorpSecretRepository.class.getClassLoader()).getDeclaredConstructor()
+                            .newInstance());
+                } catch (ReflectiveOperationException | ClassCastException e) {
+                    LOG.error("Unable to register HashiCorp vault metrics listener: " + listenerClass.trim(), e);
+                }
+            }
+        }
+
+        if (hashiCorpVaultConfig.getBooleanProperty(METRICS_JMX_ENABLED_PARAMETER, true)) {
+            metrics.registerMBean(StringUtils.isNotEmpty(id) ? id : "vault");
+        }
+    }
+
+    /**
+     * Set up the secret snapshot and load the secrets stored in it, so that they can be served before they are read
+     * from the vault and whenever the vault is unreachable.
+     *
+     * @param snapshotFile Path of the snapshot file
+     */
+    private void initSnapshot(String snapshotFile) {
+
+        if (identityKeyStoreWrapper == null || !identityKeyStoreWrapper.isInitialized()) {
+            LOG.warn("Identity key store is not available to encrypt the secret snapshot, snapshot is disabled");
+            return;
+        }
+
+        snapshotStore = new SecretSnapshotStore(Paths.get(snapshotFile), identityKeyStoreWrapper.getPublicKey(),
+                identityKeyStoreWrapper.getPrivateKey());
+        snapshotScheduler = Executors.newSingleThreadScheduledExecutor(new HashiCorpVaultThreadFactory("snapshot"));
+
+        long startTime = System.nanoTime();
+        try {
+            Map<String, VaultSecret> secrets = snapshotStore.load();
+            snapshotSecrets.putAll(secrets);
+            for (Map.Entry<String, VaultSecret> entry : secrets.entrySet()) {
+                cacheSecret(entry.getKey(), entry.getValue());
+            }
+            if (!secrets.isEmpty()) {
+                LOG.info("Loaded " + secrets.size() + " secrets from the secret snapshot in "
+                        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+            }
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while loading the secret snapshot, secrets will be read from the vault", e);
+        }
+    }
+
+    /**
+     * Read the secrets loaded from the snapshot from the vault in the background, so that secrets changed while the
+     * server was down are picked up without holding up the server startup.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @throws HashiCorpVaultException when the prefetch configuration is invalid
+     */
+    private void validateSnapshot(HashiCorpVaultConfig hashiCorpVaultConfig) throws HashiCorpVaultException {
+
+        int threads = hashiCorpVaultConfig.getIntProperty(PREFETCH_THREADS_PARAMETER,
+                DEFAULT_PREFETCH_THREADS);
+        long timeout = hashiCorpVaultConfig.getLongProperty(PREFETCH_TIMEOUT_PARAMETER,
+                DEFAULT_PREFETCH_TIMEOUT);
+        long jitter = hashiCorpVaultConfig.getLongProperty(PREFETCH_JITTER_PARAMETER, DEFAULT_PREFETCH_JITTER);
+        List<String> aliases = new ArrayList<>(snapshotSecrets.keySet());
+        snapshotScheduler.execute(() -> new SecretPrefetcher(this, Math.max(threads, 1), timeout,
+                TimeUnit.SECONDS.toMillis(Math.max(jitter, 0))).prefetch(aliases));
+    }
+
+    /**
+     * Record a secret read from the vault in the snapshot, and schedule the snapshot to be written if it changed.
+     * Writes are delayed briefly so that secrets read together are written at once.
+     *
+     * @param secretPath Path of the secret relative to the engine path
+     * @param secret     Secret read from the vault
+     */
+    private void recordSnapshot(String secretPath, VaultSecret secret) {
+
+        VaultSecret previous = snapshotSecrets.put(secretPath, secret);
+        if (previous != null && previous.getData().equals(secret.getData())) {
+            return;
+        }
+        if (snapshotWriteScheduled.compareAndSet(false, true)) {
+            try {
+                snapshotScheduler.schedule(this::writeSnapshot, SNAPSHOT_WRITE_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                snapshotWriteScheduled.set(false);
+                LOG.debug("Secret snapshot write was rejected", e);
+            }
+        }
+    }
+
+    private void writeSnapshot() {
+
+        snapshotWriteScheduled.set(false);
+        try {
+            snapshotStore.store(new HashMap<>(snapshotSecrets));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Secret snapshot written with " + snapshotSecrets.size() + " secrets");
+            }
+        } catch (HashiCorpVaultException e) {
+            LOG.error("Error while writing the secret snapshot", e);
+        }
+    }
+
+    /**
+     * Check whether a failure to read a secret was caused by the vault being unreachable, unavailable or rate
+     * limiting the client, as opposed to the vault rejecting the request.
+     */
+    private static boolean isVaultUnavailable(Throwable error) {
+
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof VaultException) {
+                int status = ((VaultException) cause).getHttpStatusCode();
+                if (status == 0 || status >= 500 || status == VaultRetryPolicy.TOO_MANY_REQUESTS) {
+                    return true;
+                }
+            } else if (cause instanceof RestException || cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Load the configured aliases, or every secret under the engine path if no aliases are configured, into the
+     * secret cache.
+     *
+     * @param hashiCorpVaultConfig Vault configurations
+     * @throws HashiCorpVaultException when the prefetch configuration is invalid or the secrets cannot be listed
+     */
+    private void prefetchSecrets(HashiCorpVaultConfig hashiCorpVaultConfig) throws HashiCorpVaultException {
+
+        if (secretCache == null) {
+            LOG.warn("Secret prefetching requires the secret cache to be enabled, skipping prefetch");
+            return;
+        }
+        VaultConnection current = connection.get();
+        if (current == null || StringUtils.isEmpty(current.getTokenManager().getToken())
+                || current.getEngineVersion() != 2) {
+            LOG.warn("HashiCorp vault is not ready to be read, skipping prefetch");
+            return;
+        }
+
+        Collection<String> aliases;
+        String configuredAliases = hashiCorpVaultConfig.getProperty(PREFETCH_ALIASES_PARAMETER, null);
+        if (configuredAliases != null) {
+            aliases = new LinkedHashSet<>();
+            for (String alias : configuredAliases.split(",")) {
+                if (StringUtils.isNotBlank(alias)) {
+                    aliases.add(alias.trim());
+                }
+            }
+        } else {
+            aliases = listSecretAliases(current);
+        }
+
+        int threads = hashiCorpVaultConfig.getIntProperty(PREFETCH_THREADS_PARAMETER,
+                DEFAULT_PREFETCH_THREADS);
+        long timeout = hashiCorpVaultConfig.getLongProperty(PREFETCH_TIMEOUT_PARAMETER,
+                DEFAULT_PREFETCH_TIMEOUT);
+        long jitter = hashiCorpVaultConfig.getLongProperty(PREFETCH_JITTER_PARAMETER, DEFAULT_PREFETCH_JITTER);
+        new SecretPrefetcher(this, Math.max(threads, 1), timeout, TimeUnit.SECONDS.toMillis(Math.max(jitter, 0)))
+                .prefetch(aliases);
+    }
+
+    /**
+     * List the aliases of all the secrets stored under the engine path, including those in nested folders.
+     *
+     * @param current Connection to the vault
+     * @return Aliases relative to the engine path
+     * @throws HashiCorpVaultException when the secrets cannot be listed
+     */
+    private Set<String> listSecretAliases(VaultConnection current) throws HashiCorpVaultException {
+
+        Set<String> aliases = new LinkedHashSet<>();
+        List<String> folders = new ArrayList<>();
+        folders.add("");
+        try {
+            while (!folders.isEmpty()) {
+                String folder = folders.remove(folders.size() - 1);
+                String token = current.getTokenManager().getToken();
+                List<String> keys = current.getEndpoints().execute(endpoint -> current.getClientHolder()
+                        .list(endpoint, current.getNamespace(), token, current.getEngineVersion(),
+                                current.getEnginePath() + SLASH + folder)).getListData();
+                for (String key : keys) {
+                    if (key.endsWith(SLASH)) {
+                        folders.add(folder + key);
+                    } else {
+                        aliases.add(folder + key);
+                    }
+                }
+            }
+        } catch (VaultException e) {
+            throw new HashiCorpVaultException("Error while listing secrets under " + current.getEnginePath(), e);
+        }
+        return aliases;
+    }
+
+    /**
+     * Get Secret from the Secret Repository
+     *
+     * @param alias Alias name for look up a secret
+     * @return Secret if there is any, otherwise, alias itself
+     * @see SecretRepository
+     */
+    @Override
+    public String getSecret(String alias) {
+
+        if (StringUtils.isEmpty(alias)) {
+            return alias;
+        }
+
+        try {
+            long deadline = lookupDeadline;
+            return deadline > 0 ? resolveSecret(alias, deadline) : resolveSecret(alias);
+        } catch (HashiCorpVaultException e) {
+            LOG.error(e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Get a secret from the secret repository without blocking the calling thread. The secret is read on the
+     * lookup thread pool unless it is already cached, and the future fails once the lookup timeout elapses.
+     *
+     * @param alias Alias name for look up a secret
+     * @return Future completed with the secret, or completed exceptionally with a {@link HashiCorpVaultException}
+     * if the secret cannot be read within the lookup timeout
+     */
+    public CompletableFuture<String> getSecretAsync(String alias) {
+
+        if (StringUtils.isEmpty(alias)) {
+            return CompletableFuture.completedFuture(alias);
+        }
+        CompletableFuture<String> lookup = lookupAsync(alias);
+        ScheduledExecutorService timer = lookupTimer;
+        if (lookup.isDone() || timer == null) {
+            return lookup;
+        }
+
+        long timeout = lookupTimeout;
+        CompletableFuture<String> future = new CompletableFuture<>();
+        ScheduledFuture<?> expiry = timer.schedule(() -> {
+            if (future.completeExceptionally(new HashiCorpVaultException("Vault secret could not be read within "
+                    + timeout + "s for key: " + alias, new TimeoutException()))) {
+                lookup.cancel(false);
+                metrics.recordFailure(FailureCause.TIMEOUT);
+            }
+        }, timeout, TimeUnit.SECONDS);
+        lookup.whenComplete((secret, e) -> {
+            expiry.cancel(false);
+            if (e == null) {
+                future.complete(secret);
+            } else {
+                future.completeExceptionally(e instanceof CompletionException && e.getCause() != null ?
+                        e.getCause() : e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Look up a secret on the lookup thread pool unless it is already cached, for callers that wait for the secret
+     * with a timeout or read several secrets in parallel.
+     *
+     * @param alias Alias name for look up a secret
+     * @return Future completed with the secret, or completed exceptionally with a {@link HashiCorpVaultException}
+     * if the secret cannot be read
+     */
+    private CompletableFuture<String> lookupAsync(String alias) {
+
+        long startTime = System.nanoTime();
+        Thread caller = Thread.currentThread();
+        String cachedSecret = getCachedSecret(alias);
+        if (cachedSecret != null) {
+            audit(alias, caller, null, SecretAccessOutcome.CACHE_HIT, null, startTime);
+            return CompletableFuture.completedFuture(cachedSecret);
+        }
+        if (lookupExecutor == null) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            future.completeExceptionally(new HashiCorpVaultException("HashiCorp secret repository has not been "
+                    + "initialized"));
+            return future;
+        }
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return loadSecret(alias, caller, startTime);
+            } catch (HashiCorpVaultException e) {
+                throw new CompletionException(e);
+            }
+        }, lookupExecutor);
+    }
+
+    /**
+     * Get a set of secrets from the secret repository. The secrets are read in parallel on the lookup thread pool
+     * and the call returns once all of them are read or the lookup timeout elapses.
+     *
+     * @param aliases Alias names for look up secrets
+     * @return Secrets keyed by their alias. Aliases that could not be read within the lookup timeout are not
+     * included
+     */
+    public Map<String, String> getSecrets(Collection<String> aliases) {
+
+        return getSecrets(aliases, null);
+    }
+
+    /**
+     * Get a set of secrets from the secret repository. The secrets are read in parallel on the lookup thread pool
+     * and the call returns once all of them are read or the lookup timeout elapses.
+     *
+     * @param aliases  Alias names for look up secrets
+     * @param failures Map populated with the cause of failure of each alias that could not be read, may be null
+     * @return Secrets keyed by their alias. Aliases that could not be read within the lookup timeout are not
+     * included
+     */
+    public Map<String, String> getSecrets(Collection<String> aliases, Map<String, Throwable> failures) {
+
+        Map<String, CompletableFuture<String>> futures = new LinkedHashMap<>();
+        for (String alias : aliases) {
+            if (StringUtils.isNotEmpty(alias) && !futures.containsKey(alias)) {
+                futures.put(alias, lookupAsync(alias));
+            }
+        }
+
+        Map<String, String> secrets = new HashMap<>();
+        List<String> failedAliases = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(lookupTimeout);
+        for (Map.Entry<String, CompletableFuture<String>> entry : futures.entrySet()) {
+            Throwable failure;
+            try {
+                secrets.put(entry.getKey(), entry.getValue().get(Math.max(deadline - System.nanoTime(), 0),
+                        TimeUnit.NANOSECONDS));
+                continue;
+            } catch (ExecutionException e) {
+                failure = e.getCause();
+            } catch (TimeoutException e) {
+                entry.getValue().cancel(false);
+                metrics.recordFailure(FailureCause.TIMEOUT);
+                failure = e;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                entry.getValue().cancel(false);
+                failure = e;
+            }
+            failedAliases.add(entry.getKey());
+            if (failures != null) {
+                failures.put(entry.getKey(), failure);
+            }
+        }
+
+        if (!failedAliases.isEmpty()) {
+            LOG.warn("Could not read " + failedAliases.size() + " of " + futures.size()
+                    + " secrets from HashiCorp vault within " + lookupTimeout + "s: " + failedAliases);
+        }
+        return secrets;
+    }
+
+    /**
+     * Remove a secret from the secret cache so that the next lookup reads it from the vault. Every field of the
+     * secret is removed along with the field the alias refers to.
+     *
+     * @param alias Alias of the secret
+     */
+    public void invalidate(String alias) {
 
-    private SecretRepository parentRepository;
-    private IdentityKeyStoreWrapper identityKeyStoreWrapper;
-    private TrustKeyStoreWrapper trustKeyStoreWrapper;
-    private String address;
-    private String namespace;
-    private String enginePath;
-    private int engineVersion;
+        SecretCache<Map<String, String>> cache = secretCache;
+        if (cache != null && alias != null) {
+            cache.invalidate(getSecretPath(alias));
+        }
+        MissingSecretCache missing = missingSecrets;
+        if (missing != null && alias != null) {
+            missing.invalidate(getSecretPath(alias));
+        }
+    }
 
-    private String textFileName;
-    private String textFileName_tmp;
-    private String textFilePersist;
-    private boolean persistToken = false;
-    private String accessToken;
-    private String roleId;
-    private String secretId;
-    private static File tokenFile;
+    /**
+     * Remove all secrets from the secret cache, including the secrets known to be missing and the data decrypted with
+     * the Transit key.
+     */
+    public void invalidateAll() {
 
-    private enum AuthType {
-        APP_ROLE,
-        ROOT_TOKEN
+        SecretCache<Map<String, String>> cache = secretCache;
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+        MissingSecretCache missing = missingSecrets;
+        if (missing != null) {
+            missing.invalidateAll();
+        }
+        SecretCache<String> decrypted = decryptedDataCache;
+        if (decrypted != null) {
+            decrypted.invalidateAll();
+        }
     }
 
-    private AuthType authType;
-
-    public HashiCorpSecretRepository(IdentityKeyStoreWrapper identityKeyStoreWrapper,
-                                     TrustKeyStoreWrapper trustKeyStoreWrapper) {
+    /**
+     * Get the metrics of the interactions of the repository with the vault, to read them or to register listeners.
+     *
+     * @return Metrics of the repository
+     */
+    public VaultMetrics getMetrics() {
 
-        this.identityKeyStoreWrapper = identityKeyStoreWrapper;
-        this.trustKeyStoreWrapper = trustKeyStoreWrapper;
+        return metrics;
     }
 
     /**
-     * Initializes the repository based on provided properties.
+     * Read a secret from the vault bypassing the secret cache and update the cache with the secret read. The secret is
+     * cached with every field, so that the other fields of the same secret are served from this read.
      *
-     * @param properties Configuration properties
-     * @param id         Identifier to identify properties related to the corresponding repository
+     * @param alias Alias name for look up a secret
+     * @return Secret read from the vault
      */
-    @Override
-    public void init(Properties properties, String id) {
+    public String refresh(String alias) {
 
-        LOG.info("Initializing HashiCorp Secure Vault");
+        if (StringUtils.isEmpty(alias)) {
+            return alias;
+        }
 
-        // Load Configurations
-        HashiCorpVaultConfigLoader hashiCorpVaultConfigLoader = HashiCorpVaultConfigLoader.getInstance();
+        String secretPath = getSecretPath(alias);
+        String field = getField(alias);
         try {
-            address = hashiCorpVaultConfigLoader.getProperty(ADDRESS_PARAMETER);
-            namespace = hashiCorpVaultConfigLoader.getProperty(NAMESPACE_PARAMETER);
-            enginePath = hashiCorpVaultConfigLoader.getProperty(ENGINE_PATH_PARAMETER);
+            VaultSecret secret = readSecret(secretPath);
+            cacheSecret(secretPath, secret);
+            String value = secret.getField(field);
+            if (StringUtils.isEmpty(value) && LOG.isDebugEnabled()) {
+                LOG.debug("Vault secret " + secretPath + " does not have a value for field: " + field);
+            }
+            return value;
+        } catch (HashiCorpVaultException e) {
+            if (isVaultUnavailable(e)) {
+                LOG.warn("HashiCorp vault is unavailable, keeping the last known value of alias: " + alias, e);
+                String secret = getCachedSecret(alias);
+                VaultSecret snapshotSecret = snapshotSecrets.get(secretPath);
+                if (secret == null && snapshotSecret != null) {
+                    secret = snapshotSecret.getField(field);
+                }
+                return secret;
+            }
+            SecretCache<Map<String, String>> cache = secretCache;
+            if (cache != null) {
+                cache.invalidate(secretPath);
+            }
+            LOG.error(e.getMessage(), e);
+            return null;
+        }
+    }
 
-            String version = hashiCorpVaultConfigLoader.getProperty(ENGINE_VERSION_PARAMETER);
-            engineVersion = !StringUtils.isEmpty(version) ? Integer.parseInt(version) : DEFAULT_ENGINE_VERSION;
+    /**
+     * Get a secret from the secret cache, reading it from the vault and caching it if it is not cached.
+     *
+     * @param alias Alias name for look up a secret
+     * @return Secret
+     * @throws HashiCorpVaultException when the secret cannot be read from the vault
+     */
+    private String resolveSecret(String alias) throws HashiCorpVaultException {
+
+        long startTime = System.nanoTime();
+        Thread caller = Thread.currentThread();
+        String cachedSecret = getCachedSecret(alias);
+        if (cachedSecret != null) {
+            audit(alias, caller, null, SecretAccessOutcome.CACHE_HIT, null, startTime);
+            return cachedSecret;
+        }
+        return loadSecret(alias, caller, startTime);
+    }
 
-            String authTypeConfig = hashiCorpVaultConfigLoader.getProperty(AUTH_TYPE);
-            authType = AuthType.valueOf(authTypeConfig);
+    /**
+     * Get a secret from the secret cache, reading it from the vault if it is not cached and giving up once the lookup
+     * deadline passes. The secret is read on the lookup thread pool, so the deadline covers the retries and the login
+     * again that the read may need, and a read that misses the deadline still caches the secret when it completes.
+     *
+     * @param alias          Alias name for look up a secret
+     * @param deadlineMillis Time in milliseconds the lookup may take
+     * @return Secret, or its value in the secret snapshot if it cannot be read within the deadline
+     * @throws HashiCorpVaultException when the secret cannot be read from the vault within the deadline
+     */
+    private String resolveSecret(String alias, long deadlineMillis) throws HashiCorpVaultException {
 
-            if (authType.equals(AuthType.APP_ROLE)) {
-                roleId = hashiCorpVaultConfigLoader.getProperty(ROLE_ID_PARAMETER);
-                secretId = retrieveAuthDetails();
-                accessToken = retrieveServiceToken(roleId, secretId);
-            } else {
-                accessToken = retrieveAuthDetails();
+        long startTime = System.nanoTime();
+        CompletableFuture<String> future = lookupAsync(alias);
+        try {
+            return future.get(deadlineMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof HashiCorpVaultException) {
+                throw (HashiCorpVaultException) e.getCause();
+            }
+            throw new HashiCorpVaultException("Error while reading the vault secret for key: " + alias, e.getCause());
+        } catch (TimeoutException e) {
+            metrics.recordFailure(FailureCause.TIMEOUT);
+            VaultSecret snapshotSecret = snapshotSecrets.get(getSecretPath(alias));
+            if (snapshotSecret != null && snapshotSecret.getField(getField(alias)) != null) {
+                LOG.warn("HashiCorp vault did not respond within " + deadlineMillis + " ms, using the secret "
+                        + "snapshot for alias: " + alias);
+                audit(alias, Thread.currentThread(), null, SecretAccessOutcome.SNAPSHOT, FailureCause.TIMEOUT,
+                        startTime);
+                return snapshotSecret.getField(getField(alias));
             }
+            audit(alias, Thread.currentThread(), null, SecretAccessOutcome.FAILED, FailureCause.TIMEOUT, startTime);
+            throw new HashiCorpVaultException("Vault secret could not be read within " + deadlineMillis
+                    + " ms for key: " + alias, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashiCorpVaultException("Interrupted while reading the vault secret for key: " + alias, e);
+        }
+    }
 
+    /**
+     * Read a secret from the vault and cache it, falling back to the secret snapshot if the vault is unavailable.
+     * Secrets that the vault recently reported as not found fail without reading the vault again. The lookup is
+     * recorded in the audit trail on behalf of the thread that asked for the secret.
+     *
+     * @param alias     Alias name for look up a secret
+     * @param caller    Thread that asked for the secret
+     * @param startTime Time in nanoseconds the lookup started
+     * @return Secret
+     * @throws HashiCorpVaultException when the secret cannot be read from the vault
+     */
+    private String loadSecret(String alias, Thread caller, long startTime) throws HashiCorpVaultException {
+
+        String secretPath = getSecretPath(alias);
+        String field = getField(alias);
+        MissingSecretCache missing = missingSecrets;
+        if (missing != null && missing.contains(secretPath)) {
+            metrics.recordFailure(FailureCause.NOT_FOUND);
+            audit(alias, caller, null, SecretAccessOutcome.FAILED, FailureCause.NOT_FOUND, startTime);
+            throw new HashiCorpVaultException("Vault secret was not found for key: " + alias);
+        }
+        VaultSecret secret;
+        try {
+            secret = readSecret(secretPath);
         } catch (HashiCorpVaultException e) {
-            LOG.error(e.getMessage(), e);
+            VaultSecret snapshotSecret = snapshotSecrets.get(secretPath);
+            if (snapshotSecret != null && snapshotSecret.getField(field) != null && isVaultUnavailable(e)) {
+                LOG.warn("HashiCorp vault is unavailable, using the secret snapshot for alias: " + alias);
+                audit(alias, caller, null, SecretAccessOutcome.SNAPSHOT, FailureCause.of(e), startTime);
+                return snapshotSecret.getField(field);
+            }
+            audit(alias, caller, null, SecretAccessOutcome.FAILED, FailureCause.of(e), startTime);
+            throw e;
+        }
+        cacheSecret(secretPath, secret);
+
+        String value = secret.getField(field);
+        if (StringUtils.isEmpty(value)) {
+            metrics.recordFailure(FailureCause.NOT_FOUND);
+            audit(alias, caller, secret.getAddress(), SecretAccessOutcome.FAILED, FailureCause.NOT_FOUND,
+                    startTime);
+            throw new HashiCorpVaultException("Error while reading the vault secret value for key: " + alias);
         }
+        audit(alias, caller, secret.getAddress(), SecretAccessOutcome.VAULT_READ, null, startTime);
+        return value;
+    }
 
-        if (StringUtils.isEmpty(accessToken)) {
-            LOG.warn("VAULT_TOKEN has not been set");
+    /**
+     * Record a secret lookup in the audit trail, if it is enabled. The value of the secret is never recorded.
+     */
+    private void audit(String alias, Thread caller, String endpoint, SecretAccessOutcome outcome,
+                       FailureCause failureCause, long startTime) {
+
+        SecretAccessAuditor current = auditor;
+        if (current != null) {
+            current.record(alias, caller, endpoint, outcome, failureCause, System.nanoTime() - startTime);
         }
+    }
 
-        if (engineVersion != 2) {
-            LOG.error("Supported engine version: 2");
+    /**
+     * Get a field of a cached secret.
+     *
+     * @param alias Alias of the secret
+     * @return Value of the field the alias refers to, or null if the secret is not cached or has no value for the
+     * field
+     */
+    private String getCachedSecret(String alias) {
+
+        SecretCache<Map<String, String>> cache = secretCache;
+        if (cache == null) {
+            return null;
         }
+        Map<String, String> fields = cache.get(getSecretPath(alias));
+        String value = fields != null ? fields.get(getField(alias)) : null;
+        return StringUtils.isEmpty(value) ? null : value;
     }
 
     /**
-     * Get Secret from the Secret Repository
+     * Cache a secret along with every field read from it, under the path of the secret. A single entry is kept per
+     * secret however many fields it has, and every alias of the form <code>path#field</code> is served from it.
      *
-     * @param alias Alias name for look up a secret
-     * @return Secret if there is any, otherwise, alias itself
-     * @see SecretRepository
+     * @param secretPath Path of the secret relative to the engine path
+     * @param secret     Secret read from the vault
      */
-    @Override
-    public String getSecret(String alias) {
+    private void cacheSecret(String secretPath, VaultSecret secret) {
 
-        if (StringUtils.isEmpty(alias)) {
-            return alias;
+        SecretCache<Map<String, String>> cache = secretCache;
+        if (cache != null && !secret.isEmpty()) {
+            cache.put(secretPath, secret.getData(), secret.getVersion());
         }
+    }
+
+    /**
+     * Get the path of the secret an alias refers to. An alias of the form <code>path#field</code> refers to a field
+     * of the secret at the path, and any other alias refers to the <code>value</code> field of the secret.
+     *
+     * @param alias Alias of the secret
+     * @return Path of the secret relative to the engine path
+     */
+    private static String getSecretPath(String alias) {
+
+        int separator = alias.lastIndexOf(FIELD_SEPARATOR);
+        return separator < 0 ? alias : alias.substring(0, separator);
+    }
+
+    /**
+     * Get the field of the secret an alias refers to.
+     *
+     * @param alias Alias of the secret
+     * @return Field named after the last <code>#</code> of the alias, or <code>value</code> if there is none
+     */
+    private static String getField(String alias) {
+
+        int separator = alias.lastIndexOf(FIELD_SEPARATOR);
+        return separator < 0 || separator == alias.length() - 1 ? VALUE_PARAMETER : alias.substring(separator + 1);
+    }
 
-        StringBuilder sb = new StringBuilder().append(enginePath).append(SLASH).append(alias);
+    /**
+     * Refresh a cached secret that is close to expiry on the lookup thread pool. The current version of the secret
+     * is checked first using the KV v2 metadata, and the secret is read again only if the version has changed. A
+     * refresh that fails is retried by a later lookup after a delay.
+     *
+     * @param secretPath    Path of the secret relative to the engine path
+     * @param cachedVersion Version of the cached secret
+     */
+    private void refreshAhead(String secretPath, long cachedVersion) {
 
-        String secret = null;
+        if (lookupExecutor == null) {
+            return;
+        }
         try {
+            lookupExecutor.execute(() -> {
+                boolean refreshed = false;
+                try {
+                    if (cachedVersion != VaultSecret.UNKNOWN_VERSION) {
+                        try {
+                            SecretCache<Map<String, String>> cache = secretCache;
+                            if (readCurrentVersion(secretPath) == cachedVersion && cache != null
+                                    && cache.extend(secretPath, cachedVersion)) {
+                                if (LOG.isDebugEnabled()) {
+                                    LOG.debug("Secret " + secretPath
+                                            + " is unchanged in the vault, extended cache entry");
+                                }
+                                refreshed = true;
+                                return;
+                            }
+                        } catch (HashiCorpVaultException e) {
+                            LOG.debug("Unable to read the metadata of secret " + secretPath + ", reading the secret",
+                                    e);
+                        }
+                    }
+                    cacheSecret(secretPath, readSecret(secretPath));
+                    refreshed = true;
+                } catch (HashiCorpVaultException e) {
+                    LOG.warn("Error while refreshing the cached secret " + secretPath
+                            + ", the refresh will be retried", e);
+                } finally {
+                    if (!refreshed) {
+                        refreshFailed(secretPath);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            LOG.debug("Refresh of cached secret " + secretPath + " was rejected", e);
+            refreshFailed(secretPath);
+        }
+    }
+
+    private void refreshFailed(String secretPath) {
 
-            secret = getSecretFromVault(address, accessToken, engineVersion, namespace, sb.toString());
+        SecretCache<Map<String, String>> cache = secretCache;
+        if (cache != null) {
+            cache.refreshFailed(secretPath);
+        }
+    }
 
-            if (StringUtils.isEmpty(secret)) {
-                LOG.debug("Error while reading the vault secret value");
-                if (authType.equals(AuthType.APP_ROLE)) {
-                    LOG.debug("Attempting to renew service token...");
+    /**
+     * Read the current version of a secret from its KV v2 metadata.
+     *
+     * @param secretPath Path of the secret relative to the engine path
+     * @return Current version of the secret
+     * @throws HashiCorpVaultException when the metadata cannot be read
+     */
+    private long readCurrentVersion(String secretPath) throws HashiCorpVaultException {
 
-                    accessToken = retrieveServiceToken(roleId, secretId);
+        VaultRouter.Route route = findRoute(secretPath);
+        VaultConnection current = route != null ? route.getConnection() : getConnection();
+        while (!current.acquire()) {
+            route = findRoute(secretPath);
+            current = route != null ? route.getConnection() : getConnection();
+        }
+        try {
+            return readCurrentVersion(current, route != null ? route.getPath(secretPath) : secretPath);
+        } finally {
+            current.release();
+        }
+    }
 
-                    secret = getSecretFromVault(address, accessToken, engineVersion, namespace, sb.toString());
+    private long readCurrentVersion(VaultConnection current, String secretPath) throws HashiCorpVaultException {
 
-                    if (StringUtils.isEmpty(secret)) {
-                        LOG.error("Error while reading the vault secret value for key: " + sb.toString());
-                    }
-                } else {
-                    LOG.error("Error while reading the vault secret value for key: " + sb.toString());
+        String path = new StringBuilder().append(current.getEnginePath()).append(METADATA_PATH).append(secretPath)
+                .toString();
+        String token = current.getTokenManager().getToken();
+        VaultResponse response;
+        try {
+            response = current.getEndpoints().execute(endpoint -> {
+                VaultResponse metadataResponse = current.getClientHolder().get(endpoint, current.getNamespace(),
+                        token, path);
+                if (metadataResponse.getStatus() >= 500) {
+                    throw new VaultException("Vault responded with HTTP status code: "
+                            + metadataResponse.getStatus(), metadataResponse.getStatus());
                 }
+                return metadataResponse;
+            });
+        } catch (VaultException e) {
+            throw new HashiCorpVaultException("Error while reading the metadata of " + path, e);
+        }
+        if (response.getStatus() != 200) {
+            throw new HashiCorpVaultException("Error while reading the metadata of " + path + ", status: "
+                    + response.getStatus());
+        }
+        JsonObject data = response.getData();
+        if (data == null) {
+            throw new HashiCorpVaultException("Error while parsing the metadata of " + path);
+        }
+        return data.getLong(CURRENT_VERSION_FIELD, VaultSecret.UNKNOWN_VERSION);
+    }
+
+    /**
+     * Read every field of a secret from the vault, renewing the service token and retrying once if the vault rejects
+     * the token. Concurrent reads of the same secret, including reads of different fields, are coalesced into a single
+     * read. Secrets that the vault reports as not found, or that the policies of a valid token do not grant access to,
+     * are recorded in the missing secret cache. A secret under the
+     * prefix of a secret route is read through the connection of the route, from the path that follows the prefix.
+     *
+     * @param secretPath Path of the secret relative to the engine path, or starting with the prefix of its route
+     * @return Secret read from the vault, never empty
+     * @throws HashiCorpVaultException when the secret cannot be read from the vault
+     */
+    private VaultSecret readSecret(String secretPath) throws HashiCorpVaultException {
+
+        VaultSecret secret;
+        try {
+            VaultRouter.Route route = findRoute(secretPath);
+            VaultConnection acquired = route != null ? route.getConnection() : getConnection();
+            while (!acquired.acquire()) {
+                route = findRoute(secretPath);
+                acquired = route != null ? route.getConnection() : getConnection();
+            }
+            VaultConnection current = acquired;
+            try {
+                String path = new StringBuilder().append(current.getEnginePath()).append(SLASH)
+                        .append(route != null ? route.getPath(secretPath) : secretPath).toString();
+                // Routes may read the same engine path from different namespaces, so their reads are coalesced apart.
+                String key = route != null ? route.getName() + ROUTE_KEY_SEPARATOR + path : path;
+                long deadline = lookupDeadline;
+                secret = secretReads.execute(key, () -> readSecretFromPath(current, path),
+                        deadline > 0 ? deadline : TimeUnit.SECONDS.toMillis(lookupTimeout));
+            } finally {
+                current.release();
             }
         } catch (HashiCorpVaultException e) {
-            LOG.error("Error retrieving service token or re-reading secret: " + sb.toString(), e);
+            FailureCause cause = FailureCause.of(e);
+            MissingSecretCache missing = missingSecrets;
+            if ((cause == FailureCause.NOT_FOUND || isAccessDenied(e)) && missing != null) {
+                missing.put(secretPath);
+            }
+            metrics.recordFailure(cause);
+            throw e;
+        }
+        MissingSecretCache missing = missingSecrets;
+        if (missing != null) {
+            missing.invalidate(secretPath);
+        }
+        if (snapshotStore != null) {
+            recordSnapshot(secretPath, secret);
         }
-
         return secret;
     }
 
     /**
-     * returns secret from vault
+     * Read a secret, logging in again with AppRole and retrying once only if the vault rejected the service token.
+     * A secret that does not exist or a vault that is unavailable fails the read without a new login, and so does a
+     * secret that the vault denies access to although the token is still valid, since its policies would deny access
+     * to a new token as well.
      */
-    public String getSecretFromVault(String address, String accessToken, Integer engineVersion, String namespace,
-                                     String path) throws HashiCorpVaultException {
+    private VaultSecret readSecretFromPath(VaultConnection current, String path) throws HashiCorpVaultException {
+
+        String token = current.getTokenManager().getToken();
+        try {
+            return readFromVault(current, token, path);
+        } catch (HashiCorpVaultException e) {
+            if (FailureCause.of(e) != FailureCause.PERMISSION_DENIED) {
+                throw e;
+            }
+            if (current.getTokenManager().isTokenValid(token)) {
+                throw new SecretAccessDeniedException("Vault policy denies access to " + path, e);
+            }
+            if (!current.isAppRole()) {
+                throw e;
+            }
+            LOG.debug("Vault denied access to " + path + ", attempting to renew service token...");
+        }
+
         try {
-            VaultConfig config = new VaultConfig().address(address).token(accessToken).engineVersion(engineVersion)
-                    .build();
+            return readFromVault(current, current.getTokenManager().renewToken(token), path);
+        } catch (HashiCorpVaultException e) {
+            throw new HashiCorpVaultException("Error retrieving service token or re-reading secret: " + path, e);
+        }
+    }
+
+    /**
+     * Check whether a read failed because the policies of a valid token deny access to the secret.
+     */
+    private static boolean isAccessDenied(Throwable error) {
 
-            Vault vault = new Vault(config);
-            Logical logical = vault.logical();
-            if (StringUtils.isNotEmpty(namespace)) {
-                logical = logical.withNameSpace(namespace);
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SecretAccessDeniedException) {
+                return true;
             }
-            return logical.read(path).getData().get(VALUE_PARAMETER);
+        }
+        return false;
+    }
 
+    /**
+     * returns secret from vault. A path of the form <code>path#field</code> returns the given field of the secret,
+     * and any other path returns its <code>value</code> field.
+     */
+    public String getSecretFromVault(String address, String accessToken, Integer engineVersion, String namespace,
+                                     String path) throws HashiCorpVaultException {
+        VaultConnection current = connection.get();
+        if (current == null) {
+            throw new HashiCorpVaultException("HashiCorp vault client has not been initialized");
+        }
+        while (!current.acquire()) {
+            current = getConnection();
+        }
+        try {
+            VaultResponse response = current.getClientHolder().read(address, namespace, accessToken, engineVersion,
+                    getSecretPath(path));
+            if (response.getStatus() != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + response.getStatus(),
+                        response.getStatus());
+            }
+            String field = getField(path);
+            return response.getSecret(engineVersion, Collections.singleton(field)).getFields().get(field);
         } catch (VaultException e) {
             throw new HashiCorpVaultException("Error retrieving service token using AppRole", e);
+        } finally {
+            current.release();
+        }
+    }
+
+    /**
+     * Read a secret from the vault along with its version.
+     * <p>
+     * The transport returns 4xx responses instead of failing, so the HTTP status is checked here and a rejected read is
+     * raised with its status, which lets callers tell a rejected token from a missing secret. A secret without any
+     * data is reported as not found. When hedged reads are enabled, a read that is slow to respond is sent again.
+     */
+    private VaultSecret readFromVault(VaultConnection current, String accessToken, String path)
+            throws HashiCorpVaultException {
+
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            VaultEndpointSelector.EndpointRequest<EndpointResponse> read = endpoint -> new EndpointResponse(endpoint,
+                    current.getClientHolder().read(endpoint, current.getNamespace(), accessToken,
+                            current.getEngineVersion(), path));
+            VaultReadHedger hedger = readHedger;
+            EndpointResponse endpointResponse = hedger != null ? hedger.execute(() -> current.getEndpoints()
+                    .execute(read)) : current.getEndpoints().execute(read);
+            VaultResponse response = endpointResponse.response;
+            int status = response.getStatus();
+            if (status != 200) {
+                throw new VaultException("Vault responded with HTTP status code: " + status, status);
+            }
+            KvSecret kvSecret = response.getSecret(current.getEngineVersion(), null);
+            VaultSecret secret = new VaultSecret(kvSecret.getFields(), kvSecret.getVersion(),
+                    endpointResponse.address);
+            success = true;
+            if (secret.isEmpty()) {
+                throw new VaultException("Vault secret has no data", 404);
+            }
+            return secret;
+        } catch (VaultException e) {
+            throw new HashiCorpVaultException("Error while reading the vault secret: " + path, e);
+        } finally {
+            metrics.recordSecretRead(System.nanoTime() - startTime, success);
         }
     }
 
     /**
-     * Get Encrypted data.
+     * Get Encrypted data. The alias is a ciphertext of the Transit secrets engine, such as
+     * <code>vault:v1:...</code>, which is decrypted with the configured Transit key.
      *
-     * @param alias Alias of the secret
-     * @return
+     * @param alias Ciphertext encrypted with the Transit key
+     * @return Decrypted data, or null if the ciphertext cannot be decrypted
+     * @throws UnsupportedOperationException when no Transit key is configured
      */
     @Override
     public String getEncryptedData(String alias) {
 
-        throw new UnsupportedOperationException();
+        if (StringUtils.isEmpty(alias)) {
+            return alias;
+        }
+        return getEncryptedData(Collections.singletonList(alias)).get(alias);
+    }
+
+    /**
+     * Decrypt many ciphertexts of the Transit secrets engine with the configured Transit key. Ciphertexts that were
+     * decrypted recently are served from the cache, and the rest are sent to the vault together, with one request
+     * per batch instead of one request per ciphertext.
+     *
+     * @param ciphertexts Ciphertexts encrypted with the Transit key
+     * @return Decrypted data by ciphertext, in the order of the given ciphertexts, without the ciphertexts that could
+     * not be decrypted
+     * @throws UnsupportedOperationException when no Transit key is configured
+     */
+    public Map<String, String> getEncryptedData(Collection<String> ciphertexts) {
+
+        TransitDecryptor decryptor = transitDecryptor;
+        if (decryptor == null) {
+            throw new UnsupportedOperationException("Transit key is not configured: " + TRANSIT_KEY_NAME_PARAMETER);
+        }
+
+        Set<String> requested = new LinkedHashSet<>();
+        for (String ciphertext : ciphertexts) {
+            if (StringUtils.isNotEmpty(ciphertext)) {
+                requested.add(ciphertext);
+            }
+        }
+        SecretCache<String> cache = decryptedDataCache;
+        Map<String, String> plaintexts = new HashMap<>();
+        List<String> misses = new ArrayList<>();
+        for (String ciphertext : requested) {
+            String plaintext = cache != null ? cache.get(ciphertext) : null;
+            if (plaintext != null) {
+                plaintexts.put(ciphertext, plaintext);
+            } else {
+                misses.add(ciphertext);
+            }
+        }
+
+        if (!misses.isEmpty()) {
+            Map<String, String> decrypted = new HashMap<>();
+            Map<String, String> failures = new HashMap<>();
+            try {
+                decryptFromVault(decryptor, misses, decrypted, failures);
+            } catch (HashiCorpVaultException e) {
+                metrics.recordFailure(FailureCause.of(e));
+                LOG.error(e.getMessage(), e);
+            }
+            for (Map.Entry<String, String> entry : decrypted.entrySet()) {
+                if (cache != null) {
+                    cache.put(entry.getKey(), entry.getValue());
+                }
+                plaintexts.put(entry.getKey(), entry.getValue());
+            }
+            for (String error : failures.values()) {
+                metrics.recordFailure(FailureCause.OTHER);
+                LOG.error("Error while decrypting with the vault transit key: " + decryptor.getKeyName() + ": "
+                        + error);
+            }
+        }
+
+        Map<String, String> results = new LinkedHashMap<>();
+        for (String ciphertext : requested) {
+            String plaintext = plaintexts.get(ciphertext);
+            if (plaintext != null) {
+                results.put(ciphertext, plaintext);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Decrypt ciphertexts with the Transit key, logging in again with AppRole and retrying once only if the vault
+     * rejected the service token.
+     */
+    private void decryptFromVault(TransitDecryptor decryptor, List<String> ciphertexts, Map<String, String> plaintexts,
+                                  Map<String, String> failures) throws HashiCorpVaultException {
+
+        VaultConnection current = acquireConnection();
+        try {
+            decryptFromVault(current, decryptor, ciphertexts, plaintexts, failures);
+        } finally {
+            current.release();
+        }
+    }
+
+    private void decryptFromVault(VaultConnection current, TransitDecryptor decryptor, List<String> ciphertexts,
+                                  Map<String, String> plaintexts, Map<String, String> failures)
+            throws HashiCorpVaultException {
+
+        String token = current.getTokenManager().getToken();
+        try {
+            decryptor.decrypt(current, token, ciphertexts, plaintexts, failures);
+            return;
+        } catch (HashiCorpVaultException e) {
+            if (!current.isAppRole() || FailureCause.of(e) != FailureCause.PERMISSION_DENIED
+                    || current.getTokenManager().isTokenValid(token)) {
+                throw e;
+            }
+            LOG.debug("Vault denied access to the transit key " + decryptor.getKeyName()
+                    + ", attempting to renew service token...");
+        }
+
+        try {
+            decryptor.decrypt(current, current.getTokenManager().renewToken(token), ciphertexts, plaintexts, failures);
+        } catch (HashiCorpVaultException e) {
+            throw new HashiCorpVaultException("Error retrieving service token or decrypting with the transit key: "
+                    + decryptor.getKeyName(), e);
+        }
     }
 
     /**
@@ -266,7 +2369,7 @@ public class HashiCorpSecretRepository implements SecretRepository {
                 credential = readToken(tokenFile);
 
                 if (!persistToken) {
-                    if (deleteConfigFile()) {
+                    if (deleteConfigFile(tokenFile)) {
                         throw new HashiCorpVaultException("Error in deleting password config file.");
                     }
                 }
@@ -276,7 +2379,7 @@ public class HashiCorpSecretRepository implements SecretRepository {
                     credential = readToken(tokenFile);
 
                     if (!persistToken) {
-                        if (deleteConfigFile()) {
+                        if (deleteConfigFile(tokenFile)) {
                             throw new HashiCorpVaultException("Error in deleting password config file.");
                         }
                     }
@@ -326,28 +2429,6 @@ public class HashiCorpSecretRepository implements SecretRepository {
         }
     }
 
-    /**
-     * Get the secret id of the vault. Either by prompting the user via the console or by accessing the text file
-     * containing the secret id.
-     */
-    private String retrieveServiceToken(String roleId, String secretId) throws HashiCorpVaultException {
-        try {
-            final VaultConfig config = new VaultConfig().address(address).engineVersion(engineVersion).build();
-
-            Vault vault = new Vault(config);
-            AuthResponse response = vault.auth().loginByAppRole(roleId, secretId);
-
-            String accessTokenTemp = response.getAuthClientToken();
-
-            LOG.info("Service token retrieved successfully.");
-
-            return accessTokenTemp;
-
-        } catch (VaultException e) {
-            throw new HashiCorpVaultException("Error retrieving service token using AppRole", e);
-        }
-    }
-
     /**
      * Util method to Read the root token from the text file.
      *
@@ -385,10 +2466,11 @@ public class HashiCorpSecretRepository implements SecretRepository {
     /**
      * Util method to delete the temporary text file.
      *
+     * @param tokenFile Text file to delete.
      * @return true upon successful deletion.
      * @throws HashiCorpVaultException when an error occurred while deleting the root token file.
      */
-    private boolean deleteConfigFile() throws HashiCorpVaultException {
+    private static boolean deleteConfigFile(File tokenFile) throws HashiCorpVaultException {
 
         try (FileOutputStream outputStream = new FileOutputStream(tokenFile);
                 BufferedWriter bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream))) {
@@ -399,4 +2481,26 @@ public class HashiCorpSecretRepository implements SecretRepository {
         return !tokenFile.exists() || !tokenFile.delete();
     }
 
+    /**
+     * Response to a secret read along with the address of the vault server that sent it.
+     */
+    private static final class EndpointResponse {
+
+        private final String address;
+        private final VaultResponse response;
+
+        private EndpointResponse(String address, VaultResponse response) {
+
+            this.address = address;
+            this.response = response;
+        }
+    }
+
+    /**
+     * Source of the connection an event stream is subscribed with, asked again every time the stream is reconnected.
+     */
+    private interface ConnectionSource {
+
+        VaultConnection get() throws HashiCorpVaultException;
+    }
 }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a set of secrets into the secret cache of a {@link HashiCorpSecretRepository} concurrently, so that the
+ * lookups made while the server starts are served from the cache.
+ */
+class SecretPrefetcher {
+
+    private static final Log LOG = LogFactory.getLog(SecretPrefetcher.class);
+
+    private final HashiCorpSecretRepository repository;
+    private final int threads;
+    private final long timeoutSeconds;
+    private final long jitterMillis;
+
+    SecretPrefetcher(HashiCorpSecretRepository repository, int threads, long timeoutSeconds, long jitterMillis) {
+
+        this.repository = repository;
+        this.threads = threads;
+        this.timeoutSeconds = timeoutSeconds;
+        this.jitterMillis = jitterMillis;
+    }
+
+    /**
+     * Read the given secrets from the vault on a bounded pool of threads, waiting at most the configured timeout.
+     * When a jitter is configured, the reads are spread at random over the jitter window, so that the nodes of a
+     * cluster starting together do not read the vault at the same moment. The jitter window is added to the timeout.
+     *
+     * @param aliases Aliases of the secrets to load
+     */
+    void prefetch(Collection<String> aliases) {
+
+        if (aliases.isEmpty()) {
+            LOG.info("No secrets found to prefetch from HashiCorp vault");
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        long[] offsets = new long[aliases.size()];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = jitterMillis > 0 ? ThreadLocalRandom.current().nextLong(jitterMillis) : 0;
+        }
+        Arrays.sort(offsets);
+        List<Callable<String>> tasks = new ArrayList<>(aliases.size());
+        int index = 0;
+        for (String alias : aliases) {
+            long startAt = startTime + TimeUnit.MILLISECONDS.toNanos(offsets[index++]);
+            tasks.add(() -> {
+                long delay = startAt - System.nanoTime();
+                if (delay > 0) {
+                    TimeUnit.NANOSECONDS.sleep(delay);
+                }
+                return repository.refresh(alias);
+            });
+        }
+
+        int loaded = 0;
+        int timedOut = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(threads, tasks.size()),
+                new HashiCorpVaultThreadFactory("prefetch"));
+        try {
+            for (Future<String> future : executor.invokeAll(tasks,
+                    TimeUnit.SECONDS.toMillis(timeoutSeconds) + jitterMillis, TimeUnit.MILLISECONDS)) {
+                if (future.isCancelled()) {
+                    timedOut++;
+                    continue;
+                }
+                try {
+                    if (StringUtils.isNotEmpty(future.get())) {
+                        loaded++;
+                    }
+                } catch (ExecutionException e) {
+                    LOG.error("Error while prefetching a secret from HashiCorp vault", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOG.warn("Interrupted while prefetching secrets from HashiCorp vault");
+        } finally {
+            executor.shutdownNow();
+        }
+
+        if (timedOut > 0) {
+            LOG.warn(timedOut + " secrets could not be prefetched from HashiCorp vault within " + timeoutSeconds
+                    + "s");
+        }
+        LOG.info("Prefetched " + loaded + " of " + aliases.size() + " secrets from HashiCorp vault in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + " ms");
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.SecureRandom;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+import static org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultConstants.VALUE_PARAMETER;
+
+/**
+ * Stores the secrets resolved from the vault in a local file, encrypted with the key pair of the identity key store.
+ * Each snapshot is encrypted with a fresh AES key, which is stored in the file wrapped with the public key of the
+ * identity key store, so that only the holder of the private key can read the snapshot back.
+ */
+class SecretSnapshotStore {
+
+    private static final Log LOG = LogFactory.getLog(SecretSnapshotStore.class);
+
+    private static final int MAGIC = 0x48435653;
+    private static final int VALUE_FORMAT_VERSION = 1;
+    private static final int FORMAT_VERSION = 2;
+    private static final String KEY_WRAP_TRANSFORMATION = "RSA/ECB/OAEPWithSHA-256AndMGF1Padding";
+    private static final String DATA_TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final String DATA_KEY_ALGORITHM = "AES";
+    private static final int DATA_KEY_SIZE = 256;
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_LENGTH = 128;
+
+    private final Path snapshotFile;
+    private final Key publicKey;
+    private final Key privateKey;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    SecretSnapshotStore(Path snapshotFile, Key publicKey, Key privateKey) {
+
+        this.snapshotFile = snapshotFile;
+        this.publicKey = publicKey;
+        this.privateKey = privateKey;
+    }
+
+    /**
+     * Read the secrets stored in the snapshot file.
+     *
+     * @return Secrets keyed by their alias, empty if there is no snapshot
+     * @throws HashiCorpVaultException when the snapshot cannot be read or decrypted
+     */
+    Map<String, VaultSecret> load() throws HashiCorpVaultException {
+
+        if (!Files.isRegularFile(snapshotFile)) {
+            return new HashMap<>();
+        }
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(
+                Files.readAllBytes(snapshotFile)))) {
+            if (input.readInt() != MAGIC) {
+                throw new HashiCorpVaultException("Unsupported secret snapshot format in " + snapshotFile);
+            }
+            int formatVersion = input.readInt();
+            if (formatVersion != FORMAT_VERSION && formatVersion != VALUE_FORMAT_VERSION) {
+                throw new HashiCorpVaultException("Unsupported secret snapshot format version " + formatVersion
+                        + " in " + snapshotFile);
+            }
+            byte[] wrappedKey = readBytes(input);
+            byte[] iv = readBytes(input);
+            byte[] encrypted = readBytes(input);
+
+            Cipher keyCipher = Cipher.getInstance(KEY_WRAP_TRANSFORMATION);
+            keyCipher.init(Cipher.UNWRAP_MODE, privateKey);
+            Key dataKey = keyCipher.unwrap(wrappedKey, DATA_KEY_ALGORITHM, Cipher.SECRET_KEY);
+
+            Cipher dataCipher = Cipher.getInstance(DATA_TRANSFORMATION);
+            dataCipher.init(Cipher.DECRYPT_MODE, dataKey, new GCMParameterSpec(TAG_LENGTH, iv));
+            return deserialize(dataCipher.doFinal(encrypted), formatVersion);
+        } catch (IOException | GeneralSecurityException e) {
+            throw new HashiCorpVaultException("Error while reading the secret snapshot " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Replace the snapshot file with the given secrets.
+     *
+     * @param secrets Secrets keyed by their alias
+     * @throws HashiCorpVaultException when the snapshot cannot be encrypted or written
+     */
+    void store(Map<String, VaultSecret> secrets) throws HashiCorpVaultException {
+
+        Path tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try {
+            KeyGenerator keyGenerator = KeyGenerator.getInstance(DATA_KEY_ALGORITHM);
+            keyGenerator.init(DATA_KEY_SIZE, secureRandom);
+            SecretKey dataKey = keyGenerator.generateKey();
+            byte[] iv = new byte[IV_LENGTH];
+            secureRandom.nextBytes(iv);
+
+            Cipher dataCipher = Cipher.getInstance(DATA_TRANSFORMATION);
+            dataCipher.init(Cipher.ENCRYPT_MODE, dataKey, new GCMParameterSpec(TAG_LENGTH, iv));
+            byte[] encrypted = dataCipher.doFinal(serialize(secrets));
+
+            Cipher keyCipher = Cipher.getInstance(KEY_WRAP_TRANSFORMATION);
+            keyCipher.init(Cipher.WRAP_MODE, publicKey);
+            byte[] wrappedKey = keyCipher.wrap(dataKey);
+
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(encrypted.length + wrappedKey.length + 64);
+            try (DataOutputStream output = new DataOutputStream(buffer)) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                writeBytes(output, wrappedKey);
+                writeBytes(output, iv);
+                writeBytes(output, encrypted);
+            }
+
+            Files.write(tempFile, buffer.toByteArray());
+            restrictPermissions(tempFile);
+            try {
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | GeneralSecurityException e) {
+            throw new HashiCorpVaultException("Error while writing the secret snapshot " + snapshotFile, e);
+        }
+    }
+
+    private static void restrictPermissions(Path file) {
+
+        try {
+            Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException | IOException e) {
+            LOG.debug("Unable to restrict the permissions of " + file, e);
+        }
+    }
+
+    private static byte[] serialize(Map<String, VaultSecret> secrets) throws IOException {
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream output = new DataOutputStream(buffer)) {
+            output.writeInt(secrets.size());
+            for (Map.Entry<String, VaultSecret> entry : secrets.entrySet()) {
+                writeString(output, entry.getKey());
+                output.writeLong(entry.getValue().getVersion());
+                Map<String, String> data = entry.getValue().getData();
+                output.writeInt(data.size());
+                for (Map.Entry<String, String> field : data.entrySet()) {
+                    writeString(output, field.getKey());
+                    writeString(output, field.getValue() == null ? "" : field.getValue());
+                }
+            }
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Read the serialized secrets. Snapshots written before multi-field secrets were supported hold only the
+     * <code>value</code> field of each secret.
+     */
+    private static Map<String, VaultSecret> deserialize(byte[] data, int formatVersion) throws IOException {
+
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(data))) {
+            int count = input.readInt();
+            if (count < 0) {
+                throw new IOException("Corrupted secret snapshot");
+            }
+            Map<String, VaultSecret> secrets = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                String secretPath = readString(input);
+                if (formatVersion == VALUE_FORMAT_VERSION) {
+                    String value = readString(input);
+                    secrets.put(secretPath, new VaultSecret(Collections.singletonMap(VALUE_PARAMETER, value),
+                            input.readLong()));
+                    continue;
+                }
+                long version = input.readLong();
+                int fieldCount = input.readInt();
+                if (fieldCount < 0) {
+                    throw new IOException("Corrupted secret snapshot");
+                }
+                Map<String, String> fields = new HashMap<>();
+                for (int j = 0; j < fieldCount; j++) {
+                    fields.put(readString(input), readString(input));
+                }
+                secrets.put(secretPath, new VaultSecret(fields, version));
+            }
+            return secrets;
+        }
+    }
+
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+
+        writeBytes(output, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String readString(DataInputStream input) throws IOException {
+
+        return new String(readBytes(input), StandardCharsets.UTF_8);
+    }
+
+    private static void writeBytes(DataOutputStream output, byte[] bytes) throws IOException {
+
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream input) throws IOException {
+
+        int length = input.readInt();
+        if (length < 0 || length > input.available()) {
+            throw new IOException("Corrupted secret snapshot");
+        }
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonArray;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decrypts ciphertexts with a key of the Transit secrets engine. The ciphertexts are sent as the
+ * <code>batch_input</code> of decrypt requests, so that any number of values are decrypted with one request per batch
+ * instead of one request per value.
+ */
+class TransitDecryptor {
+
+    private static final String DECRYPT_PATH = "/decrypt/";
+    private static final String BATCH_INPUT_FIELD = "batch_input";
+    private static final String BATCH_RESULTS_FIELD = "batch_results";
+    private static final String CIPHERTEXT_FIELD = "ciphertext";
+    private static final String PLAINTEXT_FIELD = "plaintext";
+    private static final String ERROR_FIELD = "error";
+
+    private final String keyName;
+    private final String decryptPath;
+    private final int batchSize;
+
+    /**
+     * Create a decryptor.
+     *
+     * @param transitPath Path the Transit secrets engine is mounted on
+     * @param keyName     Name of the Transit key the ciphertexts were encrypted with
+     * @param batchSize   Maximum number of ciphertexts sent in a single decrypt request
+     */
+    TransitDecryptor(String transitPath, String keyName, int batchSize) {
+
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Transit batch size should be a positive value: " + batchSize);
+        }
+        this.keyName = keyName;
+        this.decryptPath = StringUtils.strip(transitPath, "/") + DECRYPT_PATH + keyName;
+        this.batchSize = batchSize;
+    }
+
+    String getKeyName() {
+
+        return keyName;
+    }
+
+    /**
+     * Decrypt ciphertexts, sending them in batches of up to the batch size. A ciphertext that the vault could not
+     * decrypt, such as one encrypted with another key, is reported along with the error of the vault and does not
+     * fail the rest of its batch.
+     *
+     * @param current     Connection to send the decrypt requests on
+     * @param accessToken Token used to authenticate with the vault
+     * @param ciphertexts Ciphertexts to decrypt
+     * @param plaintexts  Map to put the plaintext of each decrypted ciphertext in
+     * @param failures    Map to put the error of each ciphertext that could not be decrypted in
+     * @throws HashiCorpVaultException when the vault rejects or fails a decrypt request as a whole
+     */
+    void decrypt(VaultConnection current, String accessToken, List<String> ciphertexts, Map<String, String> plaintexts,
+                 Map<String, String> failures) throws HashiCorpVaultException {
+
+        for (int from = 0; from < ciphertexts.size(); from += batchSize) {
+            decryptBatch(current, accessToken, ciphertexts.subList(from,
+                    Math.min(from + batchSize, ciphertexts.size())), plaintexts, failures);
+        }
+    }
+
+    /**
+     * Send a single decrypt request for a batch of ciphertexts.
+     * <p>
+     * The vault responds with HTTP status 400 when any item of a batch fails, but still reports the result of every
+     * item, so the status is only checked when the response has no result for each ciphertext.
+     */
+    private void decryptBatch(VaultConnection current, String accessToken, List<String> batch,
+                              Map<String, String> plaintexts, Map<String, String> failures)
+            throws HashiCorpVaultException {
+
+        JsonArray input = new JsonArray();
+        for (String ciphertext : batch) {
+            input.add(Json.object().add(CIPHERTEXT_FIELD, ciphertext));
+        }
+        String body = Json.object().add(BATCH_INPUT_FIELD, input).toString();
+
+        try {
+            VaultResponse response = current.getEndpoints().execute(endpoint -> current.getClientHolder()
+                    .post(endpoint, current.getNamespace(), accessToken, decryptPath, body));
+            JsonArray results = getResults(response);
+            if (results == null || results.size() != batch.size()) {
+                int status = response.getStatus();
+                throw new VaultException("Vault responded with HTTP status code: " + status, status);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                readResult(batch.get(i), results.get(i), plaintexts, failures);
+            }
+        } catch (VaultException e) {
+            throw new HashiCorpVaultException("Error while decrypting with the vault transit key: " + keyName, e);
+        }
+    }
+
+    private static JsonArray getResults(VaultResponse response) {
+
+        JsonObject data = response.getData();
+        JsonValue results = data != null ? data.get(BATCH_RESULTS_FIELD) : null;
+        return results != null && results.isArray() ? results.asArray() : null;
+    }
+
+    private static void readResult(String ciphertext, JsonValue result, Map<String, String> plaintexts,
+                                   Map<String, String> failures) {
+
+        if (result == null || !result.isObject()) {
+            failures.put(ciphertext, "Vault returned no result for the ciphertext");
+            return;
+        }
+        String error = result.asObject().getString(ERROR_FIELD, null);
+        String plaintext = result.asObject().getString(PLAINTEXT_FIELD, null);
+        if (StringUtils.isNotEmpty(error) || plaintext == null) {
+            failures.put(ciphertext, StringUtils.defaultIfEmpty(error, "Vault returned no plaintext"));
+            return;
+        }
+        try {
+            plaintexts.put(ciphertext, new String(Base64.getDecoder().decode(plaintext), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            failures.put(ciphertext, "Vault returned a plaintext that is not base64 encoded");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.token.VaultTokenManager;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable state of the connection of a secret repository to the vault: where secrets are read from and the
+ * components used to read them. The repository publishes the state through an atomic reference, so that each lookup
+ * works with a consistent state while the state is replaced, without taking locks. A replaced connection is retired
+ * rather than closed, and is closed once the lookups that acquired it have released it.
+ */
+final class VaultConnection {
+
+    private final String namespace;
+    private final String enginePath;
+    private final int engineVersion;
+    private final boolean appRole;
+    private final VaultClientHolder clientHolder;
+    private final VaultEndpointSelector endpoints;
+    private final VaultTokenManager tokenManager;
+    private final AtomicInteger users = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean retired;
+
+    VaultConnection(String namespace, String enginePath, int engineVersion, boolean appRole,
+                    VaultClientHolder clientHolder, VaultEndpointSelector endpoints, VaultTokenManager tokenManager) {
+
+        this.namespace = namespace;
+        this.enginePath = enginePath;
+        this.engineVersion = engineVersion;
+        this.appRole = appRole;
+        this.clientHolder = clientHolder;
+        this.endpoints = endpoints;
+        this.tokenManager = tokenManager;
+    }
+
+    String getNamespace() {
+
+        return namespace;
+    }
+
+    String getEnginePath() {
+
+        return enginePath;
+    }
+
+    int getEngineVersion() {
+
+        return engineVersion;
+    }
+
+    /**
+     * Check whether the connection authenticates with AppRole, in which case a token rejected by the vault can be
+     * replaced by logging in again.
+     *
+     * @return true if the connection authenticates with AppRole
+     */
+    boolean isAppRole() {
+
+        return appRole;
+    }
+
+    VaultClientHolder getClientHolder() {
+
+        return clientHolder;
+    }
+
+    VaultEndpointSelector getEndpoints() {
+
+        return endpoints;
+    }
+
+    VaultTokenManager getTokenManager() {
+
+        return tokenManager;
+    }
+
+    /**
+     * Acquire the connection for a lookup, so that it is not closed before the lookup releases it.
+     *
+     * @return true if the connection was acquired, or false if it has been retired and must not be used
+     */
+    boolean acquire() {
+
+        users.incrementAndGet();
+        if (retired) {
+            release();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Release the connection acquired for a lookup, closing it if it has been retired and this was the last lookup
+     * using it.
+     */
+    void release() {
+
+        if (users.decrementAndGet() == 0 && retired) {
+            close();
+        }
+    }
+
+    /**
+     * Retire the connection after it has been replaced. The connection can no longer be acquired, and it is closed
+     * as soon as the lookups that acquired it have released it.
+     */
+    void retire() {
+
+        retired = true;
+        if (users.get() == 0) {
+            close();
+        }
+    }
+
+    /**
+     * Stop renewing the token of this connection and release the connections held by its transport.
+     */
+    void close() {
+
+        if (closed.compareAndSet(false, true)) {
+            tokenManager.shutdown();
+            clientHolder.close();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.wso2.carbon.securevault.hashicorp.events.VaultEventSubscriber;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Routes secret lookups to the vault connection of the route whose alias prefix matches the secret path, so that a
+ * single repository reads secrets from several namespaces, KV engines or vault clusters. Routes are kept ordered from
+ * the longest prefix to the shortest, so a lookup finds its route in a single pass over the prefixes without involving
+ * any other secret repository. Prefixes match whole path segments, so a route for <code>team</code> reads
+ * <code>team/db</code> but not <code>teamdb/password</code>. Secret paths that match no route are read through the
+ * main connection.
+ * <p>
+ * When vault events are enabled, each route is subscribed to the events of its own engine and namespace, and the
+ * subscriptions end when the router is retired.
+ */
+final class VaultRouter {
+
+    private final List<Route> routes;
+    private List<VaultEventSubscriber> eventSubscribers = Collections.emptyList();
+
+    /**
+     * Create a router.
+     *
+     * @param routes Routes to pick from
+     * @throws IllegalArgumentException when a route has an empty prefix or two routes have the same prefix
+     */
+    VaultRouter(List<Route> routes) {
+
+        List<Route> ordered = new ArrayList<>(routes);
+        ordered.sort(Comparator.comparingInt((Route route) -> route.prefix.length()).reversed());
+        for (int i = 0; i < ordered.size(); i++) {
+            Route route = ordered.get(i);
+            if (route.prefix.isEmpty()) {
+                throw new IllegalArgumentException("Prefix of secret route " + route.name + " is empty");
+            }
+            if (i > 0 && route.prefix.equals(ordered.get(i - 1).prefix)) {
+                throw new IllegalArgumentException("Secret routes " + ordered.get(i - 1).name + " and "
+                        + route.name + " have the same prefix: " + route.prefix);
+            }
+        }
+        this.routes = Collections.unmodifiableList(ordered);
+    }
+
+    /**
+     * Get the route of a secret.
+     *
+     * @param secretPath Path of the secret, starting with the prefix of its route
+     * @return Route with the longest prefix of the secret path, or null if no route matches
+     */
+    Route route(String secretPath) {
+
+        for (Route route : routes) {
+            if (secretPath.length() > route.prefix.length() && secretPath.startsWith(route.prefix)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Subscribe every route to the vault events of its engine, replacing the current subscriptions.
+     *
+     * @param subscriberFactory Factory of the event subscriber of a route
+     * @throws HashiCorpVaultException when the subscriber of a route cannot be created, in which case the current
+     *                                 subscriptions are kept
+     */
+    synchronized void subscribe(EventSubscriberFactory subscriberFactory) throws HashiCorpVaultException {
+
+        List<VaultEventSubscriber> subscribers = new ArrayList<>(routes.size());
+        for (Route route : routes) {
+            subscribers.add(subscriberFactory.create(route));
+        }
+        unsubscribe();
+        for (VaultEventSubscriber subscriber : subscribers) {
+            subscriber.start();
+        }
+        eventSubscribers = subscribers;
+    }
+
+    /**
+     * Stop the event subscriptions of the routes.
+     */
+    synchronized void unsubscribe() {
+
+        for (VaultEventSubscriber subscriber : eventSubscribers) {
+            subscriber.stop();
+        }
+        eventSubscribers = Collections.emptyList();
+    }
+
+    /**
+     * Retire the connections of every route after the router has been replaced. The event subscriptions of the
+     * routes are stopped, and each connection is closed once the lookups reading through it complete.
+     */
+    void retire() {
+
+        unsubscribe();
+        for (Route route : routes) {
+            route.connection.retire();
+        }
+    }
+
+    /**
+     * Secret route: alias prefix along with the connection that reads the secrets under the prefix.
+     */
+    static final class Route {
+
+        private final String name;
+        private final String prefix;
+        private final VaultConnection connection;
+
+        /**
+         * Create a route. A prefix that does not end with <code>/</code> is given one, so that it only matches
+         * whole path segments.
+         *
+         * @param name       Name of the route
+         * @param prefix     Alias prefix of the secrets read through the route
+         * @param connection Connection that reads the secrets of the route
+         */
+        Route(String name, String prefix, VaultConnection connection) {
+
+            this.name = name;
+            this.prefix = prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/";
+            this.connection = connection;
+        }
+
+        String getName() {
+
+            return name;
+        }
+
+        VaultConnection getConnection() {
+
+            return connection;
+        }
+
+        /**
+         * Get the path of a secret relative to the engine path of the route.
+         *
+         * @param secretPath Path of the secret, starting with the prefix of the route
+         * @return Secret path without the prefix
+         */
+        String getPath(String secretPath) {
+
+            return secretPath.substring(prefix.length());
+        }
+
+        /**
+         * Get the path of a secret from its path relative to the engine path of the route.
+         *
+         * @param path Path of the secret relative to the engine path of the route
+         * @return Secret path starting with the prefix of the route
+         */
+        String getSecretPath(String path) {
+
+            return prefix + path;
+        }
+    }
+
+    /**
+     * Factory of the event subscribers of the routes.
+     */
+    interface EventSubscriberFactory {
+
+        /**
+         * Create the event subscriber of a route, without starting it.
+         *
+         * @param route Route to subscribe
+         * @return Event subscriber reporting the secrets changed under the route
+         * @throws HashiCorpVaultException when the subscriber cannot be created
+         */
+        VaultEventSubscriber create(Route route) throws HashiCorpVaultException;
+    }
+}
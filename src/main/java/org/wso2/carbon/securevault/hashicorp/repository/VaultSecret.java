@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.wso2.carbon.securevault.hashicorp.transport.KvSecret;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Secret read from the vault, holding every field stored at the secret path, along with the KV v2 version it was
+ * read from and the address of the vault server it was read from.
+ */
+class VaultSecret {
+
+    static final long UNKNOWN_VERSION = KvSecret.UNKNOWN_VERSION;
+
+    private final Map<String, String> data;
+    private final long version;
+    private final String address;
+
+    VaultSecret(Map<String, String> data, long version) {
+
+        this(data, version, null);
+    }
+
+    VaultSecret(Map<String, String> data, long version, String address) {
+
+        this.data = data == null ? Collections.emptyMap() : Collections.unmodifiableMap(new HashMap<>(data));
+        this.version = version;
+        this.address = address;
+    }
+
+    Map<String, String> getData() {
+
+        return data;
+    }
+
+    String getField(String field) {
+
+        return data.get(field);
+    }
+
+    boolean isEmpty() {
+
+        return data.isEmpty();
+    }
+
+    long getVersion() {
+
+        return version;
+    }
+
+    /**
+     * Get the address of the vault server the secret was read from.
+     *
+     * @return Address of the vault server, or null if the secret was not read from the vault, such as a secret
+     * loaded from the secret snapshot
+     */
+    String getAddress() {
+
+        return address;
+    }
+}
@@ -0,0 +1,323 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.token;
+
+import com.bettercloud.vault.VaultException;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+import org.wso2.carbon.securevault.hashicorp.common.SingleFlight;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponse;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manages the lifecycle of the token used to read secrets from the vault. Once a token is obtained, its TTL is
+ * tracked and the token is renewed, or replaced by logging in again with AppRole, on a background thread before it
+ * expires. The current token is published atomically so that readers never block on authentication.
+ */
+public class VaultTokenManager {
+
+    private static final Log LOG = LogFactory.getLog(VaultTokenManager.class);
+    private static final String LOGIN_KEY = "login";
+    private static final long MIN_RETRY_DELAY_MILLIS = 1000L;
+    // Callers waiting on a login in flight give up after this long, the login itself is bounded by the transport.
+    private static final long LOGIN_MAX_WAIT_MILLIS = 60000L;
+    private static final double RENEWAL_JITTER = 0.1;
+
+    private final VaultClientHolder vaultClientHolder;
+    private final VaultEndpointSelector vaultEndpoints;
+    private final double renewalThreshold;
+    private final ScheduledExecutorService scheduler;
+    private final VaultMetrics metrics;
+
+    private final AtomicReference<VaultToken> currentToken = new AtomicReference<>();
+    private final AtomicReference<ScheduledFuture<?>> renewalTask = new AtomicReference<>();
+    private final SingleFlight<String, String> logins = new SingleFlight<>();
+
+    private volatile String roleId;
+    private volatile String secretId;
+
+    /**
+     * Create a token manager that logs in to and renews tokens with any of a set of vault servers, and records its
+     * logins and token renewals.
+     *
+     * @param vaultClientHolder Holder of the vault clients used to log in and renew tokens
+     * @param vaultEndpoints    Selector of the vault server to send requests to
+     * @param renewalEnabled    Whether tokens should be renewed in the background before they expire
+     * @param renewalThreshold  Fraction of the token TTL after which the token is renewed
+     * @param metrics           Metrics to record logins and token renewals on
+     */
+    public VaultTokenManager(VaultClientHolder vaultClientHolder, VaultEndpointSelector vaultEndpoints,
+                             boolean renewalEnabled, double renewalThreshold, VaultMetrics metrics) {
+
+        if (renewalThreshold <= 0 || renewalThreshold >= 1) {
+            throw new IllegalArgumentException("Token renewal threshold should be between 0 and 1: "
+                    + renewalThreshold);
+        }
+        this.vaultClientHolder = vaultClientHolder;
+        this.vaultEndpoints = vaultEndpoints;
+        this.renewalThreshold = renewalThreshold;
+        this.metrics = metrics;
+        this.scheduler = renewalEnabled ?
+                Executors.newSingleThreadScheduledExecutor(new HashiCorpVaultThreadFactory("token-renewal")) : null;
+    }
+
+    /**
+     * Get the current token.
+     *
+     * @return Current token, or null if no token has been obtained
+     */
+    public String getToken() {
+
+        VaultToken token = currentToken.get();
+        return token == null ? null : token.value;
+    }
+
+    /**
+     * Log in to the vault with AppRole and start managing the token obtained.
+     *
+     * @param roleId   Role id of the AppRole
+     * @param secretId Secret id of the AppRole
+     * @return Token obtained
+     * @throws HashiCorpVaultException when the login fails
+     */
+    public String loginWithAppRole(String roleId, String secretId) throws HashiCorpVaultException {
+
+        this.roleId = roleId;
+        this.secretId = secretId;
+        return logins.execute(LOGIN_KEY, () -> publish(login()).value, LOGIN_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Start managing a token that was provided directly, such as a root token. The TTL of the token is looked up so
+     * that it can be renewed before it expires.
+     *
+     * @param token Token to manage
+     */
+    public void useToken(String token) {
+
+        long ttl = 0;
+        boolean renewable = false;
+        try {
+            VaultResponse response = vaultEndpoints.execute(endpoint ->
+                    vaultClientHolder.lookupSelf(endpoint, token));
+            ttl = response.getTtl();
+            renewable = response.isRenewable();
+        } catch (HashiCorpVaultException | VaultException e) {
+            LOG.debug("Unable to look up the TTL of the vault token, the token will not be renewed", e);
+        }
+        publish(new VaultToken(token, ttl, renewable));
+    }
+
+    /**
+     * Check whether a token that the vault denied access to is still valid, which tells a request denied by the
+     * policies of the token apart from one made with an expired or revoked token. A token that has been replaced or
+     * has outlived its TTL is not valid, and the current token is looked up with the vault otherwise.
+     *
+     * @param token Token that the vault denied access to
+     * @return true if the token is valid, in which case logging in again would not grant access
+     * @throws HashiCorpVaultException when the token cannot be looked up
+     */
+    public boolean isTokenValid(String token) throws HashiCorpVaultException {
+
+        VaultToken current = currentToken.get();
+        if (current == null || !current.value.equals(token) || current.isExpired()) {
+            return false;
+        }
+        try {
+            vaultEndpoints.execute(endpoint -> vaultClientHolder.lookupSelf(endpoint, token));
+            return true;
+        } catch (VaultException e) {
+            if (FailureCause.of(e) == FailureCause.PERMISSION_DENIED) {
+                return false;
+            }
+            throw new HashiCorpVaultException("Error while looking up the vault token", e);
+        }
+    }
+
+    /**
+     * Replace a token that was rejected by the vault by logging in again with AppRole. Concurrent calls are
+     * coalesced into a single login, and a caller whose token has already been replaced gets the new token.
+     *
+     * @param staleToken Token that was rejected by the vault
+     * @return Current token
+     * @throws HashiCorpVaultException when the token cannot be replaced
+     */
+    public String renewToken(String staleToken) throws HashiCorpVaultException {
+
+        return logins.execute(LOGIN_KEY, () -> {
+            VaultToken current = currentToken.get();
+            if (current != null && !current.value.equals(staleToken)) {
+                return current.value;
+            }
+            return publish(login()).value;
+        }, LOGIN_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * Stop renewing the token in the background.
+     */
+    public void shutdown() {
+
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private VaultToken login() throws HashiCorpVaultException {
+
+        if (roleId == null) {
+            throw new HashiCorpVaultException("AppRole credentials are not available to log in to the vault");
+        }
+        long startTime = System.nanoTime();
+        boolean success = false;
+        try {
+            VaultResponse response = vaultEndpoints.execute(endpoint ->
+                    vaultClientHolder.loginWithAppRole(endpoint, roleId, secretId));
+            success = true;
+            LOG.info("Service token retrieved successfully.");
+            return new VaultToken(response.getAuthClientToken(), response.getAuthLeaseDuration(),
+                    response.isAuthRenewable());
+        } catch (VaultException e) {
+            throw new HashiCorpVaultException("Error retrieving service token using AppRole", e);
+        } finally {
+            metrics.recordLogin(System.nanoTime() - startTime, success);
+        }
+    }
+
+    /**
+     * Publish a token and schedule its renewal. The renewal point is brought forward by a small random fraction, so
+     * that tokens obtained together, such as by the nodes of a cluster starting at once, are not renewed together.
+     */
+    private VaultToken publish(VaultToken token) {
+
+        currentToken.set(token);
+        if (token.ttlSeconds > 0) {
+            double threshold = renewalThreshold * (1 - RENEWAL_JITTER * ThreadLocalRandom.current().nextDouble());
+            scheduleRenewal(token, (long) (TimeUnit.SECONDS.toMillis(token.ttlSeconds) * threshold));
+        }
+        return token;
+    }
+
+    private void scheduleRenewal(VaultToken token, long delayMillis) {
+
+        if (scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Scheduling vault token renewal in " + delayMillis + " ms");
+        }
+        ScheduledFuture<?> previous = renewalTask.getAndSet(scheduler.schedule(() -> renew(token), delayMillis,
+                TimeUnit.MILLISECONDS));
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    /**
+     * Renew the given token if it is still the current one. A renewable token is renewed in place as long as the
+     * vault grants it a full TTL, otherwise a new token is obtained by logging in again with AppRole.
+     */
+    private void renew(VaultToken token) {
+
+        try {
+            logins.execute(LOGIN_KEY, () -> {
+                if (currentToken.get() != token) {
+                    return getToken();
+                }
+                VaultToken renewed = null;
+                if (token.renewable) {
+                    renewed = renewSelf(token);
+                }
+                if (roleId != null && (renewed == null || renewed.ttlSeconds < token.ttlSeconds)) {
+                    try {
+                        renewed = login();
+                    } catch (HashiCorpVaultException e) {
+                        if (renewed == null) {
+                            throw e;
+                        }
+                        LOG.warn("Error while logging in to the vault, continuing with the renewed token", e);
+                    }
+                }
+                if (renewed == null) {
+                    LOG.warn("Vault token is not renewable and will expire in " + token.ttlSeconds + "s");
+                    return token.value;
+                }
+                metrics.recordTokenRenewal(true);
+                return publish(renewed).value;
+            }, LOGIN_MAX_WAIT_MILLIS);
+        } catch (HashiCorpVaultException e) {
+            metrics.recordTokenRenewal(false);
+            long retryDelay = Math.max(MIN_RETRY_DELAY_MILLIS,
+                    (long) (TimeUnit.SECONDS.toMillis(token.ttlSeconds) * (1 - renewalThreshold) / 4));
+            LOG.warn("Error while renewing the vault token, retrying in " + retryDelay + " ms", e);
+            if (currentToken.get() == token) {
+                scheduleRenewal(token, retryDelay);
+            }
+        }
+    }
+
+    private VaultToken renewSelf(VaultToken token) {
+
+        try {
+            VaultResponse response = vaultEndpoints.execute(endpoint ->
+                    vaultClientHolder.renewSelf(endpoint, token.value));
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Vault token renewed with TTL: " + response.getAuthLeaseDuration() + "s");
+            }
+            return new VaultToken(token.value, response.getAuthLeaseDuration(), response.isAuthRenewable());
+        } catch (HashiCorpVaultException | VaultException e) {
+            LOG.debug("Unable to renew the vault token", e);
+            return null;
+        }
+    }
+
+    /**
+     * Vault token along with its TTL at the time it was obtained or renewed.
+     */
+    private static final class VaultToken {
+
+        private final String value;
+        private final long ttlSeconds;
+        private final boolean renewable;
+        private final long obtainedAt = System.nanoTime();
+
+        private VaultToken(String value, long ttlSeconds, boolean renewable) {
+
+            this.value = value;
+            this.ttlSeconds = ttlSeconds;
+            this.renewable = renewable;
+        }
+
+        private boolean isExpired() {
+
+            return ttlSeconds > 0 && System.nanoTime() - obtainedAt >= TimeUnit.SECONDS.toNanos(ttlSeconds);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.SslConfig;
+import com.bettercloud.vault.Vault;
+import com.bettercloud.vault.VaultConfig;
+import com.bettercloud.vault.VaultException;
+import com.bettercloud.vault.api.Auth;
+import com.bettercloud.vault.api.Logical;
+import com.bettercloud.vault.rest.RestResponse;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Vault transport backed by the HashiCorp Vault Java driver. Requests are sent on the calling thread, so the returned
+ * futures are always complete. The driver clients, along with their configuration and SSL context, are built once
+ * per vault address and reused across requests, and a new client is built only when the namespace or token used with
+ * an address changes.
+ * <p>
+ * Secret reads and the other plain API requests are not sent through the driver, whose REST client takes a new SSL
+ * socket factory from the SSL context for every request, which keeps the JVM from reusing kept-alive TLS
+ * connections. They are sent with a {@link VaultHttpClient} sharing a single socket factory instead. Logins, token
+ * lookups and renewals, and lists still go through the driver, as they are sent far less often than reads.
+ */
+public class DriverVaultTransport implements VaultTransport {
+
+    private static final Log LOG = LogFactory.getLog(DriverVaultTransport.class);
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    // The engine version does not affect authentication requests, the driver only requires one to be set.
+    private static final int AUTH_ENGINE_VERSION = 2;
+
+    private final Integer openTimeout;
+    private final Integer readTimeout;
+    private final SslConfig sslConfig;
+    private final VaultHttpClient httpClient;
+
+    private final ConcurrentMap<String, AtomicReference<VaultClient>> logicalClients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicReference<VaultClient>> loginClients = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, AtomicReference<VaultClient>> tokenClients = new ConcurrentHashMap<>();
+
+    /**
+     * Create a driver transport.
+     *
+     * @param openTimeout Connection open timeout in seconds, or null to use the driver default
+     * @param readTimeout Response read timeout in seconds, or null to use the driver default
+     * @param sslConfig   SSL configuration used to connect to the vault
+     * @throws HashiCorpVaultException when the SSL context cannot be built
+     */
+    public DriverVaultTransport(Integer openTimeout, Integer readTimeout, SslConfig sslConfig)
+            throws HashiCorpVaultException {
+
+        this.openTimeout = openTimeout;
+        this.readTimeout = readTimeout;
+        this.sslConfig = sslConfig;
+        this.httpClient = new VaultHttpClient(openTimeout, readTimeout, sslConfig);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> read(String address, String namespace, String accessToken,
+                                                 int engineVersion, String path) {
+
+        // Secrets are read with a plain HTTP request rather than through the driver, which would build a JSON tree and
+        // a logical response for every read. Client errors are returned and server errors fail, as with the driver.
+        try {
+            VaultResponse response = httpClient.send(GET, address, KvPaths.read(path, engineVersion), namespace,
+                    accessToken, null);
+            if (response.getStatus() >= 500) {
+                return failed(new VaultResponseException(response));
+            }
+            return CompletableFuture.completedFuture(response);
+        } catch (IOException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> list(String address, String namespace, String accessToken,
+                                                 int engineVersion, String path) {
+
+        try {
+            return complete(getClient(logicalClients, address, namespace, accessToken, engineVersion).logical
+                    .list(path));
+        } catch (VaultException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> get(String address, String namespace, String accessToken,
+                                                String apiPath) {
+
+        try {
+            return CompletableFuture.completedFuture(httpClient.send(GET, address, apiPath, namespace, accessToken,
+                    null));
+        } catch (IOException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> post(String address, String namespace, String accessToken,
+                                                 String apiPath, String body) {
+
+        try {
+            return CompletableFuture.completedFuture(httpClient.send(POST, address, apiPath, namespace, accessToken,
+                    body));
+        } catch (IOException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> loginWithAppRole(String address, String roleId, String secretId) {
+
+        try {
+            return complete(getClient(loginClients, address, null, null, AUTH_ENGINE_VERSION).auth
+                    .loginByAppRole(roleId, secretId));
+        } catch (VaultException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> lookupSelf(String address, String accessToken) {
+
+        try {
+            return complete(getClient(tokenClients, address, null, accessToken, AUTH_ENGINE_VERSION).auth
+                    .lookupSelf());
+        } catch (VaultException e) {
+            return failed(e);
+        }
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> renewSelf(String address, String accessToken) {
+
+        try {
+            return complete(getClient(tokenClients, address, null, accessToken, AUTH_ENGINE_VERSION).auth
+                    .renewSelf());
+        } catch (VaultException e) {
+            return failed(e);
+        }
+    }
+
+    private static CompletableFuture<VaultResponse> complete(
+            com.bettercloud.vault.response.VaultResponse driverResponse) {
+
+        return CompletableFuture.completedFuture(toResponse(driverResponse.getRestResponse()));
+    }
+
+    private static VaultResponse toResponse(RestResponse restResponse) {
+
+        if (restResponse == null) {
+            return new VaultResponse(200, null);
+        }
+        return new VaultResponse(restResponse.getStatus(), restResponse.getBody());
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+
+    private VaultClient getClient(ConcurrentMap<String, AtomicReference<VaultClient>> clients, String address,
+                                  String namespace, String accessToken, int engineVersion) throws VaultException {
+
+        String key = String.valueOf(address);
+        AtomicReference<VaultClient> reference = clients.get(key);
+        if (reference == null) {
+            reference = clients.computeIfAbsent(key, k -> new AtomicReference<>());
+        }
+        VaultClient current = reference.get();
+        if (current != null && current.matches(address, namespace, accessToken, engineVersion)) {
+            return current;
+        }
+
+        VaultClient client = buildClient(address, namespace, accessToken, engineVersion);
+        // A concurrent swap only means another thread built an equivalent or newer client, either is usable.
+        reference.compareAndSet(current, client);
+        return client;
+    }
+
+    private VaultClient buildClient(String address, String namespace, String accessToken, int engineVersion)
+            throws VaultException {
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Building vault client for address: " + address);
+        }
+        VaultConfig config = new VaultConfig().address(address).engineVersion(engineVersion).sslConfig(sslConfig);
+        if (accessToken != null) {
+            config = config.token(accessToken);
+        }
+        if (openTimeout != null) {
+            config = config.openTimeout(openTimeout);
+        }
+        if (readTimeout != null) {
+            config = config.readTimeout(readTimeout);
+        }
+        Vault vault = new Vault(config.build());
+
+        Logical logical = vault.logical();
+        if (StringUtils.isNotEmpty(namespace)) {
+            logical = logical.withNameSpace(namespace);
+        }
+        return new VaultClient(address, namespace, accessToken, engineVersion, logical, vault.auth());
+    }
+
+    /**
+     * Immutable driver client bound to an address, namespace and token.
+     */
+    private static final class VaultClient {
+
+        private final String address;
+        private final String namespace;
+        private final String accessToken;
+        private final int engineVersion;
+        private final Logical logical;
+        private final Auth auth;
+
+        private VaultClient(String address, String namespace, String accessToken, int engineVersion,
+                            Logical logical, Auth auth) {
+
+            this.address = address;
+            this.namespace = namespace;
+            this.accessToken = accessToken;
+            this.engineVersion = engineVersion;
+            this.logical = logical;
+            this.auth = auth;
+        }
+
+        private boolean matches(String address, String namespace, String accessToken, int engineVersion) {
+
+            return this.engineVersion == engineVersion && Objects.equals(this.address, address)
+                    && Objects.equals(this.namespace, namespace) && Objects.equals(this.accessToken, accessToken);
+        }
+    }
+}
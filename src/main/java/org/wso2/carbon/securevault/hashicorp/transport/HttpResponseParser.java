@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Incremental parser of an HTTP/1.1 response, fed with the bytes of the response as they are read from a connection.
+ * The body may be delimited by its length, by chunked transfer encoding or by the end of the connection, and interim
+ * <code>1xx</code> responses are skipped. Bytes following the end of the response are left in the buffer.
+ */
+final class HttpResponseParser {
+
+    private static final int MAX_LINE_LENGTH = 8 * 1024;
+    private static final int MAX_HEADER_LENGTH = 64 * 1024;
+    private static final int INITIAL_BODY_SIZE = 1024;
+
+    private enum State {
+        STATUS_LINE,
+        HEADER,
+        BODY,
+        CHUNK_SIZE,
+        CHUNK_DATA,
+        CHUNK_END,
+        TRAILER,
+        UNTIL_CLOSE,
+        DONE
+    }
+
+    private State state = State.STATUS_LINE;
+    private final StringBuilder line = new StringBuilder();
+    private int headerLength;
+    private int status;
+    private long contentLength;
+    private boolean chunked;
+    private boolean keepAlive;
+    private String retryAfter;
+    private byte[] body;
+    private int bodyLength;
+    private long remaining;
+
+    /**
+     * Parse the bytes available in a buffer, stopping at the end of the response.
+     *
+     * @param input Buffer to read the bytes of the response from
+     * @return true once the response is complete
+     * @throws ProtocolException when the bytes are not a valid HTTP response
+     */
+    boolean parse(ByteBuffer input) throws ProtocolException {
+
+        while (input.hasRemaining() && state != State.DONE) {
+            switch (state) {
+                case BODY:
+                case CHUNK_DATA:
+                    int length = (int) Math.min(remaining, input.remaining());
+                    appendBody(input, length);
+                    remaining -= length;
+                    if (remaining == 0) {
+                        state = state == State.BODY ? State.DONE : State.CHUNK_END;
+                    }
+                    break;
+                case UNTIL_CLOSE:
+                    appendBody(input, input.remaining());
+                    break;
+                default:
+                    if (readLine(input)) {
+                        parseLine(line.toString());
+                        line.setLength(0);
+                    }
+                    break;
+            }
+        }
+        return state == State.DONE;
+    }
+
+    /**
+     * Complete the response once the connection is closed, which ends a body that is delimited by the end of the
+     * connection.
+     *
+     * @return true if the response is complete
+     */
+    boolean finish() {
+
+        if (state == State.UNTIL_CLOSE) {
+            state = State.DONE;
+        }
+        return state == State.DONE;
+    }
+
+    boolean isComplete() {
+
+        return state == State.DONE;
+    }
+
+    /**
+     * Check whether any byte of the response has been received.
+     *
+     * @return true once the first byte of the response is parsed
+     */
+    boolean hasStarted() {
+
+        return state != State.STATUS_LINE || line.length() > 0 || headerLength > 0;
+    }
+
+    /**
+     * Check whether the connection can be reused for another request once the response is complete.
+     *
+     * @return true if the server keeps the connection open
+     */
+    boolean isKeepAlive() {
+
+        return keepAlive;
+    }
+
+    /**
+     * Get the parsed response.
+     *
+     * @return Response of the vault
+     */
+    VaultResponse getResponse() {
+
+        byte[] bytes = body != null ? Arrays.copyOf(body, bodyLength) : null;
+        return new VaultResponse(status, bytes, VaultHttpClient.parseRetryAfter(retryAfter));
+    }
+
+    /**
+     * Read the bytes of a line into the line buffer, without its terminating CRLF.
+     *
+     * @return true once the line is complete
+     */
+    private boolean readLine(ByteBuffer input) throws ProtocolException {
+
+        while (input.hasRemaining()) {
+            char c = (char) (input.get() & 0xff);
+            if (++headerLength > MAX_HEADER_LENGTH && state != State.CHUNK_SIZE && state != State.CHUNK_END) {
+                throw new ProtocolException("HTTP response header is larger than " + MAX_HEADER_LENGTH + " bytes");
+            }
+            if (c == '\n') {
+                int end = line.length();
+                if (end > 0 && line.charAt(end - 1) == '\r') {
+                    line.setLength(end - 1);
+                }
+                return true;
+            }
+            if (line.length() == MAX_LINE_LENGTH) {
+                throw new ProtocolException("HTTP response line is longer than " + MAX_LINE_LENGTH + " bytes");
+            }
+            line.append(c);
+        }
+        return false;
+    }
+
+    private void parseLine(String value) throws ProtocolException {
+
+        switch (state) {
+            case STATUS_LINE:
+                if (!value.isEmpty()) {
+                    parseStatusLine(value);
+                }
+                break;
+            case HEADER:
+                if (value.isEmpty()) {
+                    endHeaders();
+                } else {
+                    parseHeader(value);
+                }
+                break;
+            case CHUNK_SIZE:
+                parseChunkSize(value);
+                break;
+            case CHUNK_END:
+                if (!value.isEmpty()) {
+                    throw new ProtocolException("HTTP response chunk is longer than its size");
+                }
+                state = State.CHUNK_SIZE;
+                break;
+            case TRAILER:
+                if (value.isEmpty()) {
+                    state = State.DONE;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unexpected HTTP response parser state: " + state);
+        }
+    }
+
+    private void parseStatusLine(String value) throws ProtocolException {
+
+        int start = value.indexOf(' ');
+        if (!value.startsWith("HTTP/1.") || start < 0) {
+            throw new ProtocolException("Invalid HTTP response status line: " + value);
+        }
+        int end = value.indexOf(' ', start + 1);
+        try {
+            status = Integer.parseInt(value.substring(start + 1, end < 0 ? value.length() : end));
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("Invalid HTTP response status line: " + value);
+        }
+        keepAlive = !value.startsWith("HTTP/1.0");
+        contentLength = -1;
+        chunked = false;
+        retryAfter = null;
+        state = State.HEADER;
+    }
+
+    private void parseHeader(String value) throws ProtocolException {
+
+        int separator = value.indexOf(':');
+        if (separator <= 0) {
+            throw new ProtocolException("Invalid HTTP response header: " + value);
+        }
+        String name = value.substring(0, separator).trim();
+        String headerValue = value.substring(separator + 1).trim();
+        if ("Content-Length".equalsIgnoreCase(name)) {
+            try {
+                contentLength = Long.parseLong(headerValue);
+            } catch (NumberFormatException e) {
+                throw new ProtocolException("Invalid HTTP response content length: " + headerValue);
+            }
+            if (contentLength < 0 || contentLength > Integer.MAX_VALUE - 8) {
+                throw new ProtocolException("Invalid HTTP response content length: " + headerValue);
+            }
+        } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+            chunked = headerValue.toLowerCase().endsWith("chunked");
+        } else if ("Connection".equalsIgnoreCase(name)) {
+            String connection = headerValue.toLowerCase();
+            if (connection.contains("close")) {
+                keepAlive = false;
+            } else if (connection.contains("keep-alive")) {
+                keepAlive = true;
+            }
+        } else if ("Retry-After".equalsIgnoreCase(name)) {
+            retryAfter = headerValue;
+        }
+    }
+
+    private void endHeaders() {
+
+        if (status >= 100 && status < 200) {
+            // Interim response, the final response follows it.
+            state = State.STATUS_LINE;
+        } else if (status == 204 || status == 304) {
+            state = State.DONE;
+        } else if (chunked) {
+            state = State.CHUNK_SIZE;
+        } else if (contentLength >= 0) {
+            body = new byte[(int) contentLength];
+            remaining = contentLength;
+            state = remaining == 0 ? State.DONE : State.BODY;
+        } else {
+            keepAlive = false;
+            state = State.UNTIL_CLOSE;
+        }
+    }
+
+    private void parseChunkSize(String value) throws ProtocolException {
+
+        int end = value.indexOf(';');
+        String size = (end < 0 ? value : value.substring(0, end)).trim();
+        try {
+            remaining = Long.parseLong(size, 16);
+        } catch (NumberFormatException e) {
+            throw new ProtocolException("Invalid HTTP response chunk size: " + value);
+        }
+        if (remaining < 0 || bodyLength + remaining > Integer.MAX_VALUE - 8) {
+            throw new ProtocolException("Invalid HTTP response chunk size: " + value);
+        }
+        state = remaining == 0 ? State.TRAILER : State.CHUNK_DATA;
+    }
+
+    private void appendBody(ByteBuffer input, int length) {
+
+        if (body == null) {
+            body = new byte[Math.max(INITIAL_BODY_SIZE, length)];
+        } else if (body.length - bodyLength < length) {
+            body = Arrays.copyOf(body, (int) Math.min(Math.max((long) body.length * 2, (long) bodyLength + length),
+                    Integer.MAX_VALUE - 8));
+        }
+        input.get(body, bodyLength, length);
+        bodyLength += length;
+    }
+}
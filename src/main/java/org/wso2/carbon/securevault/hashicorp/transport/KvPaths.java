@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import org.apache.commons.lang.StringUtils;
+
+/**
+ * Builds the API paths of the KV secrets engine requests, the way the vault driver does.
+ */
+final class KvPaths {
+
+    private KvPaths() {
+
+    }
+
+    /**
+     * Get the API path to read a secret from.
+     *
+     * @param path          Path of the secret, starting with the engine path
+     * @param engineVersion Version of the KV secrets engine
+     * @return API path relative to /v1/
+     */
+    static String read(String path, int engineVersion) {
+
+        return engineVersion == 2 ? addQualifier(path, "data") : trimPath(path);
+    }
+
+    /**
+     * Get the API path to list the secrets of a folder from.
+     *
+     * @param path          Path of the folder, starting with the engine path
+     * @param engineVersion Version of the KV secrets engine
+     * @return API path relative to /v1/, without the list query
+     */
+    static String list(String path, int engineVersion) {
+
+        return engineVersion == 2 ? addQualifier(path, "metadata") : trimPath(path);
+    }
+
+    /**
+     * Insert a KV v2 qualifier, such as <code>data</code>, after the engine path.
+     */
+    private static String addQualifier(String path, String qualifier) {
+
+        String trimmed = trimPath(path);
+        int separator = trimmed.indexOf('/');
+        if (separator < 0) {
+            return trimmed + "/" + qualifier;
+        }
+        return trimmed.substring(0, separator) + "/" + qualifier + trimmed.substring(separator);
+    }
+
+    private static String trimPath(String path) {
+
+        return StringUtils.removeStart(path, "/");
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import java.util.Map;
+
+/**
+ * Fields of a secret read from a KV secrets engine, along with the version of the secret.
+ */
+public final class KvSecret {
+
+    /**
+     * Version of a secret read from a KV version 1 engine, or from a response without metadata.
+     */
+    public static final long UNKNOWN_VERSION = -1;
+
+    private final Map<String, String> fields;
+    private final long version;
+
+    /**
+     * Create a secret.
+     *
+     * @param fields  Fields of the secret
+     * @param version Version of the secret, or {@link #UNKNOWN_VERSION} if it is not known
+     */
+    public KvSecret(Map<String, String> fields, long version) {
+
+        this.fields = fields;
+        this.version = version;
+    }
+
+    public Map<String, String> getFields() {
+
+        return fields;
+    }
+
+    public long getVersion() {
+
+        return version;
+    }
+}
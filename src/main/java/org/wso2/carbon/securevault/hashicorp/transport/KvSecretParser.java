@@ -0,0 +1,417 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Streaming parser of KV secrets engine read responses. Instead of building a JSON tree of the whole response, the
+ * parser walks the UTF-8 bytes of the body once, skips everything but the fields of the secret and the version in its
+ * metadata, and creates strings only for the fields that are asked for. Member names are matched against the raw
+ * bytes, and strings with escapes are decoded into a character buffer that each thread reuses across responses.
+ */
+final class KvSecretParser {
+
+    private static final int SCRATCH_SIZE = 256;
+    private static final int MAX_SCRATCH_SIZE = 64 * 1024;
+    private static final ThreadLocal<char[]> SCRATCH = ThreadLocal.withInitial(() -> new char[SCRATCH_SIZE]);
+    private static final byte[] DATA_FIELD = ascii("data");
+    private static final byte[] METADATA_FIELD = ascii("metadata");
+    private static final byte[] VERSION_FIELD = ascii("version");
+
+    private final byte[] body;
+    private final int engineVersion;
+    private final Collection<String> names;
+    private final Map<String, String> fields = new HashMap<>();
+    private long version = KvSecret.UNKNOWN_VERSION;
+    private int position;
+
+    // Bounds of the raw bytes of the last member name read, and whether it contains escapes.
+    private int nameStart;
+    private int nameEnd;
+    private boolean nameEscaped;
+    // Whether the last string skipped contains escapes.
+    private boolean stringEscaped;
+
+    private KvSecretParser(byte[] body, int engineVersion, Collection<String> names) {
+
+        this.body = body;
+        this.engineVersion = engineVersion;
+        this.names = names;
+    }
+
+    /**
+     * Parse the secret in a KV read response. Values that are not strings are returned as the JSON text they have
+     * in the response.
+     *
+     * @param body          Body of the response
+     * @param engineVersion Version of the KV secrets engine the secret was read from
+     * @param names         Names of the fields to return, or null to return every field
+     * @return Secret in the response, without fields if the response has no secret
+     * @throws VaultParseException when the response is not a JSON object or is truncated
+     */
+    static KvSecret parse(byte[] body, int engineVersion, Collection<String> names) throws VaultParseException {
+
+        KvSecretParser parser = new KvSecretParser(body, engineVersion, names);
+        try {
+            parser.parseResponse();
+        } catch (RuntimeException e) {
+            // Not a JSON response, such as an error page of a proxy in front of the vault, or a truncated one.
+            throw new VaultParseException("Error while parsing the vault response: " + e.getMessage(), e);
+        }
+        return new KvSecret(parser.fields, parser.version);
+    }
+
+    private void parseResponse() {
+
+        if (beginObject()) {
+            do {
+                readName();
+                if (nameIs(DATA_FIELD) && isObject()) {
+                    if (engineVersion == 2) {
+                        parseData();
+                    } else {
+                        parseFields();
+                    }
+                } else {
+                    skipValue();
+                }
+            } while (nextMember());
+        }
+    }
+
+    /**
+     * Parse the <code>data</code> object of a KV version 2 response, which holds the fields of the secret in its own
+     * <code>data</code> object along with the <code>metadata</code> of the secret.
+     */
+    private void parseData() {
+
+        if (beginObject()) {
+            do {
+                readName();
+                if (nameIs(DATA_FIELD) && isObject()) {
+                    parseFields();
+                } else if (nameIs(METADATA_FIELD) && isObject()) {
+                    parseMetadata();
+                } else {
+                    skipValue();
+                }
+            } while (nextMember());
+        }
+    }
+
+    private void parseFields() {
+
+        if (beginObject()) {
+            do {
+                readName();
+                String name = decodeName();
+                if (names == null || names.contains(name)) {
+                    fields.put(name, readValue());
+                } else {
+                    skipValue();
+                }
+            } while (nextMember());
+        }
+    }
+
+    private void parseMetadata() {
+
+        if (beginObject()) {
+            do {
+                readName();
+                if (nameIs(VERSION_FIELD)) {
+                    skipWhitespace();
+                    int start = position;
+                    skipValue();
+                    version = parseLong(start, position);
+                } else {
+                    skipValue();
+                }
+            } while (nextMember());
+        }
+    }
+
+    /**
+     * Enter the object at the current position.
+     *
+     * @return true if the object has members
+     */
+    private boolean beginObject() {
+
+        expect('{');
+        skipWhitespace();
+        if (body[position] == '}') {
+            position++;
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Move past the separator after a member of an object.
+     *
+     * @return true if another member follows, false if the object ended
+     */
+    private boolean nextMember() {
+
+        skipWhitespace();
+        byte separator = body[position++];
+        if (separator == ',') {
+            return true;
+        } else if (separator == '}') {
+            return false;
+        }
+        throw new IllegalArgumentException("Unexpected character at " + (position - 1));
+    }
+
+    private boolean isObject() {
+
+        skipWhitespace();
+        return body[position] == '{';
+    }
+
+    /**
+     * Read a member name along with the colon that follows it, recording the bounds of its raw bytes.
+     */
+    private void readName() {
+
+        skipWhitespace();
+        nameStart = position + 1;
+        nameEnd = skipString();
+        nameEscaped = stringEscaped;
+        expect(':');
+    }
+
+    private boolean nameIs(byte[] name) {
+
+        if (nameEscaped || nameEnd - nameStart != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (body[nameStart + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String decodeName() {
+
+        return nameEscaped ? decode(nameStart, nameEnd) : new String(body, nameStart, nameEnd - nameStart,
+                StandardCharsets.UTF_8);
+    }
+
+    private String readValue() {
+
+        skipWhitespace();
+        int start = position;
+        if (body[start] == '"') {
+            int end = skipString();
+            return stringEscaped ? decode(start + 1, end) : new String(body, start + 1, end - start - 1,
+                    StandardCharsets.UTF_8);
+        }
+        skipValue();
+        return new String(body, start, position - start, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Move past the string at the current position, recording whether it contains escapes.
+     *
+     * @return Index of the closing quote of the string
+     */
+    private int skipString() {
+
+        expect('"');
+        stringEscaped = false;
+        int index = position;
+        while (body[index] != '"') {
+            if (body[index] == '\\') {
+                stringEscaped = true;
+                index += 2;
+            } else {
+                index++;
+            }
+        }
+        position = index + 1;
+        return index;
+    }
+
+    private void skipValue() {
+
+        skipWhitespace();
+        byte first = body[position];
+        if (first == '"') {
+            skipString();
+        } else if (first == '{' || first == '[') {
+            int depth = 0;
+            do {
+                byte current = body[position];
+                if (current == '"') {
+                    skipString();
+                    continue;
+                }
+                if (current == '{' || current == '[') {
+                    depth++;
+                } else if (current == '}' || current == ']') {
+                    depth--;
+                }
+                position++;
+            } while (depth > 0);
+        } else {
+            int start = position;
+            while (position < body.length && !isDelimiter(body[position])) {
+                position++;
+            }
+            if (position == start) {
+                throw new IllegalArgumentException("Missing value at " + start);
+            }
+        }
+    }
+
+    /**
+     * Decode the UTF-8 bytes of a string with escapes, using the character buffer of the current thread. A string
+     * never has more characters than bytes, so the buffer is only grown for strings longer than it.
+     */
+    private String decode(int start, int end) {
+
+        char[] chars = SCRATCH.get();
+        if (chars.length < end - start) {
+            chars = new char[end - start];
+            if (chars.length <= MAX_SCRATCH_SIZE) {
+                SCRATCH.set(chars);
+            }
+        }
+        int length = 0;
+        int index = start;
+        while (index < end) {
+            int current = body[index] & 0xff;
+            if (current == '\\') {
+                char escaped = (char) body[index + 1];
+                index += 2;
+                switch (escaped) {
+                    case 'b':
+                        chars[length++] = '\b';
+                        break;
+                    case 'f':
+                        chars[length++] = '\f';
+                        break;
+                    case 'n':
+                        chars[length++] = '\n';
+                        break;
+                    case 'r':
+                        chars[length++] = '\r';
+                        break;
+                    case 't':
+                        chars[length++] = '\t';
+                        break;
+                    case 'u':
+                        chars[length++] = (char) parseHex(index);
+                        index += 4;
+                        break;
+                    default:
+                        chars[length++] = escaped;
+                        break;
+                }
+            } else if (current < 0x80) {
+                chars[length++] = (char) current;
+                index++;
+            } else if ((current & 0xe0) == 0xc0) {
+                chars[length++] = (char) (((current & 0x1f) << 6) | (body[index + 1] & 0x3f));
+                index += 2;
+            } else if ((current & 0xf0) == 0xe0) {
+                chars[length++] = (char) (((current & 0x0f) << 12) | ((body[index + 1] & 0x3f) << 6)
+                        | (body[index + 2] & 0x3f));
+                index += 3;
+            } else {
+                int codePoint = ((current & 0x07) << 18) | ((body[index + 1] & 0x3f) << 12)
+                        | ((body[index + 2] & 0x3f) << 6) | (body[index + 3] & 0x3f);
+                chars[length++] = Character.highSurrogate(codePoint);
+                chars[length++] = Character.lowSurrogate(codePoint);
+                index += 4;
+            }
+        }
+        return new String(chars, 0, length);
+    }
+
+    private int parseHex(int start) {
+
+        int value = 0;
+        for (int i = start; i < start + 4; i++) {
+            int digit = Character.digit(body[i], 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid unicode escape at " + start);
+            }
+            value = (value << 4) | digit;
+        }
+        return value;
+    }
+
+    /**
+     * Parse a whole number without creating a string, returning an unknown version for any other value.
+     */
+    private long parseLong(int start, int end) {
+
+        if (start == end || end - start > 18) {
+            return KvSecret.UNKNOWN_VERSION;
+        }
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = body[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return KvSecret.UNKNOWN_VERSION;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private void expect(char expected) {
+
+        skipWhitespace();
+        if (body[position] != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at " + position);
+        }
+        position++;
+    }
+
+    private void skipWhitespace() {
+
+        while (position < body.length && isWhitespace(body[position])) {
+            position++;
+        }
+    }
+
+    private static boolean isDelimiter(byte value) {
+
+        return value == ',' || value == '}' || value == ']' || isWhitespace(value);
+    }
+
+    private static boolean isWhitespace(byte value) {
+
+        return value == ' ' || value == '\t' || value == '\n' || value == '\r';
+    }
+
+    private static byte[] ascii(String value) {
+
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
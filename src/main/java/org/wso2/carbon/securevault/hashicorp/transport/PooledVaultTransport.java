@@ -0,0 +1,786 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.SslConfig;
+import com.bettercloud.vault.json.Json;
+import org.apache.commons.lang.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.wso2.carbon.securevault.hashicorp.common.HashiCorpVaultThreadFactory;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+
+/**
+ * Non-blocking vault transport that sends requests over a pool of persistent connections. A single I/O thread drives
+ * every connection with a {@link Selector}, so requests in flight do not hold a thread each: callers get a future back
+ * immediately, and the thread only writes a request and reads its response as the connection becomes ready.
+ * <p>
+ * Up to <code>maxConnections</code> connections are opened to each vault server. A connection is kept alive once its
+ * response is read and reused for the next request to the same server, so that a TLS handshake is only made when a
+ * connection is opened. Requests beyond the connection limit wait for a connection to become free. Connections left
+ * idle for a minute are closed, and a request that fails on a reused connection before any byte of the response is
+ * read, as happens when the vault closes an idle connection, is sent again on another connection.
+ * <p>
+ * Futures are completed on the I/O thread, so actions that depend on them must not block.
+ */
+public class PooledVaultTransport implements VaultTransport {
+
+    private static final Log LOG = LogFactory.getLog(PooledVaultTransport.class);
+    private static final String API_PATH = "/v1/";
+    private static final String LIST_QUERY = "?list=true";
+    private static final String APPROLE_LOGIN_PATH = "auth/approle/login";
+    private static final String LOOKUP_SELF_PATH = "auth/token/lookup-self";
+    private static final String RENEW_SELF_PATH = "auth/token/renew-self";
+    private static final String GET = "GET";
+    private static final String POST = "POST";
+    private static final String HTTPS = "https";
+    private static final long IDLE_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final SSLContext sslContext;
+    private final boolean verifyHostname;
+    private final long openTimeoutNanos;
+    private final long readTimeoutNanos;
+    private final int maxConnections;
+    private final Selector selector;
+    private final Queue<Exchange> submitted = new ConcurrentLinkedQueue<>();
+    private final Map<String, Target> targets = new ConcurrentHashMap<>();
+    // Connection pools of the vault servers, only used by the I/O thread.
+    private final Map<String, Pool> pools = new HashMap<>();
+    private volatile boolean closed;
+    private volatile boolean terminated;
+
+    /**
+     * Create a pooled transport and start its I/O thread.
+     *
+     * @param openTimeout    Connection open timeout in seconds, or null to wait indefinitely
+     * @param readTimeout    Response read timeout in seconds, or null to wait indefinitely
+     * @param sslConfig      SSL configuration used to connect to the vault
+     * @param maxConnections Maximum number of connections opened to each vault server
+     * @throws HashiCorpVaultException when the SSL context or the selector cannot be created
+     */
+    public PooledVaultTransport(Integer openTimeout, Integer readTimeout, SslConfig sslConfig, int maxConnections)
+            throws HashiCorpVaultException {
+
+        if (maxConnections <= 0) {
+            throw new IllegalArgumentException("Maximum connections should be a positive value: " + maxConnections);
+        }
+        this.sslContext = SslContexts.create(sslConfig);
+        this.verifyHostname = sslConfig.isVerify();
+        this.openTimeoutNanos = openTimeout != null ? TimeUnit.SECONDS.toNanos(openTimeout) : 0;
+        this.readTimeoutNanos = readTimeout != null ? TimeUnit.SECONDS.toNanos(readTimeout) : 0;
+        this.maxConnections = maxConnections;
+        try {
+            this.selector = Selector.open();
+        } catch (IOException e) {
+            throw new HashiCorpVaultException("Error while opening the selector of the vault transport", e);
+        }
+        new HashiCorpVaultThreadFactory("transport").newThread(this::run).start();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> read(String address, String namespace, String accessToken,
+                                                 int engineVersion, String path) {
+
+        return send(GET, address, KvPaths.read(path, engineVersion), namespace, accessToken, null,
+                StatusCheck.SERVER_ERROR);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> list(String address, String namespace, String accessToken,
+                                                 int engineVersion, String path) {
+
+        return send(GET, address, KvPaths.list(path, engineVersion) + LIST_QUERY, namespace, accessToken, null,
+                StatusCheck.SERVER_ERROR);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> get(String address, String namespace, String accessToken,
+                                                String apiPath) {
+
+        return send(GET, address, apiPath, namespace, accessToken, null, StatusCheck.NONE);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> post(String address, String namespace, String accessToken,
+                                                 String apiPath, String body) {
+
+        return send(POST, address, apiPath, namespace, accessToken, body, StatusCheck.NONE);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> loginWithAppRole(String address, String roleId, String secretId) {
+
+        String body = Json.object().add("role_id", roleId).add("secret_id", secretId).toString();
+        return send(POST, address, APPROLE_LOGIN_PATH, null, null, body, StatusCheck.ANY_ERROR);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> lookupSelf(String address, String accessToken) {
+
+        return send(GET, address, LOOKUP_SELF_PATH, null, accessToken, null, StatusCheck.ANY_ERROR);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> renewSelf(String address, String accessToken) {
+
+        return send(POST, address, RENEW_SELF_PATH, null, accessToken, "{}", StatusCheck.ANY_ERROR);
+    }
+
+    /**
+     * Stop accepting requests. Requests that are being sent complete normally, while requests still waiting for a
+     * connection are failed, so that no caller is left waiting on a request that will never be sent. The I/O thread
+     * closes the connections and stops once the requests in flight complete.
+     */
+    @Override
+    public void close() {
+
+        closed = true;
+        selector.wakeup();
+    }
+
+    /**
+     * Hand a request to the I/O thread.
+     */
+    private CompletableFuture<VaultResponse> send(String method, String address, String apiPath, String namespace,
+                                                  String accessToken, String body, StatusCheck statusCheck) {
+
+        CompletableFuture<VaultResponse> future = new CompletableFuture<>();
+        if (closed) {
+            future.completeExceptionally(new RejectedExecutionException("Vault transport is closed"));
+            return future;
+        }
+        Exchange exchange;
+        try {
+            Target target = getTarget(address);
+            exchange = new Exchange(target, new InetSocketAddress(target.host, target.port),
+                    encode(method, target, apiPath, namespace, accessToken, body), statusCheck, future);
+        } catch (IOException e) {
+            future.completeExceptionally(e);
+            return future;
+        }
+        if (exchange.address.isUnresolved()) {
+            future.completeExceptionally(new UnknownHostException(exchange.target.host));
+            return future;
+        }
+        // The I/O thread closes the connection of a request that is cancelled while in flight.
+        future.whenComplete((response, e) -> {
+            if (future.isCancelled()) {
+                selector.wakeup();
+            }
+        });
+        submitted.add(exchange);
+        if (terminated) {
+            rejectSubmitted();
+        } else {
+            selector.wakeup();
+        }
+        return future;
+    }
+
+    private Target getTarget(String address) throws IOException {
+
+        Target target = targets.get(address);
+        if (target == null) {
+            target = Target.parse(address);
+            targets.put(address, target);
+        }
+        return target;
+    }
+
+    /**
+     * Encode an HTTP/1.1 request.
+     */
+    private static byte[] encode(String method, Target target, String apiPath, String namespace, String accessToken,
+                                 String body) {
+
+        byte[] content = body != null ? body.getBytes(StandardCharsets.UTF_8) : null;
+        StringBuilder request = new StringBuilder(256).append(method).append(' ').append(target.basePath)
+                .append(API_PATH).append(apiPath).append(" HTTP/1.1\r\n")
+                .append("Host: ").append(target.hostHeader).append("\r\n")
+                .append("Accept: application/json\r\n")
+                .append("X-Vault-Request: true\r\n");
+        if (StringUtils.isNotEmpty(accessToken)) {
+            request.append("X-Vault-Token: ").append(accessToken).append("\r\n");
+        }
+        if (StringUtils.isNotEmpty(namespace)) {
+            request.append("X-Vault-Namespace: ").append(namespace).append("\r\n");
+        }
+        if (content != null) {
+            request.append("Content-Type: application/json\r\n")
+                    .append("Content-Length: ").append(content.length).append("\r\n");
+        }
+        byte[] head = request.append("\r\n").toString().getBytes(StandardCharsets.UTF_8);
+        if (content == null) {
+            return head;
+        }
+        byte[] bytes = new byte[head.length + content.length];
+        System.arraycopy(head, 0, bytes, 0, head.length);
+        System.arraycopy(content, 0, bytes, head.length, content.length);
+        return bytes;
+    }
+
+    /**
+     * Event loop of the I/O thread.
+     */
+    private void run() {
+
+        Throwable failure = null;
+        try {
+            long timeoutMillis = 0;
+            while (true) {
+                selector.select(timeoutMillis);
+                for (SelectionKey key : selector.selectedKeys()) {
+                    handle(key);
+                }
+                selector.selectedKeys().clear();
+                dispatchSubmitted();
+                if (closed && drain()) {
+                    break;
+                }
+                timeoutMillis = expire(System.nanoTime());
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+            LOG.error("Vault transport I/O thread failed, requests in flight are failed", e);
+        } finally {
+            closed = true;
+            terminated = true;
+            for (SelectionKey key : new ArrayList<>(selector.keys())) {
+                Connection connection = (Connection) key.attachment();
+                Exchange exchange = connection.exchange;
+                connection.close();
+                if (exchange != null) {
+                    exchange.future.completeExceptionally(failure != null ? failure :
+                            new RejectedExecutionException("Vault transport was closed"));
+                }
+            }
+            for (Pool pool : pools.values()) {
+                rejectWaiting(pool);
+            }
+            rejectSubmitted();
+            try {
+                selector.close();
+            } catch (IOException ignored) {
+                // Nothing to release.
+            }
+        }
+    }
+
+    private void handle(SelectionKey key) {
+
+        Connection connection = (Connection) key.attachment();
+        if (!key.isValid()) {
+            return;
+        }
+        try {
+            switch (connection.state) {
+                case CONNECTING:
+                    if (connection.channel.getChannel().finishConnect()) {
+                        connected(connection);
+                    }
+                    break;
+                case HANDSHAKING:
+                    handshake(connection);
+                    break;
+                case SENDING:
+                    connection.deadline = deadline(readTimeoutNanos);
+                    flush(connection);
+                    break;
+                case RECEIVING:
+                    if (key.isWritable()) {
+                        connection.channel.flush();
+                    }
+                    if (key.isReadable()) {
+                        receive(connection);
+                    }
+                    if (connection.state == State.RECEIVING) {
+                        connection.interest(SelectionKey.OP_READ
+                                | (connection.channel.hasPendingOutput() ? SelectionKey.OP_WRITE : 0));
+                    }
+                    break;
+                default:
+                    // The vault closed an idle connection, or sent bytes that were not asked for.
+                    HttpResponseParser parser = new HttpResponseParser();
+                    if (connection.channel.read(parser) < 0 || parser.hasStarted()) {
+                        connection.close();
+                    }
+                    break;
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(connection, e);
+        }
+    }
+
+    /**
+     * Move the requests handed to the I/O thread to the pools of their vault servers.
+     */
+    private void dispatchSubmitted() {
+
+        for (Exchange exchange = submitted.poll(); exchange != null; exchange = submitted.poll()) {
+            Pool pool = pools.computeIfAbsent(exchange.target.key, key -> new Pool());
+            pool.waiting.add(exchange);
+            dispatch(pool);
+        }
+    }
+
+    /**
+     * Send the requests waiting in a pool on its idle connections, opening new connections up to the limit.
+     */
+    private void dispatch(Pool pool) {
+
+        while (!pool.waiting.isEmpty()) {
+            Exchange exchange = pool.waiting.peek();
+            if (exchange.future.isDone()) {
+                pool.waiting.poll();
+                continue;
+            }
+            Connection connection = pool.idle.pollFirst();
+            if (connection == null && pool.open >= maxConnections) {
+                return;
+            }
+            pool.waiting.poll();
+            if (connection != null) {
+                start(connection, exchange);
+            } else {
+                open(pool, exchange);
+            }
+        }
+    }
+
+    private void open(Pool pool, Exchange exchange) {
+
+        SocketChannel socketChannel = null;
+        VaultChannel channel;
+        try {
+            socketChannel = SocketChannel.open();
+            channel = new VaultChannel(socketChannel, exchange.target.secure ? createEngine(exchange.target) : null);
+        } catch (IOException | RuntimeException e) {
+            if (socketChannel != null) {
+                try {
+                    socketChannel.close();
+                } catch (IOException ignored) {
+                    // Nothing to release.
+                }
+            }
+            exchange.future.completeExceptionally(e);
+            return;
+        }
+        Connection connection = new Connection(pool, channel);
+        connection.exchange = exchange;
+        pool.open++;
+        try {
+            socketChannel.configureBlocking(false);
+            socketChannel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            connection.key = socketChannel.register(selector, 0, connection);
+            connection.deadline = deadline(openTimeoutNanos);
+            if (socketChannel.connect(exchange.address)) {
+                connected(connection);
+            } else {
+                connection.interest(SelectionKey.OP_CONNECT);
+            }
+        } catch (IOException | RuntimeException e) {
+            fail(connection, e);
+        }
+    }
+
+    private SSLEngine createEngine(Target target) {
+
+        SSLEngine engine = sslContext.createSSLEngine(target.host, target.port);
+        engine.setUseClientMode(true);
+        if (verifyHostname) {
+            SSLParameters parameters = engine.getSSLParameters();
+            parameters.setEndpointIdentificationAlgorithm("HTTPS");
+            engine.setSSLParameters(parameters);
+        }
+        return engine;
+    }
+
+    private void connected(Connection connection) throws IOException {
+
+        if (connection.channel.isSecure()) {
+            connection.state = State.HANDSHAKING;
+            handshake(connection);
+        } else {
+            start(connection, connection.exchange);
+        }
+    }
+
+    private void handshake(Connection connection) throws IOException {
+
+        if (connection.channel.handshake()) {
+            start(connection, connection.exchange);
+        } else {
+            connection.interest(connection.channel.getHandshakeInterest());
+        }
+    }
+
+    /**
+     * Start sending a request on a connection that is open.
+     */
+    private void start(Connection connection, Exchange exchange) {
+
+        connection.exchange = exchange;
+        connection.parser = new HttpResponseParser();
+        connection.state = State.SENDING;
+        connection.deadline = deadline(readTimeoutNanos);
+        connection.channel.write(ByteBuffer.wrap(exchange.request));
+        try {
+            flush(connection);
+        } catch (IOException | RuntimeException e) {
+            fail(connection, e);
+        }
+    }
+
+    private void flush(Connection connection) throws IOException {
+
+        if (connection.channel.flush()) {
+            connection.state = State.RECEIVING;
+            connection.interest(SelectionKey.OP_READ);
+        } else {
+            connection.interest(SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void receive(Connection connection) throws IOException {
+
+        int read = connection.channel.read(connection.parser);
+        if (connection.parser.isComplete() || read < 0 && connection.parser.finish()) {
+            complete(connection);
+        } else if (read < 0) {
+            throw new EOFException("Vault closed the connection before the response was complete");
+        } else if (read > 0) {
+            connection.deadline = deadline(readTimeoutNanos);
+        }
+    }
+
+    /**
+     * Complete the request of a connection with its response, and keep the connection for the next request if the
+     * vault keeps it open.
+     */
+    private void complete(Connection connection) {
+
+        Exchange exchange = connection.exchange;
+        HttpResponseParser parser = connection.parser;
+        connection.exchange = null;
+        connection.parser = null;
+        if (parser.isKeepAlive() && !connection.channel.hasBufferedInput() && !closed) {
+            connection.state = State.IDLE;
+            connection.reused = true;
+            connection.deadline = System.nanoTime() + IDLE_TIMEOUT_NANOS;
+            connection.interest(SelectionKey.OP_READ);
+            connection.pool.idle.addFirst(connection);
+        } else {
+            connection.close();
+        }
+        exchange.complete(parser.getResponse());
+        dispatch(connection.pool);
+    }
+
+    /**
+     * Close a connection that failed, failing its request, or sending it again if it failed on a reused connection
+     * before any byte of the response was read.
+     */
+    private void fail(Connection connection, Exception error) {
+
+        Exchange exchange = connection.exchange;
+        boolean retry = exchange != null && connection.reused && !exchange.retried
+                && !(error instanceof SocketTimeoutException)
+                && (connection.parser == null || !connection.parser.hasStarted());
+        connection.close();
+        if (exchange != null) {
+            if (retry) {
+                exchange.retried = true;
+                connection.pool.waiting.addFirst(exchange);
+            } else {
+                exchange.future.completeExceptionally(error);
+            }
+        }
+        dispatch(connection.pool);
+    }
+
+    /**
+     * Close the connections whose deadline has passed or whose request was cancelled.
+     *
+     * @return Time in milliseconds until the next deadline, or 0 if there is none
+     */
+    private long expire(long now) {
+
+        long next = Long.MAX_VALUE;
+        for (SelectionKey key : new ArrayList<>(selector.keys())) {
+            Connection connection = (Connection) key.attachment();
+            if (connection.closed) {
+                continue;
+            }
+            if (connection.exchange != null && connection.exchange.future.isDone()) {
+                connection.close();
+                dispatch(connection.pool);
+            } else if (connection.deadline != 0 && now - connection.deadline >= 0) {
+                if (connection.state == State.IDLE) {
+                    connection.close();
+                } else {
+                    fail(connection, new SocketTimeoutException(connection.state == State.CONNECTING
+                            || connection.state == State.HANDSHAKING ? "Timed out while connecting to the vault" :
+                            "Timed out while waiting for the vault to respond"));
+                }
+            } else if (connection.deadline != 0) {
+                next = Math.min(next, connection.deadline - now);
+            }
+        }
+        return next == Long.MAX_VALUE ? 0 : Math.max(TimeUnit.NANOSECONDS.toMillis(next), 1);
+    }
+
+    /**
+     * Fail the requests waiting for a connection and close the idle connections once the transport is closed.
+     *
+     * @return true once no request is in flight
+     */
+    private boolean drain() {
+
+        boolean inFlight = false;
+        for (Pool pool : pools.values()) {
+            rejectWaiting(pool);
+            for (Connection connection = pool.idle.pollFirst(); connection != null;
+                 connection = pool.idle.pollFirst()) {
+                connection.close();
+            }
+        }
+        for (SelectionKey key : selector.keys()) {
+            Connection connection = (Connection) key.attachment();
+            inFlight |= !connection.closed && connection.exchange != null;
+        }
+        return !inFlight;
+    }
+
+    private static void rejectWaiting(Pool pool) {
+
+        for (Exchange exchange = pool.waiting.poll(); exchange != null; exchange = pool.waiting.poll()) {
+            exchange.future.completeExceptionally(
+                    new RejectedExecutionException("Vault transport was closed before the request was sent"));
+        }
+    }
+
+    private void rejectSubmitted() {
+
+        for (Exchange exchange = submitted.poll(); exchange != null; exchange = submitted.poll()) {
+            exchange.future.completeExceptionally(
+                    new RejectedExecutionException("Vault transport was closed before the request was sent"));
+        }
+    }
+
+    private static long deadline(long timeoutNanos) {
+
+        return timeoutNanos > 0 ? System.nanoTime() + timeoutNanos : 0;
+    }
+
+    /**
+     * Statuses that fail a request rather than completing it with the response.
+     */
+    private enum StatusCheck {
+
+        /**
+         * Every response completes the request.
+         */
+        NONE,
+
+        /**
+         * Server errors fail the request, while client errors such as a missing secret complete it.
+         */
+        SERVER_ERROR,
+
+        /**
+         * Any status other than <code>2xx</code> fails the request.
+         */
+        ANY_ERROR
+    }
+
+    private enum State {
+        CONNECTING,
+        HANDSHAKING,
+        SENDING,
+        RECEIVING,
+        IDLE
+    }
+
+    /**
+     * Scheme, host and port of a vault server, and the path its API is served under.
+     */
+    private static final class Target {
+
+        private final String key;
+        private final boolean secure;
+        private final String host;
+        private final int port;
+        private final String hostHeader;
+        private final String basePath;
+
+        private Target(boolean secure, String host, int port, String hostHeader, String basePath) {
+
+            this.key = (secure ? "https://" : "http://") + hostHeader;
+            this.secure = secure;
+            this.host = host;
+            this.port = port;
+            this.hostHeader = hostHeader;
+            this.basePath = basePath;
+        }
+
+        private static Target parse(String address) throws IOException {
+
+            URI uri;
+            try {
+                uri = new URI(address);
+            } catch (URISyntaxException e) {
+                throw new IOException("Invalid vault address: " + address, e);
+            }
+            String scheme = uri.getScheme() != null ? uri.getScheme().toLowerCase() : null;
+            if (!HTTPS.equals(scheme) && !"http".equals(scheme) || uri.getHost() == null) {
+                throw new IOException("Invalid vault address: " + address);
+            }
+            boolean secure = HTTPS.equals(scheme);
+            String host = uri.getHost();
+            int port = uri.getPort() > 0 ? uri.getPort() : secure ? 443 : 80;
+            String hostHeader = uri.getPort() > 0 ? host + ":" + port : host;
+            if (host.startsWith("[") && host.endsWith("]")) {
+                host = host.substring(1, host.length() - 1);
+            }
+            String basePath = uri.getRawPath() != null ? StringUtils.stripEnd(uri.getRawPath(), "/") : "";
+            return new Target(secure, host, port, hostHeader, basePath);
+        }
+    }
+
+    /**
+     * Request handed to the I/O thread, along with the future completed with its response.
+     */
+    private static final class Exchange {
+
+        private final Target target;
+        private final InetSocketAddress address;
+        private final byte[] request;
+        private final StatusCheck statusCheck;
+        private final CompletableFuture<VaultResponse> future;
+        private boolean retried;
+
+        private Exchange(Target target, InetSocketAddress address, byte[] request, StatusCheck statusCheck,
+                         CompletableFuture<VaultResponse> future) {
+
+            this.target = target;
+            this.address = address;
+            this.request = request;
+            this.statusCheck = statusCheck;
+            this.future = future;
+        }
+
+        private void complete(VaultResponse response) {
+
+            int status = response.getStatus();
+            boolean success = status >= 200 && status < 300;
+            boolean clientError = status >= 400 && status < 500;
+            if (!success && (statusCheck == StatusCheck.ANY_ERROR
+                    || statusCheck == StatusCheck.SERVER_ERROR && !clientError)) {
+                future.completeExceptionally(new VaultResponseException(response));
+            } else {
+                future.complete(response);
+            }
+        }
+    }
+
+    /**
+     * Idle connections and requests waiting for a connection to a vault server.
+     */
+    private static final class Pool {
+
+        private final ArrayDeque<Connection> idle = new ArrayDeque<>();
+        private final ArrayDeque<Exchange> waiting = new ArrayDeque<>();
+        private int open;
+    }
+
+    /**
+     * Connection to a vault server, along with the request it is sending.
+     */
+    private static final class Connection {
+
+        private final Pool pool;
+        private final VaultChannel channel;
+        private SelectionKey key;
+        private State state = State.CONNECTING;
+        private Exchange exchange;
+        private HttpResponseParser parser;
+        private long deadline;
+        private boolean reused;
+        private boolean closed;
+
+        private Connection(Pool pool, VaultChannel channel) {
+
+            this.pool = pool;
+            this.channel = channel;
+        }
+
+        private void interest(int ops) {
+
+            if (!closed) {
+                key.interestOps(ops);
+            }
+        }
+
+        /**
+         * Close the connection, dropping the request it was sending.
+         */
+        private void close() {
+
+            if (closed) {
+                return;
+            }
+            closed = true;
+            exchange = null;
+            parser = null;
+            if (key != null) {
+                key.cancel();
+            }
+            channel.close();
+            pool.open--;
+            pool.idle.remove(this);
+        }
+    }
+}
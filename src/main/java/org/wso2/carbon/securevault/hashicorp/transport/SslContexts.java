@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.SslConfig;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+
+/**
+ * Builds the SSL contexts used for connections to the vault that are not made through the vault driver.
+ */
+public final class SslContexts {
+
+    private SslContexts() {}
+
+    /**
+     * Create the SSL context described by an SSL configuration. When verification is disabled the context accepts
+     * any server certificate, the same as the vault driver does.
+     *
+     * @param sslConfig SSL configuration used to connect to the vault
+     * @return SSL context
+     * @throws HashiCorpVaultException when the SSL context cannot be built
+     */
+    public static SSLContext create(SslConfig sslConfig) throws HashiCorpVaultException {
+
+        try {
+            if (!sslConfig.isVerify()) {
+                SSLContext sslContext = SSLContext.getInstance("TLS");
+                sslContext.init(null, new TrustManager[]{new TrustAllManager()}, null);
+                return sslContext;
+            }
+            return sslConfig.getSslContext() != null ? sslConfig.getSslContext() : SSLContext.getDefault();
+        } catch (GeneralSecurityException e) {
+            throw new HashiCorpVaultException("Error while building the SSL context for the vault connection", e);
+        }
+    }
+
+    /**
+     * Trust manager accepting any server certificate, used when SSL verification is disabled.
+     */
+    private static final class TrustAllManager implements X509TrustManager {
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+
+            return new X509Certificate[0];
+        }
+    }
+}
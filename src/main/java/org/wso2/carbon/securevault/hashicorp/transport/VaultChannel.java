@@ -0,0 +1,313 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLException;
+
+/**
+ * Non-blocking connection to a vault server, either in plain text or over TLS with an {@link SSLEngine}. Every method
+ * returns as soon as the channel cannot make progress without blocking, and tells the caller what to wait for.
+ * A channel is used by one thread only.
+ */
+final class VaultChannel {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final SocketChannel channel;
+    private final SSLEngine engine;
+    // Bytes read from the channel and not consumed yet, and TLS records not written to the channel yet.
+    private ByteBuffer netIn;
+    private ByteBuffer netOut;
+    // Decrypted bytes of the response not consumed by the parser yet.
+    private ByteBuffer appIn;
+    private ByteBuffer output;
+    private boolean handshakeStarted;
+
+    /**
+     * Create a channel.
+     *
+     * @param channel Socket channel in non-blocking mode
+     * @param engine  Client mode SSL engine for a TLS connection, or null for a plain text connection
+     */
+    VaultChannel(SocketChannel channel, SSLEngine engine) {
+
+        this.channel = channel;
+        this.engine = engine;
+        if (engine != null) {
+            netIn = emptyBuffer(engine.getSession().getPacketBufferSize());
+            netOut = emptyBuffer(engine.getSession().getPacketBufferSize());
+            appIn = ByteBuffer.allocate(engine.getSession().getApplicationBufferSize());
+        } else {
+            netIn = emptyBuffer(BUFFER_SIZE);
+        }
+    }
+
+    SocketChannel getChannel() {
+
+        return channel;
+    }
+
+    boolean isSecure() {
+
+        return engine != null;
+    }
+
+    /**
+     * Progress the TLS handshake.
+     *
+     * @return true once the handshake is complete
+     * @throws IOException when the handshake fails
+     */
+    boolean handshake() throws IOException {
+
+        if (!handshakeStarted) {
+            engine.beginHandshake();
+            handshakeStarted = true;
+        }
+        while (true) {
+            if (!flushRecords()) {
+                return false;
+            }
+            switch (engine.getHandshakeStatus()) {
+                case NEED_TASK:
+                    runTasks();
+                    break;
+                case NEED_WRAP:
+                    wrap(EMPTY);
+                    break;
+                case FINISHED:
+                case NOT_HANDSHAKING:
+                    return true;
+                default:
+                    SSLEngineResult result = unwrap();
+                    if (result.getStatus() == SSLEngineResult.Status.BUFFER_UNDERFLOW) {
+                        int read = readRecords();
+                        if (read < 0) {
+                            throw new EOFException("Vault closed the connection during the TLS handshake");
+                        } else if (read == 0) {
+                            return false;
+                        }
+                    } else if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+                        throw new SSLException("Vault closed the TLS session during the handshake");
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Get the operation the handshake waits for.
+     *
+     * @return {@link SelectionKey#OP_WRITE} or {@link SelectionKey#OP_READ}
+     */
+    int getHandshakeInterest() {
+
+        return netOut.hasRemaining() ? SelectionKey.OP_WRITE : SelectionKey.OP_READ;
+    }
+
+    /**
+     * Start writing a request. The request is written by {@link #flush()}.
+     *
+     * @param request Bytes of the request
+     */
+    void write(ByteBuffer request) {
+
+        output = request;
+    }
+
+    /**
+     * Write as much of the request as the channel accepts without blocking.
+     *
+     * @return true once the whole request is written
+     * @throws IOException when the request cannot be written
+     */
+    boolean flush() throws IOException {
+
+        if (engine == null) {
+            if (output != null) {
+                channel.write(output);
+            }
+            return !hasPendingOutput();
+        }
+        while (flushRecords()) {
+            if (output == null || !output.hasRemaining()) {
+                return true;
+            }
+            wrap(output);
+        }
+        return false;
+    }
+
+    /**
+     * Check whether any byte of the request, or any TLS record, is still to be written.
+     *
+     * @return true if there are bytes to write
+     */
+    boolean hasPendingOutput() {
+
+        return output != null && output.hasRemaining() || netOut != null && netOut.hasRemaining();
+    }
+
+    /**
+     * Read the bytes available on the channel, passing the bytes of the response to a parser.
+     *
+     * @param parser Parser of the response
+     * @return Number of bytes read from the channel, or -1 once the vault has closed the connection
+     * @throws IOException when the response cannot be read
+     */
+    int read(HttpResponseParser parser) throws IOException {
+
+        int read = readRecords();
+        if (engine == null) {
+            parser.parse(netIn);
+            return read;
+        }
+        while (true) {
+            SSLEngineResult result = unwrap();
+            if (engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_TASK) {
+                runTasks();
+            }
+            if (engine.getHandshakeStatus() == SSLEngineResult.HandshakeStatus.NEED_WRAP && !netOut.hasRemaining()) {
+                // The vault asked for a new key or handshake, the records are written on the next flush.
+                wrap(EMPTY);
+                flushRecords();
+            }
+            appIn.flip();
+            try {
+                parser.parse(appIn);
+            } finally {
+                appIn.compact();
+            }
+            switch (result.getStatus()) {
+                case CLOSED:
+                    return -1;
+                case BUFFER_OVERFLOW:
+                    appIn = grow(appIn, engine.getSession().getApplicationBufferSize());
+                    break;
+                case BUFFER_UNDERFLOW:
+                    return read;
+                default:
+                    if (!netIn.hasRemaining() || result.bytesConsumed() == 0 && result.bytesProduced() == 0) {
+                        return read;
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Check whether bytes were read past the end of the last response, in which case the connection cannot be
+     * reused for another request.
+     *
+     * @return true if there are bytes left over
+     */
+    boolean hasBufferedInput() {
+
+        return engine == null ? netIn.hasRemaining() : appIn.position() > 0;
+    }
+
+    /**
+     * Close the channel without waiting for the vault to acknowledge it.
+     */
+    void close() {
+
+        if (engine != null) {
+            engine.closeOutbound();
+        }
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing to release.
+        }
+    }
+
+    private int readRecords() throws IOException {
+
+        netIn.compact();
+        if (!netIn.hasRemaining()) {
+            netIn = grow(netIn, BUFFER_SIZE);
+        }
+        try {
+            return channel.read(netIn);
+        } finally {
+            netIn.flip();
+        }
+    }
+
+    private boolean flushRecords() throws IOException {
+
+        if (netOut.hasRemaining()) {
+            channel.write(netOut);
+        }
+        return !netOut.hasRemaining();
+    }
+
+    private void wrap(ByteBuffer source) throws IOException {
+
+        netOut.clear();
+        SSLEngineResult result;
+        try {
+            result = engine.wrap(source, netOut);
+        } finally {
+            netOut.flip();
+        }
+        if (result.getStatus() == SSLEngineResult.Status.CLOSED) {
+            throw new SSLException("TLS session with the vault was closed");
+        } else if (result.getStatus() == SSLEngineResult.Status.BUFFER_OVERFLOW) {
+            netOut = emptyBuffer(netOut.capacity() + engine.getSession().getPacketBufferSize());
+        }
+    }
+
+    private SSLEngineResult unwrap() throws SSLException {
+
+        return engine.unwrap(netIn, appIn);
+    }
+
+    private void runTasks() {
+
+        for (Runnable task = engine.getDelegatedTask(); task != null; task = engine.getDelegatedTask()) {
+            task.run();
+        }
+    }
+
+    /**
+     * Copy the bytes of a buffer in write mode into a larger buffer in write mode.
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int increment) {
+
+        ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() + increment);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    private static ByteBuffer emptyBuffer(int capacity) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.SslConfig;
+import org.apache.commons.lang.StringUtils;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.SSLSocketFactory;
+
+/**
+ * Sends requests to the vault API with {@link HttpURLConnection} on the calling thread. The JVM keeps connections
+ * alive across requests, but reuses a TLS connection only for the same SSL socket factory instance, so a single
+ * socket factory is built from the SSL configuration and shared by every request. Response bodies are always read to
+ * the end so that the connection can be returned to the keep-alive pool.
+ */
+final class VaultHttpClient {
+
+    private static final String API_PATH = "/v1/";
+    private static final String TOKEN_HEADER = "X-Vault-Token";
+    private static final String NAMESPACE_HEADER = "X-Vault-Namespace";
+    private static final String REQUEST_HEADER = "X-Vault-Request";
+    private static final String RETRY_AFTER = "Retry-After";
+    private static final String JSON = "application/json";
+    private static final int BUFFER_SIZE = 4096;
+    private static final int MAX_REUSED_BUFFER_SIZE = 64 * 1024;
+    private static final ThreadLocal<byte[]> READ_BUFFER = ThreadLocal.withInitial(() -> new byte[BUFFER_SIZE]);
+
+    private final int openTimeoutMillis;
+    private final int readTimeoutMillis;
+    private final SSLSocketFactory sslSocketFactory;
+    private final HostnameVerifier hostnameVerifier;
+
+    /**
+     * Create an HTTP client.
+     *
+     * @param openTimeout Connection open timeout in seconds, or null to wait indefinitely
+     * @param readTimeout Response read timeout in seconds, or null to wait indefinitely
+     * @param sslConfig   SSL configuration used to connect to the vault
+     * @throws HashiCorpVaultException when the SSL context cannot be built
+     */
+    VaultHttpClient(Integer openTimeout, Integer readTimeout, SslConfig sslConfig) throws HashiCorpVaultException {
+
+        this.openTimeoutMillis = openTimeout != null ? (int) TimeUnit.SECONDS.toMillis(openTimeout) : 0;
+        this.readTimeoutMillis = readTimeout != null ? (int) TimeUnit.SECONDS.toMillis(readTimeout) : 0;
+        this.sslSocketFactory = SslContexts.create(sslConfig).getSocketFactory();
+        this.hostnameVerifier = sslConfig.isVerify() ? null : (hostname, session) -> true;
+    }
+
+    /**
+     * Send a request and read its response, whatever its status.
+     *
+     * @param method      HTTP method
+     * @param address     Address of the vault server
+     * @param apiPath     API path relative to /v1/
+     * @param namespace   Vault namespace, or null for the root namespace
+     * @param accessToken Token used to authenticate with the vault, or null to send none
+     * @param body        JSON body of the request, or null to send none
+     * @return Response of the vault
+     * @throws IOException when the vault cannot be reached
+     */
+    VaultResponse send(String method, String address, String apiPath, String namespace, String accessToken,
+                       String body) throws IOException {
+
+        URL url = new URL(StringUtils.removeEnd(address, "/") + API_PATH + apiPath);
+        HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+        if (connection instanceof HttpsURLConnection) {
+            ((HttpsURLConnection) connection).setSSLSocketFactory(sslSocketFactory);
+            if (hostnameVerifier != null) {
+                ((HttpsURLConnection) connection).setHostnameVerifier(hostnameVerifier);
+            }
+        }
+        connection.setConnectTimeout(openTimeoutMillis);
+        connection.setReadTimeout(readTimeoutMillis);
+        connection.setUseCaches(false);
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", JSON);
+        connection.setRequestProperty(REQUEST_HEADER, "true");
+        if (StringUtils.isNotEmpty(accessToken)) {
+            connection.setRequestProperty(TOKEN_HEADER, accessToken);
+        }
+        if (StringUtils.isNotEmpty(namespace)) {
+            connection.setRequestProperty(NAMESPACE_HEADER, namespace);
+        }
+        if (body != null) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", JSON);
+            connection.setFixedLengthStreamingMode(bytes.length);
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(bytes);
+            }
+        }
+
+        int status = connection.getResponseCode();
+        InputStream input = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        return new VaultResponse(status, readFully(input), parseRetryAfter(connection.getHeaderField(RETRY_AFTER)));
+    }
+
+    /**
+     * Parse a <code>Retry-After</code> header, given either as a number of seconds or as an HTTP date.
+     */
+    static long parseRetryAfter(String retryAfter) {
+
+        if (StringUtils.isBlank(retryAfter)) {
+            return -1;
+        }
+        try {
+            return Math.max(Long.parseLong(retryAfter.trim()), 0);
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(Duration.between(Instant.now(), date.toInstant()).getSeconds(), 0);
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Read a response body to the end and close it, which returns the connection to the keep-alive pool. The body is
+     * read into a buffer kept by the sending thread and reused across responses, so that only the returned copy is
+     * allocated for each response.
+     */
+    private static byte[] readFully(InputStream input) throws IOException {
+
+        if (input == null) {
+            return null;
+        }
+        try (InputStream stream = input) {
+            byte[] buffer = READ_BUFFER.get();
+            int length = 0;
+            int read;
+            while ((read = stream.read(buffer, length, buffer.length - length)) != -1) {
+                length += read;
+                if (length == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+            }
+            // Buffers grown for unusually large responses are not kept, so that idle threads stay small.
+            if (buffer.length <= MAX_REUSED_BUFFER_SIZE) {
+                READ_BUFFER.set(buffer);
+            }
+            return Arrays.copyOf(buffer, length);
+        }
+    }
+}
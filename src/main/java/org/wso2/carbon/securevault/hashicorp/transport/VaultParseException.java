@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.VaultException;
+
+/**
+ * Vault exception raised for a response body that cannot be parsed, such as a truncated response or an error page of
+ * a proxy in front of the vault. It carries no HTTP status, so that it is treated like a failure to reach the vault
+ * rather than as a missing secret.
+ */
+public class VaultParseException extends VaultException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Create an exception for a response that cannot be parsed.
+     *
+     * @param message Description of the error
+     * @param cause   Error raised while parsing the response
+     */
+    public VaultParseException(String message, Throwable cause) {
+
+        super(message);
+        initCause(cause);
+    }
+}
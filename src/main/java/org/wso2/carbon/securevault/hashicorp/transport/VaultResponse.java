@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonObject;
+import com.bettercloud.vault.json.JsonValue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response of a HashiCorp Vault server, along with accessors for the parts of the response body used by the
+ * extension. The body is parsed on first access, except for secrets read from a KV secrets engine, which are streamed
+ * out of the body on each access.
+ */
+public final class VaultResponse {
+
+    private static final String DATA_FIELD = "data";
+    private static final String KEYS_FIELD = "keys";
+    private static final String AUTH_FIELD = "auth";
+    private static final String CLIENT_TOKEN_FIELD = "client_token";
+    private static final String LEASE_DURATION_FIELD = "lease_duration";
+    private static final String RENEWABLE_FIELD = "renewable";
+    private static final String TTL_FIELD = "ttl";
+
+    private final int status;
+    private final byte[] body;
+    private final long retryAfterSeconds;
+    private volatile JsonObject json;
+
+    /**
+     * Create a vault response.
+     *
+     * @param status HTTP status of the response
+     * @param body   Body of the response, may be null
+     */
+    public VaultResponse(int status, byte[] body) {
+
+        this(status, body, -1);
+    }
+
+    /**
+     * Create a vault response that tells the client how long to wait before retrying the request.
+     *
+     * @param status            HTTP status of the response
+     * @param body              Body of the response, may be null
+     * @param retryAfterSeconds Time in seconds from the <code>Retry-After</code> header, or -1 if there is none
+     */
+    public VaultResponse(int status, byte[] body, long retryAfterSeconds) {
+
+        this.status = status;
+        this.body = body != null ? body : new byte[0];
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getStatus() {
+
+        return status;
+    }
+
+    public byte[] getBody() {
+
+        return body;
+    }
+
+    /**
+     * Get the time the vault asked the client to wait before retrying the request.
+     *
+     * @return Time in seconds, or -1 if the response has no <code>Retry-After</code> header
+     */
+    public long getRetryAfterSeconds() {
+
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Get the <code>data</code> object of the response.
+     *
+     * @return Data object, or null if the response has none
+     */
+    public JsonObject getData() {
+
+        return getObject(getJson(), DATA_FIELD);
+    }
+
+    /**
+     * Get the fields of a secret read from a KV secrets engine. Values that are not strings are returned as JSON.
+     *
+     * @param engineVersion Version of the KV secrets engine the secret was read from
+     * @return Fields of the secret, empty if the response has none
+     * @throws VaultParseException when the response cannot be parsed
+     */
+    public Map<String, String> getSecretData(int engineVersion) throws VaultParseException {
+
+        return getSecret(engineVersion, null).getFields();
+    }
+
+    /**
+     * Get a secret read from a KV secrets engine along with its version. The body is streamed without building a
+     * JSON tree, and only the fields asked for are extracted. Values that are not strings are returned as JSON.
+     *
+     * @param engineVersion Version of the KV secrets engine the secret was read from
+     * @param fields        Names of the fields to extract, or null to extract every field
+     * @return Secret in the response, without fields if the response has none
+     * @throws VaultParseException when the response is not a JSON object or is truncated
+     */
+    public KvSecret getSecret(int engineVersion, Collection<String> fields) throws VaultParseException {
+
+        return KvSecretParser.parse(body, engineVersion, fields);
+    }
+
+    /**
+     * Get the keys of a list response.
+     *
+     * @return Keys listed, empty if the response has none
+     */
+    public List<String> getListData() {
+
+        JsonObject data = getData();
+        JsonValue keys = data != null ? data.get(KEYS_FIELD) : null;
+        if (keys == null || !keys.isArray()) {
+            return Collections.emptyList();
+        }
+        List<String> values = new ArrayList<>(keys.asArray().size());
+        for (JsonValue key : keys.asArray()) {
+            values.add(key.asString());
+        }
+        return values;
+    }
+
+    public String getAuthClientToken() {
+
+        JsonObject auth = getObject(getJson(), AUTH_FIELD);
+        return auth != null ? auth.getString(CLIENT_TOKEN_FIELD, null) : null;
+    }
+
+    public long getAuthLeaseDuration() {
+
+        JsonObject auth = getObject(getJson(), AUTH_FIELD);
+        return auth != null ? auth.getLong(LEASE_DURATION_FIELD, 0) : 0;
+    }
+
+    public boolean isAuthRenewable() {
+
+        JsonObject auth = getObject(getJson(), AUTH_FIELD);
+        return auth != null && auth.getBoolean(RENEWABLE_FIELD, false);
+    }
+
+    /**
+     * Get the remaining TTL of a token from a token lookup response.
+     *
+     * @return TTL in seconds, or 0 if the token does not expire
+     */
+    public long getTtl() {
+
+        JsonObject data = getData();
+        return data != null ? data.getLong(TTL_FIELD, 0) : 0;
+    }
+
+    /**
+     * Check whether a token is renewable, from a token lookup response.
+     *
+     * @return true if the token is renewable
+     */
+    public boolean isRenewable() {
+
+        JsonObject data = getData();
+        return data != null && data.getBoolean(RENEWABLE_FIELD, false);
+    }
+
+    private JsonObject getJson() {
+
+        JsonObject parsed = json;
+        if (parsed == null) {
+            parsed = new JsonObject();
+            if (body.length > 0) {
+                try {
+                    JsonValue value = Json.parse(new String(body, StandardCharsets.UTF_8));
+                    if (value.isObject()) {
+                        parsed = value.asObject();
+                    }
+                } catch (RuntimeException e) {
+                    // Not a JSON response, such as an error page of a proxy in front of the vault.
+                }
+            }
+            json = parsed;
+        }
+        return parsed;
+    }
+
+    private static JsonObject getObject(JsonObject parent, String name) {
+
+        JsonValue value = parent != null ? parent.get(name) : null;
+        return value != null && value.isObject() ? value.asObject() : null;
+    }
+}
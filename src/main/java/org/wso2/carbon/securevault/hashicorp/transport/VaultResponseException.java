@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import com.bettercloud.vault.VaultException;
+
+/**
+ * Vault exception raised for an error response, carrying the response so that callers can inspect it, such as to
+ * honour the <code>Retry-After</code> header of a rate limited request.
+ */
+public class VaultResponseException extends VaultException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient VaultResponse response;
+
+    /**
+     * Create an exception for an error response.
+     *
+     * @param response Error response of the vault
+     */
+    public VaultResponseException(VaultResponse response) {
+
+        super("Vault responded with HTTP status code: " + response.getStatus(), response.getStatus());
+        this.response = response;
+    }
+
+    /**
+     * Get the error response.
+     *
+     * @return Error response of the vault, or null if the exception was deserialized
+     */
+    public VaultResponse getResponse() {
+
+        return response;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends requests to a HashiCorp Vault server. Every operation is asynchronous and completes with the response of the
+ * vault, so that implementations are free to send requests on their own threads and connections.
+ * <p>
+ * Read and list operations complete normally with responses of the <code>2xx</code> and <code>4xx</code> classes,
+ * so that a missing secret or a rejected token can be told apart by its status. Any other status, and any non
+ * <code>2xx</code> status of the authentication operations, completes the operation exceptionally with a
+ * {@link com.bettercloud.vault.VaultException} carrying the HTTP status. Failures to reach the vault complete the
+ * operation exceptionally with the underlying I/O error.
+ */
+public interface VaultTransport {
+
+    /**
+     * Read a secret.
+     *
+     * @param address       Address of the vault server
+     * @param namespace     Vault namespace, or null for the root namespace
+     * @param accessToken   Token used to authenticate with the vault
+     * @param engineVersion Version of the KV secrets engine
+     * @param path          Path of the secret, starting with the engine path
+     * @return Future completed with the response of the vault
+     */
+    CompletableFuture<VaultResponse> read(String address, String namespace, String accessToken, int engineVersion,
+                                          String path);
+
+    /**
+     * List the secrets in a folder.
+     *
+     * @param address       Address of the vault server
+     * @param namespace     Vault namespace, or null for the root namespace
+     * @param accessToken   Token used to authenticate with the vault
+     * @param engineVersion Version of the KV secrets engine
+     * @param path          Path of the folder, starting with the engine path
+     * @return Future completed with the response of the vault
+     */
+    CompletableFuture<VaultResponse> list(String address, String namespace, String accessToken, int engineVersion,
+                                          String path);
+
+    /**
+     * Send a GET request to a vault API path that is not covered by the other operations, such as the KV v2
+     * metadata of a secret.
+     *
+     * @param address     Address of the vault server
+     * @param namespace   Vault namespace, or null for the root namespace
+     * @param accessToken Token used to authenticate with the vault
+     * @param apiPath     API path relative to /v1/
+     * @return Future completed with the response of the vault, whatever its status
+     */
+    CompletableFuture<VaultResponse> get(String address, String namespace, String accessToken, String apiPath);
+
+    /**
+     * Log in with AppRole.
+     *
+     * @param address  Address of the vault server
+     * @param roleId   Role id of the AppRole
+     * @param secretId Secret id of the AppRole
+     * @return Future completed with the response of the vault
+     */
+    CompletableFuture<VaultResponse> loginWithAppRole(String address, String roleId, String secretId);
+
+    /**
+     * Look up the TTL of a token.
+     *
+     * @param address     Address of the vault server
+     * @param accessToken Token to look up
+     * @return Future completed with the response of the vault
+     */
+    CompletableFuture<VaultResponse> lookupSelf(String address, String accessToken);
+
+    /**
+     * Renew a token.
+     *
+     * @param address     Address of the vault server
+     * @param accessToken Token to renew
+     * @return Future completed with the response of the vault
+     */
+    CompletableFuture<VaultResponse> renewSelf(String address, String accessToken);
+
+    /**
+     * Send a POST request with a JSON body to a vault API path that is not covered by the other operations, such as
+     * a Transit decryption.
+     *
+     * @param address     Address of the vault server
+     * @param namespace   Vault namespace, or null for the root namespace
+     * @param accessToken Token used to authenticate with the vault
+     * @param apiPath     API path relative to /v1/
+     * @param body        JSON body of the request
+     * @return Future completed with the response of the vault, whatever its status
+     */
+    CompletableFuture<VaultResponse> post(String address, String namespace, String accessToken, String apiPath,
+                                          String body);
+
+    /**
+     * Release the threads and connections held by the transport.
+     */
+    default void close() {
+
+    }
+}
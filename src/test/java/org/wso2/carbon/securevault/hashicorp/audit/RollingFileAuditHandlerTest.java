@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link RollingFileAuditHandler}.
+ */
+public class RollingFileAuditHandlerTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testEventIsWrittenOnOneLine() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("logs").resolve("audit.log");
+        RollingFileAuditHandler handler = new RollingFileAuditHandler(file, 1024 * 1024, 2);
+        SecretAccessEvent event = new SecretAccessEvent();
+        event.set(1767262530123L, "db_password", Thread.currentThread(), null, SecretAccessOutcome.FAILED,
+                FailureCause.VAULT_UNAVAILABLE, 1830000);
+        handler.handle(Collections.singletonList(event));
+        handler.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(Collections.singletonList("2026-01-01T10:15:30.123Z alias=db_password outcome=FAILED "
+                + "cause=VAULT_UNAVAILABLE endpoint=- thread=" + Thread.currentThread().getName() + "#"
+                + Thread.currentThread().getId() + " latencyMicros=1830"), lines);
+    }
+
+    @Test
+    public void testFileIsRolledOver() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("audit.log");
+        int lineLength = line("alias_0").length();
+        RollingFileAuditHandler handler = new RollingFileAuditHandler(file, lineLength * 2L, 2);
+        for (int i = 0; i < 10; i++) {
+            handler.handle(Collections.singletonList(event("alias_" + i)));
+        }
+        handler.close();
+
+        assertEquals(lines("alias_8", "alias_9"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        assertEquals(lines("alias_6", "alias_7"), Files.readAllLines(rolled(file, 1), StandardCharsets.UTF_8));
+        assertEquals(lines("alias_4", "alias_5"), Files.readAllLines(rolled(file, 2), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(rolled(file, 3)));
+    }
+
+    @Test
+    public void testFileIsTruncatedWithoutRolledFiles() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("audit.log");
+        RollingFileAuditHandler handler = new RollingFileAuditHandler(file, line("alias_0").length() * 2L, 0);
+        for (int i = 0; i < 5; i++) {
+            handler.handle(Collections.singletonList(event("alias_" + i)));
+        }
+        handler.close();
+
+        assertEquals(lines("alias_4"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        assertFalse(Files.exists(rolled(file, 1)));
+    }
+
+    @Test
+    public void testExistingFileIsAppendedTo() throws Exception {
+
+        Path file = folder.getRoot().toPath().resolve("audit.log");
+        RollingFileAuditHandler handler = new RollingFileAuditHandler(file, 1024 * 1024, 2);
+        handler.handle(Collections.singletonList(event("alias_0")));
+        handler.close();
+
+        handler = new RollingFileAuditHandler(file, 1024 * 1024, 2);
+        handler.handle(Collections.singletonList(event("alias_1")));
+        handler.close();
+
+        assertEquals(lines("alias_0", "alias_1"), Files.readAllLines(file, StandardCharsets.UTF_8));
+        assertTrue(Files.notExists(rolled(file, 1)));
+    }
+
+    private static SecretAccessEvent event(String alias) {
+
+        SecretAccessEvent event = new SecretAccessEvent();
+        event.set(0, alias, Thread.currentThread(), "http://127.0.0.1:8200", SecretAccessOutcome.CACHE_HIT, null,
+                1000);
+        return event;
+    }
+
+    private static String line(String alias) {
+
+        return "1970-01-01T00:00:00Z alias=" + alias + " outcome=CACHE_HIT cause=- endpoint=http://127.0.0.1:8200 "
+                + "thread=" + Thread.currentThread().getName() + "#" + Thread.currentThread().getId()
+                + " latencyMicros=1" + System.lineSeparator();
+    }
+
+    private static List<String> lines(String... aliases) {
+
+        List<String> lines = new ArrayList<>();
+        for (String alias : aliases) {
+            lines.add(line(alias).trim());
+        }
+        return lines;
+    }
+
+    private static Path rolled(Path file, int index) {
+
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
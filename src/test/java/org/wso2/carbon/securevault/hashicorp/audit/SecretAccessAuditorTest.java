@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.audit;
+
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SecretAccessAuditor}.
+ */
+public class SecretAccessAuditorTest {
+
+    private static final String ENDPOINT = "http://127.0.0.1:8200";
+
+    @Test
+    public void testEventsAreHandledInOrder() {
+
+        RecordingHandler handler = new RecordingHandler();
+        SecretAccessAuditor auditor = new SecretAccessAuditor(handler, 16, 4, SecretAccessAuditor.OverflowPolicy.BLOCK,
+                1000);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(auditor.record("alias_" + i, Thread.currentThread(), ENDPOINT, SecretAccessOutcome.VAULT_READ,
+                    null, 1000));
+        }
+        assertTrue(auditor.record("missing", Thread.currentThread(), null, SecretAccessOutcome.FAILED,
+                FailureCause.NOT_FOUND, 1000));
+        auditor.close();
+
+        assertEquals(11, handler.lines.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals("alias_" + i + " VAULT_READ null " + ENDPOINT + " " + Thread.currentThread().getName(),
+                    handler.lines.get(i));
+        }
+        assertEquals("missing FAILED NOT_FOUND null " + Thread.currentThread().getName(), handler.lines.get(10));
+        assertTrue(handler.closed.get());
+        assertEquals(0, auditor.getDroppedCount());
+    }
+
+    @Test
+    public void testFullBufferDropsEvents() throws Exception {
+
+        RecordingHandler handler = new RecordingHandler();
+        handler.blocked = new CountDownLatch(1);
+        SecretAccessAuditor auditor = new SecretAccessAuditor(handler, 2, 2, SecretAccessAuditor.OverflowPolicy.DROP,
+                0);
+
+        List<Boolean> recorded = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            recorded.add(record(auditor, "alias_" + i));
+        }
+        handler.blocked.countDown();
+        auditor.close();
+
+        assertEquals(Arrays.asList(true, true, false, false), recorded);
+        assertEquals(2, auditor.getDroppedCount());
+        assertEquals(2, handler.lines.size());
+    }
+
+    @Test
+    public void testBlockPolicyWaitsBeforeDropping() throws Exception {
+
+        RecordingHandler handler = new RecordingHandler();
+        handler.blocked = new CountDownLatch(1);
+        SecretAccessAuditor auditor = new SecretAccessAuditor(handler, 1, 1, SecretAccessAuditor.OverflowPolicy.BLOCK,
+                50);
+        assertTrue(record(auditor, "alias_0"));
+
+        long startTime = System.nanoTime();
+        assertFalse(record(auditor, "alias_1"));
+        assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        handler.blocked.countDown();
+        auditor.close();
+        assertEquals(1, auditor.getDroppedCount());
+    }
+
+    @Test
+    public void testFailedBatchesAreDroppedUntilHandlerRecovers() throws Exception {
+
+        RecordingHandler handler = new RecordingHandler();
+        handler.failing.set(true);
+        SecretAccessAuditor auditor = new SecretAccessAuditor(handler, 16, 16, SecretAccessAuditor.OverflowPolicy.DROP,
+                0);
+        assertTrue(record(auditor, "alias_0"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (auditor.getDroppedCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, auditor.getDroppedCount());
+
+        handler.failing.set(false);
+        assertTrue(record(auditor, "alias_1"));
+        auditor.close();
+
+        assertEquals(1, handler.lines.size());
+        assertTrue(handler.lines.get(0).startsWith("alias_1 "));
+    }
+
+    private static boolean record(SecretAccessAuditor auditor, String alias) {
+
+        return auditor.record(alias, Thread.currentThread(), ENDPOINT, SecretAccessOutcome.CACHE_HIT, null, 1000);
+    }
+
+    /**
+     * Handler that keeps a line per event, optionally blocking on the first batch or failing every batch.
+     */
+    private static final class RecordingHandler implements SecretAccessAuditHandler {
+
+        private final List<String> lines = new CopyOnWriteArrayList<>();
+        private final AtomicBoolean failing = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile CountDownLatch blocked;
+
+        @Override
+        public void handle(List<SecretAccessEvent> events) throws IOException {
+
+            CountDownLatch latch = blocked;
+            if (latch != null) {
+                try {
+                    latch.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing.get()) {
+                throw new IOException("Audit handler is failing");
+            }
+            for (SecretAccessEvent event : events) {
+                lines.add(event.getAlias() + " " + event.getOutcome() + " " + event.getFailureCause() + " "
+                        + event.getEndpoint() + " " + event.getThreadName());
+            }
+        }
+
+        @Override
+        public void close() {
+
+            closed.set(true);
+        }
+    }
+}
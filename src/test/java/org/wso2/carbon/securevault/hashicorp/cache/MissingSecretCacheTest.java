@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.cache;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link MissingSecretCache}.
+ */
+public class MissingSecretCacheTest {
+
+    @Test
+    public void testMissingSecretIsRemembered() {
+
+        MissingSecretCache cache = new MissingSecretCache(10, 60);
+        assertFalse(cache.contains("secret/db"));
+
+        cache.put("secret/db");
+
+        assertTrue(cache.contains("secret/db"));
+        assertFalse(cache.contains("secret/api"));
+    }
+
+    @Test
+    public void testMissingSecretExpires() throws Exception {
+
+        MissingSecretCache cache = new MissingSecretCache(10, 1);
+        cache.put("secret/db");
+
+        Thread.sleep(1100);
+
+        assertFalse(cache.contains("secret/db"));
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        MissingSecretCache cache = new MissingSecretCache(10, 60);
+        cache.put("secret/db");
+        cache.put("secret/api");
+        cache.put("secret/ldap");
+
+        cache.invalidate("secret/db");
+        assertFalse(cache.contains("secret/db"));
+        assertTrue(cache.contains("secret/api"));
+
+        cache.invalidateAll();
+        assertFalse(cache.contains("secret/api"));
+        assertFalse(cache.contains("secret/ldap"));
+    }
+
+    @Test
+    public void testSizeIsBounded() {
+
+        MissingSecretCache cache = new MissingSecretCache(5, 60);
+        for (int i = 0; i < 50; i++) {
+            cache.put("secret/" + i);
+        }
+
+        int remembered = 0;
+        for (int i = 0; i < 50; i++) {
+            if (cache.contains("secret/" + i)) {
+                remembered++;
+            }
+        }
+        assertEquals(5, remembered);
+    }
+
+    @Test
+    public void testOldestSecretIsEvicted() {
+
+        MissingSecretCache cache = new MissingSecretCache(3, 60);
+        cache.put("secret/a");
+        cache.put("secret/b");
+        cache.put("secret/c");
+        cache.put("secret/d");
+
+        assertFalse(cache.contains("secret/a"));
+        assertTrue(cache.contains("secret/b"));
+        assertTrue(cache.contains("secret/c"));
+        assertTrue(cache.contains("secret/d"));
+    }
+
+    @Test
+    public void testSecretAddedAgainIsKeptByItsLatestEntry() {
+
+        MissingSecretCache cache = new MissingSecretCache(2, 60);
+        cache.put("secret/a");
+        cache.put("secret/b");
+        cache.invalidate("secret/a");
+        cache.put("secret/a");
+        cache.put("secret/c");
+
+        assertTrue(cache.contains("secret/a"));
+        assertFalse(cache.contains("secret/b"));
+        assertTrue(cache.contains("secret/c"));
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+
+        try {
+            new MissingSecretCache(0, 60);
+            fail("Cache size should be positive");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+        try {
+            new MissingSecretCache(10, 0);
+            fail("Cache TTL should be positive");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+}
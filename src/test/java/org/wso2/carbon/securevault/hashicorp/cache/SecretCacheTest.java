@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.cache;
+
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link SecretCache}.
+ */
+public class SecretCacheTest {
+
+    @Test
+    public void testGetReturnsCachedSecret() {
+
+        SecretCache<String> cache = new SecretCache<>(10, 60, 0, 0, null, null);
+        cache.put("db", "secret");
+
+        assertEquals("secret", cache.get("db"));
+        assertNull(cache.get("other"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSecretIsEvicted() {
+
+        VaultMetrics metrics = new VaultMetrics();
+        SecretCache<String> cache = new SecretCache<>(2, 60, 0, 0, null, metrics);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals(2, cache.size());
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, metrics.getCacheEvictionCount());
+    }
+
+    @Test
+    public void testReplacingSecretDoesNotEvict() {
+
+        SecretCache<String> cache = new SecretCache<>(2, 60, 0, 0, null, null);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.put("a", "3");
+
+        assertEquals("3", cache.get("a"));
+        assertEquals("2", cache.get("b"));
+    }
+
+    @Test
+    public void testExpiredSecretIsNotReturned() throws InterruptedException {
+
+        SecretCache<String> cache = new SecretCache<>(10, 1, 0, 0, null, null);
+        cache.put("db", "secret");
+        Thread.sleep(1100);
+
+        assertNull(cache.get("db"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testExtendOnlyMatchingVersion() {
+
+        SecretCache<String> cache = new SecretCache<>(10, 60, 0, 0, null, null);
+        cache.put("db", "secret", 3);
+
+        assertFalse(cache.extend("db", 2));
+        assertTrue(cache.extend("db", 3));
+        assertFalse(cache.extend("missing", 3));
+        assertEquals("secret", cache.get("db"));
+    }
+
+    @Test
+    public void testRefreshAheadIsRequestedOnce() throws InterruptedException {
+
+        List<String> refreshed = new ArrayList<>();
+        SecretCache<String> cache = new SecretCache<>(10, 1, 0.01, 0,
+                (key, version) -> refreshed.add(key + ":" + version), null);
+        cache.put("db", "secret", 7);
+        Thread.sleep(50);
+
+        assertEquals("secret", cache.get("db"));
+        assertEquals("secret", cache.get("db"));
+        assertEquals(1, refreshed.size());
+        assertEquals("db:7", refreshed.get(0));
+    }
+
+    @Test
+    public void testFailedRefreshIsRetriedAfterDelay() throws InterruptedException {
+
+        List<String> refreshed = new ArrayList<>();
+        SecretCache<String> cache = new SecretCache<>(10, 8, 0.01, 0,
+                (key, version) -> refreshed.add(key), null);
+        cache.put("db", "secret", 7);
+        Thread.sleep(100);
+
+        cache.get("db");
+        assertEquals(1, refreshed.size());
+        cache.refreshFailed("db");
+        cache.get("db");
+        assertEquals(1, refreshed.size());
+
+        // The retry is delayed by 1 to 2 seconds, a quarter of the remaining time to live with jitter.
+        Thread.sleep(2100);
+        assertEquals("secret", cache.get("db"));
+        assertEquals(2, refreshed.size());
+    }
+
+    @Test
+    public void testInvalidate() {
+
+        SecretCache<String> cache = new SecretCache<>(10, 60, 0, 0, null, null);
+        cache.put("a", "1");
+        cache.put("a#user", "2");
+        cache.put("b", "3");
+        assertTrue(cache.invalidate("b"));
+        assertFalse(cache.invalidate("b"));
+
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedSecretsAreEvictedInBatches() {
+
+        VaultMetrics metrics = new VaultMetrics();
+        SecretCache<String> cache = new SecretCache<>(16, 60, 0, 0, null, metrics);
+        for (int i = 0; i < 16; i++) {
+            cache.put("key" + i, "value" + i);
+        }
+        for (int i = 8; i < 16; i++) {
+            cache.get("key" + i);
+        }
+        cache.get("key0");
+        cache.put("key16", "value16");
+
+        assertEquals(14, cache.size());
+        assertEquals(3, metrics.getCacheEvictionCount());
+        assertEquals("value0", cache.get("key0"));
+        for (int i = 8; i < 16; i++) {
+            assertEquals("value" + i, cache.get("key" + i));
+        }
+        assertEquals("value16", cache.get("key16"));
+    }
+
+    @Test
+    public void testConcurrentPutsStayWithinMaxSize() throws InterruptedException {
+
+        SecretCache<String> cache = new SecretCache<>(100, 60, 0, 0, null, null);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int writer = t;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < 10000; i++) {
+                    cache.put(writer + ":" + i, "value");
+                    cache.get(writer + ":" + (i / 2));
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test
+    public void testHitsAndMissesAreRecorded() {
+
+        VaultMetrics metrics = new VaultMetrics();
+        SecretCache<String> cache = new SecretCache<>(10, 60, 0, 0, null, metrics);
+        cache.put("db", "secret");
+        cache.get("db");
+        cache.get("other");
+
+        assertEquals(1, metrics.getCacheHitCount());
+        assertEquals(1, metrics.getCacheMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+
+        new SecretCache<String>(0, 60, 0, 0, null, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRefreshAheadFactor() {
+
+        new SecretCache<String>(10, 60, 1, 0, null, null);
+    }
+}
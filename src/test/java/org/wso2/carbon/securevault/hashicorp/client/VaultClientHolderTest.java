@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import com.bettercloud.vault.VaultException;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.transport.StubVaultTransport;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponse;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponseException;
+
+import java.io.IOException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link VaultClientHolder}.
+ */
+public class VaultClientHolderTest {
+
+    private static final String ADDRESS = "http://127.0.0.1:8200";
+
+    private final StubVaultTransport transport = new StubVaultTransport();
+
+    @Test
+    public void testRateLimitedReadIsRetried() throws Exception {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport, null, new VaultRetryPolicy(3, 10, 50));
+        transport.respond(429, null).respond(429, null).respond(200, "{}");
+
+        assertEquals(200, read(clientHolder).getStatus());
+        assertEquals(3, transport.getRequests());
+    }
+
+    @Test
+    public void testRateLimitedLoginIsRetried() throws Exception {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport, null, new VaultRetryPolicy(3, 10, 50));
+        transport.fail(new VaultResponseException(new VaultResponse(429, null))).respond(200, "{}");
+
+        assertEquals(200, clientHolder.loginWithAppRole(ADDRESS, "role", "secret").getStatus());
+        assertEquals(2, transport.getRequests());
+    }
+
+    @Test
+    public void testRetriesAreBounded() throws Exception {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport, null, new VaultRetryPolicy(2, 10, 50));
+        transport.respond(429, null).respond(429, null).respond(429, null).respond(200, "{}");
+
+        assertEquals(429, read(clientHolder).getStatus());
+        assertEquals(3, transport.getRequests());
+    }
+
+    @Test
+    public void testRetryAfterBeyondMaxDelayIsNotRetried() throws Exception {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport, null, new VaultRetryPolicy(3, 10, 1000));
+        transport.respond(new VaultResponse(429, null, 5)).respond(200, "{}");
+
+        assertEquals(429, read(clientHolder).getStatus());
+        assertEquals(1, transport.getRequests());
+    }
+
+    @Test
+    public void testServerErrorIsNotRetried() throws Exception {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport, null, new VaultRetryPolicy(3, 10, 50));
+        transport.fail(new VaultResponseException(new VaultResponse(503, null))).respond(200, "{}");
+
+        try {
+            read(clientHolder);
+            fail("Server error should fail the read");
+        } catch (VaultException e) {
+            assertEquals(503, e.getHttpStatusCode());
+        }
+        assertEquals(1, transport.getRequests());
+    }
+
+    @Test
+    public void testLimiterIsReleasedWhenRequestFails() throws Exception {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport, new VaultRequestLimiter(0, 0, 1, 50),
+                null);
+        transport.fail(new IOException("Connection refused")).respond(200, "{}");
+
+        try {
+            read(clientHolder);
+            fail("Failed request should fail the read");
+        } catch (HashiCorpVaultException e) {
+            assertTrue(e.getCause() instanceof IOException);
+        }
+        assertEquals(200, read(clientHolder).getStatus());
+    }
+
+    private static VaultResponse read(VaultClientHolder clientHolder) throws VaultException,
+            HashiCorpVaultException {
+
+        return clientHolder.read(ADDRESS, null, "token", 2, "secret/db");
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import com.bettercloud.vault.VaultException;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link VaultEndpointSelector}.
+ */
+public class VaultEndpointSelectorTest {
+
+    private static final String PRIMARY = "http://vault-1:8200";
+    private static final String SECONDARY = "http://vault-2:8200";
+    private static final long OPEN_DURATION_MILLIS = 100;
+
+    private final List<String> sent = new ArrayList<>();
+    private final Set<String> unavailable = new HashSet<>();
+
+    @Test
+    public void testSingleEndpointIsAlwaysUsed() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Collections.singletonList(PRIMARY), 1,
+                OPEN_DURATION_MILLIS);
+        unavailable.add(PRIMARY);
+        for (int i = 0; i < 3; i++) {
+            assertUnavailable(selector);
+        }
+
+        assertEquals(Arrays.asList(PRIMARY, PRIMARY, PRIMARY), sent);
+        assertEquals(PRIMARY, selector.getPrimaryAddress());
+    }
+
+    @Test
+    public void testUnavailableEndpointFailsOver() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Arrays.asList(PRIMARY, SECONDARY), 3,
+                OPEN_DURATION_MILLIS);
+        unavailable.add(PRIMARY);
+
+        assertEquals(SECONDARY, selector.execute(this::send));
+        assertEquals(Arrays.asList(PRIMARY, SECONDARY), sent);
+    }
+
+    @Test
+    public void testRejectedRequestDoesNotFailOver() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Arrays.asList(PRIMARY, SECONDARY), 3,
+                OPEN_DURATION_MILLIS);
+        try {
+            selector.execute(address -> {
+                sent.add(address);
+                throw new VaultException("Permission denied", 403);
+            });
+            fail("Rejected request should fail");
+        } catch (VaultException e) {
+            assertEquals(403, e.getHttpStatusCode());
+        }
+        assertEquals(Collections.singletonList(PRIMARY), sent);
+    }
+
+    @Test
+    public void testCircuitOpensAfterConsecutiveFailures() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Arrays.asList(PRIMARY, SECONDARY), 2, 60000);
+        unavailable.add(PRIMARY);
+        unavailable.add(SECONDARY);
+        for (int i = 0; i < 4; i++) {
+            assertUnavailable(selector);
+        }
+
+        // Each endpoint is tried until it fails twice in a row, after which its circuit stays open.
+        assertEquals(2, Collections.frequency(sent, PRIMARY));
+        assertEquals(2, Collections.frequency(sent, SECONDARY));
+    }
+
+    @Test
+    public void testTrialRequestClosesRecoveredCircuit() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Arrays.asList(PRIMARY, SECONDARY), 1,
+                OPEN_DURATION_MILLIS);
+        unavailable.add(PRIMARY);
+        selector.execute(this::send);
+        selector.execute(this::send);
+        assertEquals(Arrays.asList(PRIMARY, SECONDARY, SECONDARY), sent);
+
+        // A failed trial opens the circuit again for another open duration.
+        Thread.sleep(OPEN_DURATION_MILLIS * 2);
+        sent.clear();
+        selector.execute(this::send);
+        selector.execute(this::send);
+        assertEquals(Arrays.asList(PRIMARY, SECONDARY, SECONDARY), sent);
+
+        Thread.sleep(OPEN_DURATION_MILLIS * 2);
+        unavailable.clear();
+        sent.clear();
+        assertEquals(PRIMARY, selector.execute(this::send));
+        assertEquals(Collections.singletonList(PRIMARY), sent);
+    }
+
+    @Test
+    public void testFailsWhenEveryEndpointIsUnavailable() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Arrays.asList(PRIMARY, SECONDARY), 1, 60000);
+        unavailable.add(PRIMARY);
+        unavailable.add(SECONDARY);
+
+        assertUnavailable(selector);
+        assertEquals(Arrays.asList(PRIMARY, SECONDARY), sent);
+
+        // Both circuits are open, so the request fails without being sent.
+        assertUnavailable(selector);
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testFasterEndpointIsPreferred() throws Exception {
+
+        VaultEndpointSelector selector = new VaultEndpointSelector(Arrays.asList(PRIMARY, SECONDARY), 3,
+                OPEN_DURATION_MILLIS);
+        for (int i = 0; i < 5; i++) {
+            selector.execute(address -> {
+                if (PRIMARY.equals(address)) {
+                    sleep(20);
+                }
+                return send(address);
+            });
+        }
+
+        assertEquals(1, Collections.frequency(sent, PRIMARY));
+        assertEquals(4, Collections.frequency(sent, SECONDARY));
+    }
+
+    private String send(String address) throws VaultException {
+
+        sent.add(address);
+        if (unavailable.contains(address)) {
+            throw new VaultException("Vault is unavailable", 503);
+        }
+        return address;
+    }
+
+    private void assertUnavailable(VaultEndpointSelector selector) throws HashiCorpVaultException {
+
+        try {
+            selector.execute(this::send);
+            fail("Request should fail when the vault is unavailable");
+        } catch (VaultException e) {
+            assertEquals(503, e.getHttpStatusCode());
+        }
+    }
+
+    private static void sleep(long millis) throws HashiCorpVaultException {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashiCorpVaultException("Interrupted while sending the request", e);
+        }
+    }
+}
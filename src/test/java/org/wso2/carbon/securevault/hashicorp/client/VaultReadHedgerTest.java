@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import com.bettercloud.vault.VaultException;
+import org.junit.After;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link VaultReadHedger}.
+ */
+public class VaultReadHedgerTest {
+
+    private static final int WARM_UP_READS = 32;
+    private static final long MIN_DELAY_MILLIS = 50;
+
+    private final VaultMetrics metrics = new VaultMetrics();
+    private VaultReadHedger hedger;
+
+    @After
+    public void tearDown() {
+
+        if (hedger != null) {
+            hedger.close();
+        }
+    }
+
+    @Test
+    public void testFirstReadIsSentOnCallingThread() throws Exception {
+
+        hedger = warmUp(new VaultReadHedger(95, MIN_DELAY_MILLIS, 1, metrics));
+        assertEquals(MIN_DELAY_MILLIS, hedger.getDelayMillis());
+
+        List<Thread> threads = new ArrayList<>();
+        String result = hedger.execute(() -> {
+            threads.add(Thread.currentThread());
+            return "secret";
+        });
+
+        assertEquals("secret", result);
+        assertEquals(1, threads.size());
+        assertSame(Thread.currentThread(), threads.get(0));
+        assertEquals(0, metrics.getHedgedReadCount());
+    }
+
+    @Test
+    public void testSlowFirstReadIsHedgedAndCancelled() throws Exception {
+
+        hedger = warmUp(new VaultReadHedger(95, MIN_DELAY_MILLIS, 1, metrics));
+        Thread caller = Thread.currentThread();
+        AtomicBoolean cancelled = new AtomicBoolean();
+
+        String result = hedger.execute(() -> {
+            if (Thread.currentThread() != caller) {
+                return "hedged";
+            }
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                cancelled.set(true);
+                throw new HashiCorpVaultException("Interrupted while reading", e);
+            }
+            return "first";
+        });
+
+        assertEquals("hedged", result);
+        assertTrue(cancelled.get());
+        assertFalse("Cancelling the first read leaked an interrupt", Thread.interrupted());
+        assertEquals(1, metrics.getHedgedReadCount());
+        assertEquals(1, metrics.getHedgedReadWinCount());
+    }
+
+    @Test
+    public void testLosingHedgedReadIsCancelled() throws Exception {
+
+        hedger = warmUp(new VaultReadHedger(95, MIN_DELAY_MILLIS, 1, metrics));
+        Thread caller = Thread.currentThread();
+        CountDownLatch cancelled = new CountDownLatch(1);
+
+        String result = hedger.execute(() -> {
+            try {
+                Thread.sleep(Thread.currentThread() == caller ? MIN_DELAY_MILLIS * 4 : 10000);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+                throw new HashiCorpVaultException("Interrupted while reading", e);
+            }
+            return Thread.currentThread() == caller ? "first" : "hedged";
+        });
+
+        assertEquals("first", result);
+        assertTrue("Hedged read was not cancelled", cancelled.await(5, TimeUnit.SECONDS));
+        assertEquals(1, metrics.getHedgedReadCount());
+        assertEquals(0, metrics.getHedgedReadWinCount());
+    }
+
+    @Test
+    public void testFailsWhenEveryReadFails() throws Exception {
+
+        hedger = warmUp(new VaultReadHedger(95, MIN_DELAY_MILLIS, 1, metrics));
+        Thread caller = Thread.currentThread();
+
+        try {
+            hedger.execute(() -> {
+                if (Thread.currentThread() == caller) {
+                    sleep(MIN_DELAY_MILLIS * 4);
+                }
+                throw new VaultException("Vault is unavailable", 503);
+            });
+            fail("Read should fail when both the first and the hedged read fail");
+        } catch (VaultException e) {
+            assertEquals(503, e.getHttpStatusCode());
+        }
+        assertEquals(1, metrics.getHedgedReadCount());
+        assertEquals(0, metrics.getHedgedReadWinCount());
+    }
+
+    @Test
+    public void testFailedReadLatenciesAreRecorded() {
+
+        hedger = new VaultReadHedger(95, 0, 1, metrics);
+        for (int i = 0; i < WARM_UP_READS; i++) {
+            try {
+                hedger.execute(() -> {
+                    sleep(MIN_DELAY_MILLIS);
+                    throw new VaultException("Vault is unavailable", 503);
+                });
+                fail("Read should fail");
+            } catch (VaultException | HashiCorpVaultException e) {
+                // Expected.
+            }
+        }
+
+        assertTrue("Hedging delay is " + hedger.getDelayMillis() + " ms",
+                hedger.getDelayMillis() >= MIN_DELAY_MILLIS);
+    }
+
+    @Test
+    public void testHedgedReadsAreBoundedByMaxHedges() throws Exception {
+
+        hedger = warmUp(new VaultReadHedger(95, MIN_DELAY_MILLIS, 1, metrics));
+        AtomicInteger hedgesInFlight = new AtomicInteger();
+        AtomicInteger maxHedgesInFlight = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                results.add(callers.submit(() -> hedger.execute(() -> {
+                    if (!Thread.currentThread().getName().startsWith("hashicorp-vault-hedged-read")) {
+                        sleep(MIN_DELAY_MILLIS * 10);
+                        return "first";
+                    }
+                    maxHedgesInFlight.accumulateAndGet(hedgesInFlight.incrementAndGet(), Math::max);
+                    try {
+                        sleep(MIN_DELAY_MILLIS * 6);
+                    } finally {
+                        hedgesInFlight.decrementAndGet();
+                    }
+                    return "hedged";
+                })));
+            }
+            for (Future<String> result : results) {
+                result.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+
+        assertEquals(1, maxHedgesInFlight.get());
+        assertEquals(2, metrics.getHedgedReadCount());
+    }
+
+    private static VaultReadHedger warmUp(VaultReadHedger hedger) throws Exception {
+
+        for (int i = 0; i < WARM_UP_READS; i++) {
+            hedger.execute(() -> "warm-up");
+        }
+        return hedger;
+    }
+
+    private static void sleep(long millis) throws HashiCorpVaultException {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HashiCorpVaultException("Interrupted while reading", e);
+        }
+    }
+}
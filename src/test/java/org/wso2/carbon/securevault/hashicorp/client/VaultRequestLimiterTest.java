@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link VaultRequestLimiter}.
+ */
+public class VaultRequestLimiterTest {
+
+    @Test
+    public void testBurstIsSentAtOnce() throws HashiCorpVaultException {
+
+        VaultRequestLimiter limiter = new VaultRequestLimiter(1, 3, 0, 0);
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire();
+            limiter.release();
+        }
+
+        assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+        assertRateLimited(limiter);
+    }
+
+    @Test
+    public void testPermitsAreRefilled() throws Exception {
+
+        VaultRequestLimiter limiter = new VaultRequestLimiter(20, 1, 0, 0);
+        limiter.acquire();
+        limiter.release();
+        assertRateLimited(limiter);
+
+        Thread.sleep(120);
+        limiter.acquire();
+        limiter.release();
+    }
+
+    @Test
+    public void testRequestWaitsForPermit() throws HashiCorpVaultException {
+
+        VaultRequestLimiter limiter = new VaultRequestLimiter(10, 1, 0, 1000);
+        limiter.acquire();
+        limiter.release();
+        long start = System.nanoTime();
+        limiter.acquire();
+        limiter.release();
+
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Waited " + waitedMillis + " ms", waitedMillis >= 80 && waitedMillis < 1000);
+    }
+
+    @Test
+    public void testConcurrentRequestsAreLimited() throws HashiCorpVaultException {
+
+        VaultRequestLimiter limiter = new VaultRequestLimiter(0, 0, 1, 50);
+        limiter.acquire();
+        try {
+            limiter.acquire();
+            fail("Second concurrent request should not be sent");
+        } catch (HashiCorpVaultException e) {
+            assertTrue(e.getMessage().contains("concurrent"));
+        }
+        limiter.release();
+        limiter.acquire();
+        limiter.release();
+    }
+
+    @Test
+    public void testSlotIsReleasedWhenRateLimitIsExceeded() throws HashiCorpVaultException {
+
+        VaultRequestLimiter limiter = new VaultRequestLimiter(1, 1, 1, 0);
+        limiter.acquire();
+        limiter.release();
+
+        // The second request would also fail on the concurrency limit if the first rejection kept its slot.
+        assertRateLimited(limiter);
+        assertRateLimited(limiter);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeRateIsRejected() {
+
+        new VaultRequestLimiter(-1, 0, 0, 0);
+    }
+
+    private static void assertRateLimited(VaultRequestLimiter limiter) {
+
+        try {
+            limiter.acquire();
+            fail("Request should exceed the rate limit");
+        } catch (HashiCorpVaultException e) {
+            assertTrue(e.getMessage().contains("rate limit"));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.client;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link VaultRetryPolicy}.
+ */
+public class VaultRetryPolicyTest {
+
+    private static final int SAMPLES = 1000;
+
+    @Test
+    public void testOnlyRateLimitedRequestsAreRetried() {
+
+        VaultRetryPolicy policy = new VaultRetryPolicy(3, 100, 1000);
+
+        assertTrue(policy.isRetryable(VaultRetryPolicy.TOO_MANY_REQUESTS));
+        assertFalse(policy.isRetryable(403));
+        assertFalse(policy.isRetryable(503));
+    }
+
+    @Test
+    public void testDelayIsWithinFullJitterBounds() {
+
+        VaultRetryPolicy policy = new VaultRetryPolicy(5, 100, 1000);
+        long[] bounds = {100, 200, 400, 800, 1000};
+        for (int retry = 1; retry <= bounds.length; retry++) {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < SAMPLES; i++) {
+                long delay = policy.getDelayMillis(retry, -1);
+                min = Math.min(min, delay);
+                max = Math.max(max, delay);
+            }
+            assertTrue("Retry " + retry + " waited " + min + " ms", min >= 0);
+            assertTrue("Retry " + retry + " waited " + max + " ms", max <= bounds[retry - 1]);
+            assertTrue("Retry " + retry + " delays are not jittered", max - min > bounds[retry - 1] / 2);
+        }
+    }
+
+    @Test
+    public void testRetriesAreBounded() {
+
+        VaultRetryPolicy policy = new VaultRetryPolicy(2, 100, 1000);
+
+        assertTrue(policy.getDelayMillis(2, -1) >= 0);
+        assertEquals(-1, policy.getDelayMillis(3, -1));
+        assertEquals(-1, new VaultRetryPolicy(0, 100, 1000).getDelayMillis(1, -1));
+    }
+
+    @Test
+    public void testRetryAfterIsHonoured() {
+
+        VaultRetryPolicy policy = new VaultRetryPolicy(3, 100, 5000);
+        for (int i = 0; i < SAMPLES; i++) {
+            long delay = policy.getDelayMillis(1, 2);
+            assertTrue("Retried after " + delay + " ms", delay >= 2000 && delay <= 5000);
+        }
+    }
+
+    @Test
+    public void testRetryAfterBeyondMaxDelayIsNotWaited() {
+
+        VaultRetryPolicy policy = new VaultRetryPolicy(3, 100, 5000);
+
+        assertEquals(-1, policy.getDelayMillis(1, 6));
+        assertTrue(policy.getDelayMillis(1, 5) >= 5000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeConfigurationIsRejected() {
+
+        new VaultRetryPolicy(-1, 100, 1000);
+    }
+}
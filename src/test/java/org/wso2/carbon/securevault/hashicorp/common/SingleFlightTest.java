@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.common;
+
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link SingleFlight}.
+ */
+public class SingleFlightTest {
+
+    private static final long MAX_WAIT_MILLIS = 5000L;
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+
+    @Test
+    public void testConcurrentCallsAreCoalesced() throws Exception {
+
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> execute("key", () -> {
+            calls.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS));
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> execute("key", () -> {
+            calls.incrementAndGet();
+            return "other";
+        }));
+        waitForWaiter();
+        release.countDown();
+
+        assertEquals("result", leader.get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals("result", waiter.get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void testLeaderFailureIsPropagatedToWaiters() throws Exception {
+
+        HashiCorpVaultException failure = new HashiCorpVaultException("read failed");
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> execute("key", () -> {
+            started.countDown();
+            await(release);
+            throw failure;
+        }));
+        assertTrue(started.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS));
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> execute("key", () -> "other"));
+        waitForWaiter();
+        release.countDown();
+
+        assertSame(failure, getFailure(leader));
+        Throwable waiterFailure = getFailure(waiter);
+        assertTrue(waiterFailure instanceof HashiCorpVaultException);
+        assertSame(failure, waiterFailure.getCause());
+    }
+
+    @Test
+    public void testKeyIsRemovedAfterCompletion() throws HashiCorpVaultException {
+
+        assertEquals("first", singleFlight.execute("key", () -> "first", MAX_WAIT_MILLIS));
+        assertEquals("second", singleFlight.execute("key", () -> "second", MAX_WAIT_MILLIS));
+    }
+
+    @Test
+    public void testKeyIsRemovedAfterFailure() throws HashiCorpVaultException {
+
+        try {
+            singleFlight.execute("key", () -> {
+                throw new HashiCorpVaultException("read failed");
+            }, MAX_WAIT_MILLIS);
+            fail("Failure of the call was not raised");
+        } catch (HashiCorpVaultException e) {
+            assertEquals("read failed", e.getMessage());
+        }
+        assertEquals("second", singleFlight.execute("key", () -> "second", MAX_WAIT_MILLIS));
+    }
+
+    @Test
+    public void testWaiterGivesUpAfterMaxWait() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> execute("key", () -> {
+            started.countDown();
+            await(release);
+            return "result";
+        }));
+        assertTrue(started.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS));
+
+        long startTime = System.nanoTime();
+        try {
+            singleFlight.execute("key", () -> "other", 100);
+            fail("Waiter did not give up");
+        } catch (HashiCorpVaultException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(System.nanoTime() - startTime < TimeUnit.MILLISECONDS.toNanos(MAX_WAIT_MILLIS));
+        release.countDown();
+        assertEquals("result", leader.get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testDifferentKeysAreNotCoalesced() throws HashiCorpVaultException {
+
+        assertEquals("a", singleFlight.execute("a", () -> "a", MAX_WAIT_MILLIS));
+        assertEquals("b", singleFlight.execute("b", () -> "b", MAX_WAIT_MILLIS));
+    }
+
+    private String execute(String key, SingleFlight.Call<String> call) {
+
+        try {
+            return singleFlight.execute(key, call, MAX_WAIT_MILLIS);
+        } catch (HashiCorpVaultException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+
+        try {
+            latch.await(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Give a waiter started on another thread time to join the call in flight.
+     */
+    private static void waitForWaiter() throws InterruptedException {
+
+        Thread.sleep(100);
+    }
+
+    private static Throwable getFailure(CompletableFuture<String> future) throws Exception {
+
+        try {
+            future.get(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause() instanceof IllegalStateException ? e.getCause().getCause() : e.getCause();
+        }
+        fail("Call did not fail");
+        return null;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.config;
+
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.util.Properties;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link HashiCorpVaultConfig}.
+ */
+public class HashiCorpVaultConfigTest {
+
+    private static final String PREFIX = "secretRepositories.vault.properties.";
+
+    @Test
+    public void testTypedProperties() throws Exception {
+
+        HashiCorpVaultConfig config = config(PREFIX + "engineVersion", " 2 ", PREFIX + "cache.ttl", "300",
+                PREFIX + "hedge.percentile", "99.5", PREFIX + "cache.enabled", "true", PREFIX + "address", " ");
+
+        assertEquals(2, config.getIntProperty(PREFIX + "engineVersion", 1));
+        assertEquals(300L, config.getLongProperty(PREFIX + "cache.ttl", 0));
+        assertEquals(99.5, config.getDoubleProperty(PREFIX + "hedge.percentile", 95), 0);
+        assertTrue(config.getBooleanProperty(PREFIX + "cache.enabled", false));
+        assertEquals(7, config.getIntProperty(PREFIX + "missing", 7));
+        assertNull(config.getProperty(PREFIX + "missing"));
+    }
+
+    @Test
+    public void testInvalidNumberIsRejected() {
+
+        HashiCorpVaultConfig config = config(PREFIX + "engineVersion", "two");
+        try {
+            config.getIntProperty(PREFIX + "engineVersion", 2);
+            fail("Invalid number should be rejected");
+        } catch (HashiCorpVaultException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testRouteConfigOverlaysMainConfig() {
+
+        HashiCorpVaultConfig config = config(PREFIX + "address", "http://vault:8200", PREFIX + "namespace", "main",
+                PREFIX + "enginePath", "secret", PREFIX + "routes", "team",
+                PREFIX + "routes.team.namespace", "team", PREFIX + "routes.team.prefix", "team/",
+                PREFIX + "routes.other.namespace", "other");
+
+        HashiCorpVaultConfig route = config.getRouteConfig("team");
+
+        assertEquals("team", route.getProperty(PREFIX + "namespace"));
+        assertEquals("team/", route.getProperty(PREFIX + "prefix"));
+        assertEquals("http://vault:8200", route.getProperty(PREFIX + "address"));
+        assertEquals("secret", route.getProperty(PREFIX + "enginePath"));
+        assertEquals("main", config.getProperty(PREFIX + "namespace"));
+        assertEquals("main", config.getRouteConfig("unknown").getProperty(PREFIX + "namespace"));
+    }
+
+    @Test
+    public void testIsChanged() {
+
+        HashiCorpVaultConfig config = config(PREFIX + "address", "http://vault:8200", PREFIX + "cache.ttl", "300");
+
+        assertFalse(config.isChanged(config(PREFIX + "address", "http://vault:8200", PREFIX + "cache.ttl", "60"),
+                PREFIX + "address"));
+        assertTrue(config.isChanged(config(PREFIX + "address", "http://vault:8200", PREFIX + "cache.ttl", "60"),
+                PREFIX + "address", PREFIX + "cache.ttl"));
+        assertTrue(config.isChanged(config(PREFIX + "cache.ttl", "300"), PREFIX + "address"));
+        assertEquals(config, config(PREFIX + "address", "http://vault:8200", PREFIX + "cache.ttl", "300"));
+    }
+
+    private static HashiCorpVaultConfig config(String... keyValues) {
+
+        Properties properties = new Properties();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            properties.setProperty(keyValues[i], keyValues[i + 1]);
+        }
+        return new HashiCorpVaultConfig(properties);
+    }
+}
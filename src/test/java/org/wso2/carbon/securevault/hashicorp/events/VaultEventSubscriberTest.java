@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.events;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link VaultEventSubscriber}.
+ */
+public class VaultEventSubscriberTest {
+
+    private static final long MAX_RECONNECT_DELAY_MILLIS = 60000L;
+    private static final long TIMING_SLACK_MILLIS = 200L;
+
+    private WebSocketTestServer server;
+    private VaultEventSubscriber subscriber;
+
+    @Before
+    public void setUp() throws IOException {
+
+        server = new WebSocketTestServer();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+
+        if (subscriber != null) {
+            subscriber.stop();
+        }
+        server.close();
+    }
+
+    @Test
+    public void testFailedConnectionsAreRetriedWithBackoff() throws Exception {
+
+        AtomicInteger subscriptions = new AtomicInteger();
+        subscriber = new VaultEventSubscriber(() -> {
+            subscriptions.incrementAndGet();
+            return subscription();
+        }, (secretPath, deleted) -> { }, MAX_RECONNECT_DELAY_MILLIS);
+        subscriber.start();
+
+        List<Long> connectedAt = new ArrayList<>();
+        for (int status : new int[]{403, 403, 101}) {
+            try (WebSocketTestServer.Client client = server.accept(status)) {
+                connectedAt.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+                if (status == 101) {
+                    // Drop the stream once it is open, which should reconnect after the initial delay again.
+                    client.writeFrame(true, 0x8, new byte[]{0x03, (byte) 0xE8});
+                    client.readFrame();
+                }
+            }
+        }
+        WebSocketTestServer.Client connected = server.accept(101);
+        connectedAt.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime()));
+        connected.close();
+
+        assertDelay(1000, connectedAt.get(1) - connectedAt.get(0));
+        assertDelay(2000, connectedAt.get(2) - connectedAt.get(1));
+        assertDelay(1000, connectedAt.get(3) - connectedAt.get(2));
+        assertTrue(connectedAt.get(3) - connectedAt.get(2) < 2000);
+        assertEquals(4, subscriptions.get());
+    }
+
+    @Test
+    public void testUnavailableSubscriptionIsRetried() throws Exception {
+
+        AtomicInteger attempts = new AtomicInteger();
+        subscriber = new VaultEventSubscriber(() -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new HashiCorpVaultException("Vault token is not available to subscribe to vault events");
+            }
+            return subscription();
+        }, (secretPath, deleted) -> { }, MAX_RECONNECT_DELAY_MILLIS);
+        subscriber.start();
+
+        try (WebSocketTestServer.Client client = server.accept(101)) {
+            assertEquals(2, attempts.get());
+            client.writeFrame(true, 0x9, new byte[0]);
+            client.readFrame();
+            assertTrue(subscriber.isConnected());
+        }
+    }
+
+    @Test
+    public void testStopClosesStream() throws Exception {
+
+        subscriber = new VaultEventSubscriber(this::subscription, (secretPath, deleted) -> { },
+                MAX_RECONNECT_DELAY_MILLIS);
+        subscriber.start();
+
+        try (WebSocketTestServer.Client client = server.accept(101)) {
+            client.writeFrame(true, 0x9, new byte[0]);
+            client.readFrame();
+            subscriber.stop();
+
+            assertEquals(0x8, client.readFrame()[0]);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (subscriber.isConnected() && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertFalse(subscriber.isConnected());
+        }
+    }
+
+    private static void assertDelay(long expectedMillis, long actualMillis) {
+
+        assertTrue("Reconnected after " + actualMillis + " ms, expected " + expectedMillis + " ms",
+                actualMillis >= expectedMillis - TIMING_SLACK_MILLIS);
+    }
+
+    private VaultEventSubscription subscription() {
+
+        return new VaultEventSubscription(server.getUri(), "token", null, "kv", null, false, 5000);
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.events;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link WebSocketConnection}.
+ */
+public class WebSocketConnectionTest {
+
+    private static final int OPCODE_CONTINUATION = 0x0;
+    private static final int OPCODE_TEXT = 0x1;
+    private static final int OPCODE_BINARY = 0x2;
+    private static final int OPCODE_CLOSE = 0x8;
+    private static final int OPCODE_PING = 0x9;
+    private static final int OPCODE_PONG = 0xA;
+    private static final int OPEN_TIMEOUT_MILLIS = 5000;
+
+    private WebSocketTestServer server;
+
+    @Before
+    public void setUp() throws IOException {
+
+        server = new WebSocketTestServer();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+
+        server.close();
+    }
+
+    @Test
+    public void testFragmentedMessageIsReassembled() throws Exception {
+
+        CompletableFuture<WebSocketConnection> opened = open();
+        try (WebSocketTestServer.Client client = server.accept(101);
+             WebSocketConnection connection = opened.get(OPEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            client.writeText(false, OPCODE_TEXT, "{\"data\":");
+            client.writeText(false, OPCODE_CONTINUATION, "{\"path\":");
+            client.writeText(true, OPCODE_CONTINUATION, "\"kv/data/db\"}}");
+
+            assertEquals("{\"data\":{\"path\":\"kv/data/db\"}}", connection.readText());
+        }
+    }
+
+    @Test
+    public void testPingIsAnsweredWithinFragmentedMessage() throws Exception {
+
+        CompletableFuture<WebSocketConnection> opened = open();
+        try (WebSocketTestServer.Client client = server.accept(101);
+             WebSocketConnection connection = opened.get(OPEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            client.writeText(false, OPCODE_TEXT, "first ");
+            client.writeText(true, OPCODE_PING, "keepalive");
+            client.writeText(true, OPCODE_PONG, "unsolicited");
+            client.writeText(true, OPCODE_CONTINUATION, "second");
+
+            assertEquals("first second", connection.readText());
+            byte[] pong = client.readFrame();
+            assertEquals(OPCODE_PONG, pong[0]);
+            assertEquals("keepalive", new String(pong, 1, pong.length - 1, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    public void testBinaryMessageIsSkipped() throws Exception {
+
+        CompletableFuture<WebSocketConnection> opened = open();
+        try (WebSocketTestServer.Client client = server.accept(101);
+             WebSocketConnection connection = opened.get(OPEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            client.writeFrame(true, OPCODE_BINARY, new byte[]{1, 2, 3});
+            client.writeText(true, OPCODE_TEXT, "text");
+
+            assertEquals("text", connection.readText());
+        }
+    }
+
+    @Test
+    public void testCloseFrameIsEchoed() throws Exception {
+
+        CompletableFuture<WebSocketConnection> opened = open();
+        try (WebSocketTestServer.Client client = server.accept(101);
+             WebSocketConnection connection = opened.get(OPEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            client.writeFrame(true, OPCODE_CLOSE, new byte[]{0x03, (byte) 0xE9, 'b', 'y', 'e'});
+
+            assertNull(connection.readText());
+            byte[] close = client.readFrame();
+            assertEquals(OPCODE_CLOSE, close[0]);
+            assertArrayEquals(new byte[]{0x03, (byte) 0xE9}, Arrays.copyOfRange(close, 1, close.length));
+        }
+    }
+
+    @Test
+    public void testContinuationWithoutMessageIsRejected() throws Exception {
+
+        CompletableFuture<WebSocketConnection> opened = open();
+        try (WebSocketTestServer.Client client = server.accept(101);
+             WebSocketConnection connection = opened.get(OPEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+            client.writeText(true, OPCODE_CONTINUATION, "orphan");
+
+            try {
+                connection.readText();
+                fail("Continuation frame without a message should be rejected");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("continuation"));
+            }
+        }
+    }
+
+    @Test
+    public void testRejectedHandshakeFails() throws Exception {
+
+        CompletableFuture<WebSocketConnection> opened = open();
+        try (WebSocketTestServer.Client client = server.accept(403)) {
+            try {
+                opened.get(OPEN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                fail("Handshake rejected by the server should fail");
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+                assertTrue(e.getCause().getMessage().contains("403"));
+            }
+            assertTrue("Rejected connection should be closed", client.isClosedByClient());
+        }
+    }
+
+    private CompletableFuture<WebSocketConnection> open() {
+
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return WebSocketConnection.open(server.getUri(), Collections.singletonMap("X-Vault-Token", "token"),
+                        null, false, OPEN_TIMEOUT_MILLIS);
+            } catch (IOException e) {
+                throw new CompletionException(e);
+            }
+        });
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.events;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Locale;
+
+/**
+ * Server side of WebSocket connections for tests, accepting connections on a local port and writing raw frames.
+ */
+final class WebSocketTestServer implements AutoCloseable {
+
+    private static final String ACCEPT_GUID = "258EAFA5-E914-47DA-95CA-C5AB0DC85B11";
+
+    private final ServerSocket serverSocket;
+
+    WebSocketTestServer() throws IOException {
+
+        serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        serverSocket.setSoTimeout(10000);
+    }
+
+    URI getUri() {
+
+        return URI.create("ws://127.0.0.1:" + serverSocket.getLocalPort() + "/v1/sys/events/subscribe/kv*");
+    }
+
+    /**
+     * Accept a connection and complete its opening handshake with the given HTTP status.
+     *
+     * @param status HTTP status of the handshake response, 101 to accept the connection
+     * @return Accepted connection
+     * @throws IOException when no connection is accepted
+     */
+    Client accept(int status) throws Exception {
+
+        Socket socket = serverSocket.accept();
+        socket.setSoTimeout(10000);
+        InputStream input = socket.getInputStream();
+        String key = null;
+        String line;
+        while (!(line = readLine(input)).isEmpty()) {
+            if (line.toLowerCase(Locale.ROOT).startsWith("sec-websocket-key:")) {
+                key = line.substring(line.indexOf(':') + 1).trim();
+            }
+        }
+        StringBuilder response = new StringBuilder();
+        if (status == 101) {
+            String accept = Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-1").digest(
+                    (key + ACCEPT_GUID).getBytes(StandardCharsets.US_ASCII)));
+            response.append("HTTP/1.1 101 Switching Protocols\r\nUpgrade: websocket\r\nConnection: Upgrade\r\n")
+                    .append("Sec-WebSocket-Accept: ").append(accept).append("\r\n\r\n");
+        } else {
+            response.append("HTTP/1.1 ").append(status).append(" Rejected\r\nContent-Length: 0\r\n\r\n");
+        }
+        socket.getOutputStream().write(response.toString().getBytes(StandardCharsets.US_ASCII));
+        socket.getOutputStream().flush();
+        return new Client(socket);
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        serverSocket.close();
+    }
+
+    private static String readLine(InputStream input) throws IOException {
+
+        StringBuilder line = new StringBuilder();
+        int c;
+        while ((c = input.read()) != '\n') {
+            if (c < 0) {
+                throw new IOException("Connection closed during the handshake");
+            }
+            if (c != '\r') {
+                line.append((char) c);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Connection accepted from a client.
+     */
+    static final class Client implements AutoCloseable {
+
+        private final Socket socket;
+        private final DataInputStream input;
+        private final OutputStream output;
+
+        private Client(Socket socket) throws IOException {
+
+            this.socket = socket;
+            this.input = new DataInputStream(socket.getInputStream());
+            this.output = socket.getOutputStream();
+        }
+
+        /**
+         * Write an unmasked frame, as sent by a server.
+         *
+         * @param fin     Whether the frame is the last frame of its message
+         * @param opcode  Opcode of the frame
+         * @param payload Payload of the frame
+         * @throws IOException when the frame cannot be written
+         */
+        void writeFrame(boolean fin, int opcode, byte[] payload) throws IOException {
+
+            ByteArrayOutputStream frame = new ByteArrayOutputStream();
+            frame.write((fin ? 0x80 : 0) | opcode);
+            if (payload.length < 126) {
+                frame.write(payload.length);
+            } else {
+                frame.write(126);
+                frame.write(payload.length >>> 8);
+                frame.write(payload.length);
+            }
+            frame.write(payload, 0, payload.length);
+            output.write(frame.toByteArray());
+            output.flush();
+        }
+
+        void writeText(boolean fin, int opcode, String payload) throws IOException {
+
+            writeFrame(fin, opcode, payload.getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Read a frame sent by the client, which is always masked.
+         *
+         * @return Opcode of the frame followed by its unmasked payload
+         * @throws IOException when the client sent an unmasked or no frame
+         */
+        byte[] readFrame() throws IOException {
+
+            int opcode = input.readUnsignedByte() & 0x0F;
+            int second = input.readUnsignedByte();
+            if ((second & 0x80) == 0) {
+                throw new IOException("Client frame is not masked");
+            }
+            int length = second & 0x7F;
+            if (length == 126) {
+                length = input.readUnsignedShort();
+            }
+            byte[] mask = new byte[4];
+            input.readFully(mask);
+            byte[] frame = new byte[length + 1];
+            frame[0] = (byte) opcode;
+            input.readFully(frame, 1, length);
+            for (int i = 0; i < length; i++) {
+                frame[i + 1] ^= mask[i & 3];
+            }
+            return frame;
+        }
+
+        /**
+         * Check whether the client closed the connection, waiting for it to do so.
+         *
+         * @return true if the client closed the connection without sending anything more
+         * @throws IOException when the client neither closes the connection nor sends anything
+         */
+        boolean isClosedByClient() throws IOException {
+
+            return input.read() < 0;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            socket.close();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import com.bettercloud.vault.json.Json;
+import com.bettercloud.vault.json.JsonArray;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.token.VaultTokenManager;
+import org.wso2.carbon.securevault.hashicorp.transport.StubVaultTransport;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link TransitDecryptor}.
+ */
+public class TransitDecryptorTest {
+
+    private StubVaultTransport transport;
+    private VaultConnection connection;
+    private final Map<String, String> plaintexts = new HashMap<>();
+    private final Map<String, String> failures = new HashMap<>();
+
+    @Before
+    public void setUp() {
+
+        transport = new StubVaultTransport();
+        VaultClientHolder clientHolder = new VaultClientHolder(transport);
+        VaultEndpointSelector endpoints = new VaultEndpointSelector(Collections.singletonList("http://127.0.0.1:8200"),
+                1, 0);
+        connection = new VaultConnection(null, "secret", 2, false, clientHolder, endpoints,
+                new VaultTokenManager(clientHolder, endpoints, false, 0.75, new VaultMetrics()));
+    }
+
+    @Test
+    public void testCiphertextsAreSentAsBatchInput() throws HashiCorpVaultException {
+
+        transport.respond(200, results(plaintext("one"), plaintext("two")));
+
+        new TransitDecryptor("transit", "key", 10).decrypt(connection, "token",
+                Arrays.asList("vault:v1:a", "vault:v1:b"), plaintexts, failures);
+
+        List<String> bodies = transport.getPostBodies();
+        assertEquals(1, bodies.size());
+        JsonArray input = Json.parse(bodies.get(0)).asObject().get("batch_input").asArray();
+        assertEquals(2, input.size());
+        assertEquals("vault:v1:a", input.get(0).asObject().getString("ciphertext", null));
+        assertEquals("vault:v1:b", input.get(1).asObject().getString("ciphertext", null));
+        assertEquals("one", plaintexts.get("vault:v1:a"));
+        assertEquals("two", plaintexts.get("vault:v1:b"));
+        assertTrue(failures.isEmpty());
+    }
+
+    @Test
+    public void testCiphertextsAreSplitIntoBatches() throws HashiCorpVaultException {
+
+        transport.respond(200, results(plaintext("one"), plaintext("two"))).respond(200, results(plaintext("three")));
+
+        new TransitDecryptor("transit", "key", 2).decrypt(connection, "token",
+                Arrays.asList("vault:v1:a", "vault:v1:b", "vault:v1:c"), plaintexts, failures);
+
+        List<String> bodies = transport.getPostBodies();
+        assertEquals(2, bodies.size());
+        assertEquals(1, Json.parse(bodies.get(1)).asObject().get("batch_input").asArray().size());
+        assertEquals("three", plaintexts.get("vault:v1:c"));
+    }
+
+    @Test
+    public void testItemErrorDoesNotFailBatch() throws HashiCorpVaultException {
+
+        transport.respond(400, results(plaintext("one"), "{\"error\":\"cipher: message authentication failed\"}"));
+
+        new TransitDecryptor("transit", "key", 10).decrypt(connection, "token",
+                Arrays.asList("vault:v1:a", "vault:v1:b"), plaintexts, failures);
+
+        assertEquals(Collections.singletonMap("vault:v1:a", "one"), plaintexts);
+        assertEquals(Collections.singletonMap("vault:v1:b", "cipher: message authentication failed"), failures);
+    }
+
+    @Test
+    public void testPlaintextThatIsNotBase64IsReported() throws HashiCorpVaultException {
+
+        transport.respond(200, results("{\"plaintext\":\"not base64!\"}"));
+
+        new TransitDecryptor("transit", "key", 10).decrypt(connection, "token",
+                Collections.singletonList("vault:v1:a"), plaintexts, failures);
+
+        assertTrue(plaintexts.isEmpty());
+        assertEquals(1, failures.size());
+    }
+
+    @Test
+    public void testRejectedRequestFailsDecryption() {
+
+        transport.respond(403, "{\"errors\":[\"permission denied\"]}");
+
+        try {
+            new TransitDecryptor("transit", "key", 10).decrypt(connection, "token",
+                    Collections.singletonList("vault:v1:a"), plaintexts, failures);
+            fail("Decryption should fail when the vault rejects the request");
+        } catch (HashiCorpVaultException e) {
+            assertTrue(plaintexts.isEmpty());
+            assertTrue(failures.isEmpty());
+        }
+    }
+
+    private static String plaintext(String value) {
+
+        return "{\"plaintext\":\"" + Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8))
+                + "\"}";
+    }
+
+    private static String results(String... items) {
+
+        return "{\"data\":{\"batch_results\":[" + String.join(",", items) + "]}}";
+    }
+}
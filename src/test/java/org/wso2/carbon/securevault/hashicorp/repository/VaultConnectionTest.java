@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.token.VaultTokenManager;
+import org.wso2.carbon.securevault.hashicorp.transport.StubVaultTransport;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link VaultConnection}.
+ */
+public class VaultConnectionTest {
+
+    private StubVaultTransport transport;
+    private VaultConnection connection;
+
+    @Before
+    public void setUp() {
+
+        transport = new StubVaultTransport();
+        VaultClientHolder clientHolder = new VaultClientHolder(transport);
+        VaultEndpointSelector endpoints = new VaultEndpointSelector(Collections.singletonList("http://127.0.0.1:8200"),
+                1, 0);
+        connection = new VaultConnection(null, "secret", 2, false, clientHolder, endpoints,
+                new VaultTokenManager(clientHolder, endpoints, false, 0.75, new VaultMetrics()));
+    }
+
+    @Test
+    public void testRetireClosesIdleConnection() {
+
+        connection.retire();
+
+        assertEquals(1, transport.getCloses());
+        assertFalse(connection.acquire());
+    }
+
+    @Test
+    public void testRetireWaitsForLookupsInFlight() {
+
+        assertTrue(connection.acquire());
+        assertTrue(connection.acquire());
+        connection.retire();
+        assertEquals(0, transport.getCloses());
+        assertFalse(connection.acquire());
+
+        connection.release();
+        assertEquals(0, transport.getCloses());
+        connection.release();
+        assertEquals(1, transport.getCloses());
+    }
+
+    @Test
+    public void testConnectionIsClosedOnce() {
+
+        assertTrue(connection.acquire());
+        connection.retire();
+        connection.close();
+        connection.release();
+
+        assertEquals(1, transport.getCloses());
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.repository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.events.VaultEventSubscriber;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.token.VaultTokenManager;
+import org.wso2.carbon.securevault.hashicorp.transport.StubVaultTransport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link VaultRouter}.
+ */
+public class VaultRouterTest {
+
+    private StubVaultTransport transport;
+    private VaultRouter.Route team;
+    private VaultRouter.Route teamDb;
+
+    @Before
+    public void setUp() {
+
+        transport = new StubVaultTransport();
+        team = new VaultRouter.Route("team", "team/", createConnection());
+        teamDb = new VaultRouter.Route("teamDb", "team/db/", createConnection());
+    }
+
+    @Test
+    public void testLongestPrefixWins() {
+
+        VaultRouter router = new VaultRouter(Arrays.asList(team, teamDb));
+
+        assertSame(teamDb, router.route("team/db/password"));
+        assertSame(team, router.route("team/api/key"));
+    }
+
+    @Test
+    public void testPrefixMatchesWholePathSegments() {
+
+        VaultRouter.Route bare = new VaultRouter.Route("bare", "team", createConnection());
+        VaultRouter router = new VaultRouter(Collections.singletonList(bare));
+
+        assertSame(bare, router.route("team/password"));
+        assertEquals("password", bare.getPath("team/password"));
+        assertNull(router.route("teamdb/password"));
+        assertNull(router.route("team"));
+    }
+
+    @Test
+    public void testUnmatchedPathHasNoRoute() {
+
+        VaultRouter router = new VaultRouter(Arrays.asList(team, teamDb));
+
+        assertNull(router.route("other/password"));
+        assertNull(router.route("teams/password"));
+        assertSame(team, router.route("team/db"));
+        // A path made of the prefix alone names no secret under the route.
+        assertNull(router.route("team/"));
+    }
+
+    @Test
+    public void testPathIsRelativeToPrefix() {
+
+        assertEquals("password", teamDb.getPath("team/db/password"));
+        assertEquals("db/password", team.getPath("team/db/password"));
+    }
+
+    @Test
+    public void testInvalidPrefixesAreRejected() {
+
+        try {
+            new VaultRouter(Collections.singletonList(new VaultRouter.Route("empty", "", createConnection())));
+            fail("Empty prefix should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+        try {
+            new VaultRouter(Arrays.asList(team, new VaultRouter.Route("duplicate", "team/", createConnection())));
+            fail("Duplicate prefix should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+        try {
+            new VaultRouter(Arrays.asList(team, new VaultRouter.Route("duplicate", "team", createConnection())));
+            fail("Prefix differing only by the trailing slash should be rejected");
+        } catch (IllegalArgumentException e) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void testRetireRetiresEveryRoute() {
+
+        VaultRouter router = new VaultRouter(Arrays.asList(team, teamDb));
+
+        router.retire();
+
+        assertEquals(2, transport.getCloses());
+        assertFalse(team.getConnection().acquire());
+        assertFalse(teamDb.getConnection().acquire());
+    }
+
+    @Test
+    public void testEventsOfRoutesAreSubscribedUntilRetired() throws Exception {
+
+        VaultRouter router = new VaultRouter(Arrays.asList(team, teamDb));
+        List<String> changed = new ArrayList<>();
+        List<RecordingSubscriber> subscribers = new ArrayList<>();
+        router.subscribe(route -> {
+            RecordingSubscriber subscriber = new RecordingSubscriber(
+                    (secretPath, deleted) -> changed.add(route.getSecretPath(secretPath)));
+            subscribers.add(subscriber);
+            return subscriber;
+        });
+
+        assertEquals(2, subscribers.size());
+        assertTrue(subscribers.get(0).started && subscribers.get(1).started);
+        subscribers.get(0).listener.secretChanged("password", false);
+        assertEquals(Collections.singletonList("team/db/password"), changed);
+
+        try {
+            router.subscribe(route -> {
+                throw new HashiCorpVaultException("Invalid SSL configuration");
+            });
+            fail("Subscription should fail when a subscriber cannot be created");
+        } catch (HashiCorpVaultException e) {
+            // Expected.
+        }
+        assertFalse(subscribers.get(0).stopped || subscribers.get(1).stopped);
+
+        router.retire();
+        assertTrue(subscribers.get(0).stopped && subscribers.get(1).stopped);
+    }
+
+    private VaultConnection createConnection() {
+
+        VaultClientHolder clientHolder = new VaultClientHolder(transport);
+        VaultEndpointSelector endpoints = new VaultEndpointSelector(Collections.singletonList("http://127.0.0.1:8200"),
+                1, 0);
+        return new VaultConnection(null, "secret", 2, false, clientHolder, endpoints,
+                new VaultTokenManager(clientHolder, endpoints, false, 0.75, new VaultMetrics()));
+    }
+
+    /**
+     * Event subscriber that records whether it was started and stopped instead of opening an event stream.
+     */
+    private static final class RecordingSubscriber extends VaultEventSubscriber {
+
+        private final SecretChangeListener listener;
+        private boolean started;
+        private boolean stopped;
+
+        private RecordingSubscriber(SecretChangeListener listener) {
+
+            super(() -> {
+                throw new HashiCorpVaultException("Event stream is not available in tests");
+            }, listener, 0);
+            this.listener = listener;
+        }
+
+        @Override
+        public synchronized void start() {
+
+            started = true;
+        }
+
+        @Override
+        public synchronized void stop() {
+
+            stopped = true;
+            super.stop();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.token;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultEndpointSelector;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.VaultMetrics;
+import org.wso2.carbon.securevault.hashicorp.transport.StubVaultTransport;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponse;
+import org.wso2.carbon.securevault.hashicorp.transport.VaultResponseException;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link VaultTokenManager}.
+ */
+public class VaultTokenManagerTest {
+
+    private static final String TOKEN = "s.token";
+
+    private StubVaultTransport transport;
+    private VaultTokenManager tokenManager;
+
+    @Before
+    public void setUp() {
+
+        transport = new StubVaultTransport();
+        VaultClientHolder clientHolder = new VaultClientHolder(transport);
+        tokenManager = new VaultTokenManager(clientHolder, new VaultEndpointSelector(
+                Collections.singletonList("http://127.0.0.1:8200"), 1, 0), false, 0.75, new VaultMetrics());
+        tokenManager.useToken(TOKEN);
+    }
+
+    @Test
+    public void testTokenAcceptedByLookupIsValid() throws HashiCorpVaultException {
+
+        transport.respond(200, "{\"data\":{}}");
+
+        assertTrue(tokenManager.isTokenValid(TOKEN));
+        assertEquals(2, transport.getRequests());
+    }
+
+    @Test
+    public void testReplacedTokenIsNotValid() throws HashiCorpVaultException {
+
+        assertFalse(tokenManager.isTokenValid("s.previous"));
+        assertEquals(1, transport.getRequests());
+    }
+
+    @Test
+    public void testTokenRejectedByLookupIsNotValid() throws HashiCorpVaultException {
+
+        transport.fail(new VaultResponseException(new VaultResponse(403, null)));
+
+        assertFalse(tokenManager.isTokenValid(TOKEN));
+    }
+
+    @Test
+    public void testLookupFailureIsRaised() {
+
+        transport.fail(new VaultResponseException(new VaultResponse(503, null)));
+
+        try {
+            tokenManager.isTokenValid(TOKEN);
+            fail("Token validity should not be decided when the vault is unavailable");
+        } catch (HashiCorpVaultException e) {
+            assertTrue(e.getMessage().contains("looking up"));
+        }
+    }
+}
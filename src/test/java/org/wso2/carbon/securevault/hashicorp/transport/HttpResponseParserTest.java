@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import org.junit.Test;
+
+import java.net.ProtocolException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link HttpResponseParser}.
+ */
+public class HttpResponseParserTest {
+
+    @Test
+    public void testContentLengthResponseFedByteByByte() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+        byte[] response = "HTTP/1.1 200 OK\r\nContent-Length: 11\r\nRetry-After: 7\r\n\r\n{\"a\":\"bc\"}\n"
+                .getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < response.length - 1; i++) {
+            assertFalse(parser.parse(ByteBuffer.wrap(response, i, 1)));
+        }
+        assertTrue(parser.parse(ByteBuffer.wrap(response, response.length - 1, 1)));
+
+        VaultResponse parsed = parser.getResponse();
+        assertEquals(200, parsed.getStatus());
+        assertEquals("{\"a\":\"bc\"}\n", new String(parsed.getBody(), StandardCharsets.UTF_8));
+        assertEquals(7, parsed.getRetryAfterSeconds());
+        assertTrue(parser.isKeepAlive());
+    }
+
+    @Test
+    public void testChunkedResponse() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertTrue(parser.parse(buffer("HTTP/1.1 404 Not Found\r\nTransfer-Encoding: chunked\r\n\r\n"
+                + "4;name=value\r\n{\"er\r\n8\r\nrors\":[]\r\n1\r\n}\r\n0\r\nTrailer: x\r\n\r\n")));
+        assertEquals(404, parser.getResponse().getStatus());
+        assertEquals("{\"errors\":[]}", new String(parser.getResponse().getBody(), StandardCharsets.UTF_8));
+        assertTrue(parser.isKeepAlive());
+    }
+
+    @Test
+    public void testInterimResponseIsSkipped() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertTrue(parser.parse(buffer("HTTP/1.1 100 Continue\r\n\r\nHTTP/1.1 204 No Content\r\n\r\n")));
+        assertEquals(204, parser.getResponse().getStatus());
+        assertEquals(0, parser.getResponse().getBody().length);
+    }
+
+    @Test
+    public void testBodyDelimitedByClose() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+
+        assertFalse(parser.parse(buffer("HTTP/1.1 200 OK\r\n\r\n{}")));
+        assertTrue(parser.finish());
+        assertEquals("{}", new String(parser.getResponse().getBody(), StandardCharsets.UTF_8));
+        assertFalse(parser.isKeepAlive());
+    }
+
+    @Test
+    public void testConnectionHeaders() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+        parser.parse(buffer("HTTP/1.1 200 OK\r\nConnection: close\r\nContent-Length: 0\r\n\r\n"));
+        assertFalse(parser.isKeepAlive());
+
+        parser = new HttpResponseParser();
+        parser.parse(buffer("HTTP/1.0 200 OK\r\nContent-Length: 0\r\n\r\n"));
+        assertFalse(parser.isKeepAlive());
+
+        parser = new HttpResponseParser();
+        parser.parse(buffer("HTTP/1.0 200 OK\r\nConnection: Keep-Alive\r\nContent-Length: 0\r\n\r\n"));
+        assertTrue(parser.isKeepAlive());
+    }
+
+    @Test
+    public void testBytesAfterResponseAreNotConsumed() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+        ByteBuffer input = buffer("HTTP/1.1 200 OK\r\nContent-Length: 2\r\n\r\n{}HTTP");
+
+        assertTrue(parser.parse(input));
+        assertEquals(4, input.remaining());
+    }
+
+    @Test
+    public void testPartialResponseIsNotComplete() throws ProtocolException {
+
+        HttpResponseParser parser = new HttpResponseParser();
+        assertFalse(parser.hasStarted());
+
+        assertFalse(parser.parse(buffer("HTTP/1.1 200 OK\r\nContent-Length: 10\r\n\r\n{}")));
+        assertTrue(parser.hasStarted());
+        assertFalse(parser.finish());
+    }
+
+    @Test
+    public void testMalformedResponses() {
+
+        String[] responses = {
+                "SSH-2.0-OpenSSH\r\n",
+                "HTTP/1.1 abc OK\r\n",
+                "HTTP/1.1 200 OK\r\nno separator\r\n",
+                "HTTP/1.1 200 OK\r\nContent-Length: -1\r\n",
+                "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\nzz\r\n",
+                "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n1\r\nab\r\n"
+        };
+        for (String response : responses) {
+            try {
+                new HttpResponseParser().parse(buffer(response));
+                fail("Response should be rejected: " + response);
+            } catch (ProtocolException e) {
+                // Expected.
+            }
+        }
+    }
+
+    @Test
+    public void testOversizedHeaderIsRejected() {
+
+        StringBuilder response = new StringBuilder("HTTP/1.1 200 OK\r\n");
+        for (int i = 0; i < 20000; i++) {
+            response.append("X-Header: value\r\n");
+        }
+        try {
+            new HttpResponseParser().parse(buffer(response.toString()));
+            fail("Oversized header should be rejected");
+        } catch (ProtocolException e) {
+            // Expected.
+        }
+    }
+
+    private static ByteBuffer buffer(String value) {
+
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.exception.HashiCorpVaultException;
+import org.wso2.carbon.securevault.hashicorp.metrics.FailureCause;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link KvSecretParser}.
+ */
+public class KvSecretParserTest {
+
+    private static final String V2_RESPONSE = "{\"request_id\":\"5e1f\",\"lease_id\":\"\",\"renewable\":false,"
+            + "\"data\":{\"data\":{\"value\":\"s3cret\",\"user\":\"admin\",\"port\":8243},"
+            + "\"metadata\":{\"created_time\":\"2026-01-01T00:00:00Z\",\"deletion_time\":\"\",\"destroyed\":false,"
+            + "\"version\":3}},\"wrap_info\":null,\"warnings\":null,\"auth\":null}";
+
+    @Test
+    public void testKvVersion2Layout() throws Exception {
+
+        KvSecret secret = parse(V2_RESPONSE, 2);
+
+        assertEquals(3, secret.getFields().size());
+        assertEquals("s3cret", secret.getFields().get("value"));
+        assertEquals("admin", secret.getFields().get("user"));
+        assertEquals("8243", secret.getFields().get("port"));
+        assertEquals(3, secret.getVersion());
+    }
+
+    @Test
+    public void testKvVersion1Layout() throws Exception {
+
+        KvSecret secret = parse("{\"request_id\":\"5e1f\",\"lease_duration\":2764800,\"renewable\":false,"
+                + "\"data\":{\"value\":\"s3cret\",\"metadata\":\"not metadata\"},\"warnings\":null}", 1);
+
+        assertEquals(2, secret.getFields().size());
+        assertEquals("s3cret", secret.getFields().get("value"));
+        assertEquals("not metadata", secret.getFields().get("metadata"));
+        assertEquals(KvSecret.UNKNOWN_VERSION, secret.getVersion());
+    }
+
+    @Test
+    public void testKvVersion2ResponseReadAsVersion1() throws Exception {
+
+        KvSecret secret = parse(V2_RESPONSE, 1);
+
+        assertEquals("{\"value\":\"s3cret\",\"user\":\"admin\",\"port\":8243}", secret.getFields().get("data"));
+        assertEquals(KvSecret.UNKNOWN_VERSION, secret.getVersion());
+    }
+
+    @Test
+    public void testEscapes() throws Exception {
+
+        KvSecret secret = parse("{\"data\":{\"data\":{"
+                + "\"quoted\":\"a\\\"b\\\\c\\/d\","
+                + "\"control\":\"\\b\\f\\n\\r\\t\","
+                + "\"unicode\":\"caf\\u00e9 \\u4E2D \\ud83d\\ude00\","
+                + "\"mixed\":\"caf\u00e9\\n\u4e2d\ud83d\ude00\","
+                + "\"na\\u006de\":\"escaped name\"}}}", 2);
+
+        Map<String, String> fields = secret.getFields();
+        assertEquals("a\"b\\c/d", fields.get("quoted"));
+        assertEquals("\b\f\n\r\t", fields.get("control"));
+        assertEquals("caf\u00e9 \u4e2d \ud83d\ude00", fields.get("unicode"));
+        assertEquals("caf\u00e9\n\u4e2d\ud83d\ude00", fields.get("mixed"));
+        assertEquals("escaped name", fields.get("name"));
+    }
+
+    @Test
+    public void testNestedValuesAreReturnedAsJson() throws Exception {
+
+        KvSecret secret = parse("{\"data\":{\"data\":{"
+                + "\"object\":{\"a\":[1,2,{\"b\":\"}]\"}]},"
+                + "\"array\":[\"x\",\"]\",{}],"
+                + "\"flag\":true,\"nothing\":null,\"number\":-1.5e3,"
+                + "\"after\":\"value\"}}}", 2);
+
+        Map<String, String> fields = secret.getFields();
+        assertEquals("{\"a\":[1,2,{\"b\":\"}]\"}]}", fields.get("object"));
+        assertEquals("[\"x\",\"]\",{}]", fields.get("array"));
+        assertEquals("true", fields.get("flag"));
+        assertEquals("null", fields.get("nothing"));
+        assertEquals("-1.5e3", fields.get("number"));
+        assertEquals("value", fields.get("after"));
+    }
+
+    @Test
+    public void testSelectedFieldsOnly() throws Exception {
+
+        byte[] body = V2_RESPONSE.getBytes(StandardCharsets.UTF_8);
+
+        KvSecret secret = KvSecretParser.parse(body, 2, Collections.singleton("user"));
+        assertEquals(Collections.singletonMap("user", "admin"), secret.getFields());
+        assertEquals(3, secret.getVersion());
+
+        secret = KvSecretParser.parse(body, 2, Arrays.asList("value", "missing"));
+        assertEquals(Collections.singletonMap("value", "s3cret"), secret.getFields());
+    }
+
+    @Test
+    public void testResponseWithoutSecret() throws Exception {
+
+        assertTrue(parse("{}", 2).getFields().isEmpty());
+        assertTrue(parse("{\"data\":null,\"errors\":[]}", 2).getFields().isEmpty());
+        assertTrue(parse(" {\"data\":{\"data\":{},\"metadata\":{\"version\":null}}} ", 2).getFields().isEmpty());
+    }
+
+    @Test
+    public void testTruncatedResponseFails() {
+
+        for (int length = 0; length < V2_RESPONSE.length(); length++) {
+            String truncated = V2_RESPONSE.substring(0, length);
+            try {
+                parse(truncated, 2);
+                fail("Response truncated to " + length + " characters should not be parsed: " + truncated);
+            } catch (VaultParseException e) {
+                // Expected.
+            }
+        }
+    }
+
+    @Test
+    public void testMalformedResponseFails() {
+
+        String[] responses = {"<html><body>502 Bad Gateway</body></html>", "", "[]", "{\"data\":{\"data\":{\"a\"}}}",
+                "{\"data\":{\"data\":{\"a\":\"\\u12\"}}}", "{\"data\" {}}"};
+        for (String response : responses) {
+            try {
+                parse(response, 2);
+                fail("Malformed response should not be parsed: " + response);
+            } catch (VaultParseException e) {
+                // Expected.
+            }
+        }
+    }
+
+    @Test
+    public void testParseFailureIsVaultUnavailable() {
+
+        try {
+            parse("<html>", 2);
+            fail("Malformed response should not be parsed");
+        } catch (VaultParseException e) {
+            assertEquals(FailureCause.VAULT_UNAVAILABLE,
+                    FailureCause.of(new HashiCorpVaultException("Error while reading the vault secret", e)));
+        }
+    }
+
+    private static KvSecret parse(String body, int engineVersion) throws VaultParseException {
+
+        return KvSecretParser.parse(body.getBytes(StandardCharsets.UTF_8), engineVersion, null);
+    }
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.security.KeyStore;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests for {@link PooledVaultTransport}.
+ */
+public class PooledVaultTransportTest {
+
+    private static final long MAX_WAIT_SECONDS = 5L;
+    private static final String BODY = "{\"data\":{\"data\":{\"value\":\"s3cret\"}}}";
+    private static final String PASSWORD = "changeit";
+    // Responder result that leaves the connection open without answering the request.
+    private static final String SILENT = "";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final CountDownLatch closedByClient = new CountDownLatch(1);
+    private volatile Responder responder = (request, connection, count) -> response(200, BODY, "");
+    private ServerSocket server;
+    private String address;
+    private PooledVaultTransport transport;
+
+    @After
+    public void tearDown() throws Exception {
+
+        if (transport != null) {
+            transport.close();
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    @Test
+    public void testConnectionIsReusedAcrossRequests() throws Exception {
+
+        startServer(null);
+        transport = createTransport(1, false, 4);
+        for (int i = 0; i < 3; i++) {
+            VaultResponse response = get(transport.read(address, "team", "token", 2, "secret/db"));
+            assertEquals(200, response.getStatus());
+            assertEquals(BODY, new String(response.getBody(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, connections.get());
+        assertEquals(3, requests.size());
+        String request = requests.get(0);
+        assertTrue(request, request.startsWith("GET /v1/secret/data/db HTTP/1.1\n"));
+        assertTrue(request, request.contains("X-Vault-Token: token\n"));
+        assertTrue(request, request.contains("X-Vault-Namespace: team\n"));
+        assertTrue(request, request.contains("X-Vault-Request: true\n"));
+    }
+
+    @Test
+    public void testConcurrentRequestsShareConnections() throws Exception {
+
+        responder = (request, connection, count) -> {
+            sleep(5);
+            return response(200, BODY, "");
+        };
+        startServer(null);
+        transport = createTransport(1, false, 2);
+        List<CompletableFuture<VaultResponse>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            futures.add(transport.read(address, null, "token", 2, "secret/db" + i));
+        }
+
+        for (CompletableFuture<VaultResponse> future : futures) {
+            assertEquals(200, get(future).getStatus());
+        }
+        assertTrue("Connections opened: " + connections.get(), connections.get() <= 2);
+        assertEquals(50, requests.size());
+    }
+
+    @Test
+    public void testResponseStatuses() throws Exception {
+
+        responder = (request, connection, count) -> {
+            if (request.contains("/missing ")) {
+                return response(404, "{\"errors\":[]}", "");
+            } else if (request.contains("/broken ")) {
+                return response(500, "{\"errors\":[\"internal error\"]}", "");
+            } else if (request.contains("/approle/")) {
+                return response(400, "{\"errors\":[\"invalid role ID\"]}", "");
+            }
+            return response(200, BODY, "");
+        };
+        startServer(null);
+        transport = createTransport(1, false, 4);
+
+        assertEquals(404, get(transport.read(address, null, "token", 2, "secret/missing")).getStatus());
+        assertEquals(500, get(transport.get(address, null, "token", "sys/broken")).getStatus());
+        assertFailedStatus(transport.read(address, null, "token", 2, "secret/broken"), 500);
+        assertFailedStatus(transport.loginWithAppRole(address, "role", "secret"), 400);
+        assertTrue(requests.get(3), requests.get(3).endsWith("{\"role_id\":\"role\",\"secret_id\":\"secret\"}"));
+    }
+
+    @Test
+    public void testPostBodyAndRetryAfter() throws Exception {
+
+        responder = (request, connection, count) -> response(429, "{}", "Retry-After: 3\r\n");
+        startServer(null);
+        transport = createTransport(1, false, 4);
+        String body = "{\"batch_input\":[{\"ciphertext\":\"vault:v1:abc\"}]}";
+
+        VaultResponse response = get(transport.post(address, null, "token", "transit/decrypt/key", body));
+
+        assertEquals(429, response.getStatus());
+        assertEquals(3, response.getRetryAfterSeconds());
+        String request = requests.get(0);
+        assertTrue(request, request.startsWith("POST /v1/transit/decrypt/key HTTP/1.1\n"));
+        assertTrue(request, request.contains("Content-Length: " + body.length() + "\n"));
+        assertTrue(request, request.endsWith("\n" + body));
+    }
+
+    @Test
+    public void testRequestIsSentAgainWhenReusedConnectionIsClosed() throws Exception {
+
+        // The first connection is closed by the server after its first response, as an idle connection would be.
+        responder = (request, connection, count) -> connection == 1 && count > 1 ? null : response(200, BODY, "");
+        startServer(null);
+        transport = createTransport(1, false, 1);
+
+        assertEquals(200, get(transport.read(address, null, "token", 2, "secret/db")).getStatus());
+        assertEquals(200, get(transport.read(address, null, "token", 2, "secret/db")).getStatus());
+        assertEquals(2, connections.get());
+    }
+
+    @Test
+    public void testCancelledRequestClosesConnection() throws Exception {
+
+        responder = (request, connection, count) -> SILENT;
+        startServer(null);
+        transport = new PooledVaultTransport(null, null, VaultClientHolder.buildSslConfig(false, null), 1);
+
+        CompletableFuture<VaultResponse> future = transport.read(address, null, "token", 2, "secret/db");
+        waitForRequests(1);
+        future.cancel(true);
+
+        assertTrue(closedByClient.await(MAX_WAIT_SECONDS, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testUnreachableServerFailsRequest() throws Exception {
+
+        String unreachable;
+        try (ServerSocket closed = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            unreachable = "http://127.0.0.1:" + closed.getLocalPort();
+        }
+        transport = createTransport(1, false, 1);
+
+        try {
+            get(transport.read(unreachable, null, "token", 2, "secret/db"));
+            fail("Request to a closed port should fail");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void testCloseFailsQueuedRequests() throws Exception {
+
+        responder = (request, connection, count) -> SILENT;
+        startServer(null);
+        transport = createTransport(1, false, 1);
+        CompletableFuture<VaultResponse> inFlight = transport.get(address, null, "token", "sys/health");
+        CompletableFuture<VaultResponse> queued = transport.get(address, null, "token", "sys/health");
+        transport.close();
+
+        assertFailedWith(queued, RejectedExecutionException.class);
+        try {
+            get(inFlight);
+            fail("Request to a server that never answers should time out");
+        } catch (ExecutionException e) {
+            assertTrue(inFlight.isDone());
+        }
+    }
+
+    @Test
+    public void testRequestsAfterCloseAreRejected() throws Exception {
+
+        startServer(null);
+        transport = createTransport(1, false, 1);
+        transport.close();
+
+        assertFailedWith(transport.read(address, null, "token", 2, "secret/db"), RejectedExecutionException.class);
+    }
+
+    @Test
+    public void testTlsConnectionIsReused() throws Exception {
+
+        StringBuilder value = new StringBuilder();
+        while (value.length() < 200 * 1024) {
+            value.append("0123456789abcdef");
+        }
+        String body = "{\"data\":{\"data\":{\"value\":\"" + value + "\"}}}";
+        responder = (request, connection, count) -> response(200, body, "");
+        startServer(createServerContext());
+        transport = createTransport(1, false, 4);
+
+        for (int i = 0; i < 3; i++) {
+            VaultResponse response = get(transport.read(address, null, "token", 2, "secret/db"));
+            assertEquals(body, new String(response.getBody(), StandardCharsets.UTF_8));
+        }
+        assertEquals(1, connections.get());
+    }
+
+    @Test
+    public void testUntrustedCertificateFailsRequest() throws Exception {
+
+        startServer(createServerContext());
+        transport = createTransport(1, true, 1);
+
+        try {
+            get(transport.read(address, null, "token", 2, "secret/db"));
+            fail("Request to a server with an untrusted certificate should fail");
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof SSLException);
+        }
+        assertTrue(requests.isEmpty());
+    }
+
+    private PooledVaultTransport createTransport(int timeout, boolean verify, int maxConnections) throws Exception {
+
+        return new PooledVaultTransport(timeout, timeout, VaultClientHolder.buildSslConfig(verify, null),
+                maxConnections);
+    }
+
+    private void startServer(SSLContext sslContext) throws IOException {
+
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        server = sslContext != null ? sslContext.getServerSocketFactory().createServerSocket(0, 50, loopback) :
+                new ServerSocket(0, 50, loopback);
+        address = (sslContext != null ? "https" : "http") + "://127.0.0.1:" + server.getLocalPort();
+        Thread acceptor = new Thread(this::accept, "vault-transport-test-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Create a server SSL context with a self-signed certificate generated by the keytool of the JDK.
+     */
+    private SSLContext createServerContext() throws Exception {
+
+        File keyStoreFile = new File(folder.getRoot(), "vault.p12");
+        int exitCode;
+        try {
+            Process keytool = new ProcessBuilder(System.getProperty("java.home") + File.separator + "bin"
+                    + File.separator + "keytool", "-genkeypair", "-alias", "vault", "-keyalg", "RSA", "-keysize",
+                    "2048", "-dname", "CN=localhost", "-validity", "1", "-storetype", "PKCS12", "-keystore",
+                    keyStoreFile.getPath(), "-storepass", PASSWORD, "-keypass", PASSWORD)
+                    .redirectErrorStream(true).start();
+            readFully(keytool.getInputStream());
+            exitCode = keytool.waitFor();
+        } catch (IOException e) {
+            exitCode = -1;
+        }
+        Assume.assumeTrue("keytool is not available to create a server certificate", exitCode == 0);
+
+        KeyStore keyStore = KeyStore.getInstance("PKCS12");
+        try (InputStream input = new FileInputStream(keyStoreFile)) {
+            keyStore.load(input, PASSWORD.toCharArray());
+        }
+        KeyManagerFactory keyManagers = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagers.init(keyStore, PASSWORD.toCharArray());
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagers.getKeyManagers(), null, null);
+        return sslContext;
+    }
+
+    private void accept() {
+
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                int connection = connections.incrementAndGet();
+                Thread handler = new Thread(() -> serve(socket, connection), "vault-transport-test-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answer the requests sent on a connection with the responder, keeping the connection open between requests.
+     */
+    private void serve(Socket socket, int connection) {
+
+        try (Socket client = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(client.getInputStream(),
+                    StandardCharsets.ISO_8859_1));
+            OutputStream output = client.getOutputStream();
+            int count = 0;
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                StringBuilder request = new StringBuilder(line).append("\n");
+                int contentLength = 0;
+                for (String header = reader.readLine(); header != null && !header.isEmpty();
+                     header = reader.readLine()) {
+                    request.append(header).append("\n");
+                    if (header.toLowerCase().startsWith("content-length:")) {
+                        contentLength = Integer.parseInt(header.substring(header.indexOf(':') + 1).trim());
+                    }
+                }
+                request.append("\n");
+                for (int i = 0; i < contentLength; i++) {
+                    request.append((char) reader.read());
+                }
+                requests.add(request.toString());
+                String response = responder.respond(request.toString(), connection, ++count);
+                if (response == null) {
+                    return;
+                } else if (response.isEmpty()) {
+                    while (reader.read() != -1) {
+                        // Wait for the client to close the connection.
+                    }
+                    closedByClient.countDown();
+                    return;
+                }
+                output.write(response.getBytes(StandardCharsets.ISO_8859_1));
+                output.flush();
+            }
+        } catch (IOException ignored) {
+            // Connection closed by the client.
+        }
+    }
+
+    private void waitForRequests(int count) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(MAX_WAIT_SECONDS);
+        while (requests.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, requests.size());
+    }
+
+    private static String response(int status, String body, String headers) {
+
+        return "HTTP/1.1 " + status + " Status\r\nContent-Type: application/json\r\nContent-Length: " + body.length()
+                + "\r\n" + headers + "\r\n" + body;
+    }
+
+    private static VaultResponse get(CompletableFuture<VaultResponse> future) throws Exception {
+
+        return future.get(MAX_WAIT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void assertFailedStatus(CompletableFuture<VaultResponse> future, int status) throws Exception {
+
+        try {
+            get(future);
+            fail("Request should have failed with status " + status);
+        } catch (ExecutionException e) {
+            assertTrue(String.valueOf(e.getCause()), e.getCause() instanceof VaultResponseException);
+            assertEquals(status, ((VaultResponseException) e.getCause()).getResponse().getStatus());
+        }
+    }
+
+    private static void assertFailedWith(CompletableFuture<VaultResponse> future, Class<? extends Throwable> type)
+            throws Exception {
+
+        try {
+            get(future);
+            fail("Request should have failed with " + type.getSimpleName());
+        } catch (ExecutionException e) {
+            assertTrue(type.isInstance(e.getCause()));
+        }
+    }
+
+    private static void readFully(InputStream input) throws IOException {
+
+        ByteArrayOutputStream ignored = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = input.read(buffer); read != -1; read = input.read(buffer)) {
+            ignored.write(buffer, 0, read);
+        }
+    }
+
+    private static void sleep(long millis) {
+
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Answer of the test server to a request.
+     */
+    private interface Responder {
+
+        /**
+         * Answer a request.
+         *
+         * @param request    Request line, headers and body of the request
+         * @param connection Number of the connection the request was sent on, starting from 1
+         * @param count      Number of the request on its connection, starting from 1
+         * @return Raw HTTP response, null to close the connection, or {@link #SILENT} to never answer
+         */
+        String respond(String request, int connection, int count);
+    }
+}
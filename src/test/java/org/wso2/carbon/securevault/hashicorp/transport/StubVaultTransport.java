@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Vault transport for tests, answering every request with the next of the queued responses, or with an empty
+ * <code>200</code> response once they run out.
+ */
+public class StubVaultTransport implements VaultTransport {
+
+    private final Queue<Supplier<CompletableFuture<VaultResponse>>> responses = new ConcurrentLinkedQueue<>();
+    private final Queue<String> bodies = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger closes = new AtomicInteger();
+
+    /**
+     * Queue a response with the given status and body.
+     *
+     * @param status HTTP status of the response
+     * @param body   Body of the response, or null
+     * @return This transport
+     */
+    public StubVaultTransport respond(int status, String body) {
+
+        return respond(new VaultResponse(status, body == null ? null : body.getBytes()));
+    }
+
+    /**
+     * Queue a response.
+     *
+     * @param response Response to complete the request with
+     * @return This transport
+     */
+    public StubVaultTransport respond(VaultResponse response) {
+
+        responses.add(() -> CompletableFuture.completedFuture(response));
+        return this;
+    }
+
+    /**
+     * Queue a failure.
+     *
+     * @param failure Error to complete the request with
+     * @return This transport
+     */
+    public StubVaultTransport fail(Throwable failure) {
+
+        responses.add(() -> {
+            CompletableFuture<VaultResponse> future = new CompletableFuture<>();
+            future.completeExceptionally(failure);
+            return future;
+        });
+        return this;
+    }
+
+    /**
+     * Queue a response supplied when the request is sent.
+     *
+     * @param response Supplier of the future completed with the response
+     * @return This transport
+     */
+    public StubVaultTransport respond(Supplier<CompletableFuture<VaultResponse>> response) {
+
+        responses.add(response);
+        return this;
+    }
+
+    public int getRequests() {
+
+        return requests.get();
+    }
+
+    public int getCloses() {
+
+        return closes.get();
+    }
+
+    /**
+     * Get the bodies of the POST requests sent so far, in the order they were sent.
+     *
+     * @return Bodies of the POST requests
+     */
+    public List<String> getPostBodies() {
+
+        return new ArrayList<>(bodies);
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> read(String address, String namespace, String accessToken,
+                                                 int engineVersion, String path) {
+
+        return next();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> list(String address, String namespace, String accessToken,
+                                                 int engineVersion, String path) {
+
+        return next();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> get(String address, String namespace, String accessToken,
+                                                String apiPath) {
+
+        return next();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> loginWithAppRole(String address, String roleId, String secretId) {
+
+        return next();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> lookupSelf(String address, String accessToken) {
+
+        return next();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> renewSelf(String address, String accessToken) {
+
+        return next();
+    }
+
+    @Override
+    public CompletableFuture<VaultResponse> post(String address, String namespace, String accessToken,
+                                                 String apiPath, String body) {
+
+        bodies.add(body);
+        return next();
+    }
+
+    @Override
+    public void close() {
+
+        closes.incrementAndGet();
+    }
+
+    private CompletableFuture<VaultResponse> next() {
+
+        requests.incrementAndGet();
+        Supplier<CompletableFuture<VaultResponse>> response = responses.poll();
+        return response != null ? response.get() : CompletableFuture.completedFuture(new VaultResponse(200, null));
+    }
+}
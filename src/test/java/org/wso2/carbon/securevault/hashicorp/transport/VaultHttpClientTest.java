@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com) All Rights Reserved.
+ *
+ *  WSO2 LLC. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.wso2.carbon.securevault.hashicorp.transport;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.wso2.carbon.securevault.hashicorp.client.VaultClientHolder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests for {@link VaultHttpClient}.
+ */
+public class VaultHttpClientTest {
+
+    private static final String BODY = "{\"data\":{\"data\":{\"value\":\"s3cret\"}}}";
+
+    private final AtomicInteger connections = new AtomicInteger();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private ServerSocket server;
+    private String address;
+
+    @Before
+    public void setUp() throws Exception {
+
+        server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        address = "http://127.0.0.1:" + server.getLocalPort();
+        Thread acceptor = new Thread(this::accept, "vault-http-test-server");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        server.close();
+    }
+
+    @Test
+    public void testConnectionIsReusedAcrossRequests() throws Exception {
+
+        VaultHttpClient client = new VaultHttpClient(1, 1, VaultClientHolder.buildSslConfig(false, null));
+        for (int i = 0; i < 3; i++) {
+            VaultResponse response = client.send("GET", address, "secret/data/db", null, "token", null);
+            assertEquals(200, response.getStatus());
+            assertEquals(BODY, new String(response.getBody(), StandardCharsets.UTF_8));
+        }
+
+        assertEquals(1, connections.get());
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testRequestHeadersAndRetryAfter() throws Exception {
+
+        VaultHttpClient client = new VaultHttpClient(1, 1, VaultClientHolder.buildSslConfig(false, null));
+        VaultResponse response = client.send("POST", address, "transit/decrypt/key", "team", "token",
+                "{\"ciphertext\":\"vault:v1:abc\"}");
+
+        assertEquals(3, response.getRetryAfterSeconds());
+        String request = requests.get(0);
+        assertTrue(request, request.startsWith("POST /v1/transit/decrypt/key HTTP/1.1"));
+        assertTrue(request, request.contains("X-Vault-Token: token"));
+        assertTrue(request, request.contains("X-Vault-Namespace: team"));
+        assertTrue(request, request.contains("X-Vault-Request: true"));
+    }
+
+    private void accept() {
+
+        while (!server.isClosed()) {
+            try {
+                Socket socket = server.accept();
+                connections.incrementAndGet();
+                Thread handler = new Thread(() -> serve(socket), "vault-http-test-connection");
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Answer every request sent on a connection, keeping the connection open between requests.
+     */
+    private void serve(Socket socket) {
+
+        try (Socket connection = socket) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                    StandardCharsets.ISO_8859_1));
+            OutputStream output = connection.getOutputStream();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                StringBuilder request = new StringBuilder(line).append("\n");
+                int contentLength = 0;
+                for (String header = reader.readLine(); header != null && !header.isEmpty();
+                     header = reader.readLine()) {
+                    request.append(header).append("\n");
+                    if (header.toLowerCase().startsWith("content-length:")) {
+                        contentLength = Integer.parseInt(header.substring(header.indexOf(':') + 1).trim());
+                    }
+                }
+                for (int i = 0; i < contentLength; i++) {
+                    reader.read();
+                }
+                requests.add(request.toString());
+                byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+                output.write(("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: " + body.length
+                        + "\r\nRetry-After: 3\r\n\r\n").getBytes(StandardCharsets.ISO_8859_1));
+                output.write(body);
+                output.flush();
+            }
+        } catch (IOException ignored) {
+            // Connection closed by the client.
+        }
+    }
+}